@@ -8,16 +8,16 @@
 plugins {
     java
     application
+    id("org.graalvm.buildtools.native") version "0.11.1"
 }
 repositories {
     mavenCentral()
 }
 
 dependencies {
-    // Guava library for @VisibleForTesting annotation
-    implementation("com.google.guava:guava:33.5.0-jre")
+    implementation(project(":core"))
     implementation("net.dv8tion:JDA:6.2.0")
-    implementation("org.jsoup:jsoup:1.21.2")
+    implementation("org.slf4j:slf4j-api:2.0.17")
     runtimeOnly("ch.qos.logback:logback-classic:1.5.6") // Use 1.3.x for Java 8
 
     // JUnit 5 dependencies
@@ -31,6 +31,113 @@ dependencies {
     testImplementation("org.mockito:mockito-junit-jupiter:5.14.2")
 }
 
+// Benchmarks live in their own source set so JMH never ends up in the application JAR.
+val benchmark by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+
+configurations["benchmarkImplementation"].extendsFrom(configurations.implementation.get())
+configurations["benchmarkRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "benchmarkImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "benchmarkAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "benchmarkImplementation"("ch.qos.logback:logback-classic:1.5.6")
+    "benchmarkImplementation"("org.mockito:mockito-core:5.14.2")
+}
+
+// Concurrency stress tests live in their own source set too, run by jcstress rather than JUnit.
+val stress by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+
+configurations["stressImplementation"].extendsFrom(configurations.implementation.get())
+configurations["stressRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "stressImplementation"("org.openjdk.jcstress:jcstress-core:0.16")
+    "stressAnnotationProcessor"("org.openjdk.jcstress:jcstress-core:0.16")
+}
+
+// Run the jcstress tests, e.g. gradle jcstress --args="-m quick" or gradle jcstress --args="-t OutboundScheduler"
+tasks.register<JavaExec>("jcstress") {
+    group = "verification"
+    description = "Runs the jcstress concurrency tests."
+    classpath = stress.runtimeClasspath
+    mainClass.set("org.openjdk.jcstress.Main")
+    // Added after any --args: results go next to the other reports, and the forked test JVMs only log errors.
+    val reportDir = layout.buildDirectory.dir("reports/jcstress").get().asFile.path
+    argumentProviders.add(CommandLineArgumentProvider { listOf("-r", reportDir, "-jvmArgsPrepend", "-DLOG_LEVEL=ERROR") })
+}
+
+// Run JMH benchmarks, e.g. gradle jmh --args="LoggingBenchmark -f 1 -wi 3 -i 5"
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+}
+
+// Drive CommandListener with synthetic slash commands against a local stub of the membership page.
+// Usage: gradle loadTest --args="--rate 200 --duration 10 --threads 8 --upstream-latency-ms 50"
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the slash command load generator."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("com.dragoncon_reminder.benchmarks.CommandLoadGenerator")
+    // Keep per-command log events from dominating the measurement; override with -DLOG_LEVEL=INFO in jvmArgs if needed.
+    systemProperty("LOG_LEVEL", "WARN")
+}
+
+// Append years of hourly rate tables to the on-disk history and report size, scan, load and compaction costs.
+// Usage: gradle historyBenchmark --args="--years 3"
+tasks.register<JavaExec>("historyBenchmark") {
+    group = "verification"
+    description = "Benchmarks the on-disk rate history store."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("com.dragoncon_reminder.benchmarks.RateHistoryStoreBenchmark")
+    systemProperty("LOG_LEVEL", "WARN")
+}
+
+// Replay a reminder fan-out during a command burst against a stub of Discord's REST API and count the 429s.
+// Usage: gradle restLoadTest --args="--channels 20 --messages 10 --interaction-rate 30 --duration 12"
+tasks.register<JavaExec>("restLoadTest") {
+    group = "verification"
+    description = "Checks that outbound Discord requests stay within the rate limits."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("com.dragoncon_reminder.benchmarks.DiscordRestLoadTest")
+    // The unpaced run is expected to hit 429s; keep their warnings out of the summary table.
+    systemProperty("LOG_LEVEL", "ERROR")
+}
+
+// Poll the calendar feed from many concurrent clients and report throughput, latency and bytes per response.
+// Usage: gradle calendarLoadTest --args="--clients 32 --duration 10"
+tasks.register<JavaExec>("calendarLoadTest") {
+    group = "verification"
+    description = "Measures the cost of serving the calendar feed."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("com.dragoncon_reminder.benchmarks.CalendarFeedLoadTest")
+    systemProperty("LOG_LEVEL", "WARN")
+    // Matches the bot, which turns on TCP_NODELAY for its HTTP servers.
+    systemProperty("sun.net.httpserver.nodelay", "true")
+}
+
+// Measure the --run-once entry point from JVM launch to exit against local stubs, e.g. gradle runOnceColdStart --args="--runs 10"
+tasks.register<JavaExec>("runOnceColdStart") {
+    group = "verification"
+    description = "Measures cold start to exit of the run-once mode."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("com.dragoncon_reminder.benchmarks.RunOnceColdStart")
+}
+
+// Make sure benchmarks and stress tests keep compiling as the code under test changes.
+tasks.check {
+    dependsOn(tasks.named("benchmarkClasses"))
+    dependsOn(tasks.named("stressClasses"))
+}
+
 // Configure the test task to use the JUnit Platform (for JUnit 5)
 tasks.test {
     useJUnitPlatform()
@@ -50,11 +157,83 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+// GraalVM native image of the bot, built with: gradle nativeCompile (requires a GraalVM 17 JDK).
+// Reflection and resource metadata lives in src/main/resources/META-INF/native-image.
+// The JUnit suite keeps running on the JVM; nativeTest is not part of check.
+graalvmNative {
+    toolchainDetection.set(false)
+    // Pull community metadata for logback, Jackson and OkHttp instead of maintaining it here.
+    metadataRepository {
+        enabled.set(true)
+    }
+    binaries {
+        named("main") {
+            imageName.set("dragoncon-reminder-bot")
+            mainClass.set("com.dragoncon_reminder.bot.Bot")
+            buildArgs.add("--no-fallback")
+            buildArgs.add("--enable-url-protocols=https")
+            buildArgs.add("-H:+ReportExceptionStackTraces")
+            // The pipeline's flight recorder events are only compiled in with JFR support.
+            buildArgs.add("--enable-monitoring=jfr")
+        }
+    }
+}
+
+// Minimal Java runtime holding only the JDK modules in jlink.modules, built with: gradle jlinkRuntime
+// The Docker image links the same modules on Alpine; this task is for measuring the runtime locally.
+val jlinkOutput = layout.buildDirectory.dir("jlink/runtime")
+val jdkHome = javaToolchains.launcherFor(java.toolchain).map { it.metadata.installationPath.asFile.absolutePath }
+
+val cleanJlinkRuntime by tasks.registering(Delete::class) {
+    delete(jlinkOutput)
+}
+
+val jlinkImage by tasks.registering(Exec::class) {
+    description = "Links the JDK modules the bot needs into a runtime image."
+    dependsOn(cleanJlinkRuntime)
+    inputs.property("modules", providers.gradleProperty("jlink.modules"))
+    // Gradle creates declared output directories up front, and jlink refuses to write into an existing one.
+    outputs.dir(layout.buildDirectory.dir("jlink"))
+    executable = "${jdkHome.get()}/bin/jlink"
+    args("--add-modules", providers.gradleProperty("jlink.modules").get(),
+        "--strip-debug", "--no-header-files", "--no-man-pages", "--compress=2",
+        "--output", jlinkOutput.get().asFile.absolutePath)
+}
+
+tasks.register<Exec>("jlinkRuntime") {
+    group = "distribution"
+    description = "Builds a minimal Java runtime for the bot with jlink."
+    dependsOn(jlinkImage)
+    // jlink leaves out the default class data sharing archive that JDK and JRE builds ship with, and startup is slower without it.
+    executable = jlinkOutput.get().file("bin/java").asFile.absolutePath
+    args("-Xshare:dump")
+}
+
 // Create a fat JAR with all dependencies
 tasks.jar {
     manifest {
         attributes["Main-Class"] = "com.dragoncon_reminder.bot.Bot"
     }
     duplicatesStrategy = DuplicatesStrategy.EXCLUDE
-    from(configurations.runtimeClasspath.get().map { if (it.isDirectory) it else zipTree(it) })
-}
\ No newline at end of file
+    // Resolved lazily, so the core library's JAR is built before it is unpacked into this one.
+    dependsOn(configurations.runtimeClasspath)
+    from({ configurations.runtimeClasspath.get().map { if (it.isDirectory) it else zipTree(it) } })
+}
+
+// Replay recorded membership page snapshots over simulated days.
+// Usage: gradle simulate --args="<snapshot-directory> <start-date> <end-date>"
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Replays recorded membership page snapshots through the reminder engine."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.dragoncon_reminder.simulation.ReminderSimulator")
+}
+
+// Compare two outbox files written by the bot's --shadow mode; exits with status 1 if the messages differ.
+// Usage: gradle outboxDiff --args="<before-outbox> <after-outbox>"
+tasks.register<JavaExec>("outboxDiff") {
+    group = "application"
+    description = "Compares the messages and stage timings of two shadow runs."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.dragoncon_reminder.simulation.OutboxDiff")
+}
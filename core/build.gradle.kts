@@ -0,0 +1,54 @@
+/*
+ * The core library: membership page parser, rate model, rate history and reminder evaluation.
+ * It has no dependency on JDA or any other Discord library, so the parser and reminder logic can be built, tested
+ * and reused on their own. The bot at the root of the build depends on it.
+ */
+
+plugins {
+    `java-library`
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // DragonConRateParser takes a Jsoup Document, so Jsoup is part of this library's API.
+    api("org.jsoup:jsoup:1.21.2")
+    implementation("org.slf4j:slf4j-api:2.0.17")
+
+    // JUnit 5 dependencies
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.11.0-M1")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.11.0-M1")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // Mockito for mocking
+    testImplementation("org.mockito:mockito-core:5.14.2")
+    testImplementation("org.mockito:mockito-junit-jupiter:5.14.2")
+}
+
+// Configure the test task to use the JUnit Platform (for JUnit 5)
+tasks.test {
+    useJUnitPlatform()
+
+    // Forward parser corpus thresholds, e.g. -Pparser.corpus.regressionThreshold=1.25
+    systemProperties(providers.gradlePropertiesPrefixedBy("parser.corpus.").get())
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+tasks.jar {
+    archiveBaseName.set("dragoncon-reminder-core")
+    manifest {
+        // Lets the library be used from the module path without a module-info.
+        attributes["Automatic-Module-Name"] = "com.dragoncon_reminder.core"
+    }
+}
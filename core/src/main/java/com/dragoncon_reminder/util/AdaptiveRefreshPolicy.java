@@ -0,0 +1,133 @@
+package com.dragoncon_reminder.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Decides how long to wait before fetching the rate table again.
+ * The website is polled rarely while the nearest deadline is months away and more often as a deadline or a TBA tier approaches.
+ * Polls that keep finding the same table, or that keep failing, back off.
+ */
+public final class AdaptiveRefreshPolicy {
+    public static final Duration MIN_INTERVAL = Duration.ofMinutes(15);
+    public static final Duration MAX_INTERVAL = Duration.ofHours(24);
+
+    // A TBA tier can be announced at any time once its deadline is this close.
+    private static final long TBA_WATCH_DAYS = 90;
+    private static final Duration TBA_INTERVAL = Duration.ofHours(6);
+
+    // Every few unchanged polls the interval doubles, up to a limit.
+    private static final int UNCHANGED_POLLS_PER_DOUBLING = 4;
+    private static final int MAX_UNCHANGED_DOUBLINGS = 3;
+
+    private static final Duration FIRST_RETRY = Duration.ofMinutes(5);
+    private static final Duration MAX_RETRY = Duration.ofHours(6);
+
+    private final Clock clock;
+
+    /**
+     * Constructor for the AdaptiveRefreshPolicy object.
+     * @param clock the clock used to determine the current time.
+     */
+    public AdaptiveRefreshPolicy(final Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns how long to wait before the next fetch.
+     * @param rates the latest known rate table, empty if none is known.
+     * @param unchangedPolls the number of consecutive successful polls that found the same table.
+     * @param failedPolls the number of consecutive polls that failed.
+     * @return the delay before the next fetch, between MIN_INTERVAL and MAX_INTERVAL.
+     */
+    public final Duration nextDelay(final List<DragonConRate> rates, final int unchangedPolls, final int failedPolls) {
+        final ZonedDateTime now = ZonedDateTime.now(this.clock);
+        final LocalDate today = now.toLocalDate();
+
+        // Find the nearest deadline that has not passed, and whether a TBA tier is coming up.
+        LocalDate nearestDeadline = null;
+        boolean tbaApproaching = false;
+        for (final DragonConRate rate : rates) {
+            if (rate.deadline != null && rate.deadline.isBefore(today)) {
+                continue;
+            }
+            if (rate.deadline != null && (nearestDeadline == null || rate.deadline.isBefore(nearestDeadline))) {
+                nearestDeadline = rate.deadline;
+            }
+            if (rate.isTBA && (rate.deadline == null || ChronoUnit.DAYS.between(today, rate.deadline) <= TBA_WATCH_DAYS)) {
+                tbaApproaching = true;
+            }
+        }
+
+        Duration delay = rates.isEmpty() ? MIN_INTERVAL : proximityInterval(today, nearestDeadline);
+        if (tbaApproaching) {
+            delay = min(delay, TBA_INTERVAL);
+        }
+
+        // Back off while the page keeps coming back unchanged.
+        delay = delay.multipliedBy(1L << Math.min(unchangedPolls / UNCHANGED_POLLS_PER_DOUBLING, MAX_UNCHANGED_DOUBLINGS));
+
+        // Back off exponentially while the page keeps failing.
+        if (failedPolls > 0) {
+            final Duration retry = min(FIRST_RETRY.multipliedBy(1L << Math.min(failedPolls - 1, 16)), MAX_RETRY);
+            delay = max(delay, retry);
+        }
+
+        // Never sleep through a deadline: the table changes the day after it.
+        if (nearestDeadline != null) {
+            final Duration untilRollover = Duration.between(now, nearestDeadline.plusDays(1).atStartOfDay(now.getZone()));
+            delay = min(delay, max(untilRollover, MIN_INTERVAL));
+        }
+
+        return max(MIN_INTERVAL, min(delay, MAX_INTERVAL));
+    }
+
+    /**
+     * Returns the polling interval for the distance to the nearest deadline.
+     * @param today today's date.
+     * @param nearestDeadline the nearest deadline that has not passed, or null if there is none.
+     * @return the polling interval.
+     */
+    private static Duration proximityInterval(final LocalDate today, final LocalDate nearestDeadline) {
+        if (nearestDeadline == null) {
+            // Every tier has passed; the next convention's rates could be posted at any time.
+            return Duration.ofHours(12);
+        }
+
+        final long daysUntil = ChronoUnit.DAYS.between(today, nearestDeadline);
+        if (daysUntil <= 1) {
+            return MIN_INTERVAL;
+        } else if (daysUntil <= Constants.DAYS_IN_WEEK) {
+            return Duration.ofHours(1);
+        } else if (daysUntil <= Constants.DAYS_IN_MONTH) {
+            return Duration.ofHours(6);
+        } else if (daysUntil <= Constants.DAYS_IN_MONTH * 3) {
+            return Duration.ofHours(12);
+        }
+        return MAX_INTERVAL;
+    }
+
+    /**
+     * Returns the shorter of two durations.
+     * @param first the first duration.
+     * @param second the second duration.
+     * @return the shorter duration.
+     */
+    private static Duration min(final Duration first, final Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    /**
+     * Returns the longer of two durations.
+     * @param first the first duration.
+     * @param second the second duration.
+     * @return the longer duration.
+     */
+    private static Duration max(final Duration first, final Duration second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+}
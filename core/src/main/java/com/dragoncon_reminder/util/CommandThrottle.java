@@ -0,0 +1,169 @@
+package com.dragoncon_reminder.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how many slash commands each user and each guild may run, with one token bucket per user and per guild.
+ * Each bucket holds a minute's worth of commands and refills at a steady rate, so short bursts are allowed but a single user or
+ * a raid cannot keep the bot busy replying. Buckets are taken without locks and kept in striped maps; a bucket that has refilled
+ * completely is indistinguishable from a missing one, so refilled buckets are swept one stripe at a time as commands arrive,
+ * keeping memory proportional to the users active in the last few minutes rather than to every user ever seen.
+ */
+public final class CommandThrottle {
+    // A power of two, so a key picks its stripe with a mask.
+    private static final int STRIPES = 16;
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final Clock clock;
+    private final Buckets users;
+    private final Buckets guilds;
+    private final AtomicLong nextSweepMillis;
+    private final AtomicInteger nextSweepStripe = new AtomicInteger();
+
+    /**
+     * Constructor for the CommandThrottle object.
+     * @param clock the clock used to determine the current time.
+     * @param userCommandsPerMinute the number of commands each user may run per minute, all at once or spread out.
+     * @param guildCommandsPerMinute the number of commands all users of a guild together may run per minute.
+     */
+    public CommandThrottle(final Clock clock, final int userCommandsPerMinute, final int guildCommandsPerMinute) {
+        this.clock = clock;
+        this.users = new Buckets(userCommandsPerMinute);
+        this.guilds = new Buckets(guildCommandsPerMinute);
+        this.nextSweepMillis = new AtomicLong(clock.millis() + Constants.COMMAND_THROTTLE_SWEEP_SECONDS * 1000);
+    }
+
+    /**
+     * Takes a command from the user's bucket and from the guild's bucket if both have one left.
+     * A command refused by the guild's bucket still counts against the user's.
+     * @param userId the ID of the user running the command.
+     * @param guildId the ID of the guild the command came from, or -1 for commands outside a guild.
+     * @return zero if the command may run, otherwise how long until it would be allowed.
+     */
+    public Duration tryAcquire(final long userId, final long guildId) {
+        final long now = this.clock.millis();
+        sweepIfDue(now);
+
+        final long userWait = this.users.tryAcquire(userId, now);
+        if (userWait > 0 || guildId < 0) {
+            return Duration.ofMillis(userWait);
+        }
+        return Duration.ofMillis(this.guilds.tryAcquire(guildId, now));
+    }
+
+    /**
+     * Returns the number of buckets currently kept for users and guilds.
+     * @return the number of buckets.
+     */
+    public final int size() {
+        return this.users.size() + this.guilds.size();
+    }
+
+    /**
+     * Sweeps the next stripe of refilled buckets if the sweep interval has passed. Only the caller that moves the sweep time forward
+     * sweeps, so concurrent commands never sweep the same stripe twice.
+     * @param now the current time, in epoch milliseconds.
+     */
+    private void sweepIfDue(final long now) {
+        final long due = this.nextSweepMillis.get();
+        if (now < due || !this.nextSweepMillis.compareAndSet(due, now + Constants.COMMAND_THROTTLE_SWEEP_SECONDS * 1000)) {
+            return;
+        }
+        final int stripe = Math.floorMod(this.nextSweepStripe.getAndIncrement(), STRIPES);
+        this.users.sweep(stripe, now);
+        this.guilds.sweep(stripe, now);
+    }
+
+    /**
+     * Token buckets with one limit, keyed by user or guild ID.
+     * Each bucket is a single theoretical arrival time: the time at which it will be full again. Taking a token moves it one
+     * refill interval forward, which is allowed while it stays within a minute of now, so a bucket is updated with one compare-and-set.
+     */
+    private static final class Buckets {
+        private final long refillMillis;
+        private final long capacityMillis;
+        private final ConcurrentHashMap<Long, AtomicLong>[] stripes;
+
+        /**
+         * Constructor for the Buckets object.
+         * @param commandsPerMinute the capacity of each bucket, refilled over a minute.
+         */
+        @SuppressWarnings("unchecked")
+        Buckets(final int commandsPerMinute) {
+            if (commandsPerMinute < 1 || commandsPerMinute > MILLIS_PER_MINUTE) {
+                throw new IllegalArgumentException("Commands per minute must be between 1 and " + MILLIS_PER_MINUTE);
+            }
+            this.refillMillis = MILLIS_PER_MINUTE / commandsPerMinute;
+            this.capacityMillis = this.refillMillis * commandsPerMinute;
+            this.stripes = new ConcurrentHashMap[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                this.stripes[i] = new ConcurrentHashMap<>();
+            }
+        }
+
+        /**
+         * Takes a token from a bucket, creating the bucket full if there is none.
+         * @param key the user or guild ID.
+         * @param now the current time, in epoch milliseconds.
+         * @return zero if a token was taken, otherwise the milliseconds until one will be available.
+         */
+        long tryAcquire(final long key, final long now) {
+            final ConcurrentHashMap<Long, AtomicLong> stripe = stripeOf(key);
+            AtomicLong bucket = stripe.get(key);
+            if (bucket == null) {
+                final AtomicLong created = new AtomicLong(now);
+                bucket = stripe.putIfAbsent(key, created);
+                if (bucket == null) {
+                    bucket = created;
+                }
+            }
+
+            while (true) {
+                final long fullAt = bucket.get();
+                final long next = Math.max(fullAt, now) + this.refillMillis;
+                if (next - now > this.capacityMillis) {
+                    return next - now - this.capacityMillis;
+                }
+                if (bucket.compareAndSet(fullAt, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Removes the buckets of one stripe that have refilled completely.
+         * A bucket taken from while it is being removed loses that token, which at worst lets its owner run one more command.
+         * @param index the stripe to sweep.
+         * @param now the current time, in epoch milliseconds.
+         */
+        void sweep(final int index, final long now) {
+            this.stripes[index].values().removeIf(bucket -> bucket.get() <= now);
+        }
+
+        /**
+         * Returns the number of buckets in every stripe.
+         * @return the number of buckets.
+         */
+        int size() {
+            int size = 0;
+            for (final ConcurrentHashMap<Long, AtomicLong> stripe : this.stripes) {
+                size += stripe.size();
+            }
+            return size;
+        }
+
+        /**
+         * Returns the stripe a key's bucket is kept in.
+         * @param key the user or guild ID.
+         * @return the stripe.
+         */
+        private ConcurrentHashMap<Long, AtomicLong> stripeOf(final long key) {
+            // Snowflake IDs share their low bits within a millisecond, so the high bits are mixed in.
+            return this.stripes[(int) (key ^ (key >>> 32) ^ (key >>> 22)) & (STRIPES - 1)];
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.dragoncon_reminder.util;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * This is a static class that contains universal constants that are used by this Discord bot.
+ */
+public final class Constants {
+    public static final String MEMBERSHIP_URL = "https://dragoncon.org/about/membership-info/";
+    // Overrides the membership page the bot scrapes, e.g. to point it at a local copy when measuring startup.
+    public static final String MEMBERSHIP_URL_KEY = "MEMBERSHIP_URL";
+    public static final ZoneId ZONE = ZoneId.of("America/New_York");
+    public static final String SECTION_HEADING = "Dragon Con 5-Day Membership Rates:";
+    
+    // Reminders are due on whole days before a deadline, so the resident bot checks once a day at this hour in ZONE.
+    public static final int REMINDER_HOUR = 9;
+
+    public static final String DISCORD_TOKEN_KEY = "DISCORD_TOKEN";
+    public static final String DISCORD_CHANNEL_ID_KEY = "DISCORD_CHANNEL_ID";
+
+    // Reminder-only deployments can post through a webhook URL instead, without a bot token or gateway connection.
+    public static final String DISCORD_WEBHOOK_URL_KEY = "DISCORD_WEBHOOK_URL";
+
+    // Every observed rate table is appended to this file so the history survives restarts.
+    public static final String RATE_HISTORY_FILE_KEY = "RATE_HISTORY_FILE";
+    public static final String DEFAULT_RATE_HISTORY_FILE = "data/rate-history.bin";
+
+    // The latest rate table is saved here so commands can be answered right after a restart.
+    public static final String RATE_SNAPSHOT_FILE_KEY = "RATE_SNAPSHOT_FILE";
+    public static final String DEFAULT_RATE_SNAPSHOT_FILE = "data/rate-snapshot.bin";
+
+    // Commands answered from rates older than this trigger a refresh in the background.
+    public static final long RATE_MAX_AGE_MINUTES = 60;
+
+    // Cap on requests to the DragonCon website in any rolling hour, shared by scheduled refreshes and commands.
+    public static final String MAX_UPSTREAM_REQUESTS_PER_HOUR_KEY = "MAX_UPSTREAM_REQUESTS_PER_HOUR";
+    public static final int DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR = 6;
+
+    // Per-guild locale and time zone, as "guildId:languageTag:zoneId" entries separated by commas; "*" sets the default.
+    public static final String GUILD_SETTINGS_KEY = "GUILD_SETTINGS";
+
+    // Slash commands each user, and all users of a guild together, may run per minute; refilled buckets are swept this often.
+    public static final String USER_COMMANDS_PER_MINUTE_KEY = "USER_COMMANDS_PER_MINUTE";
+    public static final int DEFAULT_USER_COMMANDS_PER_MINUTE = 5;
+    public static final String GUILD_COMMANDS_PER_MINUTE_KEY = "GUILD_COMMANDS_PER_MINUTE";
+    public static final int DEFAULT_GUILD_COMMANDS_PER_MINUTE = 60;
+    public static final long COMMAND_THROTTLE_SWEEP_SECONDS = 15;
+
+    // Outbound Discord requests allowed in any rolling second, below Discord's global limit of 50, and how many of them
+    // broadcast reminders must leave free for command replies.
+    public static final int DISCORD_REQUESTS_PER_SECOND = 40;
+    public static final int INTERACTION_RESERVED_REQUESTS_PER_SECOND = 10;
+
+    // Time allowed to send queued messages and save state on shutdown; below Kubernetes' default 30 second grace period.
+    public static final long SHUTDOWN_TIMEOUT_SECONDS = 25;
+
+    // Command line flag that checks the rates, sends today's reminder if one is due and exits, for scheduled jobs.
+    // The last reminder sent is remembered in this file, so that a retried job does not post it twice.
+    public static final String RUN_ONCE_ARG = "--run-once";
+    public static final String SENT_REMINDER_FILE_KEY = "SENT_REMINDER_FILE";
+    public static final String DEFAULT_SENT_REMINDER_FILE = "data/sent-reminder.txt";
+
+    // Channels that keep a pinned countdown message, as channel IDs separated by commas. The message is edited in place when
+    // the day rolls over or the rates change; the message IDs and a hash of their content are kept in this file across restarts.
+    public static final String PINNED_STATUS_CHANNEL_IDS_KEY = "PINNED_STATUS_CHANNEL_IDS";
+    public static final String PINNED_STATUS_FILE_KEY = "PINNED_STATUS_FILE";
+    public static final String DEFAULT_PINNED_STATUS_FILE = "data/pinned-status.txt";
+    public static final long PINNED_STATUS_CHECK_MINUTES = 5;
+    public static final long PINNED_STATUS_COALESCE_SECONDS = 10;
+
+    // Continuous flight recording, enabled by setting the directory. The newest hours of events are kept in a rolling on-disk buffer
+    // and written to the directory whenever the request file appears in it, and once more when the process exits.
+    public static final String JFR_RECORDING_DIR_KEY = "JFR_RECORDING_DIR";
+    public static final String JFR_MAX_SIZE_MB_KEY = "JFR_MAX_SIZE_MB";
+    public static final long DEFAULT_JFR_MAX_SIZE_MB = 64;
+    public static final long JFR_MAX_AGE_HOURS = 6;
+    public static final String JFR_RECORDING_NAME = "dragoncon-reminder";
+    public static final String JFR_DUMP_REQUEST_FILE = "dump-request";
+    public static final long JFR_DUMP_POLL_SECONDS = 5;
+
+    // Command line flag that streams the rate history file as CSV or JSON to a file or standard output, then exits:
+    // --export-rates <csv|json> [--changes-only] [output-file]. Exports are written through a buffer of this many characters.
+    public static final String EXPORT_ARG = "--export-rates";
+    public static final String CHANGES_ONLY_ARG = "--changes-only";
+    public static final int EXPORT_BUFFER_CHARS = 64 * 1024;
+
+    // Command line flag that parses a saved membership page and exits without connecting to Discord.
+    public static final String SMOKE_TEST_ARG = "--smoke-test";
+
+    // Command line flag that runs the reminder pipeline against the live website and writes what would be sent to an outbox file.
+    public static final String SHADOW_ARG = "--shadow";
+    public static final String SHADOW_CHANNEL_ID = "shadow";
+
+    // Command line flag that answers slash commands over HTTP only, signed with the application's public key, without
+    // connecting to the gateway or sending reminders, so any number of instances can run behind a load balancer.
+    public static final String SERVE_INTERACTIONS_ARG = "--serve-interactions";
+    public static final String DISCORD_PUBLIC_KEY_KEY = "DISCORD_PUBLIC_KEY";
+    public static final String INTERACTIONS_PORT_KEY = "INTERACTIONS_PORT";
+    public static final int DEFAULT_INTERACTIONS_PORT = 8080;
+    public static final String INTERACTIONS_PATH = "/interactions";
+    public static final String HEALTH_PATH = "/healthz";
+    public static final int INTERACTIONS_THREADS = 4;
+    // Interactions are a few KiB at most, so larger bodies are refused before being read or their signature checked.
+    public static final int INTERACTIONS_MAX_BODY_BYTES = 64 * 1024;
+
+    // iCalendar feed of every deadline, served at this path by the interactions server, or on its own port when CALENDAR_PORT is set.
+    // It is rendered once per rate table change; calendar clients are asked to poll hourly and revalidate with ETag or Last-Modified.
+    public static final String CALENDAR_PATH = "/deadlines.ics";
+    public static final String CALENDAR_PORT_KEY = "CALENDAR_PORT";
+    public static final long CALENDAR_MAX_AGE_SECONDS = 3600;
+    public static final int CALENDAR_THREADS = 2;
+    // Alarms go off at this hour, local to the calendar, on each reminder day rather than at midnight: when the bot posts the reminder.
+    public static final int CALENDAR_ALARM_HOUR = REMINDER_HOUR;
+
+    public static final String LIST_ALL_DEADLINES_COMMAND = "list-all-deadlines";
+    public static final String NEXT_DEADLINE_COMMAND = "next-deadline";
+    public static final String RATE_ON_COMMAND = "rate-on";
+    public static final String PRICE_HISTORY_COMMAND = "price-history";
+    public static final String EXPORT_RATES_COMMAND = "export-rates";
+    public static final String DATE_OPTION = "date";
+    public static final String FORMAT_OPTION = "format";
+    public static final String CHANGES_ONLY_OPTION = "changes-only";
+
+    // Discord allows at most this many autocomplete suggestions per request.
+    public static final int MAX_AUTOCOMPLETE_CHOICES = 25;
+
+    // Discord rejects any message content longer than this many characters.
+    public static final int DISCORD_MESSAGE_LIMIT = 2000;
+
+    // Discord rejects attachments larger than this in servers without boosts.
+    public static final long DISCORD_ATTACHMENT_LIMIT_BYTES = 10L * 1024 * 1024;
+
+    public static final int DAYS_IN_MONTH = 30;
+    public static final int DAYS_IN_WEEK = 7;
+
+    // Days before a deadline on which a reminder is posted, and on which the calendar feed's alarms go off.
+    public static final List<Integer> REMINDER_THRESHOLDS_IN_DAYS = List.of(DAYS_IN_MONTH, DAYS_IN_WEEK * 2, DAYS_IN_WEEK, 3, 1, 0);
+}
@@ -0,0 +1,74 @@
+package com.dragoncon_reminder.util;
+
+import java.util.List;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * This is a helper class that builds the countdown shown in a channel's pinned status message.
+ * The content only depends on the rates and today's date, so rendering it twice on the same day gives the same text
+ * and the pinned message is only edited when the day rolls over or the rates change.
+ */
+public final class CountdownStatus {
+    private final Clock clock;
+    private final GuildSettings settings;
+
+    /**
+     * Custom constructor to set the clock and the locale and time zone of the guild the status is posted to.
+     * @param clock the clock used to determine the current instant.
+     * @param settings the locale dates and prices are formatted in, and the time zone that decides today's date.
+     */
+    public CountdownStatus(final Clock clock, final GuildSettings settings) {
+        this.clock = clock;
+        this.settings = settings;
+    }
+
+    /**
+     * Builds the countdown to the next deadline, along with the rate that follows it.
+     * @param dragonConRates the list of DragonCon rates and deadlines, in the order listed on the website.
+     * @return a String that contains the status content to be posted.
+     */
+    public final String build(final List<DragonConRate> dragonConRates) {
+        final LocalDate today = LocalDate.now(this.clock.withZone(this.settings.getZone()));
+        final LocalizedFormats formats = this.settings.getFormats();
+
+        // The current rate is the one with the closest deadline that has not passed; the rate listed after it follows.
+        DragonConRate current = null;
+        DragonConRate next = null;
+        for (final DragonConRate dragonConRate : dragonConRates) {
+            if (current != null) {
+                next = dragonConRate;
+                break;
+            }
+            if (dragonConRate.deadline == null || !dragonConRate.deadline.isBefore(today)) {
+                current = dragonConRate;
+            }
+        }
+
+        final StringBuffer status = new StringBuffer("**DragonCon Membership Countdown**\n\n");
+        if (current == null) {
+            return status.append("No upcoming rates found on the DragonCon website.").toString();
+        }
+
+        status.append("• Current rate: **").append(formats.formatPrice(current)).append("**\n");
+        if (current.deadline == null) {
+            return status.append("• No deadline specified").toString();
+        }
+
+        final long daysLeft = ChronoUnit.DAYS.between(today, current.deadline);
+        status.append("• Valid through: **").append(formats.formatDate(current.deadline)).append("** (");
+        if (daysLeft == 0) {
+            status.append("**Last day!**");
+        } else {
+            status.append(daysLeft).append(daysLeft == 1 ? " day left" : " days left");
+        }
+        status.append(")");
+
+        if (next != null) {
+            status.append("\n• Then: **").append(formats.formatPrice(next)).append("**");
+        }
+        return status.toString();
+    }
+}
@@ -0,0 +1,127 @@
+package com.dragoncon_reminder.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * This is a static class that renders every DragonCon rate deadline as an iCalendar (RFC 5545) feed.
+ * Each deadline is an all-day event, with one alarm per reminder threshold showing the same line the bot would post that day.
+ * Event UIDs are derived from the deadline, so calendar clients update an event in place when its price changes.
+ */
+public final class DeadlineCalendar {
+    private static final String CRLF = "\r\n";
+    // Content lines longer than this many octets are folded onto continuation lines.
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd", Locale.ROOT);
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'", Locale.ROOT)
+        .withZone(ZoneOffset.UTC);
+
+    private DeadlineCalendar() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Renders the deadlines of a rate table. Rates without a deadline are left out, as is any rate repeating an earlier deadline.
+     * @param rates the rate table.
+     * @param stamp when the rate table was observed, used as the DTSTAMP of every event.
+     * @return the calendar, with CRLF line endings.
+     */
+    public static String render(final List<DragonConRate> rates, final Instant stamp) {
+        final LocalizedFormats formats = LocalizedFormats.forLocale(Locale.ROOT);
+        final String dtstamp = DATE_TIME.format(stamp);
+        final StringBuffer calendar = new StringBuffer();
+        line(calendar, "BEGIN:VCALENDAR");
+        line(calendar, "VERSION:2.0");
+        line(calendar, "PRODID:-//dragoncon-reminder-bot//DragonCon membership deadlines//EN");
+        line(calendar, "CALSCALE:GREGORIAN");
+        line(calendar, "METHOD:PUBLISH");
+        line(calendar, "X-WR-CALNAME:DragonCon membership deadlines");
+        line(calendar, "REFRESH-INTERVAL;VALUE=DURATION:PT" + Constants.CALENDAR_MAX_AGE_SECONDS / 3600 + "H");
+        line(calendar, "X-PUBLISHED-TTL:PT" + Constants.CALENDAR_MAX_AGE_SECONDS / 3600 + "H");
+
+        final Set<LocalDate> deadlines = new HashSet<>();
+        for (final DragonConRate rate : rates) {
+            if (rate.getDeadline() == null || !deadlines.add(rate.getDeadline())) {
+                continue;
+            }
+            line(calendar, "BEGIN:VEVENT");
+            line(calendar, "UID:deadline-" + rate.getDeadline() + "@dragoncon-reminder-bot");
+            line(calendar, "DTSTAMP:" + dtstamp);
+            line(calendar, "DTSTART;VALUE=DATE:" + DATE.format(rate.getDeadline()));
+            line(calendar, "DTEND;VALUE=DATE:" + DATE.format(rate.getDeadline().plusDays(1)));
+            line(calendar, "SUMMARY:" + escape(rate.getIsTBA()
+                ? "DragonCon membership deadline (price TBA)"
+                : "Last day for DragonCon memberships at " + formats.formatPrice(rate)));
+            line(calendar, "DESCRIPTION:" + escape(rate.getRawLine()));
+            line(calendar, "TRANSP:TRANSPARENT");
+            for (final int days : Constants.REMINDER_THRESHOLDS_IN_DAYS) {
+                line(calendar, "BEGIN:VALARM");
+                line(calendar, "ACTION:DISPLAY");
+                line(calendar, "DESCRIPTION:" + escape(Reminder.message(formats, rate, days)));
+                line(calendar, "TRIGGER:" + trigger(days));
+                line(calendar, "END:VALARM");
+            }
+            line(calendar, "END:VEVENT");
+        }
+
+        line(calendar, "END:VCALENDAR");
+        return calendar.toString();
+    }
+
+    /**
+     * Returns the trigger of an alarm going off at the alarm hour a number of days before an all-day event.
+     * All-day events start at midnight, so the trigger is the alarm hour minus the days, e.g. -P2DT15H for 9:00 three days before.
+     * @param days the number of days before the event.
+     * @return the trigger, as an RFC 5545 duration relative to the start of the event.
+     */
+    @VisibleForTesting
+    public static String trigger(final int days) {
+        final long hours = Constants.CALENDAR_ALARM_HOUR - 24L * days;
+        final long absoluteHours = Math.abs(hours);
+        final StringBuffer duration = new StringBuffer(hours < 0 ? "-P" : "P");
+        if (absoluteHours / 24 > 0) {
+            duration.append(absoluteHours / 24).append('D');
+        }
+        if (absoluteHours % 24 > 0 || absoluteHours == 0) {
+            duration.append('T').append(absoluteHours % 24).append('H');
+        }
+        return duration.toString();
+    }
+
+    /**
+     * Escapes a value of a TEXT property: backslashes, semicolons, commas and line breaks.
+     * @param value the value.
+     * @return the escaped value.
+     */
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\r\n", "\\n").replace("\n", "\\n");
+    }
+
+    /**
+     * Appends a content line, folded so that no line is longer than 75 octets of UTF-8, without splitting a character.
+     * @param calendar the calendar being rendered.
+     * @param content the content line, without a line ending.
+     */
+    private static void line(final StringBuffer calendar, final String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            final int codePoint = content.codePointAt(i);
+            final int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + length > MAX_LINE_OCTETS) {
+                // The continuation line starts with a space, which counts toward its length.
+                calendar.append(CRLF).append(' ');
+                octets = 1;
+            }
+            calendar.appendCodePoint(codePoint);
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        calendar.append(CRLF);
+    }
+}
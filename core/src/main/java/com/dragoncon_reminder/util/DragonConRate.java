@@ -1,13 +1,16 @@
 package com.dragoncon_reminder.util;
 
 import java.time.LocalDate;
-
-import com.google.common.annotations.VisibleForTesting;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * DragonConRate is an object that contains all relevant details pertaining the DragonCon price rates and their associated deadlines.
  */
 public final class DragonConRate {
+    private static final Pattern DOLLAR_AMOUNT = Pattern.compile("^\\$\\s*(\\d[\\d,]*)(?:\\.(\\d{1,2}))?");
+
     final String rawLine;
     final String price;
     final boolean isTBA;
@@ -66,4 +69,49 @@ public final class DragonConRate {
     public final LocalDate getDeadline() {
         return this.deadline;
     }
+
+    /**
+     * Returns the price as a whole number of cents, e.g. 12550 for "$125.50".
+     * @return the price in cents, or -1 if the price is not a dollar amount (e.g. TBA).
+     */
+    public final long getPriceInCents() {
+        final Matcher matcher = DOLLAR_AMOUNT.matcher(this.price);
+        if (!matcher.find()) {
+            return -1;
+        }
+
+        final long dollars = Long.parseLong(matcher.group(1).replace(",", ""));
+        final String fraction = matcher.group(2);
+        final long cents = fraction == null ? 0 : Long.parseLong(fraction.length() == 1 ? fraction + "0" : fraction);
+        return dollars * 100 + cents;
+    }
+
+    /**
+     * Returns true if the other object is a rate with the same raw line, price, TBA flag and deadline.
+     * @param other the object to compare with.
+     * @return true if both rates hold the same values.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DragonConRate)) {
+            return false;
+        }
+        final DragonConRate rate = (DragonConRate) other;
+        return this.isTBA == rate.isTBA
+            && Objects.equals(this.rawLine, rate.rawLine)
+            && Objects.equals(this.price, rate.price)
+            && Objects.equals(this.deadline, rate.deadline);
+    }
+
+    /**
+     * Returns a hash code consistent with equals.
+     * @return the hash code of the rate.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.rawLine, this.price, this.isTBA, this.deadline);
+    }
 }
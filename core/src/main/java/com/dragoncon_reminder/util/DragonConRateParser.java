@@ -6,6 +6,7 @@ import java.util.Locale;
 import java.time.format.DateTimeFormatter;
 import java.io.IOException;
 import java.time.LocalDate;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -19,10 +20,31 @@ public final class DragonConRateParser {
      * Constructor to instantiate a DragonConRateParser object.
      */
     public DragonConRateParser() throws IOException {
-        this.dragonConMembershipSite = Jsoup.connect(Constants.MEMBERSHIP_URL)
-            .userAgent("Mozilla/5.0 (compatible; ReminderBot/1.0)")
-            .timeout(15000)
-            .get();
+        this(Constants.MEMBERSHIP_URL);
+    }
+
+    /**
+     * Custom constructor to fetch the membership page from a different URL, e.g. a mirror or a local stub server.
+     * @param membershipUrl the URL of the DragonCon membership page.
+     * @throws IOException in case the page cannot be fetched.
+     */
+    public DragonConRateParser(final String membershipUrl) throws IOException {
+        final PipelineEvents.PageFetch event = new PipelineEvents.PageFetch();
+        event.begin();
+        try {
+            final Connection.Response response = Jsoup.connect(membershipUrl)
+                .userAgent("Mozilla/5.0 (compatible; ReminderBot/1.0)")
+                .timeout(15000)
+                .execute()
+                .readFully();
+            this.dragonConMembershipSite = response.parse();
+            event.bytes = response.bodyAsBytes().length;
+            event.succeeded = true;
+        } finally {
+            // Failed fetches are committed too, since slow timeouts are what a recording is most often needed for.
+            event.url = membershipUrl;
+            event.commit();
+        }
     }
 
     /**
@@ -39,12 +61,16 @@ public final class DragonConRateParser {
      * @throws Exception in case there is an error while trying to connect to the website, parse the website, and/or grab content.
      */
     public final List<DragonConRate> fetchRatesAndDeadlines() throws Exception {
+        final PipelineEvents.RateParse event = new PipelineEvents.RateParse();
+        event.begin();
+
         // Grab the relevant data from the website based on the header.
         final String rawData = getRelevantTextBlock(this.dragonConMembershipSite);
         final List<DragonConRate> dragonConRates = new ArrayList<>();
 
         // Parse each line from the relevant data and store it.
-        for (final String line : rawData.split("\n")) {
+        final String[] lines = rawData.split("\n");
+        for (final String line : lines) {
             final String newLine = line.trim();
             if (newLine.isEmpty()) {
                 continue;
@@ -52,6 +78,9 @@ public final class DragonConRateParser {
             dragonConRates.add(parseDragonConRate(newLine));
         }
 
+        event.lineCount = lines.length;
+        event.rateCount = dragonConRates.size();
+        event.commit();
         return dragonConRates;
     }
 
@@ -62,41 +91,53 @@ public final class DragonConRateParser {
      * @throws IllegalStateException in case there are any issues when parsing the text block(s).
      */
     private final String getRelevantTextBlock(final Document doc) throws IllegalStateException {
-        // Find the relevant heading to grab the data.
-        Element heading = null;
-        for (Element h : doc.select("h1,h2,h3,h4,h5,h6")) {
-            String headingText = h.text().trim();
-
-            if (headingText.equalsIgnoreCase(Constants.SECTION_HEADING)) {
-                heading = h;
-                break;
+        final PipelineEvents.TextBlockExtract event = new PipelineEvents.TextBlockExtract();
+        event.begin();
+        try {
+            // Find the relevant heading to grab the data.
+            Element heading = null;
+            for (Element h : doc.select("h1,h2,h3,h4,h5,h6")) {
+                event.headingsScanned++;
+                String headingText = h.text().trim();
+
+                if (headingText.equalsIgnoreCase(Constants.SECTION_HEADING)) {
+                    heading = h;
+                    break;
+                }
             }
-        }
 
-        if (heading == null) {
-            throw new IllegalStateException("There was an error trying to grab the following section heading: " + Constants.SECTION_HEADING);
-        }
+            if (heading == null) {
+                throw new IllegalStateException("There was an error trying to grab the following section heading: " + Constants.SECTION_HEADING);
+            }
 
-        // Grab and parse the text block following the heading.
-        final Element block = heading.nextElementSibling();
-        if (block == null) {
-            throw new IllegalStateException("There was an error trying to grab the content after the heading: " + Constants.SECTION_HEADING);
-        }
+            // Grab and parse the text block following the heading.
+            final Element block = heading.nextElementSibling();
+            if (block == null) {
+                throw new IllegalStateException("There was an error trying to grab the content after the heading: " + Constants.SECTION_HEADING);
+            }
 
-        // Use a more direct approach: get the text content while preserving line breaks
-        // Create a temporary document with the block's HTML
-        final Document tempDoc = Jsoup.parse(block.html());
+            // Use a more direct approach: get the text content while preserving line breaks
+            // Create a temporary document with the block's HTML
+            final Document tempDoc = Jsoup.parse(block.html());
 
-        // Replace all <br> tags with a unique marker before getting text
-        tempDoc.select("br").before("|||NEWLINE|||");
+            // Replace all <br> tags with a unique marker before getting text
+            tempDoc.select("br").before("|||NEWLINE|||");
 
-        // Get the text content
-        String text = tempDoc.text();
+            // Get the text content
+            String text = tempDoc.text();
 
-        // Replace the marker with actual newlines
-        text = text.replace("|||NEWLINE|||", "\n");
+            // Replace the marker with actual newlines
+            text = text.replace("|||NEWLINE|||", "\n");
 
-        return text;
+            event.characters = text.length();
+            return text;
+        } catch (RuntimeException e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            // A page whose layout changed is committed too, so a recording shows the failed stage as well as the failed scrape.
+            event.commit();
+        }
     }
 
     /**
@@ -105,6 +146,9 @@ public final class DragonConRateParser {
      * @return The individual line as represented by a DragonConRate object.
      */
     private final DragonConRate parseDragonConRate(final String line) {
+        final PipelineEvents.LineParse event = new PipelineEvents.LineParse();
+        event.begin();
+
         // Parse the line, using the text "through" as a delimiter.
         final String lowercaseLine = line.toLowerCase(Locale.ROOT);
         final String price = line.split("\\s+through\\s+|\\s+Through\\s+")[0].trim();
@@ -130,6 +174,10 @@ public final class DragonConRateParser {
             }
         }
 
+        event.characters = line.length();
+        event.hasDeadline = deadline != null;
+        event.tba = isTBA;
+        event.commit();
         return new DragonConRate(line, price, isTBA, deadline);
     }
 }
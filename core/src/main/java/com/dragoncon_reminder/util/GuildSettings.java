@@ -0,0 +1,58 @@
+package com.dragoncon_reminder.util;
+
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * The locale and time zone a guild's replies are rendered in.
+ * Locale.ROOT keeps the original formatting: ISO dates and prices exactly as listed on the DragonCon website.
+ */
+public final class GuildSettings {
+    private final Locale locale;
+    private final ZoneId zone;
+    private final String cacheKey;
+
+    /**
+     * Constructor for the GuildSettings object.
+     * @param locale the locale dates and prices are formatted in.
+     * @param zone the time zone that decides which day it is for the guild.
+     */
+    public GuildSettings(final Locale locale, final ZoneId zone) {
+        this.locale = locale;
+        this.zone = zone;
+        // Computed once, since it is part of the key of every cached reply.
+        this.cacheKey = locale.toLanguageTag() + "|" + zone.getId();
+    }
+
+    /**
+     * Returns the locale dates and prices are formatted in.
+     * @return the locale.
+     */
+    public final Locale getLocale() {
+        return this.locale;
+    }
+
+    /**
+     * Returns the time zone that decides which day it is for the guild.
+     * @return the time zone.
+     */
+    public final ZoneId getZone() {
+        return this.zone;
+    }
+
+    /**
+     * Returns the formatters for this locale.
+     * @return the shared formatters for this locale.
+     */
+    public final LocalizedFormats getFormats() {
+        return LocalizedFormats.forLocale(this.locale);
+    }
+
+    /**
+     * Returns a key identifying everything that changes how a reply is rendered, shared by all guilds with the same settings.
+     * @return the locale tag and zone id.
+     */
+    public final String getCacheKey() {
+        return this.cacheKey;
+    }
+}
@@ -0,0 +1,135 @@
+package com.dragoncon_reminder.util;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Looks up the locale and time zone configured for each guild, falling back to a default for guilds without settings.
+ * Settings are read once at startup, so lookups never lock or allocate.
+ */
+public final class GuildSettingsRegistry {
+    private static final String DEFAULT_GUILD = "*";
+
+    private final GuildSettings fallback;
+    private final Map<Long, GuildSettings> byGuild;
+
+    /**
+     * Constructor for a GuildSettingsRegistry that gives every guild the same settings.
+     * @param fallback the settings used for every guild.
+     */
+    public GuildSettingsRegistry(final GuildSettings fallback) {
+        this(fallback, Map.of());
+    }
+
+    /**
+     * Constructor for the GuildSettingsRegistry object.
+     * @param fallback the settings used for guilds without their own.
+     * @param byGuild the settings of each configured guild, keyed by guild ID.
+     */
+    public GuildSettingsRegistry(final GuildSettings fallback, final Map<Long, GuildSettings> byGuild) {
+        this.fallback = fallback;
+        this.byGuild = Map.copyOf(byGuild);
+    }
+
+    /**
+     * Parses guild settings in the form "guildId:languageTag:zoneId", separated by commas, e.g.
+     * "*:en-GB:Europe/London,123456789012345678:de-DE:Europe/Berlin".
+     * The guild ID "*" replaces the default, and an empty language tag or zone keeps the default's.
+     * @param spec the settings to parse; null or blank keeps the default for every guild.
+     * @param fallback the default settings.
+     * @return the registry.
+     * @throws IllegalArgumentException in case an entry cannot be parsed.
+     */
+    public static GuildSettingsRegistry parse(final String spec, final GuildSettings fallback) {
+        if (spec == null || spec.isBlank()) {
+            return new GuildSettingsRegistry(fallback);
+        }
+
+        // The default entry is applied first, so the other entries inherit from it wherever they leave a part empty.
+        GuildSettings defaults = fallback;
+        for (final String entry : spec.split(",")) {
+            final String[] parts = split(entry);
+            if (DEFAULT_GUILD.equals(parts[0])) {
+                defaults = settings(parts, defaults);
+            }
+        }
+
+        final Map<Long, GuildSettings> byGuild = new HashMap<>();
+        for (final String entry : spec.split(",")) {
+            final String[] parts = split(entry);
+            if (DEFAULT_GUILD.equals(parts[0])) {
+                continue;
+            }
+            try {
+                byGuild.put(Long.parseLong(parts[0]), settings(parts, defaults));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid guild ID in guild settings: " + entry.trim(), e);
+            }
+        }
+        return new GuildSettingsRegistry(defaults, byGuild);
+    }
+
+    /**
+     * Returns the settings of a guild.
+     * @param guildId the ID of the guild.
+     * @return the guild's settings, or the default settings if it has none.
+     */
+    public final GuildSettings forGuild(final long guildId) {
+        return this.byGuild.getOrDefault(guildId, this.fallback);
+    }
+
+    /**
+     * Returns the settings used for guilds without their own, and for messages that do not belong to a guild.
+     * @return the default settings.
+     */
+    public final GuildSettings getDefault() {
+        return this.fallback;
+    }
+
+    /**
+     * Splits one entry into its guild ID, language tag and zone.
+     * @param entry the entry to split.
+     * @return the three trimmed parts.
+     * @throws IllegalArgumentException in case the entry does not have exactly three parts.
+     */
+    private static String[] split(final String entry) {
+        final String[] parts = entry.trim().split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Guild settings must look like guildId:languageTag:zoneId, got: " + entry.trim());
+        }
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+        return parts;
+    }
+
+    /**
+     * Builds the settings of one entry.
+     * @param parts the guild ID, language tag and zone of the entry.
+     * @param defaults the settings used for empty parts.
+     * @return the settings.
+     * @throws IllegalArgumentException in case the language tag or zone is not valid.
+     */
+    private static GuildSettings settings(final String[] parts, final GuildSettings defaults) {
+        Locale locale = defaults.getLocale();
+        if (!parts[1].isEmpty()) {
+            locale = Locale.forLanguageTag(parts[1]);
+            if (locale.getLanguage().isEmpty()) {
+                throw new IllegalArgumentException("Invalid language tag in guild settings: " + parts[1]);
+            }
+        }
+
+        ZoneId zone = defaults.getZone();
+        if (!parts[2].isEmpty()) {
+            try {
+                zone = ZoneId.of(parts[2]);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Invalid time zone in guild settings: " + parts[2], e);
+            }
+        }
+        return new GuildSettings(locale, zone);
+    }
+}
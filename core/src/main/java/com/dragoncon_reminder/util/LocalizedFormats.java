@@ -0,0 +1,103 @@
+package com.dragoncon_reminder.util;
+
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formats dates and prices for one locale. Instances are shared per locale and safe to use from any thread.
+ * A rate table only holds a handful of deadlines and prices, so each one is formatted once and then served from a cache.
+ */
+public final class LocalizedFormats {
+    private static final Map<Locale, LocalizedFormats> BY_LOCALE = new ConcurrentHashMap<>();
+    private static final Currency PRICE_CURRENCY = Currency.getInstance("USD");
+
+    // Bounds the caches, since dates typed into /rate-on are formatted too.
+    private static final int MAX_CACHED_VALUES = 1024;
+
+    private final DateTimeFormatter dateFormat;
+    private final NumberFormat priceFormat; // Not thread-safe, only used while holding its lock.
+    private final Map<LocalDate, String> formattedDates = new ConcurrentHashMap<>();
+    private final Map<String, String> formattedPrices = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the LocalizedFormats object.
+     * @param locale the locale to format in; Locale.ROOT keeps ISO dates and the prices as listed.
+     */
+    private LocalizedFormats(final Locale locale) {
+        if (Locale.ROOT.equals(locale)) {
+            this.dateFormat = DateTimeFormatter.ISO_LOCAL_DATE;
+            this.priceFormat = null;
+        } else {
+            this.dateFormat = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale);
+            this.priceFormat = NumberFormat.getCurrencyInstance(locale);
+            this.priceFormat.setCurrency(PRICE_CURRENCY);
+        }
+    }
+
+    /**
+     * Returns the shared formats of a locale, creating them the first time the locale is used.
+     * @param locale the locale to format in.
+     * @return the formats of the locale.
+     */
+    public static LocalizedFormats forLocale(final Locale locale) {
+        return BY_LOCALE.computeIfAbsent(locale, LocalizedFormats::new);
+    }
+
+    /**
+     * Formats a date.
+     * @param date the date to format.
+     * @return the formatted date.
+     */
+    public final String formatDate(final LocalDate date) {
+        final String cached = this.formattedDates.get(date);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String formatted = this.dateFormat.format(date);
+        if (this.formattedDates.size() < MAX_CACHED_VALUES) {
+            this.formattedDates.put(date, formatted);
+        }
+        return formatted;
+    }
+
+    /**
+     * Formats the price of a rate in US dollars. Prices that are not a dollar amount, such as TBA, are returned as listed.
+     * @param rate the rate whose price to format.
+     * @return the formatted price.
+     */
+    public final String formatPrice(final DragonConRate rate) {
+        if (this.priceFormat == null) {
+            return rate.getPrice();
+        }
+
+        final String cached = this.formattedPrices.get(rate.getPrice());
+        if (cached != null) {
+            return cached;
+        }
+
+        final long cents = rate.getPriceInCents();
+        final String formatted;
+        if (cents < 0) {
+            formatted = rate.getPrice();
+        } else {
+            synchronized (this.priceFormat) {
+                // Whole dollar prices are shown without cents, the way the website lists them.
+                final int fractionDigits = cents % 100 == 0 ? 0 : 2;
+                this.priceFormat.setMinimumFractionDigits(fractionDigits);
+                this.priceFormat.setMaximumFractionDigits(fractionDigits);
+                formatted = this.priceFormat.format(cents / 100.0);
+            }
+        }
+        if (this.formattedPrices.size() < MAX_CACHED_VALUES) {
+            this.formattedPrices.put(rate.getPrice(), formatted);
+        }
+        return formatted;
+    }
+}
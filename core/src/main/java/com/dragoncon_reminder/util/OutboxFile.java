@@ -0,0 +1,209 @@
+package com.dragoncon_reminder.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This is a static class that saves and loads shadow runs, so that two runs can be compared.
+ * The file is plain text with one tab-separated record per line, so it can also be read or grepped directly:
+ * <pre>
+ * dragoncon-outbox 1
+ * startedAt  2026-03-01T05:00:00Z
+ * day        2026-03-01
+ * stage      fetch  412.118
+ * message    123456789012345678  The DragonCon membership price ...
+ * </pre>
+ * Backslashes, tabs and newlines inside values are escaped as \\, \t and \n.
+ */
+public final class OutboxFile {
+    private static final String HEADER = "dragoncon-outbox 1";
+    private static final String STARTED_AT = "startedAt";
+    private static final String DAY = "day";
+    private static final String STAGE = "stage";
+    private static final String MESSAGE = "message";
+
+    private OutboxFile() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Saves a shadow run, replacing the file if it exists.
+     * @param path the outbox file, created along with its parent directories if needed.
+     * @param run the run to save.
+     * @throws IOException in case the file cannot be written.
+     */
+    public static void write(final Path path, final OutboxRun run) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+            writeRecord(out, STARTED_AT, run.startedAt.toString());
+            writeRecord(out, DAY, run.day.toString());
+            for (final Map.Entry<String, Double> stage : run.stageMillis.entrySet()) {
+                writeRecord(out, STAGE, escape(stage.getKey()), String.format(Locale.ROOT, "%.3f", stage.getValue()));
+            }
+            for (final OutboxRun.Message message : run.messages) {
+                writeRecord(out, MESSAGE, escape(message.channelId), escape(message.content));
+            }
+        }
+    }
+
+    /**
+     * Loads a shadow run.
+     * @param path the outbox file.
+     * @return the run.
+     * @throws IOException in case the file cannot be read or is not an outbox file.
+     */
+    public static OutboxRun read(final Path path) throws IOException {
+        Instant startedAt = null;
+        LocalDate day = null;
+        final Map<String, Double> stageMillis = new LinkedHashMap<>();
+        final List<OutboxRun.Message> messages = new ArrayList<>();
+
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(in.readLine())) {
+                throw new IOException("Not an outbox file: " + path);
+            }
+
+            int lineNumber = 1;
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                final String[] fields = line.split("\t", -1);
+                try {
+                    switch (fields[0]) {
+                        case STARTED_AT:
+                            startedAt = Instant.parse(field(fields, 1, 2));
+                            break;
+                        case DAY:
+                            day = LocalDate.parse(field(fields, 1, 2));
+                            break;
+                        case STAGE:
+                            stageMillis.put(unescape(field(fields, 1, 3)), Double.parseDouble(fields[2]));
+                            break;
+                        case MESSAGE:
+                            messages.add(new OutboxRun.Message(unescape(field(fields, 1, 3)), unescape(fields[2])));
+                            break;
+                        default:
+                            throw new IllegalArgumentException("unknown record " + fields[0]);
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new IOException("Invalid outbox record on line " + lineNumber + " of " + path + ": " + e.getMessage(), e);
+                }
+            }
+        }
+
+        if (startedAt == null || day == null) {
+            throw new IOException("Outbox file is missing its start time or day: " + path);
+        }
+        return new OutboxRun(startedAt, day, stageMillis, messages);
+    }
+
+    /**
+     * Writes one record on its own line.
+     * @param out the writer.
+     * @param fields the already escaped fields of the record.
+     * @throws IOException in case the record cannot be written.
+     */
+    private static void writeRecord(final BufferedWriter out, final String... fields) throws IOException {
+        out.write(String.join("\t", fields));
+        out.newLine();
+    }
+
+    /**
+     * Returns a field of a record, checking that the record has the expected number of fields.
+     * @param fields the fields of the record.
+     * @param index the index of the field to return.
+     * @param expectedCount the number of fields the record must have.
+     * @return the field.
+     * @throws IllegalArgumentException in case the record has a different number of fields.
+     */
+    private static String field(final String[] fields, final int index, final int expectedCount) {
+        if (fields.length != expectedCount) {
+            throw new IllegalArgumentException("expected " + expectedCount + " fields but found " + fields.length);
+        }
+        return fields[index];
+    }
+
+    /**
+     * Escapes backslashes, tabs and newlines so that a value fits in one field.
+     * @param value the value to escape.
+     * @return the escaped value.
+     */
+    private static String escape(final String value) {
+        final StringBuffer escaped = new StringBuffer(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Reverses escape.
+     * @param value the escaped value.
+     * @return the original value.
+     * @throws IllegalArgumentException in case the value ends with a lone backslash or uses an unknown escape.
+     */
+    private static String unescape(final String value) {
+        final StringBuffer unescaped = new StringBuffer(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c != '\\') {
+                unescaped.append(c);
+                continue;
+            }
+            if (++i == value.length()) {
+                throw new IllegalArgumentException("dangling escape");
+            }
+            switch (value.charAt(i)) {
+                case '\\':
+                    unescaped.append('\\');
+                    break;
+                case 't':
+                    unescaped.append('\t');
+                    break;
+                case 'n':
+                    unescaped.append('\n');
+                    break;
+                case 'r':
+                    unescaped.append('\r');
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown escape \\" + value.charAt(i));
+            }
+        }
+        return unescaped.toString();
+    }
+}
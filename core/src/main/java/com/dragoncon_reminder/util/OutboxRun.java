@@ -0,0 +1,98 @@
+package com.dragoncon_reminder.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a shadow run would have sent to Discord, along with how long each stage of the run took.
+ */
+public final class OutboxRun {
+    final Instant startedAt;
+    final LocalDate day;
+    final Map<String, Double> stageMillis;
+    final List<Message> messages;
+
+    /**
+     * Constructor for the OutboxRun object.
+     * @param startedAt when the run started.
+     * @param day the day the reminders were evaluated for.
+     * @param stageMillis how long each stage took in milliseconds, in the order the stages ran.
+     * @param messages the messages that would have been sent, in send order.
+     */
+    public OutboxRun(final Instant startedAt, final LocalDate day, final Map<String, Double> stageMillis, final List<Message> messages) {
+        this.startedAt = startedAt;
+        this.day = day;
+        this.stageMillis = Collections.unmodifiableMap(new LinkedHashMap<>(stageMillis));
+        this.messages = List.copyOf(messages);
+    }
+
+    /**
+     * Returns when the run started.
+     * @return when the run started.
+     */
+    public final Instant getStartedAt() {
+        return this.startedAt;
+    }
+
+    /**
+     * Returns the day the reminders were evaluated for.
+     * @return the evaluated day.
+     */
+    public final LocalDate getDay() {
+        return this.day;
+    }
+
+    /**
+     * Returns how long each stage took.
+     * @return the milliseconds taken by each stage, in the order the stages ran.
+     */
+    public final Map<String, Double> getStageMillis() {
+        return this.stageMillis;
+    }
+
+    /**
+     * Returns the messages that would have been sent.
+     * @return the messages in send order.
+     */
+    public final List<Message> getMessages() {
+        return this.messages;
+    }
+
+    /**
+     * One message, as it would have been sent in a single REST call.
+     */
+    public static final class Message {
+        final String channelId;
+        final String content;
+
+        /**
+         * Constructor for the Message object.
+         * @param channelId the ID of the Discord channel the message was for.
+         * @param content the message content.
+         */
+        public Message(final String channelId, final String content) {
+            this.channelId = channelId;
+            this.content = content;
+        }
+
+        /**
+         * Returns the ID of the Discord channel the message was for.
+         * @return the channel ID.
+         */
+        public final String getChannelId() {
+            return this.channelId;
+        }
+
+        /**
+         * Returns the message content.
+         * @return the message content.
+         */
+        public final String getContent() {
+            return this.content;
+        }
+    }
+}
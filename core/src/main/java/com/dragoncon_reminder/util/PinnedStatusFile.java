@@ -0,0 +1,132 @@
+package com.dragoncon_reminder.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This is a static class that remembers the pinned status message of each channel and a hash of its content, so that after a
+ * restart the same messages are edited instead of new ones being posted, and unchanged content is not edited again.
+ * The file holds one "channelId messageId contentHash" line per channel and is replaced atomically.
+ */
+public final class PinnedStatusFile {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PinnedStatusFile.class);
+
+    private PinnedStatusFile() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Reads the pinned status messages.
+     * A missing file means no messages have been posted yet; unreadable lines are skipped, so their channels get a new message.
+     * @param path the file.
+     * @return the pinned status message of each channel, keyed by channel ID.
+     */
+    public static Map<String, Entry> read(final Path path) {
+        final Map<String, Entry> entries = new HashMap<>();
+        final String content;
+        try {
+            content = Files.readString(path, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return entries;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the pinned status file {}", path, e);
+            return entries;
+        }
+
+        for (final String line : content.split("\n")) {
+            final String[] fields = line.trim().split(" ");
+            if (fields.length != 3) {
+                continue;
+            }
+            try {
+                entries.put(fields[0], new Entry(Long.parseLong(fields[1]), fields[2]));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring unusable line in the pinned status file {}: {}", path, line);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Replaces the file with the pinned status messages of every channel.
+     * @param path the file, created along with its parent directories if needed.
+     * @param entries the pinned status message of each channel, keyed by channel ID.
+     * @throws IOException in case the file cannot be written.
+     */
+    public static void write(final Path path, final Map<String, Entry> entries) throws IOException {
+        final StringBuffer content = new StringBuffer();
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            content.append(entry.getKey()).append(' ')
+                .append(entry.getValue().getMessageId()).append(' ')
+                .append(entry.getValue().getContentHash()).append('\n');
+        }
+
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temporary, content, StandardCharsets.UTF_8);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the hash a message's content is compared by, so that only the hash has to be kept for each channel.
+     * @param content the message content.
+     * @return the SHA-256 hash of the content's UTF-8 bytes, in hex.
+     */
+    public static String hash(final String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java runtime is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The pinned status message of one channel.
+     */
+    public static final class Entry {
+        private final long messageId;
+        private final String contentHash;
+
+        /**
+         * Constructor for the Entry object.
+         * @param messageId the ID of the pinned message.
+         * @param contentHash the hash of the message's current content.
+         */
+        public Entry(final long messageId, final String contentHash) {
+            this.messageId = messageId;
+            this.contentHash = contentHash;
+        }
+
+        /**
+         * Returns the ID of the pinned message.
+         * @return the message ID.
+         */
+        public final long getMessageId() {
+            return this.messageId;
+        }
+
+        /**
+         * Returns the hash of the message's current content.
+         * @return the content hash.
+         */
+        public final String getContentHash() {
+            return this.contentHash;
+        }
+    }
+}
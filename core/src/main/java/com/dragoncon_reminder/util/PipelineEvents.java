@@ -0,0 +1,154 @@
+package com.dragoncon_reminder.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This is a static class that contains the Java Flight Recorder events emitted by each stage of the reminder pipeline.
+ * Every event carries its own duration. When no recording is running, emitting an event costs about as much as an empty method call,
+ * so the events are always emitted. Fields are public so the stages in other packages can fill them in before committing.
+ */
+public final class PipelineEvents {
+    public static final String CATEGORY = "DragonCon Reminder";
+
+    private PipelineEvents() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Fetching the membership page from the DragonCon website.
+     */
+    @Name("com.dragoncon_reminder.PageFetch")
+    @Label("Page Fetch")
+    @Category({ CATEGORY, "Scrape" })
+    @Description("Downloading the DragonCon membership page")
+    @StackTrace(false)
+    public static final class PageFetch extends Event {
+        @Label("URL")
+        public String url;
+
+        @Label("Response Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+
+    /**
+     * Finding the rate block below the section heading and flattening it to one rate per line.
+     */
+    @Name("com.dragoncon_reminder.TextBlockExtract")
+    @Label("Text Block Extract")
+    @Category({ CATEGORY, "Scrape" })
+    @Description("Extracting the rate block from the membership page")
+    @StackTrace(false)
+    public static final class TextBlockExtract extends Event {
+        @Label("Headings Scanned")
+        public int headingsScanned;
+
+        @Label("Characters")
+        public int characters;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    /**
+     * Parsing one line of the rate block into a rate.
+     */
+    @Name("com.dragoncon_reminder.LineParse")
+    @Label("Line Parse")
+    @Category({ CATEGORY, "Scrape" })
+    @Description("Parsing one line of the rate block")
+    @StackTrace(false)
+    public static final class LineParse extends Event {
+        @Label("Characters")
+        public int characters;
+
+        @Label("Has Deadline")
+        public boolean hasDeadline;
+
+        @Label("TBA")
+        public boolean tba;
+    }
+
+    /**
+     * Turning the whole rate block into the rate table, including extraction and every line parse.
+     */
+    @Name("com.dragoncon_reminder.RateParse")
+    @Label("Rate Parse")
+    @Category({ CATEGORY, "Scrape" })
+    @Description("Parsing the membership page into the rate table")
+    @StackTrace(false)
+    public static final class RateParse extends Event {
+        @Label("Lines")
+        public int lineCount;
+
+        @Label("Rates")
+        public int rateCount;
+    }
+
+    /**
+     * Checking every rate against the reminder thresholds and rendering the reminder.
+     */
+    @Name("com.dragoncon_reminder.ReminderBuild")
+    @Label("Reminder Build")
+    @Category({ CATEGORY, "Reminder" })
+    @Description("Building the reminder from the rate table")
+    @StackTrace(false)
+    public static final class ReminderBuild extends Event {
+        @Label("Rates")
+        public int rateCount;
+
+        @Label("Reminders")
+        public int reminderCount;
+
+        @Label("Characters")
+        public int characters;
+    }
+
+    /**
+     * Rendering the reply to a slash command. Replies served from the render cache are not rendered and emit no event.
+     */
+    @Name("com.dragoncon_reminder.ResponseRender")
+    @Label("Response Render")
+    @Category({ CATEGORY, "Command" })
+    @Description("Rendering the reply to a slash command")
+    @StackTrace(false)
+    public static final class ResponseRender extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Characters")
+        public int characters;
+    }
+
+    /**
+     * Handing one channel's messages to Discord: queued with JDA over the gateway connection, or posted and awaited through a webhook.
+     */
+    @Name("com.dragoncon_reminder.MessageSend")
+    @Label("Message Send")
+    @Category({ CATEGORY, "Discord" })
+    @Description("Sending messages to a Discord channel")
+    @StackTrace(false)
+    public static final class MessageSend extends Event {
+        @Label("Channel")
+        public String channel;
+
+        @Label("REST Calls")
+        public int restCalls;
+
+        @Label("Message Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+}
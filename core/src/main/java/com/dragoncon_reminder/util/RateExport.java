@@ -0,0 +1,221 @@
+package com.dragoncon_reminder.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * This is a static class that streams the rate history file out as CSV or JSON, for analysis outside the bot.
+ * Snapshots are read one at a time from the file's cursor and written straight through a fixed-size buffer, so memory use
+ * stays the same however many years of history there are; nothing is collected into a string first.
+ *
+ * CSV has one row per rate of every snapshot: observed_at, changed, rate_index, price, price_cents, deadline, tba and raw_line.
+ * JSON is an array with one object per snapshot, holding observedAt, changed and its rates.
+ * Either way, changed is true when the rate table differs from the snapshot before it.
+ */
+public final class RateExport {
+    private static final String CSV_HEADER = "observed_at,changed,rate_index,price,price_cents,deadline,tba,raw_line\n";
+
+    /**
+     * The formats the history can be exported in.
+     */
+    public enum Format {
+        CSV("csv"),
+        JSON("json");
+
+        private final String extension;
+
+        /**
+         * Constructor for the Format enum.
+         * @param extension the file extension of the format.
+         */
+        Format(final String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * Returns the file extension of the format.
+         * @return the file extension, without a dot.
+         */
+        public final String getExtension() {
+            return this.extension;
+        }
+
+        /**
+         * Returns the format with a name, ignoring case.
+         * @param name the name of the format, e.g. "csv".
+         * @return the format.
+         * @throws IllegalArgumentException in case there is no format with the name.
+         */
+        public static Format parse(final String name) {
+            return Format.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private RateExport() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Writes every snapshot the cursor has not read yet to a stream, in UTF-8, through a buffer of a fixed size.
+     * The stream is flushed but not closed, so standard output can be written to.
+     * @param cursor the cursor over the rate history file.
+     * @param format the format to write.
+     * @param changesOnly true to only write the snapshots in which the rate table changed, false to write every snapshot.
+     * @param out the stream to write to.
+     * @return the number of snapshots written.
+     * @throws IOException in case the stream cannot be written to.
+     */
+    public static long write(final RateHistoryStore.Cursor cursor, final Format format, final boolean changesOnly, final OutputStream out)
+            throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), Constants.EXPORT_BUFFER_CHARS);
+        final long written = write(cursor, format, changesOnly, writer);
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * Writes every snapshot the cursor has not read yet.
+     * @param cursor the cursor over the rate history file.
+     * @param format the format to write.
+     * @param changesOnly true to only write the snapshots in which the rate table changed, false to write every snapshot.
+     * @param out the writer to write to, which should be buffered.
+     * @return the number of snapshots written.
+     * @throws IOException in case the writer cannot be written to.
+     */
+    public static long write(final RateHistoryStore.Cursor cursor, final Format format, final boolean changesOnly, final Writer out)
+            throws IOException {
+        out.write(format == Format.CSV ? CSV_HEADER : "[");
+        long written = 0;
+        while (cursor.next()) {
+            final boolean changed = !cursor.isUnchanged();
+            if (changesOnly && !changed) {
+                continue;
+            }
+            if (format == Format.CSV) {
+                writeCsvRows(cursor, changed, out);
+            } else {
+                out.write(written == 0 ? "\n" : ",\n");
+                writeJsonObject(cursor, changed, out);
+            }
+            written++;
+        }
+        if (format == Format.JSON) {
+            out.write(written == 0 ? "]\n" : "\n]\n");
+        }
+        return written;
+    }
+
+    /**
+     * Writes one CSV row per rate of the cursor's current snapshot.
+     * @param cursor the cursor, positioned on a snapshot.
+     * @param changed true if the rate table differs from the previous snapshot.
+     * @param out the writer to write to.
+     * @throws IOException in case the writer cannot be written to.
+     */
+    private static void writeCsvRows(final RateHistoryStore.Cursor cursor, final boolean changed, final Writer out) throws IOException {
+        final String observedAt = cursor.getObservedAt().toString();
+        for (int i = 0; i < cursor.getRateCount(); i++) {
+            final DragonConRate rate = cursor.getRate(i);
+            out.write(observedAt);
+            out.write(',');
+            out.write(String.valueOf(changed));
+            out.write(',');
+            out.write(String.valueOf(i));
+            out.write(',');
+            writeCsvField(rate.getPrice(), out);
+            out.write(',');
+            if (cursor.getPriceInCents(i) >= 0) {
+                out.write(String.valueOf(cursor.getPriceInCents(i)));
+            }
+            out.write(',');
+            if (cursor.hasDeadline(i)) {
+                out.write(LocalDate.ofEpochDay(cursor.getDeadlineEpochDay(i)).toString());
+            }
+            out.write(',');
+            out.write(String.valueOf(rate.getIsTBA()));
+            out.write(',');
+            writeCsvField(rate.getRawLine(), out);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes a CSV field, quoted if it contains a comma, a quote or a line break.
+     * @param value the field value.
+     * @param out the writer to write to.
+     * @throws IOException in case the writer cannot be written to.
+     */
+    private static void writeCsvField(final String value, final Writer out) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * Writes the cursor's current snapshot as a JSON object.
+     * @param cursor the cursor, positioned on a snapshot.
+     * @param changed true if the rate table differs from the previous snapshot.
+     * @param out the writer to write to.
+     * @throws IOException in case the writer cannot be written to.
+     */
+    private static void writeJsonObject(final RateHistoryStore.Cursor cursor, final boolean changed, final Writer out) throws IOException {
+        out.write("{\"observedAt\":\"");
+        out.write(cursor.getObservedAt().toString());
+        out.write("\",\"changed\":");
+        out.write(String.valueOf(changed));
+        out.write(",\"rates\":[");
+        for (int i = 0; i < cursor.getRateCount(); i++) {
+            final DragonConRate rate = cursor.getRate(i);
+            out.write(i == 0 ? "{\"price\":" : ",{\"price\":");
+            writeJsonString(rate.getPrice(), out);
+            out.write(",\"priceCents\":");
+            out.write(cursor.getPriceInCents(i) >= 0 ? String.valueOf(cursor.getPriceInCents(i)) : "null");
+            out.write(",\"deadline\":");
+            if (cursor.hasDeadline(i)) {
+                out.write('"');
+                out.write(LocalDate.ofEpochDay(cursor.getDeadlineEpochDay(i)).toString());
+                out.write('"');
+            } else {
+                out.write("null");
+            }
+            out.write(",\"tba\":");
+            out.write(String.valueOf(rate.getIsTBA()));
+            out.write(",\"rawLine\":");
+            writeJsonString(rate.getRawLine(), out);
+            out.write('}');
+        }
+        out.write("]}");
+    }
+
+    /**
+     * Writes a JSON string literal, escaping quotes, backslashes and control characters.
+     * @param value the string.
+     * @param out the writer to write to.
+     * @throws IOException in case the writer cannot be written to.
+     */
+    private static void writeJsonString(final String value, final Writer out) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                out.write(String.format("\\u%04x", (int) c));
+            } else {
+                out.write(c);
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,195 @@
+package com.dragoncon_reminder.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory, date-indexed history of every rate tier observed on the DragonCon website.
+ * Reads never block and never touch the network, so commands can be answered well within Discord's response window.
+ * Every accepted snapshot publishes a new immutable index through a SnapshotHolder, so readers on any thread take no locks.
+ * Only snapshots that change the rates publish a new version; the others just move the latest snapshot forward,
+ * and only reach the listeners registered through onRecord, such as the ones persisting every observation.
+ */
+public final class RateHistory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateHistory.class);
+
+    private final SnapshotHolder<Index> holder = new SnapshotHolder<>(new Index(Collections.emptyNavigableMap(), null, null));
+    private final List<Consumer<RateSnapshot>> recordListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Records a newly observed rate table.
+     * Tiers whose deadlines have already passed are kept from older snapshots, so the history survives DragonCon removing them from the page.
+     * Upcoming tiers are always replaced by the ones in the newest snapshot, since DragonCon may move or re-price them.
+     * A snapshot with the same rates as the latest one only updates the latest snapshot, so callers can tell how fresh the rates are.
+     * Serialized, so listeners registered through onRecord see the snapshots in the order they were accepted.
+     * @param snapshot the rate table that was observed.
+     */
+    public synchronized void record(final RateSnapshot snapshot) {
+        final SnapshotHolder.Version<Index> recorded = this.holder.update(current -> merge(current, snapshot), Index::sameRates);
+        if (recorded.value.latest != snapshot) {
+            // Ignored as out of order, so there is nothing new to persist.
+            return;
+        }
+        for (final Consumer<RateSnapshot> listener : this.recordListeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException e) {
+                // One failing listener must not stop the others or the writer.
+                LOGGER.warn("Rate history record listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Registers a callback for every snapshot accepted by record from now on, whether or not it changed the rates, in the order
+     * they were accepted. Used to persist every observation; the callback runs on the recording thread after the subscribers.
+     * @param listener the callback receiving every accepted snapshot.
+     * @return the subscription, which stops further callbacks when closed.
+     */
+    public final SnapshotHolder.Subscription onRecord(final Consumer<RateSnapshot> listener) {
+        this.recordListeners.add(listener);
+        return () -> this.recordListeners.remove(listener);
+    }
+
+    /**
+     * Subscribes to every snapshot accepted by record from now on that changed the rates, in the order they were accepted.
+     * Subscribers run on the recording thread, so they should be quick.
+     * @param subscriber the callback receiving every snapshot that changed the rates.
+     * @return the subscription, which stops further callbacks when closed.
+     */
+    public final SnapshotHolder.Subscription subscribe(final Consumer<RateSnapshot> subscriber) {
+        return this.holder.subscribe(version -> subscriber.accept(version.value.latest));
+    }
+
+    /**
+     * Returns the number of snapshots that changed the rates so far, which changes whenever the rates readers see change.
+     * @return the current version of the history.
+     */
+    public final long getVersion() {
+        return this.holder.get().number;
+    }
+
+    /**
+     * Returns true if no rate table has been recorded yet.
+     * @return true if no rate table has been recorded yet.
+     */
+    public final boolean isEmpty() {
+        return this.holder.get().value.latest == null;
+    }
+
+    /**
+     * Returns the most recently recorded rate table, even if it did not change the rates.
+     * @return the most recently recorded rate table, or null if none has been recorded.
+     */
+    public final RateSnapshot getLatestSnapshot() {
+        return this.holder.get().value.latest;
+    }
+
+    /**
+     * Returns the rate that applies to a membership bought on a given date.
+     * This is the tier with the earliest deadline on or after the date, or the open-ended tier (e.g. at the door) past the last deadline.
+     * @param date the date the membership would be bought.
+     * @return the rate that applies on the date, or null if no known tier covers it.
+     */
+    public final DragonConRate rateOn(final LocalDate date) {
+        final Index current = this.holder.get().value;
+        final Map.Entry<LocalDate, DragonConRate> tier = current.timeline.ceilingEntry(date);
+        return tier != null ? tier.getValue() : current.openEndedRate;
+    }
+
+    /**
+     * Returns every known tier ordered by deadline, followed by the current open-ended tier if there is one.
+     * @return the price history from the earliest known tier to the latest.
+     */
+    public final List<DragonConRate> priceHistory() {
+        final Index current = this.holder.get().value;
+        final List<DragonConRate> history = new ArrayList<>(current.timeline.values());
+        if (current.openEndedRate != null) {
+            history.add(current.openEndedRate);
+        }
+        return history;
+    }
+
+    /**
+     * Returns the known deadlines on or after a given date, in order.
+     * @param from the earliest deadline to return.
+     * @param limit the maximum number of deadlines to return.
+     * @return up to limit deadlines on or after the date.
+     */
+    public final List<LocalDate> deadlinesFrom(final LocalDate from, final int limit) {
+        final List<LocalDate> deadlines = new ArrayList<>(limit);
+        for (final LocalDate deadline : this.holder.get().value.timeline.tailMap(from, true).keySet()) {
+            if (deadlines.size() >= limit) {
+                break;
+            }
+            deadlines.add(deadline);
+        }
+        return deadlines;
+    }
+
+    /**
+     * Builds the index that results from recording a snapshot.
+     * Copy on write, so that readers always see a complete, consistent index.
+     * @param current the index before the snapshot.
+     * @param snapshot the newly observed rate table.
+     * @return the new index, or the current one if the snapshot is ignored.
+     */
+    private static Index merge(final Index current, final RateSnapshot snapshot) {
+        // Ignore snapshots that arrive out of order; they cannot tell us anything newer about upcoming tiers.
+        if (current.latest != null && snapshot.observedAt.isBefore(current.latest.observedAt)) {
+            return current;
+        }
+
+        final LocalDate observedOn = LocalDate.ofInstant(snapshot.observedAt, Constants.ZONE);
+        final NavigableMap<LocalDate, DragonConRate> timeline = new TreeMap<>(current.timeline.headMap(observedOn, false));
+        DragonConRate openEndedRate = null;
+        for (final DragonConRate rate : snapshot.rates) {
+            if (rate.deadline != null) {
+                timeline.put(rate.deadline, rate);
+            } else if (openEndedRate == null) {
+                openEndedRate = rate;
+            }
+        }
+
+        return new Index(Collections.unmodifiableNavigableMap(timeline), openEndedRate, snapshot);
+    }
+
+    /**
+     * An immutable view of the history, published as a new version whenever a record changes the rates.
+     */
+    private static final class Index {
+        final NavigableMap<LocalDate, DragonConRate> timeline;
+        final DragonConRate openEndedRate;
+        final RateSnapshot latest;
+
+        Index(final NavigableMap<LocalDate, DragonConRate> timeline, final DragonConRate openEndedRate, final RateSnapshot latest) {
+            this.timeline = timeline;
+            this.openEndedRate = openEndedRate;
+            this.latest = latest;
+        }
+
+        /**
+         * Returns true if an index has the same rates as the one it replaces, so it needs no new version.
+         * @param previous the index being replaced.
+         * @param next the replacing index.
+         * @return true if only the latest snapshot differs.
+         */
+        static boolean sameRates(final Index previous, final Index next) {
+            return previous.latest != null
+                && previous.latest.rates.equals(next.latest.rates)
+                && previous.timeline.equals(next.timeline)
+                && Objects.equals(previous.openEndedRate, next.openEndedRate);
+        }
+    }
+}
@@ -0,0 +1,691 @@
+package com.dragoncon_reminder.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only, columnar file holding every rate table the bot has observed.
+ *
+ * The file starts with a magic number and a format version, followed by a sequence of blocks.
+ * Each block is a one byte tag, a varint payload length and the payload:
+ * <ul>
+ *   <li>'D' adds the next entry to the string dictionary as UTF-8. Prices and raw lines are stored once and referenced by ID.</li>
+ *   <li>'S' holds one snapshot: zigzag varint seconds since the previous snapshot and varint rate count n + 1, then column by column
+ *   n flag bytes, zigzag varint epoch-day deltas for every deadline (relative to the previous deadline in the snapshot),
+ *   n zigzag varint prices in cents, n varint price IDs and n varint raw line IDs.
+ *   A count of zero means the table is the same as in the previous snapshot, and no columns follow.</li>
+ * </ul>
+ * A torn block at the end of the file, e.g. after a crash mid-append, is ignored by readers and truncated by the next writer.
+ */
+public final class RateHistoryStore implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateHistoryStore.class);
+
+    private static final int MAGIC = 0x44435248; // "DCRH"
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    private static final byte DICTIONARY_BLOCK = 'D';
+    private static final byte SNAPSHOT_BLOCK = 'S';
+    private static final int HAS_DEADLINE = 1;
+    private static final int IS_TBA = 2;
+
+    private final Path path;
+    private final boolean syncOnAppend;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private FileChannel channel;
+    private long lastObservedEpochSecond;
+    private List<DragonConRate> lastRates;
+    private int snapshotCount;
+
+    /**
+     * Constructor for the RateHistoryStore object. Every append is flushed to disk before it returns.
+     * @param path the history file, created along with its parent directories if it does not exist.
+     * @throws IOException in case the file cannot be opened or is not a rate history file.
+     */
+    public RateHistoryStore(final Path path) throws IOException {
+        this(path, true);
+    }
+
+    /**
+     * Constructor for the RateHistoryStore object.
+     * @param path the history file, created along with its parent directories if it does not exist.
+     * @param syncOnAppend true to flush every append to disk before returning, false to leave it to the OS.
+     * @throws IOException in case the file cannot be opened or is not a rate history file.
+     */
+    public RateHistoryStore(final Path path, final boolean syncOnAppend) throws IOException {
+        this.path = path;
+        this.syncOnAppend = syncOnAppend;
+        this.channel = openChannel(path);
+        recover();
+    }
+
+    /**
+     * Appends a rate table to the end of the file. Observation times are stored with second precision.
+     * @param snapshot the rate table to append.
+     * @throws IOException in case the snapshot cannot be written; the file is left as it was.
+     */
+    public synchronized void append(final RateSnapshot snapshot) throws IOException {
+        final List<DragonConRate> rates = snapshot.rates;
+        final long observedEpochSecond = snapshot.observedAt.getEpochSecond();
+        final ByteArrayOutputStream block = new ByteArrayOutputStream();
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        writeVarint(payload, zigzag(observedEpochSecond - this.lastObservedEpochSecond));
+
+        // New dictionary entries only become visible to later appends once the write has succeeded.
+        final Map<String, Integer> added = new LinkedHashMap<>();
+        if (this.lastRates != null && this.lastRates.equals(rates)) {
+            // Most hourly observations see the same table, so they are stored as a bare timestamp.
+            writeVarint(payload, 0);
+        } else {
+            writeColumns(payload, rates, added, block);
+        }
+        writeBlock(block, SNAPSHOT_BLOCK, payload.toByteArray());
+
+        final long end = this.channel.size();
+        try {
+            writeFully(ByteBuffer.wrap(block.toByteArray()), end);
+            if (this.syncOnAppend) {
+                this.channel.force(false);
+            }
+        } catch (IOException e) {
+            this.channel.truncate(end);
+            throw e;
+        }
+
+        this.dictionary.putAll(added);
+        this.lastObservedEpochSecond = observedEpochSecond;
+        this.lastRates = rates;
+        this.snapshotCount++;
+    }
+
+    /**
+     * Returns a cursor over every snapshot appended so far. Snapshots appended later are not visible to it.
+     * @return a cursor positioned before the first snapshot.
+     * @throws IOException in case the file cannot be mapped.
+     */
+    public synchronized Cursor cursor() throws IOException {
+        return map(this.channel, this.path);
+    }
+
+    /**
+     * Returns a cursor over a history file without opening it for appending, so the file can be read while the bot writes to it.
+     * @param path the history file.
+     * @return a cursor positioned before the first snapshot.
+     * @throws IOException in case the file cannot be read or is not a rate history file.
+     */
+    public static Cursor read(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            return map(channel, path);
+        }
+    }
+
+    /**
+     * Maps the current contents of a history file.
+     * @param channel the open file.
+     * @param path the file, for error messages.
+     * @return a cursor positioned before the first snapshot.
+     * @throws IOException in case the file cannot be mapped.
+     */
+    private static Cursor map(final FileChannel channel, final Path path) throws IOException {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Rate history file is too large to map: " + path);
+        }
+        return new Cursor(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    }
+
+    /**
+     * Replays the stored snapshots into an in-memory history.
+     * Only snapshots that changed the rate table, plus the most recent one, are decoded into objects.
+     * @param history the history to record the snapshots into.
+     * @return the number of snapshots recorded into the history.
+     * @throws IOException in case the file cannot be read.
+     */
+    public final int loadInto(final RateHistory history) throws IOException {
+        final Cursor cursor = cursor();
+        int recorded = 0;
+        boolean pending = false;
+        while (cursor.next()) {
+            if (cursor.isUnchanged()) {
+                pending = true;
+                continue;
+            }
+            history.record(cursor.snapshot());
+            recorded++;
+            pending = false;
+        }
+
+        // The cursor still holds the last snapshot, so its observation time is not lost to a run of unchanged tables.
+        if (pending) {
+            history.record(cursor.snapshot());
+            recorded++;
+        }
+        return recorded;
+    }
+
+    /**
+     * Rewrites the file keeping only the first and last snapshot of every run of identical rate tables, and drops unused dictionary entries.
+     * The rewrite goes to a temporary file that atomically replaces the original, so a crash mid-compaction loses nothing.
+     * @return the number of snapshots that were removed.
+     * @throws IOException in case the file cannot be rewritten.
+     */
+    public synchronized int compact() throws IOException {
+        final Path compacted = this.path.resolveSibling(this.path.getFileName() + ".compact");
+        Files.deleteIfExists(compacted);
+
+        final Cursor cursor = cursor();
+        final int before = this.snapshotCount;
+        try (RateHistoryStore target = new RateHistoryStore(compacted, false)) {
+            RateSnapshot lastOfRun = null;
+            while (cursor.next()) {
+                if (cursor.isUnchanged()) {
+                    lastOfRun = cursor.snapshot();
+                    continue;
+                }
+                if (lastOfRun != null) {
+                    target.append(lastOfRun);
+                    lastOfRun = null;
+                }
+                target.append(cursor.snapshot());
+            }
+            if (lastOfRun != null) {
+                target.append(lastOfRun);
+            }
+            target.channel.force(true);
+        }
+
+        this.channel.close();
+        Files.move(compacted, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = openChannel(this.path);
+        this.dictionary.clear();
+        recover();
+        return before - this.snapshotCount;
+    }
+
+    /**
+     * Returns the number of snapshots in the file.
+     * @return the number of snapshots in the file.
+     */
+    public synchronized int getSnapshotCount() {
+        return this.snapshotCount;
+    }
+
+    /**
+     * Returns the size of the file in bytes.
+     * @return the size of the file in bytes.
+     * @throws IOException in case the size cannot be read.
+     */
+    public synchronized long sizeInBytes() throws IOException {
+        return this.channel.size();
+    }
+
+    /**
+     * Closes the underlying file.
+     * @throws IOException in case the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Opens the history file for reading and writing, creating it and its parent directories if needed.
+     * @param path the history file.
+     * @return the opened channel.
+     * @throws IOException in case the file cannot be opened.
+     */
+    private static FileChannel openChannel(final Path path) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Writes the header to a new file, or rebuilds the dictionary and counters from an existing one and drops any torn tail.
+     * @throws IOException in case the file cannot be read or is not a rate history file.
+     */
+    private void recover() throws IOException {
+        if (this.channel.size() == 0) {
+            writeFully(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(VERSION).flip(), 0);
+            this.lastObservedEpochSecond = 0;
+            this.lastRates = null;
+            this.snapshotCount = 0;
+            return;
+        }
+
+        final Cursor cursor = cursor();
+        while (cursor.next()) {
+            // Scan to the end of the last complete snapshot.
+        }
+        for (int id = 0; id < cursor.committedDictionarySize; id++) {
+            this.dictionary.put(cursor.dictionaryEntry(id), id);
+        }
+        this.lastObservedEpochSecond = cursor.observedEpochSecond;
+        this.lastRates = cursor.snapshotsRead > 0 ? cursor.snapshot().rates : null;
+        this.snapshotCount = cursor.snapshotsRead;
+
+        if (cursor.validLength < this.channel.size()) {
+            LOGGER.warn("Truncating {} bytes of incomplete rate history at the end of {}", this.channel.size() - cursor.validLength, this.path);
+            this.channel.truncate(cursor.validLength);
+        }
+    }
+
+    /**
+     * Writes the columns of a rate table, adding dictionary blocks for any strings not seen before.
+     * @param payload the snapshot payload to write the columns to.
+     * @param rates the rate table.
+     * @param added the entries added by the append in progress.
+     * @param block the bytes of the append in progress.
+     */
+    private void writeColumns(final ByteArrayOutputStream payload, final List<DragonConRate> rates,
+            final Map<String, Integer> added, final ByteArrayOutputStream block) {
+        final int[] priceIds = new int[rates.size()];
+        final int[] rawLineIds = new int[rates.size()];
+        for (int i = 0; i < rates.size(); i++) {
+            priceIds[i] = dictionaryId(rates.get(i).price, added, block);
+            rawLineIds[i] = dictionaryId(rates.get(i).rawLine, added, block);
+        }
+
+        // The count is stored off by one, since zero marks an unchanged table.
+        writeVarint(payload, rates.size() + 1);
+        for (final DragonConRate rate : rates) {
+            payload.write((rate.deadline != null ? HAS_DEADLINE : 0) | (rate.isTBA ? IS_TBA : 0));
+        }
+        long previousEpochDay = 0;
+        for (final DragonConRate rate : rates) {
+            if (rate.deadline != null) {
+                writeVarint(payload, zigzag(rate.deadline.toEpochDay() - previousEpochDay));
+                previousEpochDay = rate.deadline.toEpochDay();
+            }
+        }
+        for (final DragonConRate rate : rates) {
+            writeVarint(payload, zigzag(rate.getPriceInCents()));
+        }
+        for (final int id : priceIds) {
+            writeVarint(payload, id);
+        }
+        for (final int id : rawLineIds) {
+            writeVarint(payload, id);
+        }
+    }
+
+    /**
+     * Returns the dictionary ID of a string, adding a dictionary block for it if it has not been seen before.
+     * @param value the string to look up.
+     * @param added the entries added by the append in progress.
+     * @param block the bytes of the append in progress.
+     * @return the dictionary ID of the string.
+     */
+    private int dictionaryId(final String value, final Map<String, Integer> added, final ByteArrayOutputStream block) {
+        final Integer existing = this.dictionary.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        final Integer pending = added.get(value);
+        if (pending != null) {
+            return pending;
+        }
+
+        final int id = this.dictionary.size() + added.size();
+        added.put(value, id);
+        writeBlock(block, DICTIONARY_BLOCK, value.getBytes(StandardCharsets.UTF_8));
+        return id;
+    }
+
+    /**
+     * Writes a buffer at a position of the file, looping until every byte is written.
+     * @param buffer the bytes to write.
+     * @param position the position in the file to write them at.
+     * @throws IOException in case the bytes cannot be written.
+     */
+    private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += this.channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Frames a payload as a block.
+     * @param out the stream to write the block to.
+     * @param tag the type of the block.
+     * @param payload the payload of the block.
+     */
+    private static void writeBlock(final ByteArrayOutputStream out, final byte tag, final byte[] payload) {
+        out.write(tag);
+        writeVarint(out, payload.length);
+        out.writeBytes(payload);
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint.
+     * @param out the stream to write to.
+     * @param value the non-negative value to write.
+     */
+    private static void writeVarint(final ByteArrayOutputStream out, final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     * @param buffer the buffer to read from.
+     * @return the value read.
+     */
+    private static long readVarint(final ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * Maps a signed value to an unsigned one so that small negative values also encode to few bytes.
+     * @param value the signed value.
+     * @return the zigzag encoded value.
+     */
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses zigzag encoding.
+     * @param value the zigzag encoded value.
+     * @return the signed value.
+     */
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * A forward-only reader over a memory-mapped history file.
+     * Columns are decoded into reusable primitive arrays and strings are only decoded when a rate is asked for,
+     * so scanning prices and deadlines allocates almost nothing. Accessors refer to the snapshot the last call to next moved to.
+     */
+    public static final class Cursor {
+        private final ByteBuffer buffer;
+
+        private int[] dictionaryOffsets = new int[64];
+        private int[] dictionaryLengths = new int[64];
+        private String[] dictionaryStrings = new String[64];
+        private int dictionarySize;
+        private int committedDictionarySize;
+
+        private byte[] flags = new byte[8];
+        private long[] deadlineEpochDays = new long[8];
+        private long[] cents = new long[8];
+        private int[] priceIds = new int[8];
+        private int[] rawLineIds = new int[8];
+        private int rateCount;
+        private long observedEpochSecond;
+        private boolean unchanged;
+        private int snapshotsRead;
+        private int validLength = HEADER_BYTES;
+
+        /**
+         * Constructor for the Cursor object.
+         * @param buffer the mapped contents of the history file.
+         * @throws IOException in case the contents are not a rate history file.
+         */
+        Cursor(final ByteBuffer buffer) throws IOException {
+            this.buffer = buffer;
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a rate history file");
+            }
+            final short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported rate history version: " + version);
+            }
+        }
+
+        /**
+         * Moves to the next snapshot.
+         * @return true if there is another snapshot, false at the end of the file or at a torn or corrupt block.
+         */
+        public boolean next() {
+            try {
+                while (this.buffer.hasRemaining()) {
+                    final byte tag = this.buffer.get();
+                    final long length = readVarint(this.buffer);
+                    if (length > this.buffer.remaining()) {
+                        return false;
+                    }
+                    final int payloadEnd = this.buffer.position() + (int) length;
+
+                    if (tag == DICTIONARY_BLOCK) {
+                        addDictionaryEntry(this.buffer.position(), (int) length);
+                        this.buffer.position(payloadEnd);
+                    } else if (tag == SNAPSHOT_BLOCK) {
+                        // Bound reads to the block so a corrupt payload cannot run into the next one.
+                        final int limit = this.buffer.limit();
+                        this.buffer.limit(payloadEnd);
+                        try {
+                            readSnapshot();
+                        } finally {
+                            this.buffer.limit(limit);
+                        }
+                        if (this.buffer.position() != payloadEnd) {
+                            return false;
+                        }
+                        this.validLength = payloadEnd;
+                        this.committedDictionarySize = this.dictionarySize;
+                        this.snapshotsRead++;
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
+            } catch (BufferUnderflowException | IllegalStateException e) {
+                // A block cut short by a crash; everything before it is still valid.
+            }
+            return false;
+        }
+
+        /**
+         * Returns the instant the current snapshot was observed.
+         * @return the instant the current snapshot was observed, to the second.
+         */
+        public Instant getObservedAt() {
+            return Instant.ofEpochSecond(this.observedEpochSecond);
+        }
+
+        /**
+         * Returns the number of rates in the current snapshot.
+         * @return the number of rates in the current snapshot.
+         */
+        public int getRateCount() {
+            return this.rateCount;
+        }
+
+        /**
+         * Returns true if a rate has a deadline.
+         * @param index the index of the rate within the snapshot.
+         * @return true if the rate has a deadline.
+         */
+        public boolean hasDeadline(final int index) {
+            return (this.flags[index] & HAS_DEADLINE) != 0;
+        }
+
+        /**
+         * Returns the deadline of a rate as a day count since the epoch, without allocating a LocalDate.
+         * @param index the index of the rate within the snapshot.
+         * @return the epoch day of the deadline; only meaningful if the rate has a deadline.
+         */
+        public long getDeadlineEpochDay(final int index) {
+            return this.deadlineEpochDays[index];
+        }
+
+        /**
+         * Returns the price of a rate in cents.
+         * @param index the index of the rate within the snapshot.
+         * @return the price in cents, or -1 if the price is not a dollar amount.
+         */
+        public long getPriceInCents(final int index) {
+            return this.cents[index];
+        }
+
+        /**
+         * Returns true if the current snapshot holds exactly the same rate table as the one before it.
+         * @return true if the rate table did not change.
+         */
+        public boolean isUnchanged() {
+            return this.unchanged;
+        }
+
+        /**
+         * Decodes a rate of the current snapshot.
+         * @param index the index of the rate within the snapshot.
+         * @return the decoded rate.
+         */
+        public DragonConRate getRate(final int index) {
+            final int flag = this.flags[index];
+            return new DragonConRate(
+                dictionaryEntry(this.rawLineIds[index]),
+                dictionaryEntry(this.priceIds[index]),
+                (flag & IS_TBA) != 0,
+                (flag & HAS_DEADLINE) != 0 ? LocalDate.ofEpochDay(this.deadlineEpochDays[index]) : null
+            );
+        }
+
+        /**
+         * Decodes the current snapshot.
+         * @return the decoded snapshot.
+         */
+        public RateSnapshot snapshot() {
+            final List<DragonConRate> rates = new ArrayList<>(this.rateCount);
+            for (int i = 0; i < this.rateCount; i++) {
+                rates.add(getRate(i));
+            }
+            return new RateSnapshot(getObservedAt(), rates);
+        }
+
+        /**
+         * Returns a dictionary entry, decoding it on first use.
+         * @param id the ID of the entry.
+         * @return the string stored under the ID.
+         */
+        String dictionaryEntry(final int id) {
+            if (id >= this.dictionarySize) {
+                throw new IllegalStateException("Unknown dictionary ID: " + id);
+            }
+            String value = this.dictionaryStrings[id];
+            if (value == null) {
+                final byte[] bytes = new byte[this.dictionaryLengths[id]];
+                this.buffer.get(this.dictionaryOffsets[id], bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                this.dictionaryStrings[id] = value;
+            }
+            return value;
+        }
+
+        /**
+         * Records where a dictionary entry lives in the file without decoding it.
+         * @param offset the offset of the UTF-8 bytes.
+         * @param length the number of UTF-8 bytes.
+         */
+        private void addDictionaryEntry(final int offset, final int length) {
+            if (this.dictionarySize == this.dictionaryOffsets.length) {
+                final int capacity = this.dictionarySize * 2;
+                this.dictionaryOffsets = Arrays.copyOf(this.dictionaryOffsets, capacity);
+                this.dictionaryLengths = Arrays.copyOf(this.dictionaryLengths, capacity);
+                this.dictionaryStrings = Arrays.copyOf(this.dictionaryStrings, capacity);
+            }
+            this.dictionaryOffsets[this.dictionarySize] = offset;
+            this.dictionaryLengths[this.dictionarySize] = length;
+            this.dictionarySize++;
+        }
+
+        /**
+         * Decodes the columns of a snapshot block into the reusable arrays, noting whether anything changed.
+         */
+        private void readSnapshot() {
+            final long observed = this.observedEpochSecond + unzigzag(readVarint(this.buffer));
+            final int count = (int) readVarint(this.buffer) - 1;
+            if (count < 0) {
+                // The same table as the previous snapshot; the columns already hold it.
+                if (this.snapshotsRead == 0) {
+                    throw new IllegalStateException("Malformed snapshot");
+                }
+                this.observedEpochSecond = observed;
+                this.unchanged = true;
+                return;
+            }
+            if (count > this.buffer.remaining()) {
+                throw new IllegalStateException("Malformed snapshot");
+            }
+            if (count > this.flags.length) {
+                this.flags = Arrays.copyOf(this.flags, count);
+                this.deadlineEpochDays = Arrays.copyOf(this.deadlineEpochDays, count);
+                this.cents = Arrays.copyOf(this.cents, count);
+                this.priceIds = Arrays.copyOf(this.priceIds, count);
+                this.rawLineIds = Arrays.copyOf(this.rawLineIds, count);
+            }
+
+            // Compare against the previous snapshot while overwriting it, so detecting unchanged tables costs nothing extra.
+            boolean same = this.snapshotsRead > 0 && count == this.rateCount;
+            for (int i = 0; i < count; i++) {
+                final byte flag = this.buffer.get();
+                same &= flag == this.flags[i];
+                this.flags[i] = flag;
+            }
+            long epochDay = 0;
+            for (int i = 0; i < count; i++) {
+                if ((this.flags[i] & HAS_DEADLINE) != 0) {
+                    epochDay += unzigzag(readVarint(this.buffer));
+                    same &= epochDay == this.deadlineEpochDays[i];
+                    this.deadlineEpochDays[i] = epochDay;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                final long value = unzigzag(readVarint(this.buffer));
+                same &= value == this.cents[i];
+                this.cents[i] = value;
+            }
+            for (int i = 0; i < count; i++) {
+                final int id = (int) readVarint(this.buffer);
+                same &= id == this.priceIds[i];
+                this.priceIds[i] = id;
+            }
+            for (int i = 0; i < count; i++) {
+                final int id = (int) readVarint(this.buffer);
+                same &= id == this.rawLineIds[i];
+                this.rawLineIds[i] = id;
+            }
+
+            this.observedEpochSecond = observed;
+            this.rateCount = count;
+            this.unchanged = same;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.dragoncon_reminder.util;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * RateSnapshot is an immutable record of the rate table that was observed on the DragonCon website at a point in time.
+ */
+public final class RateSnapshot {
+    final Instant observedAt;
+    final List<DragonConRate> rates;
+
+    /**
+     * Constructor for the RateSnapshot object.
+     * @param observedAt the instant the rate table was fetched.
+     * @param rates the rate table parsed from the website.
+     */
+    public RateSnapshot(final Instant observedAt, final List<DragonConRate> rates) {
+        this.observedAt = observedAt;
+        this.rates = List.copyOf(rates);
+    }
+
+    /**
+     * Returns the instant the rate table was fetched.
+     * @return the instant the rate table was fetched.
+     */
+    public final Instant getObservedAt() {
+        return this.observedAt;
+    }
+
+    /**
+     * Returns the rate table parsed from the website.
+     * @return an unmodifiable view of the rate table.
+     */
+    public final List<DragonConRate> getRates() {
+        return this.rates;
+    }
+}
@@ -0,0 +1,118 @@
+package com.dragoncon_reminder.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This is a static class that saves and loads the most recent rate table, so that a restarted bot can answer commands before it scrapes again.
+ * The file is a few hundred bytes: a magic number, a version, the observation time, the rates, and a CRC32 of everything before it.
+ * It is replaced atomically, so a crash mid-save leaves the previous snapshot in place.
+ */
+public final class RateSnapshotFile {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateSnapshotFile.class);
+
+    private static final int MAGIC = 0x44435753; // "DCWS"
+    private static final short VERSION = 1;
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+    private RateSnapshotFile() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Saves a rate table, replacing any previously saved one.
+     * @param path the snapshot file, created along with its parent directories if needed.
+     * @param snapshot the rate table to save.
+     * @throws IOException in case the file cannot be written.
+     */
+    public static void write(final Path path, final RateSnapshot snapshot) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(snapshot.observedAt.toEpochMilli());
+        out.writeInt(snapshot.rates.size());
+        for (final DragonConRate rate : snapshot.rates) {
+            out.writeUTF(rate.rawLine);
+            out.writeUTF(rate.price);
+            out.writeBoolean(rate.isTBA);
+            out.writeLong(rate.deadline != null ? rate.deadline.toEpochDay() : NO_DEADLINE);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, bytes.toByteArray());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the saved rate table.
+     * A missing, truncated or corrupt file is treated as no snapshot, since the bot can always scrape the rates again.
+     * @param path the snapshot file.
+     * @return the saved rate table, or null if there is no usable snapshot.
+     */
+    public static RateSnapshot read(final Path path) {
+        final byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the rate snapshot {}", path, e);
+            return null;
+        }
+
+        try {
+            if (bytes.length < Long.BYTES) {
+                throw new IOException("Rate snapshot is truncated");
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - Long.BYTES);
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            in.skipNBytes(bytes.length - Long.BYTES);
+            if (in.readLong() != crc.getValue()) {
+                throw new IOException("Rate snapshot checksum mismatch");
+            }
+
+            final DataInputStream body = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+            if (body.readInt() != MAGIC || body.readShort() != VERSION) {
+                throw new IOException("Not a supported rate snapshot");
+            }
+            final Instant observedAt = Instant.ofEpochMilli(body.readLong());
+            final int count = body.readInt();
+            final List<DragonConRate> rates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final String rawLine = body.readUTF();
+                final String price = body.readUTF();
+                final boolean isTBA = body.readBoolean();
+                final long epochDay = body.readLong();
+                rates.add(new DragonConRate(rawLine, price, isTBA, epochDay != NO_DEADLINE ? LocalDate.ofEpochDay(epochDay) : null));
+            }
+            return new RateSnapshot(observedAt, rates);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unusable rate snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.dragoncon_reminder.util;
+
+import java.util.List;
+import java.util.Locale;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * This is a helper class that builds out a reminder that will be posted to a Discord channel.
+ */
+public final class Reminder {
+    private final Clock clock;
+    private final GuildSettings settings;
+
+    /**
+     * Constructor to instantiate a DragonConRateParser object. 
+     * This is needed primarily to be able to mock for testing.
+     */
+    @VisibleForTesting
+    public Reminder() {
+        this(Clock.system(Constants.ZONE));
+    }
+
+    /**
+     * Custom constructor to set the clock used to determine today's date.
+     * @param clock the clock used to determine today's date.
+     */
+    public Reminder(final Clock clock) {
+        this(clock, new GuildSettings(Locale.ROOT, clock.getZone()));
+    }
+
+    /**
+     * Custom constructor to set the clock and the locale and time zone of the guild the reminder is posted to.
+     * @param clock the clock used to determine the current instant.
+     * @param settings the locale dates and prices are formatted in, and the time zone that decides today's date.
+     */
+    public Reminder(final Clock clock, final GuildSettings settings) {
+        this.clock = clock;
+        this.settings = settings;
+    }
+
+    /**
+     * Builds a reminder String to be posted to a Discord channel.
+     * Each matching rate is placed on its own line.
+     * @param dragonConRates the list of DragonCon rates and deadlines that need to be posted.
+     * @return a String that contains the reminder content to be posted.
+     */
+    public final String build(final List<DragonConRate> dragonConRates) {
+        final PipelineEvents.ReminderBuild event = new PipelineEvents.ReminderBuild();
+        event.begin();
+
+        // Grab today's date to check against the parsed deadlines.
+        final LocalDate today = LocalDate.now(this.clock.withZone(this.settings.getZone()));
+        final LocalizedFormats formats = this.settings.getFormats();
+
+        final StringBuffer reminder = new StringBuffer();
+
+        for (final DragonConRate dragonConRate : dragonConRates) {
+            if (dragonConRate.deadline == null) {
+                continue;
+            }
+
+            // Determine the difference between today's date and a given deadline in calendar days.
+            // Counting 24-hour durations would lose a day whenever the span crosses a daylight saving change.
+            final long numDays = ChronoUnit.DAYS.between(today, dragonConRate.deadline);
+
+            // Check the difference (duration) against the pre-definined thresholds in order to determine whether a reminder should be built.
+            for (final int threshold : Constants.REMINDER_THRESHOLDS_IN_DAYS) {
+                if (threshold == numDays) {
+                    // Keep one reminder per line so that long reminders can be split on line boundaries.
+                    if (reminder.length() > 0) {
+                        reminder.append("\n");
+                    }
+                    event.reminderCount++;
+                    reminder.append(message(formats, dragonConRate, numDays));
+
+                    break;
+                }
+            }
+        }
+
+        event.rateCount = dragonConRates.size();
+        event.characters = reminder.length();
+        event.commit();
+        return reminder.toString();
+    }
+
+    /**
+     * Returns the reminder line for one rate, as posted to Discord and shown by calendar alarms.
+     * @param formats the formats the price and deadline are rendered with.
+     * @param dragonConRate the rate whose deadline is approaching.
+     * @param numDays the number of days until the deadline.
+     * @return the reminder line.
+     */
+    static String message(final LocalizedFormats formats, final DragonConRate dragonConRate, final long numDays) {
+        return String.format("The DragonCon membership price (current: %s) will increase in %d day(s) (%s).",
+            formats.formatPrice(dragonConRate),
+            numDays,
+            formats.formatDate(dragonConRate.deadline)
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.dragoncon_reminder.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This is a static class that remembers the last reminder that was sent and on which day, so that a run-once job retried
+ * after a partial failure does not post the same reminder twice.
+ * The file holds the ISO date on its first line followed by the reminder text, and is replaced atomically.
+ */
+public final class SentReminderFile {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SentReminderFile.class);
+
+    private SentReminderFile() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Records that a reminder was sent, replacing the previously recorded one.
+     * @param path the file, created along with its parent directories if needed.
+     * @param day the day the reminder was sent on.
+     * @param reminder the reminder text.
+     * @throws IOException in case the file cannot be written.
+     */
+    public static void write(final Path path, final LocalDate day, final String reminder) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temporary, day + "\n" + reminder, StandardCharsets.UTF_8);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns true if the same reminder was already sent on the same day.
+     * A missing or unreadable file counts as nothing sent, since a duplicate is better than a missed reminder.
+     * @param path the file.
+     * @param day the day the reminder is due.
+     * @param reminder the reminder text.
+     * @return true if this reminder has already been sent today.
+     */
+    public static boolean alreadySent(final Path path, final LocalDate day, final String reminder) {
+        final String content;
+        try {
+            content = Files.readString(path, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the sent reminder file {}", path, e);
+            return false;
+        }
+
+        final int newline = content.indexOf('\n');
+        if (newline < 0) {
+            return false;
+        }
+        try {
+            return LocalDate.parse(content.substring(0, newline)).equals(day) && content.substring(newline + 1).equals(reminder);
+        } catch (DateTimeParseException e) {
+            LOGGER.warn("Ignoring unusable sent reminder file {}", path);
+            return false;
+        }
+    }
+}
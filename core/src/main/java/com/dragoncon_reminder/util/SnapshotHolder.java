@@ -0,0 +1,147 @@
+package com.dragoncon_reminder.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes immutable values to many reader threads, numbering each published value with a version.
+ * Readers never lock: they see whichever version was last published. Writers are serialized, so subscribers
+ * are told about every version exactly once and in order. Values must not be mutated once published.
+ * @param <T> the type of the published value.
+ */
+public final class SnapshotHolder<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotHolder.class);
+
+    private final AtomicReference<Version<T>> current;
+    private final List<Consumer<Version<T>>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor for the SnapshotHolder object.
+     * @param initial the value published as version 0.
+     */
+    public SnapshotHolder(final T initial) {
+        this.current = new AtomicReference<>(new Version<>(0, initial));
+    }
+
+    /**
+     * Returns the latest published version without locking.
+     * @return the latest published version.
+     */
+    public Version<T> get() {
+        return this.current.get();
+    }
+
+    /**
+     * Publishes a new value.
+     * @param value the value to publish.
+     * @return the published version.
+     */
+    public Version<T> publish(final T value) {
+        return update(previous -> value);
+    }
+
+    /**
+     * Publishes a value derived from the latest one. Returning the latest value unchanged publishes nothing.
+     * Subscribers are called on the writing thread before this returns.
+     * @param change the function deriving the new value from the latest one; it must not mutate its argument.
+     * @return the published version, or the latest version if nothing changed.
+     */
+    public Version<T> update(final UnaryOperator<T> change) {
+        return update(change, (previous, value) -> false);
+    }
+
+    /**
+     * Publishes a value derived from the latest one, unless it is equivalent to the latest one for subscribers.
+     * An equivalent value still replaces the latest one for readers, but keeps its version number and calls no subscribers.
+     * @param change the function deriving the new value from the latest one; it must not mutate its argument.
+     * @param equivalent returns true if the new value (second argument) needs no new version after the latest one (first argument).
+     * @return the published version, or the latest version if nothing changed.
+     */
+    public synchronized Version<T> update(final UnaryOperator<T> change, final BiPredicate<T, T> equivalent) {
+        final Version<T> previous = this.current.get();
+        final T value = change.apply(previous.value);
+        if (value == previous.value) {
+            return previous;
+        }
+        if (equivalent.test(previous.value, value)) {
+            final Version<T> replaced = new Version<>(previous.number, value);
+            this.current.set(replaced);
+            return replaced;
+        }
+
+        final Version<T> next = new Version<>(previous.number + 1, value);
+        this.current.set(next);
+        for (final Consumer<Version<T>> subscriber : this.subscribers) {
+            try {
+                subscriber.accept(next);
+            } catch (RuntimeException e) {
+                // One failing subscriber must not stop the others or the writer.
+                LOGGER.warn("Snapshot subscriber failed on version {}", next.number, e);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Subscribes to every version published from now on.
+     * @param subscriber the callback receiving each new version; it should be quick, since it runs on the writing thread.
+     * @return the subscription, which stops further callbacks when closed.
+     */
+    public Subscription subscribe(final Consumer<Version<T>> subscriber) {
+        this.subscribers.add(subscriber);
+        return () -> this.subscribers.remove(subscriber);
+    }
+
+    /**
+     * A handle to stop receiving new versions.
+     */
+    public interface Subscription extends AutoCloseable {
+        /**
+         * Stops further callbacks.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * An immutable value together with the number of the version it was published as.
+     * @param <T> the type of the published value.
+     */
+    public static final class Version<T> {
+        final long number;
+        final T value;
+
+        /**
+         * Constructor for the Version object.
+         * @param number the version number, starting from 0 for the initial value.
+         * @param value the published value.
+         */
+        Version(final long number, final T value) {
+            this.number = number;
+            this.value = value;
+        }
+
+        /**
+         * Returns the version number.
+         * @return the version number, increasing by one with every publication.
+         */
+        public final long getNumber() {
+            return this.number;
+        }
+
+        /**
+         * Returns the published value.
+         * @return the published value.
+         */
+        public final T getValue() {
+            return this.value;
+        }
+    }
+}
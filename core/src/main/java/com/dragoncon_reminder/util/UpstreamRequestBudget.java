@@ -0,0 +1,76 @@
+package com.dragoncon_reminder.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Caps the number of requests made to the DragonCon website in any rolling hour, across every caller in the bot.
+ */
+public final class UpstreamRequestBudget {
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private final Clock clock;
+    private final int maxRequestsPerHour;
+    private final Deque<Instant> recentRequests = new ArrayDeque<>();
+
+    /**
+     * Constructor for the UpstreamRequestBudget object.
+     * @param clock the clock used to determine the current time.
+     * @param maxRequestsPerHour the maximum number of requests allowed in any rolling hour.
+     */
+    public UpstreamRequestBudget(final Clock clock, final int maxRequestsPerHour) {
+        if (maxRequestsPerHour < 1) {
+            throw new IllegalArgumentException("At least one request per hour must be allowed");
+        }
+        this.clock = clock;
+        this.maxRequestsPerHour = maxRequestsPerHour;
+    }
+
+    /**
+     * Takes a request from the budget if there is one left in the current hour.
+     * @return true if the request may be made, false if the cap has been reached.
+     */
+    public synchronized boolean tryAcquire() {
+        final Instant now = this.clock.instant();
+        expire(now);
+        if (this.recentRequests.size() >= this.maxRequestsPerHour) {
+            return false;
+        }
+        this.recentRequests.addLast(now);
+        return true;
+    }
+
+    /**
+     * Returns how long until a request will be allowed again.
+     * @return zero if a request is allowed now, otherwise the time until the oldest request leaves the window.
+     */
+    public synchronized Duration timeUntilAvailable() {
+        final Instant now = this.clock.instant();
+        expire(now);
+        if (this.recentRequests.size() < this.maxRequestsPerHour) {
+            return Duration.ZERO;
+        }
+        return Duration.between(now, this.recentRequests.peekFirst().plus(WINDOW));
+    }
+
+    /**
+     * Returns the maximum number of requests allowed in any rolling hour.
+     * @return the maximum number of requests allowed in any rolling hour.
+     */
+    public final int getMaxRequestsPerHour() {
+        return this.maxRequestsPerHour;
+    }
+
+    /**
+     * Drops requests that are older than the window.
+     * @param now the current time.
+     */
+    private void expire(final Instant now) {
+        while (!this.recentRequests.isEmpty() && !this.recentRequests.peekFirst().plus(WINDOW).isAfter(now)) {
+            this.recentRequests.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.dragoncon_reminder.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Marks a method or constructor whose visibility is wider than its callers in the bot need, so that tests can reach it.
+ * This replaces Guava's annotation of the same name, which was the only use of Guava and would otherwise ship all of it.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+public @interface VisibleForTesting {
+}
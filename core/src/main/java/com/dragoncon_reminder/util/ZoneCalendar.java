@@ -0,0 +1,83 @@
+package com.dragoncon_reminder.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers "what day is it" in any time zone from a shared clock.
+ * The start and end of the current day are worked out once per zone per day, so most calls only compare the clock against them.
+ */
+public final class ZoneCalendar {
+    private final Clock clock;
+    private final Map<ZoneId, Day> days = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the ZoneCalendar object.
+     * @param clock the clock used to determine the current instant.
+     */
+    public ZoneCalendar(final Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns today's date in a time zone.
+     * @param zone the time zone.
+     * @return today's date in the time zone.
+     */
+    public final LocalDate today(final ZoneId zone) {
+        final long now = this.clock.millis();
+        Day day = this.days.get(zone);
+        if (day == null || !day.contains(now)) {
+            day = Day.containing(now, zone);
+            this.days.put(zone, day);
+        }
+        return day.date;
+    }
+
+    /**
+     * One calendar day in a zone, with the instants it starts and ends at.
+     */
+    private static final class Day {
+        final LocalDate date;
+        final long startMillis;
+        final long endMillis;
+
+        /**
+         * Constructor for the Day object.
+         * @param date the date.
+         * @param startMillis the first instant of the date, in epoch milliseconds.
+         * @param endMillis the first instant of the next date, in epoch milliseconds.
+         */
+        Day(final LocalDate date, final long startMillis, final long endMillis) {
+            this.date = date;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+
+        /**
+         * Works out the day an instant falls on. Days are measured between midnights, so daylight saving days are 23 or 25 hours long.
+         * @param epochMillis the instant, in epoch milliseconds.
+         * @param zone the time zone.
+         * @return the day containing the instant.
+         */
+        static Day containing(final long epochMillis, final ZoneId zone) {
+            final LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+            return new Day(date,
+                date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+
+        /**
+         * Returns true if an instant falls on this day. Checking the start too covers clocks that are set back.
+         * @param epochMillis the instant, in epoch milliseconds.
+         * @return true if the instant falls on this day.
+         */
+        boolean contains(final long epochMillis) {
+            return epochMillis >= this.startMillis && epochMillis < this.endMillis;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import com.dragoncon_reminder.util.AdaptiveRefreshPolicy;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+
+public class AdaptiveRefreshPolicyTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 5);
+
+    /**
+     * Helper method to create a policy whose clock is pinned to noon on a given day.
+     * @param day the day to pin the clock to.
+     * @return the policy.
+     */
+    private final AdaptiveRefreshPolicy policyOn(final LocalDate day) {
+        return new AdaptiveRefreshPolicy(Clock.fixed(day.atTime(12, 0).atZone(Constants.ZONE).toInstant(), Constants.ZONE));
+    }
+
+    /**
+     * Helper method to create a rate table whose only deadline is a number of days from today.
+     * @param daysUntil the number of days until the deadline.
+     * @return the rate table.
+     */
+    private final List<DragonConRate> deadlineIn(final long daysUntil) {
+        return List.of(
+            new DragonConRate("$150", "$150", false, TODAY.plusDays(daysUntil)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        );
+    }
+
+    /**
+     * Test that the website is polled rarely when the nearest deadline is months away.
+     */
+    @Test
+    void testNextDelay_DeadlineMonthsAway() {
+        Assertions.assertEquals(Duration.ofHours(24), policyOn(TODAY).nextDelay(deadlineIn(120), 0, 0));
+    }
+
+    /**
+     * Test that the website is polled more often as the deadline approaches.
+     */
+    @Test
+    void testNextDelay_TightensAsDeadlineApproaches() {
+        final AdaptiveRefreshPolicy policy = policyOn(TODAY);
+
+        Assertions.assertEquals(Duration.ofHours(12), policy.nextDelay(deadlineIn(60), 0, 0));
+        Assertions.assertEquals(Duration.ofHours(6), policy.nextDelay(deadlineIn(20), 0, 0));
+        Assertions.assertEquals(Duration.ofHours(1), policy.nextDelay(deadlineIn(5), 0, 0));
+        Assertions.assertEquals(AdaptiveRefreshPolicy.MIN_INTERVAL, policy.nextDelay(deadlineIn(1), 0, 0));
+    }
+
+    /**
+     * Test that an upcoming TBA tier is watched more closely than its deadline alone would require.
+     */
+    @Test
+    void testNextDelay_TbaTierApproaching() {
+        final List<DragonConRate> rates = List.of(
+            new DragonConRate("$150", "$150", false, TODAY.plusDays(120)),
+            new DragonConRate("TBA", "TBA", true, TODAY.plusDays(80))
+        );
+
+        Assertions.assertEquals(Duration.ofHours(6), policyOn(TODAY).nextDelay(rates, 0, 0));
+    }
+
+    /**
+     * Test that unchanged polls back off, but never beyond the maximum interval.
+     */
+    @Test
+    void testNextDelay_BacksOffWhenUnchanged() {
+        final AdaptiveRefreshPolicy policy = policyOn(TODAY);
+
+        Assertions.assertEquals(Duration.ofHours(6), policy.nextDelay(deadlineIn(20), 3, 0));
+        Assertions.assertEquals(Duration.ofHours(12), policy.nextDelay(deadlineIn(20), 4, 0));
+        Assertions.assertEquals(Duration.ofHours(24), policy.nextDelay(deadlineIn(20), 100, 0));
+        Assertions.assertEquals(AdaptiveRefreshPolicy.MAX_INTERVAL, policy.nextDelay(deadlineIn(120), 100, 0));
+    }
+
+    /**
+     * Test that failing polls back off exponentially.
+     */
+    @Test
+    void testNextDelay_BacksOffWhenFailing() {
+        final AdaptiveRefreshPolicy policy = policyOn(TODAY);
+
+        Assertions.assertEquals(AdaptiveRefreshPolicy.MIN_INTERVAL, policy.nextDelay(List.of(), 0, 1));
+        Assertions.assertEquals(Duration.ofMinutes(20), policy.nextDelay(List.of(), 0, 3));
+        Assertions.assertEquals(Duration.ofHours(6), policy.nextDelay(List.of(), 0, 50));
+    }
+
+    /**
+     * Test that backing off never sleeps past the day after the nearest deadline.
+     */
+    @Test
+    void testNextDelay_WakesUpAfterDeadline() {
+        final AdaptiveRefreshPolicy policy = new AdaptiveRefreshPolicy(
+            Clock.fixed(TODAY.atTime(23, 0).atZone(Constants.ZONE).toInstant(), Constants.ZONE));
+
+        Assertions.assertEquals(Duration.ofHours(1), policy.nextDelay(deadlineIn(0), 100, 0), "The table changes at midnight");
+    }
+}
@@ -0,0 +1,146 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.dragoncon_reminder.util.CommandThrottle;
+import com.dragoncon_reminder.util.Constants;
+
+/**
+ * Test suite for CommandThrottle.
+ */
+public class CommandThrottleTest {
+    /**
+     * A clock whose instant can be moved by the test.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2026-03-01T12:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return Constants.ZONE;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+
+    /**
+     * Test that a user may run a minute's worth of commands at once and then one per refill interval.
+     */
+    @Test
+    void testTryAcquire_BurstThenRefill() {
+        final CommandThrottle throttle = new CommandThrottle(this.clock, 5, 100);
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(Duration.ZERO, throttle.tryAcquire(1, 10));
+        }
+        Assertions.assertEquals(Duration.ofSeconds(12), throttle.tryAcquire(1, 10));
+
+        this.clock.instant = this.clock.instant.plusSeconds(11);
+        Assertions.assertEquals(Duration.ofSeconds(1), throttle.tryAcquire(1, 10));
+        this.clock.instant = this.clock.instant.plusSeconds(1);
+        Assertions.assertEquals(Duration.ZERO, throttle.tryAcquire(1, 10));
+        Assertions.assertFalse(throttle.tryAcquire(1, 10).isZero());
+    }
+
+    /**
+     * Test that one user being throttled does not affect another user in the same guild.
+     */
+    @Test
+    void testTryAcquire_UsersAreIndependent() {
+        final CommandThrottle throttle = new CommandThrottle(this.clock, 1, 100);
+
+        Assertions.assertEquals(Duration.ZERO, throttle.tryAcquire(1, 10));
+        Assertions.assertFalse(throttle.tryAcquire(1, 10).isZero());
+        Assertions.assertEquals(Duration.ZERO, throttle.tryAcquire(2, 10));
+    }
+
+    /**
+     * Test that a guild's limit caps all its users together, while other guilds and direct messages are unaffected.
+     */
+    @Test
+    void testTryAcquire_GuildLimitSharedByUsers() {
+        final CommandThrottle throttle = new CommandThrottle(this.clock, 5, 3);
+
+        for (int user = 1; user <= 3; user++) {
+            Assertions.assertEquals(Duration.ZERO, throttle.tryAcquire(user, 10));
+        }
+        Assertions.assertEquals(Duration.ofSeconds(20), throttle.tryAcquire(4, 10));
+        Assertions.assertEquals(Duration.ZERO, throttle.tryAcquire(4, 20));
+        Assertions.assertEquals(Duration.ZERO, throttle.tryAcquire(5, -1));
+    }
+
+    /**
+     * Test that refilled buckets are swept, so idle users do not hold memory.
+     */
+    @Test
+    void testTryAcquire_SweepsIdleBuckets() {
+        final CommandThrottle throttle = new CommandThrottle(this.clock, 5, 60);
+        for (long user = 0; user < 10_000; user++) {
+            throttle.tryAcquire(user, -1);
+        }
+        Assertions.assertEquals(10_000, throttle.size());
+
+        // Every stripe is swept once over 16 sweep intervals, after every bucket has refilled.
+        for (int i = 0; i < 16; i++) {
+            this.clock.instant = this.clock.instant.plusSeconds(Constants.COMMAND_THROTTLE_SWEEP_SECONDS);
+            throttle.tryAcquire(-2, -1);
+        }
+        Assertions.assertTrue(throttle.size() <= 1, "Only the bucket of the latest caller may remain, found " + throttle.size());
+    }
+
+    /**
+     * Test that a bucket hands out exactly its capacity when many threads take from it at once.
+     * @throws InterruptedException in case the test is interrupted.
+     */
+    @Test
+    void testTryAcquire_ConcurrentCallers() throws InterruptedException {
+        final CommandThrottle throttle = new CommandThrottle(this.clock, 50, 60_000);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger allowed = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (throttle.tryAcquire(1, 10).isZero()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(50, allowed.get());
+    }
+
+    /**
+     * Test that limits that cannot be represented are rejected.
+     */
+    @Test
+    void testConstructor_RejectsInvalidLimits() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CommandThrottle(this.clock, 0, 60));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CommandThrottle(this.clock, 5, 60_001));
+    }
+}
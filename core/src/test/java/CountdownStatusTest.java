@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.CountdownStatus;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+
+public class CountdownStatusTest {
+    private static final List<DragonConRate> RATES = List.of(
+        new DragonConRate("$125 through 12/12/2025", "$125", false, LocalDate.of(2025, 12, 12)),
+        new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+        new DragonConRate("TBA through 6/12/2026", "TBA", true, LocalDate.of(2026, 6, 12)),
+        new DragonConRate("$225 at the door", "$225", false, null)
+    );
+
+    /**
+     * Helper method to create the status for a given instant.
+     * @param instant the current instant.
+     * @param zone the time zone of the guild.
+     * @return the status.
+     */
+    private final CountdownStatus statusAt(final Instant instant, final ZoneId zone) {
+        return new CountdownStatus(Clock.fixed(instant, Constants.ZONE), new GuildSettings(Locale.ROOT, zone));
+    }
+
+    /**
+     * Test that the status counts down to the closest deadline that has not passed and names the rate that follows.
+     */
+    @Test
+    void testBuild_CountsDownToNextDeadline() {
+        final Instant now = LocalDate.of(2026, 3, 6).atTime(10, 0).atZone(Constants.ZONE).toInstant();
+
+        Assertions.assertEquals("**DragonCon Membership Countdown**\n\n"
+            + "• Current rate: **$150**\n"
+            + "• Valid through: **2026-03-13** (7 days left)\n"
+            + "• Then: **TBA**", statusAt(now, Constants.ZONE).build(RATES));
+    }
+
+    /**
+     * Test that the status is the same all day, so the pinned message is not edited again until the day rolls over.
+     */
+    @Test
+    void testBuild_StableWithinDay() {
+        final LocalDate day = LocalDate.of(2026, 3, 12);
+        final String morning = statusAt(day.atTime(0, 5).atZone(Constants.ZONE).toInstant(), Constants.ZONE).build(RATES);
+        final String evening = statusAt(day.atTime(23, 55).atZone(Constants.ZONE).toInstant(), Constants.ZONE).build(RATES);
+
+        Assertions.assertEquals(morning, evening);
+        Assertions.assertTrue(morning.contains("(1 day left)"));
+    }
+
+    /**
+     * Test that the day rolls over in the guild's time zone.
+     */
+    @Test
+    void testBuild_UsesGuildZone() {
+        // 2026-03-13 01:00 in Berlin is still 2026-03-12 in New York.
+        final Instant now = LocalDate.of(2026, 3, 13).atTime(1, 0).atZone(ZoneId.of("Europe/Berlin")).toInstant();
+
+        Assertions.assertTrue(statusAt(now, ZoneId.of("Europe/Berlin")).build(RATES).contains("(**Last day!**)"));
+        Assertions.assertTrue(statusAt(now, Constants.ZONE).build(RATES).contains("(1 day left)"));
+    }
+
+    /**
+     * Test that the open-ended rate is shown once every deadline has passed.
+     */
+    @Test
+    void testBuild_AfterLastDeadline() {
+        final Instant now = LocalDate.of(2026, 7, 1).atTime(10, 0).atZone(Constants.ZONE).toInstant();
+
+        Assertions.assertEquals("**DragonCon Membership Countdown**\n\n• Current rate: **$225**\n• No deadline specified",
+            statusAt(now, Constants.ZONE).build(RATES));
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DeadlineCalendar;
+import com.dragoncon_reminder.util.DragonConRate;
+
+/**
+ * Test suite for DeadlineCalendar.
+ */
+public class DeadlineCalendarTest {
+    private static final Instant OBSERVED_AT = Instant.parse("2026-03-01T15:00:00Z");
+    private static final List<DragonConRate> RATES = List.of(
+        new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+        new DragonConRate("TBA through 6/12/2026", "TBA", true, LocalDate.of(2026, 6, 12)),
+        new DragonConRate("$225 at the door", "$225", false, null)
+    );
+
+    /**
+     * Test that every rate with a deadline becomes an all-day event, identified by its deadline.
+     */
+    @Test
+    void testRender_OneEventPerDeadline() {
+        final String calendar = DeadlineCalendar.render(RATES, OBSERVED_AT);
+
+        Assertions.assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"), calendar);
+        Assertions.assertTrue(calendar.endsWith("END:VCALENDAR\r\n"), calendar);
+        Assertions.assertEquals(2, calendar.split("BEGIN:VEVENT", -1).length - 1, calendar);
+        Assertions.assertTrue(calendar.contains("UID:deadline-2026-03-13@dragoncon-reminder-bot\r\n"), calendar);
+        Assertions.assertTrue(calendar.contains("DTSTART;VALUE=DATE:20260313\r\nDTEND;VALUE=DATE:20260314\r\n"), calendar);
+        Assertions.assertTrue(calendar.contains("DTSTAMP:20260301T150000Z\r\n"), calendar);
+        Assertions.assertTrue(calendar.contains("SUMMARY:Last day for DragonCon memberships at $150\r\n"), calendar);
+        Assertions.assertTrue(calendar.contains("SUMMARY:DragonCon membership deadline (price TBA)\r\n"), calendar);
+        Assertions.assertFalse(calendar.contains("$225"), calendar);
+    }
+
+    /**
+     * Test that each event has one alarm per reminder threshold, reading like the reminder posted that day.
+     */
+    @Test
+    void testRender_AlarmsMatchReminderThresholds() {
+        final String calendar = DeadlineCalendar.render(RATES.subList(0, 1), OBSERVED_AT);
+
+        Assertions.assertEquals(Constants.REMINDER_THRESHOLDS_IN_DAYS.size(), calendar.split("BEGIN:VALARM", -1).length - 1, calendar);
+        Assertions.assertTrue(calendar.replace("\r\n ", "").contains(
+            "DESCRIPTION:The DragonCon membership price (current: $150) will increase in 7 day(s) (2026-03-13).\r\nTRIGGER:-P6DT15H\r\n"),
+            calendar);
+    }
+
+    /**
+     * Test that alarms go off at the alarm hour of each reminder day.
+     */
+    @Test
+    void testTrigger() {
+        Assertions.assertEquals("PT9H", DeadlineCalendar.trigger(0));
+        Assertions.assertEquals("-PT15H", DeadlineCalendar.trigger(1));
+        Assertions.assertEquals("-P2DT15H", DeadlineCalendar.trigger(3));
+        Assertions.assertEquals("-P29DT15H", DeadlineCalendar.trigger(30));
+    }
+
+    /**
+     * Test that text is escaped and long lines are folded at 75 octets without splitting a character.
+     */
+    @Test
+    void testRender_EscapesAndFolds() {
+        final String rawLine = "Écoute; été pricing, final — " + "é".repeat(60) + " through 3/13/2026";
+        final String calendar = DeadlineCalendar.render(
+            List.of(new DragonConRate(rawLine, "$150", false, LocalDate.of(2026, 3, 13))), OBSERVED_AT);
+
+        for (final String line : calendar.split("\r\n")) {
+            Assertions.assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        Assertions.assertTrue(calendar.replace("\r\n ", "").contains("DESCRIPTION:Écoute\\; été pricing\\, final — "), calendar);
+    }
+}
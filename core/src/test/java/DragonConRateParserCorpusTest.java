@@ -0,0 +1,177 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.DragonConRateParser;
+
+/**
+ * Regression harness that runs the parser over the recorded membership page corpus.
+ * Each snapshot is checked against its golden rate list, and its parse cost is compared to the recorded baseline.
+ * Thresholds can be overridden with -Pparser.corpus.regressionThreshold=... and -Pparser.corpus.maxParseMillis=...
+ */
+public class DragonConRateParserCorpusTest {
+    private static final File CORPUS_DIRECTORY = new File("src/test/resources/corpus/membership-info/v1");
+    private static final File REPORT_FILE = new File("build/reports/parser-corpus/results.csv");
+    private static final int MEASURED_RUNS = 15;
+
+    /**
+     * Parse cost of a single snapshot.
+     */
+    private static final class Measurement {
+        String snapshot;
+        long parseNanos;
+        long allocatedBytes;
+        int domNodes;
+    }
+
+    /**
+     * Test that every snapshot in the corpus parses to its golden rate list.
+     */
+    @Test
+    void testCorpus_MatchesGoldenRates() throws Exception {
+        for (final File snapshot : snapshots()) {
+            final String name = snapshot.getName().replace(".html", "");
+            final List<String> expected = readGolden(new File(CORPUS_DIRECTORY, name + ".rates"));
+            final List<String> actual = new ArrayList<>();
+
+            for (final DragonConRate rate : new DragonConRateParser(Jsoup.parse(snapshot, "UTF-8")).fetchRatesAndDeadlines()) {
+                actual.add(rate.getPrice() + "\t" + (rate.getDeadline() == null ? "-" : rate.getDeadline()) + "\t" + rate.getIsTBA());
+            }
+
+            Assertions.assertEquals(expected, actual, "Parsed rates should match the golden list for " + name);
+        }
+    }
+
+    /**
+     * Test that no snapshot regresses beyond the configured threshold of its recorded baseline.
+     * Results for every snapshot are written to build/reports/parser-corpus/results.csv.
+     */
+    @Test
+    void testCorpus_NoParseCostRegression() throws Exception {
+        final Properties baseline = new Properties();
+        try (FileReader reader = new FileReader(new File(CORPUS_DIRECTORY, "baseline.properties"), StandardCharsets.UTF_8)) {
+            baseline.load(reader);
+        }
+        final double threshold = Double.parseDouble(System.getProperty("parser.corpus.regressionThreshold",
+            baseline.getProperty("regressionThreshold")));
+        final long maxParseMillis = Long.parseLong(System.getProperty("parser.corpus.maxParseMillis",
+            baseline.getProperty("maxParseMillis")));
+
+        // Warm up the parser so class loading and JIT compilation are not counted against the first snapshot.
+        for (int i = 0; i < 5; i++) {
+            for (final File snapshot : snapshots()) {
+                measure(snapshot);
+            }
+        }
+
+        final List<Measurement> measurements = new ArrayList<>();
+        for (final File snapshot : snapshots()) {
+            measurements.add(measure(snapshot));
+        }
+        writeReport(measurements);
+
+        for (final Measurement measurement : measurements) {
+            final long baselineBytes = Long.parseLong(baseline.getProperty(measurement.snapshot + ".allocatedBytes", "0"));
+            final int baselineNodes = Integer.parseInt(baseline.getProperty(measurement.snapshot + ".domNodes", "0"));
+            Assertions.assertTrue(baselineBytes > 0 && baselineNodes > 0, "Missing baseline for snapshot " + measurement.snapshot);
+
+            Assertions.assertTrue(measurement.allocatedBytes <= baselineBytes * threshold,
+                "Allocated bytes for " + measurement.snapshot + " regressed: " + measurement.allocatedBytes + " vs baseline " + baselineBytes);
+            Assertions.assertTrue(measurement.domNodes <= baselineNodes * threshold,
+                "DOM size for " + measurement.snapshot + " regressed: " + measurement.domNodes + " vs baseline " + baselineNodes);
+            Assertions.assertTrue(measurement.parseNanos <= maxParseMillis * 1_000_000L,
+                "Parse time for " + measurement.snapshot + " exceeded " + maxParseMillis + " ms: " + measurement.parseNanos + " ns");
+        }
+    }
+
+    /**
+     * Helper method to list the corpus snapshots in capture order.
+     * @return the snapshot files.
+     */
+    private static List<File> snapshots() {
+        final File[] files = CORPUS_DIRECTORY.listFiles((dir, name) -> name.endsWith(".html"));
+        Assertions.assertNotNull(files, "Corpus directory should exist: " + CORPUS_DIRECTORY);
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Helper method to read a golden rate list, skipping comment lines.
+     * @param golden the golden file.
+     * @return the expected rates formatted as price, deadline and TBA flag separated by tabs.
+     * @throws IOException in case the golden file cannot be read.
+     */
+    private static List<String> readGolden(final File golden) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for (final String line : Files.readAllLines(golden.toPath(), StandardCharsets.UTF_8)) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Helper method to measure the full parse of a snapshot, from raw HTML to rates.
+     * The median time and the minimum allocation over several runs are reported to reduce noise.
+     * @param snapshot the snapshot file.
+     * @return the parse cost of the snapshot.
+     * @throws Exception in case the snapshot cannot be parsed.
+     */
+    private static Measurement measure(final File snapshot) throws Exception {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final String html = Files.readString(snapshot.toPath(), StandardCharsets.UTF_8);
+
+        final long[] nanos = new long[MEASURED_RUNS];
+        long allocatedBytes = Long.MAX_VALUE;
+        int domNodes = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            final long startBytes = threads.getThreadAllocatedBytes(threadId);
+            final long startNanos = System.nanoTime();
+
+            final Document document = Jsoup.parse(html);
+            final List<DragonConRate> rates = new DragonConRateParser(document).fetchRatesAndDeadlines();
+
+            nanos[i] = System.nanoTime() - startNanos;
+            allocatedBytes = Math.min(allocatedBytes, threads.getThreadAllocatedBytes(threadId) - startBytes);
+            domNodes = document.getAllElements().size();
+            Assertions.assertFalse(rates.isEmpty());
+        }
+        Arrays.sort(nanos);
+
+        final Measurement measurement = new Measurement();
+        measurement.snapshot = snapshot.getName().replace(".html", "");
+        measurement.parseNanos = nanos[MEASURED_RUNS / 2];
+        measurement.allocatedBytes = allocatedBytes;
+        measurement.domNodes = domNodes;
+        return measurement;
+    }
+
+    /**
+     * Helper method to write the measurements to the build reports directory.
+     * @param measurements the measurements for every snapshot.
+     * @throws IOException in case the report cannot be written.
+     */
+    private static void writeReport(final List<Measurement> measurements) throws IOException {
+        REPORT_FILE.getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(REPORT_FILE, StandardCharsets.UTF_8)) {
+            writer.println("snapshot,parse_nanos,allocated_bytes,dom_nodes");
+            for (final Measurement measurement : measurements) {
+                writer.println(measurement.snapshot + "," + measurement.parseNanos + "," + measurement.allocatedBytes + "," + measurement.domNodes);
+            }
+        }
+    }
+}
@@ -27,4 +27,16 @@ public class DragonConRateTest {
         Assertions.assertEquals(expectedTBA, testRateObject.getIsTBA(), "The expected and actual boolean TBA values should match.");
         Assertions.assertEquals(expectedDeadline, testRateObject.getDeadline(), "The expected and actual deadline objects should match.");
     }
+
+    /**
+     * This method tests converting prices to cents.
+     */
+    @Test
+    void testGetPriceInCents() {
+        Assertions.assertEquals(10000, new DragonConRate("", "$100", false, null).getPriceInCents());
+        Assertions.assertEquals(12550, new DragonConRate("", "$125.50", false, null).getPriceInCents());
+        Assertions.assertEquals(12550, new DragonConRate("", "$125.5", false, null).getPriceInCents());
+        Assertions.assertEquals(120000, new DragonConRate("", "$1,200", false, null).getPriceInCents());
+        Assertions.assertEquals(-1, new DragonConRate("", "TBA", true, null).getPriceInCents(), "TBA prices have no amount");
+    }
 }
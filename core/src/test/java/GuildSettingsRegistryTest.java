@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.ZoneId;
+import java.util.Locale;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+
+public class GuildSettingsRegistryTest {
+    private static final GuildSettings DEFAULTS = new GuildSettings(Locale.ROOT, Constants.ZONE);
+
+    /**
+     * Test that no configuration gives every guild the defaults.
+     */
+    @Test
+    void testParse_EmptyKeepsDefaults() {
+        Assertions.assertSame(DEFAULTS, GuildSettingsRegistry.parse(null, DEFAULTS).forGuild(42L));
+        Assertions.assertSame(DEFAULTS, GuildSettingsRegistry.parse(" ", DEFAULTS).getDefault());
+    }
+
+    /**
+     * Test that configured guilds get their own settings and other guilds the configured default.
+     */
+    @Test
+    void testParse_GuildsAndDefault() {
+        final GuildSettingsRegistry registry = GuildSettingsRegistry.parse(
+            "123456789012345678:de-DE:Europe/Berlin, *:en-GB:Europe/London", DEFAULTS);
+
+        final GuildSettings german = registry.forGuild(123456789012345678L);
+        Assertions.assertEquals(Locale.GERMANY, german.getLocale());
+        Assertions.assertEquals(ZoneId.of("Europe/Berlin"), german.getZone());
+
+        final GuildSettings other = registry.forGuild(42L);
+        Assertions.assertEquals(Locale.UK, other.getLocale());
+        Assertions.assertEquals(ZoneId.of("Europe/London"), other.getZone());
+    }
+
+    /**
+     * Test that empty parts are taken from the default entry, wherever it appears.
+     */
+    @Test
+    void testParse_EmptyPartsInheritDefault() {
+        final GuildSettingsRegistry registry = GuildSettingsRegistry.parse("7::Asia/Tokyo,8:fr-FR:,*:en-AU:", DEFAULTS);
+
+        Assertions.assertEquals(new Locale("en", "AU"), registry.forGuild(7L).getLocale());
+        Assertions.assertEquals(ZoneId.of("Asia/Tokyo"), registry.forGuild(7L).getZone());
+        Assertions.assertEquals(Locale.FRANCE, registry.forGuild(8L).getLocale());
+        Assertions.assertEquals(Constants.ZONE, registry.forGuild(8L).getZone());
+    }
+
+    /**
+     * Test that malformed entries are rejected with the offending value.
+     */
+    @Test
+    void testParse_RejectsInvalidEntries() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GuildSettingsRegistry.parse("42:de-DE", DEFAULTS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GuildSettingsRegistry.parse("guild:de-DE:Europe/Berlin", DEFAULTS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GuildSettingsRegistry.parse("42:de-DE:Mars/Olympus", DEFAULTS));
+        final IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+            () -> GuildSettingsRegistry.parse("42:!!:Europe/Berlin", DEFAULTS));
+        Assertions.assertTrue(e.getMessage().contains("!!"), e.getMessage());
+    }
+}
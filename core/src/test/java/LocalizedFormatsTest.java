@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.LocalDate;
+import java.util.Locale;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.LocalizedFormats;
+
+public class LocalizedFormatsTest {
+    private static final LocalDate DEADLINE = LocalDate.of(2026, 3, 13);
+
+    /**
+     * Helper method to create a rate with a given price.
+     * @param price the price as listed on the website.
+     * @return the rate.
+     */
+    private final DragonConRate rate(final String price) {
+        return new DragonConRate(price + " through 3/13/2026", price, "TBA".equals(price), DEADLINE);
+    }
+
+    /**
+     * Test that the root locale keeps ISO dates and prices as listed.
+     */
+    @Test
+    void testRootLocale_KeepsOriginalFormatting() {
+        final LocalizedFormats formats = LocalizedFormats.forLocale(Locale.ROOT);
+
+        Assertions.assertEquals("2026-03-13", formats.formatDate(DEADLINE));
+        Assertions.assertEquals("$150", formats.formatPrice(rate("$150")));
+    }
+
+    /**
+     * Test that dates and prices are formatted for the locale, with cents only when the price has them.
+     */
+    @Test
+    void testLocalizedFormatting() {
+        final LocalizedFormats us = LocalizedFormats.forLocale(Locale.US);
+        Assertions.assertEquals("Mar 13, 2026", us.formatDate(DEADLINE));
+        Assertions.assertEquals("$150", us.formatPrice(rate("$150")));
+        Assertions.assertEquals("$1,125.50", us.formatPrice(rate("$1,125.50")));
+
+        final LocalizedFormats german = LocalizedFormats.forLocale(Locale.GERMANY);
+        Assertions.assertEquals("13.03.2026", german.formatDate(DEADLINE));
+        Assertions.assertEquals("1.125,50\u00a0$", german.formatPrice(rate("$1,125.50")));
+    }
+
+    /**
+     * Test that prices that are not dollar amounts are left as listed.
+     */
+    @Test
+    void testFormatPrice_KeepsTBA() {
+        Assertions.assertEquals("TBA", LocalizedFormats.forLocale(Locale.FRANCE).formatPrice(rate("TBA")));
+    }
+
+    /**
+     * Test that formats are shared per locale and repeated values are served from the cache.
+     */
+    @Test
+    void testForLocale_SharesInstancesAndResults() {
+        final LocalizedFormats formats = LocalizedFormats.forLocale(Locale.JAPAN);
+        Assertions.assertSame(formats, LocalizedFormats.forLocale(Locale.JAPAN));
+        Assertions.assertSame(formats.formatDate(DEADLINE), formats.formatDate(DEADLINE));
+        Assertions.assertSame(formats.formatPrice(rate("$150")), formats.formatPrice(rate("$150")));
+    }
+}
@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.dragoncon_reminder.util.OutboxFile;
+import com.dragoncon_reminder.util.OutboxRun;
+
+public class OutboxFileTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test that a run with awkward message content reads back exactly as written.
+     */
+    @Test
+    void testWrite_RoundTrips() throws IOException {
+        final Map<String, Double> stages = new LinkedHashMap<>();
+        stages.put("fetch", 412.118);
+        stages.put("evaluate", 0.25);
+        final OutboxRun run = new OutboxRun(Instant.parse("2026-03-01T05:00:00Z"), LocalDate.of(2026, 3, 1), stages, List.of(
+            new OutboxRun.Message("111", "First line\nSecond line"),
+            new OutboxRun.Message("111", "Tab\there, backslash \\n not a newline")
+        ));
+
+        final Path file = this.tempDir.resolve("out/outbox.txt");
+        OutboxFile.write(file, run);
+        final OutboxRun read = OutboxFile.read(file);
+
+        Assertions.assertEquals(run.getStartedAt(), read.getStartedAt());
+        Assertions.assertEquals(run.getDay(), read.getDay());
+        Assertions.assertEquals(List.copyOf(stages.keySet()), List.copyOf(read.getStageMillis().keySet()));
+        Assertions.assertEquals(412.118, read.getStageMillis().get("fetch"), 0.0005);
+        Assertions.assertEquals(2, read.getMessages().size());
+        Assertions.assertEquals("First line\nSecond line", read.getMessages().get(0).getContent());
+        Assertions.assertEquals("Tab\there, backslash \\n not a newline", read.getMessages().get(1).getContent());
+        Assertions.assertEquals(7, Files.readAllLines(file).size(), "Each record should stay on one line");
+    }
+
+    /**
+     * Test that files that are not outboxes, or have broken records, are rejected.
+     */
+    @Test
+    void testRead_RejectsInvalidFiles() throws IOException {
+        final Path foreign = this.tempDir.resolve("foreign.txt");
+        Files.writeString(foreign, "hello\n");
+        Assertions.assertThrows(IOException.class, () -> OutboxFile.read(foreign));
+
+        final Path broken = this.tempDir.resolve("broken.txt");
+        Files.writeString(broken, "dragoncon-outbox 1\nstartedAt\t2026-03-01T05:00:00Z\nday\t2026-03-01\nmessage\t111\n");
+        final IOException e = Assertions.assertThrows(IOException.class, () -> OutboxFile.read(broken));
+        Assertions.assertTrue(e.getMessage().contains("line 4"), e.getMessage());
+    }
+}
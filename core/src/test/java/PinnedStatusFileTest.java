@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import com.dragoncon_reminder.util.PinnedStatusFile;
+
+public class PinnedStatusFileTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test that every channel's message and content hash read back after being written.
+     */
+    @Test
+    void testWrite_RoundTrips() throws IOException {
+        final Path file = this.tempDir.resolve("data").resolve("pinned-status.txt");
+        final Map<String, PinnedStatusFile.Entry> entries = new TreeMap<>();
+        entries.put("100", new PinnedStatusFile.Entry(111L, PinnedStatusFile.hash("first")));
+        entries.put("200", new PinnedStatusFile.Entry(222L, PinnedStatusFile.hash("second")));
+
+        PinnedStatusFile.write(file, entries);
+        final Map<String, PinnedStatusFile.Entry> read = PinnedStatusFile.read(file);
+
+        Assertions.assertEquals(2, read.size());
+        Assertions.assertEquals(222L, read.get("200").getMessageId());
+        Assertions.assertEquals(PinnedStatusFile.hash("second"), read.get("200").getContentHash());
+        Assertions.assertFalse(Files.exists(file.resolveSibling("pinned-status.txt.tmp")), "The temporary file should be moved into place");
+    }
+
+    /**
+     * Test that a missing file means no messages have been posted.
+     */
+    @Test
+    void testRead_MissingFile() {
+        Assertions.assertTrue(PinnedStatusFile.read(this.tempDir.resolve("missing.txt")).isEmpty());
+    }
+
+    /**
+     * Test that unusable lines are skipped while the rest of the file is still read.
+     */
+    @Test
+    void testRead_SkipsUnusableLines() throws IOException {
+        final Path file = this.tempDir.resolve("pinned-status.txt");
+        Files.writeString(file, "100 111 abc\nnot a line\n200 notanumber def\n300 333 ghi\n");
+
+        final Map<String, PinnedStatusFile.Entry> read = PinnedStatusFile.read(file);
+
+        Assertions.assertEquals(2, read.size());
+        Assertions.assertEquals(333L, read.get("300").getMessageId());
+    }
+
+    /**
+     * Test that content is compared byte for byte, so any change in the rendered text changes the hash.
+     */
+    @Test
+    void testHash_ChangesWithContent() {
+        Assertions.assertEquals(PinnedStatusFile.hash("7 days left"), PinnedStatusFile.hash("7 days left"));
+        Assertions.assertNotEquals(PinnedStatusFile.hash("7 days left"), PinnedStatusFile.hash("6 days left"));
+        Assertions.assertEquals(64, PinnedStatusFile.hash("").length());
+    }
+}
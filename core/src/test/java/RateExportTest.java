@@ -0,0 +1,146 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.Assertions;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateExport;
+import com.dragoncon_reminder.util.RateHistoryStore;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+/**
+ * Test suite for RateExport.
+ */
+public class RateExportTest {
+    private static final Instant START = Instant.parse("2026-03-01T15:00:00Z");
+    private static final List<DragonConRate> EARLY_RATES = List.of(
+        new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+        new DragonConRate("$225 at the door, \"cash only\"", "$225", false, null)
+    );
+    private static final List<DragonConRate> LATER_RATES = List.of(
+        new DragonConRate("TBA through 6/12/2026", "TBA", true, LocalDate.of(2026, 6, 12))
+    );
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Helper method to write a history of three hourly snapshots, the second of which repeats the first.
+     * @return the history file.
+     * @throws IOException in case the file cannot be written.
+     */
+    private final Path history() throws IOException {
+        final Path file = this.tempDir.resolve("history.bin");
+        try (RateHistoryStore store = new RateHistoryStore(file)) {
+            store.append(new RateSnapshot(START, EARLY_RATES));
+            store.append(new RateSnapshot(START.plusSeconds(3600), EARLY_RATES));
+            store.append(new RateSnapshot(START.plusSeconds(7200), LATER_RATES));
+        }
+        return file;
+    }
+
+    /**
+     * Helper method to export a history file.
+     * @param file the history file.
+     * @param format the format to export.
+     * @param changesOnly true to only export the snapshots in which the rates changed.
+     * @return the export.
+     * @throws IOException in case the file cannot be read.
+     */
+    private final String export(final Path file, final RateExport.Format format, final boolean changesOnly) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RateExport.write(RateHistoryStore.read(file), format, changesOnly, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test that every rate of every snapshot becomes a CSV row, with fields holding commas and quotes quoted.
+     * @throws IOException in case the history cannot be read.
+     */
+    @Test
+    void testWrite_Csv() throws IOException {
+        Assertions.assertEquals(
+            "observed_at,changed,rate_index,price,price_cents,deadline,tba,raw_line\n"
+                + "2026-03-01T15:00:00Z,true,0,$150,15000,2026-03-13,false,$150 through 3/13/2026\n"
+                + "2026-03-01T15:00:00Z,true,1,$225,22500,,false,\"$225 at the door, \"\"cash only\"\"\"\n"
+                + "2026-03-01T16:00:00Z,false,0,$150,15000,2026-03-13,false,$150 through 3/13/2026\n"
+                + "2026-03-01T16:00:00Z,false,1,$225,22500,,false,\"$225 at the door, \"\"cash only\"\"\"\n"
+                + "2026-03-01T17:00:00Z,true,0,TBA,,2026-06-12,true,TBA through 6/12/2026\n",
+            export(history(), RateExport.Format.CSV, false));
+    }
+
+    /**
+     * Test that every snapshot becomes a JSON object, with strings escaped and missing values as null.
+     * @throws IOException in case the history cannot be read.
+     */
+    @Test
+    void testWrite_Json() throws IOException {
+        Assertions.assertEquals("[\n"
+                + "{\"observedAt\":\"2026-03-01T15:00:00Z\",\"changed\":true,\"rates\":["
+                + "{\"price\":\"$150\",\"priceCents\":15000,\"deadline\":\"2026-03-13\",\"tba\":false,\"rawLine\":\"$150 through 3/13/2026\"},"
+                + "{\"price\":\"$225\",\"priceCents\":22500,\"deadline\":null,\"tba\":false,\"rawLine\":\"$225 at the door, \\\"cash only\\\"\"}]},\n"
+                + "{\"observedAt\":\"2026-03-01T17:00:00Z\",\"changed\":true,\"rates\":["
+                + "{\"price\":\"TBA\",\"priceCents\":null,\"deadline\":\"2026-06-12\",\"tba\":true,\"rawLine\":\"TBA through 6/12/2026\"}]}\n"
+                + "]\n",
+            export(history(), RateExport.Format.JSON, true));
+    }
+
+    /**
+     * Test that exporting only changes skips the snapshots that repeat the one before them.
+     * @throws IOException in case the history cannot be read.
+     */
+    @Test
+    void testWrite_ChangesOnly() throws IOException {
+        final String csv = export(history(), RateExport.Format.CSV, true);
+
+        Assertions.assertEquals(4, csv.split("\n").length, csv);
+        Assertions.assertFalse(csv.contains("16:00:00Z"), csv);
+    }
+
+    /**
+     * Test that an empty history exports just the CSV header or an empty JSON array.
+     * @throws IOException in case the history cannot be read.
+     */
+    @Test
+    void testWrite_EmptyHistory() throws IOException {
+        final Path file = this.tempDir.resolve("empty.bin");
+        new RateHistoryStore(file).close();
+
+        Assertions.assertEquals("observed_at,changed,rate_index,price,price_cents,deadline,tba,raw_line\n",
+            export(file, RateExport.Format.CSV, false));
+        Assertions.assertEquals("[]\n", export(file, RateExport.Format.JSON, false));
+    }
+
+    /**
+     * Test that a history file can be exported while it is open for appending, seeing the snapshots appended so far.
+     * @throws IOException in case the history cannot be read.
+     */
+    @Test
+    void testRead_WhileOpenForAppending() throws IOException {
+        final Path file = this.tempDir.resolve("history.bin");
+        try (RateHistoryStore store = new RateHistoryStore(file)) {
+            store.append(new RateSnapshot(START, EARLY_RATES));
+            final String json = export(file, RateExport.Format.JSON, false);
+            store.append(new RateSnapshot(START.plusSeconds(3600), LATER_RATES));
+
+            Assertions.assertTrue(json.contains("15:00:00Z"), json);
+            Assertions.assertFalse(json.contains("16:00:00Z"), json);
+        }
+    }
+
+    /**
+     * Test that formats are parsed regardless of case, and unknown formats are rejected.
+     */
+    @Test
+    void testFormat_Parse() {
+        Assertions.assertEquals(RateExport.Format.CSV, RateExport.Format.parse("csv"));
+        Assertions.assertEquals(RateExport.Format.JSON, RateExport.Format.parse(" JSON "));
+        Assertions.assertEquals("json", RateExport.Format.JSON.getExtension());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RateExport.Format.parse("xml"));
+    }
+}
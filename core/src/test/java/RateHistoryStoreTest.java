@@ -0,0 +1,220 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateHistoryStore;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+public class RateHistoryStoreTest {
+    private static final Instant START = Instant.parse("2025-09-01T12:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Helper method to create the rate table observed before the first deadline.
+     * @return the rate table.
+     */
+    private final List<DragonConRate> earlyRates() {
+        return List.of(
+            new DragonConRate("$125 through 12/12/2025", "$125", false, LocalDate.of(2025, 12, 12)),
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("TBA through 6/12/2026", "TBA", true, LocalDate.of(2026, 6, 12)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        );
+    }
+
+    /**
+     * Helper method to create the rate table observed after the first deadline passed.
+     * @return the rate table.
+     */
+    private final List<DragonConRate> laterRates() {
+        return List.of(
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        );
+    }
+
+    /**
+     * Helper method to check that two rate tables hold the same values.
+     * @param expected the expected rate table.
+     * @param actual the actual rate table.
+     */
+    private final void assertSameRates(final List<DragonConRate> expected, final List<DragonConRate> actual) {
+        Assertions.assertEquals(expected.size(), actual.size(), "The rate tables should have the same size");
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getRawLine(), actual.get(i).getRawLine());
+            Assertions.assertEquals(expected.get(i).getPrice(), actual.get(i).getPrice());
+            Assertions.assertEquals(expected.get(i).getIsTBA(), actual.get(i).getIsTBA());
+            Assertions.assertEquals(expected.get(i).getDeadline(), actual.get(i).getDeadline());
+        }
+    }
+
+    /**
+     * Test that snapshots read back from a reopened file match what was appended.
+     */
+    @Test
+    void testAppend_RoundTripsAfterReopen() throws IOException {
+        final Path file = this.tempDir.resolve("history.bin");
+        try (RateHistoryStore store = new RateHistoryStore(file)) {
+            store.append(new RateSnapshot(START, earlyRates()));
+            store.append(new RateSnapshot(START.plusSeconds(3600), laterRates()));
+        }
+
+        try (RateHistoryStore store = new RateHistoryStore(file)) {
+            Assertions.assertEquals(2, store.getSnapshotCount());
+            final RateHistoryStore.Cursor cursor = store.cursor();
+
+            Assertions.assertTrue(cursor.next());
+            Assertions.assertEquals(START, cursor.getObservedAt());
+            assertSameRates(earlyRates(), cursor.snapshot().getRates());
+            Assertions.assertEquals(12500, cursor.getPriceInCents(0));
+            Assertions.assertEquals(-1, cursor.getPriceInCents(2), "TBA prices have no amount");
+            Assertions.assertEquals(LocalDate.of(2025, 12, 12).toEpochDay(), cursor.getDeadlineEpochDay(0));
+            Assertions.assertFalse(cursor.hasDeadline(3));
+
+            Assertions.assertTrue(cursor.next());
+            Assertions.assertEquals(START.plusSeconds(3600), cursor.getObservedAt());
+            assertSameRates(laterRates(), cursor.snapshot().getRates());
+
+            Assertions.assertFalse(cursor.next());
+        }
+    }
+
+    /**
+     * Test that repeated strings are stored once, so an unchanged table costs only a few bytes.
+     */
+    @Test
+    void testAppend_ReusesDictionary() throws IOException {
+        try (RateHistoryStore store = new RateHistoryStore(this.tempDir.resolve("history.bin"))) {
+            store.append(new RateSnapshot(START, earlyRates()));
+            final long afterFirst = store.sizeInBytes();
+            store.append(new RateSnapshot(START.plusSeconds(3600), earlyRates()));
+            final long secondAppend = store.sizeInBytes() - afterFirst;
+
+            Assertions.assertTrue(secondAppend < 32, "An unchanged hourly snapshot should take a few bytes, took " + secondAppend);
+        }
+    }
+
+    /**
+     * Test that a snapshot cut short by a crash is ignored and truncated on reopen.
+     */
+    @Test
+    void testOpen_TruncatesTornTail() throws IOException {
+        final Path file = this.tempDir.resolve("history.bin");
+        final long completeSize;
+        try (RateHistoryStore store = new RateHistoryStore(file)) {
+            store.append(new RateSnapshot(START, earlyRates()));
+            completeSize = store.sizeInBytes();
+        }
+
+        // A snapshot block that claims more bytes than were written.
+        Files.write(file, new byte[] { 'S', 40, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (RateHistoryStore store = new RateHistoryStore(file)) {
+            Assertions.assertEquals(1, store.getSnapshotCount());
+            Assertions.assertEquals(completeSize, store.sizeInBytes(), "The torn block should be truncated");
+
+            store.append(new RateSnapshot(START.plusSeconds(3600), laterRates()));
+            final RateHistoryStore.Cursor cursor = store.cursor();
+            Assertions.assertTrue(cursor.next());
+            Assertions.assertTrue(cursor.next());
+            assertSameRates(laterRates(), cursor.snapshot().getRates());
+        }
+    }
+
+    /**
+     * Test that a file that is not a rate history is rejected rather than overwritten.
+     */
+    @Test
+    void testOpen_RejectsForeignFile() throws IOException {
+        final Path file = this.tempDir.resolve("history.bin");
+        Files.writeString(file, "not a rate history");
+
+        Assertions.assertThrows(IOException.class, () -> new RateHistoryStore(file));
+        Assertions.assertEquals("not a rate history", Files.readString(file));
+    }
+
+    /**
+     * Test that compaction keeps the first and last snapshot of every unchanged run.
+     */
+    @Test
+    void testCompact_KeepsEndsOfUnchangedRuns() throws IOException {
+        try (RateHistoryStore store = new RateHistoryStore(this.tempDir.resolve("history.bin"))) {
+            for (int hour = 0; hour < 24; hour++) {
+                store.append(new RateSnapshot(START.plusSeconds(hour * 3600L), earlyRates()));
+            }
+            for (int hour = 24; hour < 48; hour++) {
+                store.append(new RateSnapshot(START.plusSeconds(hour * 3600L), laterRates()));
+            }
+            final long sizeBefore = store.sizeInBytes();
+
+            Assertions.assertEquals(44, store.compact());
+            Assertions.assertEquals(4, store.getSnapshotCount());
+            Assertions.assertTrue(store.sizeInBytes() < sizeBefore);
+
+            final RateHistoryStore.Cursor cursor = store.cursor();
+            final Instant[] expected = {
+                START, START.plusSeconds(23 * 3600L), START.plusSeconds(24 * 3600L), START.plusSeconds(47 * 3600L)
+            };
+            for (final Instant observedAt : expected) {
+                Assertions.assertTrue(cursor.next());
+                Assertions.assertEquals(observedAt, cursor.getObservedAt());
+            }
+            Assertions.assertFalse(cursor.next());
+
+            // The compacted file keeps accepting appends.
+            store.append(new RateSnapshot(START.plusSeconds(48 * 3600L), laterRates()));
+            Assertions.assertEquals(5, store.getSnapshotCount());
+        }
+    }
+
+    /**
+     * Test that loading replays changes into the history and keeps the latest observation time.
+     */
+    @Test
+    void testLoadInto_ReplaysChanges() throws IOException {
+        try (RateHistoryStore store = new RateHistoryStore(this.tempDir.resolve("history.bin"))) {
+            for (int hour = 0; hour < 10; hour++) {
+                store.append(new RateSnapshot(START.plusSeconds(hour * 3600L), hour < 5 ? earlyRates() : laterRates()));
+            }
+
+            final RateHistory history = new RateHistory();
+            Assertions.assertEquals(3, store.loadInto(history), "Only changes and the latest snapshot should be decoded");
+            Assertions.assertEquals(START.plusSeconds(9 * 3600L), history.getLatestSnapshot().getObservedAt());
+            Assertions.assertEquals("$175", history.rateOn(LocalDate.of(2026, 5, 1)).getPrice());
+        }
+    }
+
+    /**
+     * Test that every snapshot recorded into a history, including one with unchanged rates, can be persisted through a listener.
+     */
+    @Test
+    void testAppend_FromHistoryListener() throws IOException {
+        try (RateHistoryStore store = new RateHistoryStore(this.tempDir.resolve("history.bin"))) {
+            final RateHistory history = new RateHistory();
+            history.onRecord(snapshot -> {
+                try {
+                    store.append(snapshot);
+                } catch (IOException e) {
+                    Assertions.fail(e);
+                }
+            });
+
+            history.record(new RateSnapshot(START, earlyRates()));
+            history.record(new RateSnapshot(START.minusSeconds(3600), laterRates()));
+            history.record(new RateSnapshot(START.plusSeconds(3600), earlyRates()));
+
+            Assertions.assertEquals(2, store.getSnapshotCount(), "Only snapshots ignored by the history should not be persisted");
+        }
+    }
+}
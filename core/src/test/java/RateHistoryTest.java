@@ -0,0 +1,166 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+public class RateHistoryTest {
+
+    /**
+     * Helper method to create a rate with a deadline.
+     * @param price the price of the rate.
+     * @param deadline the deadline of the rate, or null if there is none.
+     * @return the rate.
+     */
+    private final DragonConRate rate(final String price, final LocalDate deadline) {
+        return new DragonConRate(price + (deadline == null ? "" : " through " + deadline), price, price.equals("TBA"), deadline);
+    }
+
+    /**
+     * Helper method to create a snapshot observed at the start of a given day.
+     * @param observedOn the day the snapshot was observed.
+     * @param rates the rate table.
+     * @return the snapshot.
+     */
+    private final RateSnapshot snapshot(final LocalDate observedOn, final DragonConRate... rates) {
+        final Instant observedAt = observedOn.atStartOfDay(Constants.ZONE).toInstant();
+        return new RateSnapshot(observedAt, List.of(rates));
+    }
+
+    /**
+     * Test that an empty history has no rates.
+     */
+    @Test
+    void testRateOn_EmptyHistory() {
+        final RateHistory history = new RateHistory();
+
+        Assertions.assertTrue(history.isEmpty());
+        Assertions.assertNull(history.rateOn(LocalDate.of(2026, 1, 1)));
+        Assertions.assertTrue(history.priceHistory().isEmpty());
+    }
+
+    /**
+     * Test that the rate on a date is the tier with the earliest deadline on or after the date.
+     */
+    @Test
+    void testRateOn_FindsCoveringTier() {
+        final RateHistory history = new RateHistory();
+        history.record(snapshot(LocalDate.of(2025, 9, 1),
+            rate("$125", LocalDate.of(2025, 12, 12)),
+            rate("$150", LocalDate.of(2026, 3, 13)),
+            rate("$225", null)
+        ));
+
+        Assertions.assertEquals("$125", history.rateOn(LocalDate.of(2025, 10, 1)).getPrice());
+        Assertions.assertEquals("$125", history.rateOn(LocalDate.of(2025, 12, 12)).getPrice(), "The deadline itself is still covered");
+        Assertions.assertEquals("$150", history.rateOn(LocalDate.of(2025, 12, 13)).getPrice());
+        Assertions.assertEquals("$225", history.rateOn(LocalDate.of(2026, 8, 1)).getPrice(), "Past the last deadline the open-ended tier applies");
+    }
+
+    /**
+     * Test that past tiers removed from the page are kept, while upcoming tiers follow the newest snapshot.
+     */
+    @Test
+    void testRecord_KeepsPastTiersAndReplacesUpcomingTiers() {
+        final RateHistory history = new RateHistory();
+        history.record(snapshot(LocalDate.of(2025, 9, 1),
+            rate("$110", LocalDate.of(2025, 9, 15)),
+            rate("$125", LocalDate.of(2025, 12, 12)),
+            rate("TBA", LocalDate.of(2026, 3, 13))
+        ));
+        history.record(snapshot(LocalDate.of(2025, 10, 1),
+            rate("$125", LocalDate.of(2025, 12, 12)),
+            rate("$150", LocalDate.of(2026, 3, 20))
+        ));
+
+        final List<DragonConRate> priceHistory = history.priceHistory();
+
+        Assertions.assertEquals(3, priceHistory.size(), "The moved TBA tier should be replaced by the newer tier");
+        Assertions.assertEquals("$110", priceHistory.get(0).getPrice(), "The expired tier should be kept");
+        Assertions.assertEquals("$125", priceHistory.get(1).getPrice());
+        Assertions.assertEquals("$150", priceHistory.get(2).getPrice());
+        Assertions.assertEquals("$150", history.rateOn(LocalDate.of(2026, 3, 13)).getPrice());
+    }
+
+    /**
+     * Test that snapshots arriving out of order do not overwrite newer data.
+     */
+    @Test
+    void testRecord_IgnoresOlderSnapshots() {
+        final RateHistory history = new RateHistory();
+        history.record(snapshot(LocalDate.of(2025, 10, 1), rate("$150", LocalDate.of(2026, 3, 13))));
+        history.record(snapshot(LocalDate.of(2025, 9, 1), rate("TBA", LocalDate.of(2026, 3, 13))));
+
+        Assertions.assertEquals("$150", history.rateOn(LocalDate.of(2026, 1, 1)).getPrice());
+        Assertions.assertEquals(LocalDate.of(2025, 10, 1).atStartOfDay(Constants.ZONE).toInstant(), history.getLatestSnapshot().getObservedAt());
+    }
+
+    /**
+     * Test that upcoming deadlines are returned in order and limited.
+     */
+    @Test
+    void testDeadlinesFrom_OrderedAndLimited() {
+        final RateHistory history = new RateHistory();
+        history.record(snapshot(LocalDate.of(2025, 9, 1),
+            rate("$125", LocalDate.of(2025, 12, 12)),
+            rate("$150", LocalDate.of(2026, 3, 13)),
+            rate("$175", LocalDate.of(2026, 6, 12))
+        ));
+
+        Assertions.assertEquals(List.of(LocalDate.of(2026, 3, 13), LocalDate.of(2026, 6, 12)),
+            history.deadlinesFrom(LocalDate.of(2026, 1, 1), 25));
+        Assertions.assertEquals(List.of(LocalDate.of(2025, 12, 12)),
+            history.deadlinesFrom(LocalDate.of(2025, 9, 1), 1));
+    }
+
+    /**
+     * Test that every accepted snapshot publishes a new version to subscribers, and ignored snapshots publish nothing.
+     */
+    @Test
+    void testRecord_PublishesVersions() {
+        final RateHistory history = new RateHistory();
+        final List<RateSnapshot> published = new java.util.ArrayList<>();
+        history.subscribe(published::add);
+
+        final RateSnapshot first = snapshot(LocalDate.of(2025, 9, 1), rate("$125", LocalDate.of(2025, 12, 12)));
+        final RateSnapshot older = snapshot(LocalDate.of(2025, 8, 1), rate("$100", LocalDate.of(2025, 12, 12)));
+        history.record(first);
+        history.record(older);
+
+        Assertions.assertEquals(1, history.getVersion());
+        Assertions.assertEquals(List.of(first), published);
+    }
+
+    /**
+     * Test that a snapshot with the same rates moves the latest snapshot forward without a new version or a subscriber call,
+     * while record listeners still see every accepted snapshot so that each observation can be persisted.
+     */
+    @Test
+    void testRecord_UnchangedRatesKeepVersion() {
+        final RateHistory history = new RateHistory();
+        final List<RateSnapshot> published = new java.util.ArrayList<>();
+        final List<RateSnapshot> recorded = new java.util.ArrayList<>();
+        history.subscribe(published::add);
+        history.onRecord(recorded::add);
+
+        final RateSnapshot first = snapshot(LocalDate.of(2025, 9, 1), rate("$125", LocalDate.of(2025, 12, 12)));
+        final RateSnapshot unchanged = snapshot(LocalDate.of(2025, 9, 2), rate("$125", LocalDate.of(2025, 12, 12)));
+        final RateSnapshot repriced = snapshot(LocalDate.of(2025, 9, 3), rate("$135", LocalDate.of(2025, 12, 12)));
+        history.record(first);
+        history.record(unchanged);
+
+        Assertions.assertEquals(1, history.getVersion());
+        Assertions.assertSame(unchanged, history.getLatestSnapshot());
+        Assertions.assertEquals(List.of(first), published);
+
+        history.record(repriced);
+
+        Assertions.assertEquals(2, history.getVersion());
+        Assertions.assertEquals(List.of(first, repriced), published);
+        Assertions.assertEquals(List.of(first, unchanged, repriced), recorded);
+    }
+}
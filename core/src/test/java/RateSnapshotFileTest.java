@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.RateSnapshotFile;
+
+public class RateSnapshotFileTest {
+    private static final Instant OBSERVED_AT = Instant.parse("2026-03-16T14:30:15.250Z");
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Helper method to create a saved rate table.
+     * @return the rate table.
+     */
+    private final RateSnapshot snapshot() {
+        return new RateSnapshot(OBSERVED_AT, List.of(
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("TBA through 6/12/2026", "TBA", true, LocalDate.of(2026, 6, 12)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        ));
+    }
+
+    /**
+     * Test that a saved rate table is loaded back unchanged.
+     */
+    @Test
+    void testWriteAndRead_RoundTrip() throws IOException {
+        final Path file = this.tempDir.resolve("data").resolve("rate-snapshot.bin");
+        RateSnapshotFile.write(file, snapshot());
+
+        final RateSnapshot loaded = RateSnapshotFile.read(file);
+        Assertions.assertNotNull(loaded);
+        Assertions.assertEquals(OBSERVED_AT, loaded.getObservedAt());
+        Assertions.assertEquals(3, loaded.getRates().size());
+        for (int i = 0; i < 3; i++) {
+            final DragonConRate expected = snapshot().getRates().get(i);
+            final DragonConRate actual = loaded.getRates().get(i);
+            Assertions.assertEquals(expected.getRawLine(), actual.getRawLine());
+            Assertions.assertEquals(expected.getPrice(), actual.getPrice());
+            Assertions.assertEquals(expected.getIsTBA(), actual.getIsTBA());
+            Assertions.assertEquals(expected.getDeadline(), actual.getDeadline());
+        }
+        Assertions.assertFalse(Files.exists(file.resolveSibling("rate-snapshot.bin.tmp")), "The temporary file should be moved into place");
+    }
+
+    /**
+     * Test that a missing file means there is no saved rate table.
+     */
+    @Test
+    void testRead_MissingFile() {
+        Assertions.assertNull(RateSnapshotFile.read(this.tempDir.resolve("missing.bin")));
+    }
+
+    /**
+     * Test that a corrupted file is ignored rather than served.
+     */
+    @Test
+    void testRead_CorruptFile() throws IOException {
+        final Path file = this.tempDir.resolve("rate-snapshot.bin");
+        RateSnapshotFile.write(file, snapshot());
+        final byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 0x01;
+        Files.write(file, bytes);
+
+        Assertions.assertNull(RateSnapshotFile.read(file));
+    }
+
+    /**
+     * Test that a truncated file is ignored rather than served.
+     */
+    @Test
+    void testRead_TruncatedFile() throws IOException {
+        final Path file = this.tempDir.resolve("rate-snapshot.bin");
+        RateSnapshotFile.write(file, snapshot());
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length / 2));
+
+        Assertions.assertNull(RateSnapshotFile.read(file));
+    }
+}
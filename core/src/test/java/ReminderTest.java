@@ -1,6 +1,10 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import com.dragoncon_reminder.util.GuildSettings;
 import com.dragoncon_reminder.util.Reminder;
 import com.dragoncon_reminder.util.Constants;
 import java.util.List;
@@ -225,6 +229,28 @@ public class ReminderTest {
         Assertions.assertTrue(result.contains("3 day(s)"), "Reminder should mention 3 days");
     }
 
+    /**
+     * Test that each matching rate is placed on its own line so long reminders can be split cleanly.
+     */
+    @Test
+    void testReminderBuild_OneReminderPerLine() {
+        final LocalDate today = LocalDate.now(Constants.ZONE);
+        final LocalDate deadline3Days = today.plusDays(3);
+        final LocalDate deadline7Days = today.plusDays(7);
+
+        final List<DragonConRate> rates = Arrays.asList(
+            new DragonConRate("$125 through " + deadline7Days, "$125", false, deadline7Days),
+            new DragonConRate("$150 through " + deadline3Days, "$150", false, deadline3Days)
+        );
+
+        String result = reminder.build(rates);
+        String[] lines = result.split("\n");
+
+        Assertions.assertEquals(2, lines.length, "Each reminder should be on its own line");
+        Assertions.assertTrue(lines[0].contains("$125"), "First line should contain first price");
+        Assertions.assertTrue(lines[1].contains("$150"), "Second line should contain second price");
+    }
+
     /**
      * Test that TBA prices with valid deadlines at thresholds still generate reminders.
      */
@@ -242,4 +268,23 @@ public class ReminderTest {
         Assertions.assertTrue(result.contains("TBA"), "Reminder should contain TBA");
         Assertions.assertTrue(result.contains("7 day(s)"), "Reminder should mention 7 days");
     }
+
+    /**
+     * Test that a reminder uses the guild's locale and counts days in the guild's time zone.
+     */
+    @Test
+    void testReminderBuild_UsesGuildSettings() {
+        // 11pm on March 6th in Atlanta is already March 7th in Berlin, one day closer to the deadline.
+        final Clock clock = Clock.fixed(LocalDate.of(2026, 3, 6).atTime(23, 0).atZone(Constants.ZONE).toInstant(), Constants.ZONE);
+        final Reminder germanReminder = new Reminder(clock, new GuildSettings(Locale.GERMANY, ZoneId.of("Europe/Berlin")));
+        final List<DragonConRate> rates = List.of(
+            new DragonConRate("$150 through 3/14/2026", "$150", false, LocalDate.of(2026, 3, 14))
+        );
+
+        final String result = germanReminder.build(rates);
+
+        Assertions.assertTrue(result.contains("7 day(s)"), result);
+        Assertions.assertTrue(result.contains("14.03.2026"), result);
+        Assertions.assertTrue(result.contains("150\u00a0$"), result);
+    }
 }
@@ -0,0 +1,40 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import com.dragoncon_reminder.util.SentReminderFile;
+
+public class SentReminderFileTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 6);
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test that only the same reminder on the same day counts as already sent.
+     */
+    @Test
+    void testAlreadySent_MatchesDayAndReminder() throws IOException {
+        final Path file = this.tempDir.resolve("data/sent.txt");
+        SentReminderFile.write(file, DAY, "line one\nline two");
+
+        Assertions.assertTrue(SentReminderFile.alreadySent(file, DAY, "line one\nline two"));
+        Assertions.assertFalse(SentReminderFile.alreadySent(file, DAY.plusDays(1), "line one\nline two"));
+        Assertions.assertFalse(SentReminderFile.alreadySent(file, DAY, "line one"));
+    }
+
+    /**
+     * Test that a missing or unusable file counts as nothing sent.
+     */
+    @Test
+    void testAlreadySent_MissingOrCorruptFile() throws IOException {
+        final Path file = this.tempDir.resolve("sent.txt");
+        Assertions.assertFalse(SentReminderFile.alreadySent(file, DAY, "reminder"));
+
+        Files.writeString(file, "not a date\nreminder");
+        Assertions.assertFalse(SentReminderFile.alreadySent(file, DAY, "reminder"));
+    }
+}
@@ -0,0 +1,129 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import com.dragoncon_reminder.util.SnapshotHolder;
+
+public class SnapshotHolderTest {
+
+    /**
+     * Test that every publication gets the next version number.
+     */
+    @Test
+    void testPublish_IncrementsVersion() {
+        final SnapshotHolder<String> holder = new SnapshotHolder<>("initial");
+        Assertions.assertEquals(0, holder.get().getNumber());
+
+        holder.publish("first");
+        final SnapshotHolder.Version<String> second = holder.publish("second");
+
+        Assertions.assertEquals(2, second.getNumber());
+        Assertions.assertSame(second, holder.get());
+        Assertions.assertEquals("second", holder.get().getValue());
+    }
+
+    /**
+     * Test that an update returning the same value publishes nothing.
+     */
+    @Test
+    void testUpdate_UnchangedPublishesNothing() {
+        final SnapshotHolder<String> holder = new SnapshotHolder<>("initial");
+        final List<Long> seen = new ArrayList<>();
+        holder.subscribe(version -> seen.add(version.getNumber()));
+
+        final SnapshotHolder.Version<String> result = holder.update(value -> value);
+
+        Assertions.assertEquals(0, result.getNumber());
+        Assertions.assertTrue(seen.isEmpty());
+    }
+
+    /**
+     * Test that an equivalent value replaces the latest one for readers without a new version or a subscriber call.
+     */
+    @Test
+    void testUpdate_EquivalentKeepsVersion() {
+        final SnapshotHolder<String> holder = new SnapshotHolder<>("initial");
+        final List<Long> seen = new ArrayList<>();
+        holder.subscribe(version -> seen.add(version.getNumber()));
+
+        holder.update(value -> "INITIAL", String::equalsIgnoreCase);
+        Assertions.assertEquals(0, holder.get().getNumber());
+        Assertions.assertEquals("INITIAL", holder.get().getValue());
+
+        holder.update(value -> "changed", String::equalsIgnoreCase);
+        Assertions.assertEquals(1, holder.get().getNumber());
+        Assertions.assertEquals(List.of(1L), seen);
+    }
+
+    /**
+     * Test that subscribers see every version in order, stop after closing, and are isolated from each other's failures.
+     */
+    @Test
+    void testSubscribe_InOrderAndIsolated() {
+        final SnapshotHolder<Integer> holder = new SnapshotHolder<>(0);
+        final List<Long> seen = new ArrayList<>();
+        holder.subscribe(version -> {
+            throw new IllegalStateException("Broken subscriber");
+        });
+        final SnapshotHolder.Subscription subscription = holder.subscribe(version -> seen.add(version.getNumber()));
+
+        holder.publish(1);
+        holder.publish(2);
+        subscription.close();
+        holder.publish(3);
+
+        Assertions.assertEquals(List.of(1L, 2L), seen);
+        Assertions.assertEquals(3, holder.get().getNumber(), "A failing subscriber must not stop publication");
+    }
+
+    /**
+     * Test that concurrent writers never lose an update and readers always see a complete value.
+     */
+    @Test
+    void testUpdate_ConcurrentWritersAndReaders() throws Exception {
+        final SnapshotHolder<List<Integer>> holder = new SnapshotHolder<>(List.of());
+        final int writers = 4;
+        final int updatesPerWriter = 500;
+        final ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < updatesPerWriter; i++) {
+                    holder.update(list -> {
+                        final List<Integer> next = new ArrayList<>(list);
+                        next.add(next.size());
+                        return List.copyOf(next);
+                    });
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            tasks.add(pool.submit(() -> {
+                start.await();
+                while (holder.get().getNumber() < writers * updatesPerWriter) {
+                    final SnapshotHolder.Version<List<Integer>> version = holder.get();
+                    // Each version holds exactly as many elements as updates published before it.
+                    Assertions.assertEquals(version.getNumber(), version.getValue().size());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (final Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Assertions.assertEquals(writers * updatesPerWriter, holder.get().getValue().size());
+    }
+}
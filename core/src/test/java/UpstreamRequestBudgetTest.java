@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+
+public class UpstreamRequestBudgetTest {
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-03-01T12:00:00Z");
+
+        void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+
+    /**
+     * Test that requests beyond the hourly cap are refused.
+     */
+    @Test
+    void testTryAcquire_EnforcesCap() {
+        final UpstreamRequestBudget budget = new UpstreamRequestBudget(new MutableClock(), 3);
+
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertFalse(budget.tryAcquire(), "The fourth request in the hour should be refused");
+    }
+
+    /**
+     * Test that the cap is a rolling hour, freeing requests as they age out.
+     */
+    @Test
+    void testTryAcquire_RollingWindow() {
+        final MutableClock clock = new MutableClock();
+        final UpstreamRequestBudget budget = new UpstreamRequestBudget(clock, 2);
+
+        Assertions.assertTrue(budget.tryAcquire());
+        clock.advance(Duration.ofMinutes(40));
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertFalse(budget.tryAcquire());
+        Assertions.assertEquals(Duration.ofMinutes(20), budget.timeUntilAvailable());
+
+        clock.advance(Duration.ofMinutes(20));
+        Assertions.assertEquals(Duration.ZERO, budget.timeUntilAvailable());
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertFalse(budget.tryAcquire());
+    }
+
+    /**
+     * Test that a budget must allow at least one request.
+     */
+    @Test
+    void testConstructor_RejectsZeroCap() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new UpstreamRequestBudget(new MutableClock(), 0));
+    }
+}
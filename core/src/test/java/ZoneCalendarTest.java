@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.ZoneCalendar;
+
+public class ZoneCalendarTest {
+    /**
+     * A clock whose instant can be moved by the test.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+
+    /**
+     * Test that the same instant falls on different days in different zones.
+     */
+    @Test
+    void testToday_PerZone() {
+        final ZoneCalendar calendar = new ZoneCalendar(new MutableClock(Instant.parse("2026-03-01T03:00:00Z")));
+
+        Assertions.assertEquals(LocalDate.of(2026, 2, 28), calendar.today(Constants.ZONE));
+        Assertions.assertEquals(LocalDate.of(2026, 3, 1), calendar.today(ZoneId.of("Europe/Berlin")));
+    }
+
+    /**
+     * Test that the day rolls over at local midnight, including across a daylight saving change.
+     */
+    @Test
+    void testToday_RollsOverAtMidnight() {
+        // Clocks in New York spring forward on March 8th 2026, so that day is 23 hours long.
+        final MutableClock clock = new MutableClock(LocalDate.of(2026, 3, 8).atStartOfDay(Constants.ZONE).toInstant());
+        final ZoneCalendar calendar = new ZoneCalendar(clock);
+        Assertions.assertEquals(LocalDate.of(2026, 3, 8), calendar.today(Constants.ZONE));
+
+        clock.instant = LocalDate.of(2026, 3, 9).atStartOfDay(Constants.ZONE).toInstant().minusMillis(1);
+        Assertions.assertEquals(LocalDate.of(2026, 3, 8), calendar.today(Constants.ZONE));
+
+        clock.instant = clock.instant.plusMillis(1);
+        Assertions.assertEquals(LocalDate.of(2026, 3, 9), calendar.today(Constants.ZONE));
+    }
+
+    /**
+     * Test that a clock set back to an earlier day is followed.
+     */
+    @Test
+    void testToday_FollowsClockSetBack() {
+        final MutableClock clock = new MutableClock(Instant.parse("2026-03-10T12:00:00Z"));
+        final ZoneCalendar calendar = new ZoneCalendar(clock);
+        Assertions.assertEquals(LocalDate.of(2026, 3, 10), calendar.today(Constants.ZONE));
+
+        clock.instant = Instant.parse("2026-03-01T12:00:00Z");
+        Assertions.assertEquals(LocalDate.of(2026, 3, 1), calendar.today(Constants.ZONE));
+    }
+}
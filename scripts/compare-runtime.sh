@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+#
+# Compares the jlink runtime against the full Java runtime: size on disk, classes loaded, startup time and peak RSS.
+# Both run the --smoke-test entry point (parse a saved membership page, evaluate reminders, log, exit) from the same JAR.
+# If both Docker images have been built (make docker-build docker-build-temurin), their sizes are compared too.
+#
+# Usage: scripts/compare-runtime.sh [runs] [membership-page]
+# Requires: make build, make jlink-runtime, and GNU time (/usr/bin/time). Linux only.
+# The baseline is the java on PATH, or JAVA_HOME if set; point it at a Temurin 17 JRE to match the previous Docker image.
+
+set -euo pipefail
+
+RUNS="${1:-10}"
+PAGE="${2:-core/src/test/resources/corpus/membership-info/v1/2026-03-16.html}"
+JAR="build/libs/dragoncon-reminder-bot.jar"
+JLINK_HOME="build/jlink/runtime"
+FULL_JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+FULL_HOME="$(dirname "$(dirname "$(readlink -f "$(command -v "$FULL_JAVA")")")")"
+IMAGE_NAME="nrzaman/dragoncon-reminder-bot"
+
+for artifact in "$JAR" "$JLINK_HOME/bin/java"; do
+    if [[ ! -f "$artifact" ]]; then
+        echo "Missing $artifact. Run 'make build' and 'make jlink-runtime' first." >&2
+        exit 1
+    fi
+done
+
+# Runs the smoke test RUNS times with a runtime and prints its size, the classes loaded, the average wall time and the highest peak RSS.
+measure() {
+    local label="$1"
+    local home="$2"
+    local total_ms=0
+    local max_rss_kb=0
+    local stats_file
+    local class_log
+    stats_file=$(mktemp)
+    class_log=$(mktemp)
+
+    for ((i = 0; i < RUNS; i++)); do
+        /usr/bin/time -f "%e %M" -o "$stats_file" "$home/bin/java" -jar "$JAR" --smoke-test "$PAGE" >/dev/null 2>&1
+        local stats
+        stats=$(tail -n 1 "$stats_file")
+        local seconds="${stats% *}"
+        local rss_kb="${stats#* }"
+        total_ms=$(awk -v t="$total_ms" -v s="$seconds" 'BEGIN { printf "%d", t + s * 1000 }')
+        if ((rss_kb > max_rss_kb)); then
+            max_rss_kb=$rss_kb
+        fi
+    done
+
+    # One extra run logs every class loaded, whether from the class data sharing archive or from a JAR.
+    "$home/bin/java" -Xlog:class+load:file="$class_log" -jar "$JAR" --smoke-test "$PAGE" >/dev/null 2>&1
+    local classes
+    classes=$(wc -l < "$class_log")
+    local size_mb
+    size_mb=$(du -sLm "$home" | cut -f 1)
+    rm -f "$stats_file" "$class_log"
+
+    printf "%-6s size: %4d MiB   classes loaded: %5d   avg wall: %5d ms   peak RSS: %4d MiB\n" \
+        "$label" "$size_mb" "$classes" $((total_ms / RUNS)) $((max_rss_kb / 1024))
+}
+
+echo "Runs per runtime: $RUNS, page: $PAGE, full runtime: $FULL_HOME"
+measure "full" "$FULL_HOME"
+measure "jlink" "$JLINK_HOME"
+
+if command -v docker >/dev/null 2>&1 \
+        && docker image inspect "$IMAGE_NAME:latest" "$IMAGE_NAME:latest-temurin" >/dev/null 2>&1; then
+    for tag in latest latest-temurin; do
+        printf "%-30s image size: %4d MiB\n" "$IMAGE_NAME:$tag" \
+            $(( $(docker image inspect -f '{{.Size}}' "$IMAGE_NAME:$tag") / 1024 / 1024 ))
+    done
+fi
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and peak RSS of the JVM build against the native image build.
+# Both builds run the --smoke-test entry point (parse a saved membership page, evaluate reminders, log, exit),
+# so the comparison covers class loading, Jsoup and logback initialization without connecting to Discord.
+#
+# Usage: scripts/compare-startup.sh [runs] [membership-page]
+# Requires: make build, make native-build, and GNU time (/usr/bin/time). Linux only.
+
+set -euo pipefail
+
+RUNS="${1:-10}"
+PAGE="${2:-core/src/test/resources/corpus/membership-info/v1/2026-03-16.html}"
+JAR="build/libs/dragoncon-reminder-bot.jar"
+NATIVE="build/native/nativeCompile/dragoncon-reminder-bot"
+
+for artifact in "$JAR" "$NATIVE"; do
+    if [[ ! -f "$artifact" ]]; then
+        echo "Missing $artifact. Run 'make build' and 'make native-build' first." >&2
+        exit 1
+    fi
+done
+
+# Runs a command RUNS times and prints the average wall time and the highest peak RSS.
+measure() {
+    local label="$1"
+    shift
+    local total_ms=0
+    local max_rss_kb=0
+    local stats_file
+    stats_file=$(mktemp)
+
+    for ((i = 0; i < RUNS; i++)); do
+        /usr/bin/time -f "%e %M" -o "$stats_file" "$@" >/dev/null 2>&1
+        local stats
+        stats=$(tail -n 1 "$stats_file")
+        local seconds="${stats% *}"
+        local rss_kb="${stats#* }"
+        total_ms=$(awk -v t="$total_ms" -v s="$seconds" 'BEGIN { printf "%d", t + s * 1000 }')
+        if ((rss_kb > max_rss_kb)); then
+            max_rss_kb=$rss_kb
+        fi
+    done
+    rm -f "$stats_file"
+
+    printf "%-8s avg wall: %6d ms   peak RSS: %6d MiB\n" "$label" $((total_ms / RUNS)) $((max_rss_kb / 1024))
+}
+
+echo "Runs per build: $RUNS, page: $PAGE"
+measure "jvm" java -jar "$JAR" --smoke-test "$PAGE"
+measure "native" "$NATIVE" --smoke-test "$PAGE"
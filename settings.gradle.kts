@@ -6,3 +6,6 @@
  */
 
 rootProject.name = "dragoncon-reminder-bot"
+
+// The JDA-free parser, rate model and reminder logic; the bot itself is the root project.
+include("core")
@@ -0,0 +1,170 @@
+package com.dragoncon_reminder.benchmarks;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.dragoncon_reminder.bot.CalendarFeed;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Polls the calendar feed from many concurrent clients, the way calendar apps subscribed to it would, and reports
+ * throughput, latency and bytes per response for full downloads, gzipped downloads and revalidations answered with 304.
+ * The server uses the same thread count as the bot, and the rate table stays fixed so the feed is rendered exactly once.
+ *
+ * Usage: gradle calendarLoadTest --args="[--clients 32] [--duration 10]"
+ */
+public final class CalendarFeedLoadTest {
+    private static final String[] SCENARIOS = { "plain", "gzip", "revalidate" };
+
+    /**
+     * Runs every scenario and prints a summary line per scenario.
+     * @param args optional flags overriding the defaults.
+     * @throws Exception in case the server cannot be started.
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("--clients", "32");
+        options.put("--duration", "10");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!options.containsKey(args[i])) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+        final int clients = Integer.parseInt(options.get("--clients"));
+        final int durationSeconds = Integer.parseInt(options.get("--duration"));
+
+        final RateHistory history = new RateHistory();
+        history.record(new RateSnapshot(Instant.now(), rates()));
+        final CalendarFeed feed = new CalendarFeed(history);
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(Constants.CALENDAR_THREADS));
+        server.createContext(Constants.CALENDAR_PATH, feed);
+        server.start();
+        final URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + Constants.CALENDAR_PATH);
+
+        // Warm up class loading and the JIT so the first scenario is not penalized.
+        run(uri, feed.getETag(), "plain", clients, Math.max(1, durationSeconds / 2));
+
+        System.out.printf("%-12s %10s %10s %10s %10s %12s %8s%n", "scenario", "requests", "req/s", "p50 ms", "p99 ms", "bytes/resp", "errors");
+        for (final String scenario : SCENARIOS) {
+            System.out.println(run(uri, feed.getETag(), scenario, clients, durationSeconds));
+        }
+        server.stop(0);
+        System.exit(0);
+    }
+
+    /**
+     * Runs a single scenario: every client requests the feed back to back until the duration is up.
+     * @param uri the feed's address.
+     * @param etag the feed's current entity tag.
+     * @param scenario "plain", "gzip" or "revalidate".
+     * @param clients the number of concurrent clients.
+     * @param durationSeconds how long the scenario runs for.
+     * @return a formatted summary of the scenario.
+     * @throws Exception in case a client fails.
+     */
+    private static String run(final URI uri, final String etag, final String scenario, final int clients, final int durationSeconds)
+            throws Exception {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (!"plain".equals(scenario)) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        if ("revalidate".equals(scenario)) {
+            builder.header("If-None-Match", etag);
+        }
+        final HttpRequest request = builder.build();
+        final int expectedStatus = "revalidate".equals(scenario) ? 304 : 200;
+
+        final ExecutorService pool = Executors.newFixedThreadPool(clients);
+        final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        final List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            results.add(pool.submit(() -> {
+                // Each client keeps its own connection, like a separate calendar app would.
+                final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                final long[] latencies = new long[1 << 20];
+                int count = 0;
+                long bytes = 0;
+                long errors = 0;
+                while (System.nanoTime() < deadlineNanos && count < latencies.length) {
+                    final long startNanos = System.nanoTime();
+                    final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    latencies[count++] = System.nanoTime() - startNanos;
+                    bytes += response.body().length;
+                    if (response.statusCode() != expectedStatus) {
+                        errors++;
+                    }
+                }
+                final long[] result = Arrays.copyOf(latencies, count + 2);
+                result[count] = bytes;
+                result[count + 1] = errors;
+                return result;
+            }));
+        }
+
+        final List<long[]> perClient = new ArrayList<>();
+        for (final Future<long[]> result : results) {
+            perClient.add(result.get());
+        }
+        pool.shutdown();
+
+        int total = 0;
+        long bytes = 0;
+        long errors = 0;
+        for (final long[] result : perClient) {
+            total += result.length - 2;
+            bytes += result[result.length - 2];
+            errors += result[result.length - 1];
+        }
+        final long[] latencies = new long[total];
+        int offset = 0;
+        for (final long[] result : perClient) {
+            System.arraycopy(result, 0, latencies, offset, result.length - 2);
+            offset += result.length - 2;
+        }
+        Arrays.sort(latencies);
+
+        return String.format("%-12s %10d %10.1f %10.2f %10.2f %12.1f %8d",
+            scenario,
+            total,
+            total / (double) durationSeconds,
+            latencies[(int) (total * 0.50)] / 1_000_000.0,
+            latencies[(int) (total * 0.99)] / 1_000_000.0,
+            bytes / (double) total,
+            errors
+        );
+    }
+
+    /**
+     * Returns a rate table the size of the one on the DragonCon website.
+     * @return the rate table.
+     */
+    private static List<DragonConRate> rates() {
+        return List.of(
+            new DragonConRate("$125 through 12/12/2025", "$125", false, LocalDate.of(2025, 12, 12)),
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12)),
+            new DragonConRate("$200 through 8/14/2026", "$200", false, LocalDate.of(2026, 8, 14)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        );
+    }
+}
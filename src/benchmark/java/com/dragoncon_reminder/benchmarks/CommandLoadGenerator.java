@@ -0,0 +1,246 @@
+package com.dragoncon_reminder.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.dragoncon_reminder.bot.CommandListener;
+import com.dragoncon_reminder.bot.RateRefresher;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+import com.sun.net.httpserver.HttpServer;
+
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+
+/**
+ * Drives CommandListener with bursts of synthetic slash commands, backed by a local stub server for the membership page.
+ * Commands arrive open-loop at a fixed rate and are dispatched on a worker pool, the way JDA's event pool would.
+ * Latency is measured from the scheduled arrival time, so time spent waiting for a free worker is included.
+ *
+ * Usage: gradle loadTest --args="[--rate 200] [--duration 10] [--threads 8] [--upstream-latency-ms 0] [--warmup 5] [--page file]"
+ */
+public final class CommandLoadGenerator {
+    private static final String[] SCENARIOS = { Constants.NEXT_DEADLINE_COMMAND, Constants.LIST_ALL_DEADLINES_COMMAND, "mixed" };
+
+    private final int ratePerSecond;
+    private final int durationSeconds;
+    private final int threads;
+    private final long upstreamLatencyMillis;
+    private final byte[] page;
+
+    /**
+     * Constructor for the CommandLoadGenerator object.
+     * @param ratePerSecond the number of commands to issue per second.
+     * @param durationSeconds how long each scenario runs for.
+     * @param threads the number of event threads handling commands.
+     * @param upstreamLatencyMillis artificial latency added by the stub membership page.
+     * @param page the membership page served by the stub.
+     */
+    public CommandLoadGenerator(final int ratePerSecond, final int durationSeconds, final int threads,
+            final long upstreamLatencyMillis, final byte[] page) {
+        this.ratePerSecond = ratePerSecond;
+        this.durationSeconds = durationSeconds;
+        this.threads = threads;
+        this.upstreamLatencyMillis = upstreamLatencyMillis;
+        this.page = page;
+    }
+
+    /**
+     * Runs every scenario and prints a summary line per scenario.
+     * @param args optional flags overriding the defaults.
+     * @throws Exception in case the stub server cannot be started.
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("--rate", "200");
+        options.put("--duration", "10");
+        options.put("--threads", "8");
+        options.put("--upstream-latency-ms", "0");
+        options.put("--warmup", "5");
+        options.put("--page", "core/src/test/resources/corpus/membership-info/v1/2026-03-16.html");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!options.containsKey(args[i])) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+
+        final CommandLoadGenerator generator = new CommandLoadGenerator(
+            Integer.parseInt(options.get("--rate")),
+            Integer.parseInt(options.get("--duration")),
+            Integer.parseInt(options.get("--threads")),
+            Long.parseLong(options.get("--upstream-latency-ms")),
+            Files.readAllBytes(Path.of(options.get("--page")))
+        );
+
+        // Warm up class loading and the JIT so the first scenario is not penalized.
+        new CommandLoadGenerator(generator.ratePerSecond, Integer.parseInt(options.get("--warmup")),
+            generator.threads, 0, generator.page).run("mixed");
+
+        System.out.printf("%-20s %10s %10s %10s %10s %10s %10s %10s%n",
+            "scenario", "commands", "cmd/s", "p50 ms", "p99 ms", "p999 ms", "errors", "fetches");
+        for (final String scenario : SCENARIOS) {
+            System.out.println(generator.run(scenario));
+        }
+    }
+
+    /**
+     * Runs a single scenario against a fresh stub server and listener.
+     * @param scenario the command to issue, or "mixed" to alternate between all commands.
+     * @return a formatted summary of the scenario.
+     * @throws IOException in case the stub server cannot be started.
+     * @throws InterruptedException in case the run is interrupted.
+     */
+    public final String run(final String scenario) throws IOException, InterruptedException {
+        final AtomicInteger upstreamFetches = new AtomicInteger();
+        final HttpServer stub = startStub(upstreamFetches);
+        final String membershipUrl = "http://127.0.0.1:" + stub.getAddress().getPort() + "/about/membership-info/";
+        final Clock clock = Clock.system(Constants.ZONE);
+        final CommandListener listener = new CommandListener(clock, new CommandListener.Options().refresher(new RateRefresher(clock,
+            membershipUrl, new RateHistory(), new UpstreamRequestBudget(clock, Constants.DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR))));
+
+        final AtomicLong errors = new AtomicLong();
+        final SlashCommandInteractionEvent[] events = {
+            syntheticEvent(Constants.NEXT_DEADLINE_COMMAND, errors),
+            syntheticEvent(Constants.LIST_ALL_DEADLINES_COMMAND, errors)
+        };
+
+        final int total = this.ratePerSecond * this.durationSeconds;
+        final long[] latencies = new long[total];
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / this.ratePerSecond;
+        final ExecutorService eventPool = Executors.newFixedThreadPool(this.threads);
+
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            // Issue commands open-loop on a fixed schedule, regardless of how far behind the workers are.
+            final long scheduledNanos = startNanos + i * intervalNanos;
+            final long waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            final int index = i;
+            final SlashCommandInteractionEvent event = selectEvent(scenario, events, i);
+            eventPool.execute(() -> {
+                listener.onSlashCommandInteraction(event);
+                latencies[index] = System.nanoTime() - scheduledNanos;
+            });
+        }
+        eventPool.shutdown();
+        eventPool.awaitTermination(10, TimeUnit.MINUTES);
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        stub.stop(0);
+
+        Arrays.sort(latencies);
+        return String.format("%-20s %10d %10.1f %10.2f %10.2f %10.2f %9.2f%% %10d",
+            scenario,
+            total,
+            total / (elapsedNanos / 1_000_000_000.0),
+            percentileMillis(latencies, 0.50),
+            percentileMillis(latencies, 0.99),
+            percentileMillis(latencies, 0.999),
+            100.0 * errors.get() / total,
+            upstreamFetches.get()
+        );
+    }
+
+    /**
+     * Picks the event to dispatch for the i-th command of a scenario.
+     * @param scenario the scenario being run.
+     * @param events the synthetic events, one per command.
+     * @param i the index of the command within the scenario.
+     * @return the event to dispatch.
+     */
+    private static SlashCommandInteractionEvent selectEvent(final String scenario, final SlashCommandInteractionEvent[] events, final int i) {
+        if ("mixed".equals(scenario)) {
+            return events[i % events.length];
+        }
+        return Constants.LIST_ALL_DEADLINES_COMMAND.equals(scenario) ? events[1] : events[0];
+    }
+
+    /**
+     * Starts a stub server that serves the membership page and counts every request.
+     * @param upstreamFetches the counter incremented on every request.
+     * @return the started server, bound to an ephemeral local port.
+     * @throws IOException in case the server cannot be started.
+     */
+    private HttpServer startStub(final AtomicInteger upstreamFetches) throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/about/membership-info/", exchange -> {
+            upstreamFetches.incrementAndGet();
+            if (this.upstreamLatencyMillis > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(this.upstreamLatencyMillis));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, this.page.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(this.page);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+
+    /**
+     * Creates a synthetic slash command event whose replies go nowhere.
+     * Mocks are stub-only so that millions of invocations are not recorded in memory.
+     * @param command the name of the command.
+     * @param errors the counter incremented whenever the listener replies with an error.
+     * @return the synthetic event.
+     */
+    private static SlashCommandInteractionEvent syntheticEvent(final String command, final AtomicLong errors) {
+        final SlashCommandInteractionEvent event = mock(SlashCommandInteractionEvent.class, withSettings().stubOnly());
+        final ReplyCallbackAction deferAction = mock(ReplyCallbackAction.class, withSettings().stubOnly());
+        final InteractionHook hook = mock(InteractionHook.class, withSettings().stubOnly());
+        final WebhookMessageCreateAction<?> sendAction = mock(WebhookMessageCreateAction.class, withSettings().stubOnly());
+
+        when(event.getName()).thenReturn(command);
+        when(event.deferReply()).thenReturn(deferAction);
+        when(event.getHook()).thenReturn(hook);
+        when(hook.sendMessage(anyString())).thenAnswer(invocation -> {
+            final String content = invocation.getArgument(0);
+            if (content.startsWith("Error")) {
+                errors.incrementAndGet();
+            }
+            return sendAction;
+        });
+
+        return event;
+    }
+
+    /**
+     * Returns a percentile of sorted latencies in milliseconds.
+     * @param sortedNanos the latencies in nanoseconds, sorted ascending.
+     * @param percentile the percentile to return, between 0 and 1.
+     * @return the latency at the percentile in milliseconds.
+     */
+    private static double percentileMillis(final long[] sortedNanos, final double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0.0;
+        }
+        final int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
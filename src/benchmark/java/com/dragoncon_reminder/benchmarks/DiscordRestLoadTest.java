@@ -0,0 +1,303 @@
+package com.dragoncon_reminder.benchmarks;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import com.dragoncon_reminder.bot.DiscordRateLimits;
+import com.dragoncon_reminder.bot.OutboundScheduler;
+import com.dragoncon_reminder.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Replays a reminder fan-out during a burst of slash commands against a local stub of Discord's REST API,
+ * once with every request sent immediately and once through the OutboundScheduler, and counts the 429s each run gets.
+ * The stub enforces Discord's documented limits: 5 messages per channel per 5 seconds and 50 requests per second globally,
+ * with interaction callbacks exempt from the global limit. It reports the remaining budget in X-RateLimit headers like Discord does.
+ *
+ * Usage: gradle restLoadTest --args="[--channels 20] [--messages 10] [--interaction-rate 30] [--duration 12]"
+ * Exits with status 1 if the scheduled run received any 429.
+ */
+public final class DiscordRestLoadTest {
+    private static final int CHANNEL_LIMIT = 5;
+    private static final long CHANNEL_WINDOW_MILLIS = 5000;
+    private static final int GLOBAL_LIMIT = 50;
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final int channels;
+    private final int messagesPerChannel;
+    private final int interactionRate;
+    private final int durationSeconds;
+
+    /**
+     * Constructor for the DiscordRestLoadTest object.
+     * @param channels the number of channels the reminder fans out to.
+     * @param messagesPerChannel the number of messages sent to each channel.
+     * @param interactionRate the number of command replies per second.
+     * @param durationSeconds how long command replies keep arriving.
+     */
+    public DiscordRestLoadTest(final int channels, final int messagesPerChannel, final int interactionRate, final int durationSeconds) {
+        this.channels = channels;
+        this.messagesPerChannel = messagesPerChannel;
+        this.interactionRate = interactionRate;
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Runs both scenarios and prints a summary line for each.
+     * @param args optional flags overriding the defaults.
+     * @throws Exception in case the stub server cannot be started.
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("--channels", "20");
+        options.put("--messages", "10");
+        options.put("--interaction-rate", "30");
+        options.put("--duration", "12");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!options.containsKey(args[i])) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+
+        final DiscordRestLoadTest test = new DiscordRestLoadTest(
+            Integer.parseInt(options.get("--channels")),
+            Integer.parseInt(options.get("--messages")),
+            Integer.parseInt(options.get("--interaction-rate")),
+            Integer.parseInt(options.get("--duration"))
+        );
+
+        System.out.printf("%-10s %12s %12s %14s %14s %18s %8s%n",
+            "mode", "broadcasts", "replies", "reply p50 ms", "reply p99 ms", "fan-out done ms", "429s");
+        System.out.println(test.run(false).summary);
+        final Result scheduled = test.run(true);
+        System.out.println(scheduled.summary);
+
+        System.exit(scheduled.rateLimited == 0 ? 0 : 1);
+    }
+
+    /**
+     * Runs one scenario against a fresh stub server.
+     * @param paced true to send through the OutboundScheduler, false to send every request immediately.
+     * @return the outcome of the scenario.
+     * @throws IOException in case the stub server cannot be started.
+     * @throws InterruptedException in case the run is interrupted.
+     */
+    public final Result run(final boolean paced) throws IOException, InterruptedException {
+        final DiscordStub stub = new DiscordStub();
+        final String baseUrl = "http://127.0.0.1:" + stub.server.getAddress().getPort() + "/api/v10";
+
+        final Clock clock = Clock.systemUTC();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(256);
+        dispatcher.setMaxRequestsPerHost(256);
+        final OkHttpClient client = new OkHttpClient.Builder().dispatcher(dispatcher).addInterceptor(rateLimits).build();
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final OutboundScheduler scheduler = new OutboundScheduler(clock, rateLimits, executor,
+            Constants.DISCORD_REQUESTS_PER_SECOND, Constants.INTERACTION_RESERVED_REQUESTS_PER_SECOND);
+
+        final long startNanos = System.nanoTime();
+
+        // The fan-out is queued all at once, the way a reminder tick does.
+        final List<CompletableFuture<Integer>> broadcasts = new ArrayList<>();
+        for (int message = 0; message < this.messagesPerChannel; message++) {
+            for (int channel = 0; channel < this.channels; channel++) {
+                final String path = "/channels/" + (1000 + channel) + "/messages";
+                final Supplier<CompletableFuture<Integer>> send = () -> post(client, baseUrl + path);
+                broadcasts.add(paced ? scheduler.sendBroadcast(DiscordRateLimits.routeOf("POST", path), send) : send.get());
+            }
+        }
+        final CompletableFuture<Long> fanOutDone = CompletableFuture.allOf(broadcasts.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        // Command replies arrive open-loop while the fan-out drains.
+        final int totalReplies = this.interactionRate * this.durationSeconds;
+        final long[] replyLatencies = new long[totalReplies];
+        final List<CompletableFuture<Integer>> replies = new ArrayList<>();
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / this.interactionRate;
+        for (int i = 0; i < totalReplies; i++) {
+            final long scheduledNanos = startNanos + i * intervalNanos;
+            final long waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            final int index = i;
+            final Supplier<CompletableFuture<Integer>> send = () -> post(client, baseUrl + "/interactions/" + index + "/token/callback");
+            replies.add((paced ? scheduler.sendInteraction(send) : send.get()).whenComplete((status, error) ->
+                replyLatencies[index] = System.nanoTime() - scheduledNanos));
+        }
+
+        CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0])).join();
+        final long fanOutMillis = fanOutDone.join();
+        executor.shutdownNow();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        stub.server.stop(0);
+
+        Arrays.sort(replyLatencies);
+        final long rateLimited = stub.rateLimited.get();
+        return new Result(rateLimited, String.format("%-10s %12d %12d %14.2f %14.2f %18d %8d",
+            paced ? "scheduled" : "direct",
+            broadcasts.size(),
+            totalReplies,
+            replyLatencies[(int) (totalReplies * 0.50)] / 1_000_000.0,
+            replyLatencies[Math.min(totalReplies - 1, (int) (totalReplies * 0.99))] / 1_000_000.0,
+            fanOutMillis,
+            rateLimited));
+    }
+
+    /**
+     * Posts an empty JSON body.
+     * @param client the HTTP client.
+     * @param url the URL to post to.
+     * @return the status code, once the response has arrived.
+     */
+    private static CompletableFuture<Integer> post(final OkHttpClient client, final String url) {
+        final CompletableFuture<Integer> status = new CompletableFuture<>();
+        client.newCall(new Request.Builder().url(url).post(RequestBody.create("{}", JSON)).build()).enqueue(new Callback() {
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                status.complete(response.code());
+                response.close();
+            }
+
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                status.completeExceptionally(e);
+            }
+        });
+        return status;
+    }
+
+    /**
+     * The outcome of one scenario.
+     */
+    public static final class Result {
+        final long rateLimited;
+        final String summary;
+
+        /**
+         * Constructor for the Result object.
+         * @param rateLimited the number of 429 responses.
+         * @param summary the formatted summary line.
+         */
+        Result(final long rateLimited, final String summary) {
+            this.rateLimited = rateLimited;
+            this.summary = summary;
+        }
+    }
+
+    /**
+     * A local server answering like Discord's REST API, including its rate limits.
+     */
+    private static final class DiscordStub {
+        final HttpServer server;
+        final AtomicLong rateLimited = new AtomicLong();
+        final Map<String, long[]> channelWindows = new ConcurrentHashMap<>(); // window start millis, requests in window
+        final ArrayDeque<Long> globalRequests = new ArrayDeque<>();
+
+        /**
+         * Starts the stub on a free local port.
+         * @throws IOException in case the server cannot be started.
+         */
+        DiscordStub() throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            this.server.createContext("/api/v10/", this::handle);
+            this.server.setExecutor(Executors.newFixedThreadPool(16));
+            this.server.start();
+        }
+
+        /**
+         * Answers one request, enforcing the global and per-channel limits.
+         * @param exchange the request.
+         * @throws IOException in case the response cannot be written.
+         */
+        void handle(final HttpExchange exchange) throws IOException {
+            final String path = exchange.getRequestURI().getPath();
+            final long now = System.currentTimeMillis();
+
+            // Interaction callbacks are exempt from the global limit.
+            if (!path.contains("/interactions/")) {
+                synchronized (this.globalRequests) {
+                    while (!this.globalRequests.isEmpty() && this.globalRequests.peekFirst() <= now - 1000) {
+                        this.globalRequests.removeFirst();
+                    }
+                    if (this.globalRequests.size() >= GLOBAL_LIMIT) {
+                        respond429(exchange, this.globalRequests.peekFirst() + 1000 - now, true);
+                        return;
+                    }
+                    this.globalRequests.addLast(now);
+                }
+            }
+
+            if (path.contains("/channels/")) {
+                final long[] window = this.channelWindows.computeIfAbsent(path, key -> new long[] { now, 0 });
+                final int remaining;
+                final long resetAfter;
+                synchronized (window) {
+                    if (now >= window[0] + CHANNEL_WINDOW_MILLIS) {
+                        window[0] = now;
+                        window[1] = 0;
+                    }
+                    resetAfter = window[0] + CHANNEL_WINDOW_MILLIS - now;
+                    if (window[1] >= CHANNEL_LIMIT) {
+                        respond429(exchange, resetAfter, false);
+                        return;
+                    }
+                    window[1]++;
+                    remaining = (int) (CHANNEL_LIMIT - window[1]);
+                }
+                exchange.getResponseHeaders().add("X-RateLimit-Limit", String.valueOf(CHANNEL_LIMIT));
+                exchange.getResponseHeaders().add("X-RateLimit-Remaining", String.valueOf(remaining));
+                exchange.getResponseHeaders().add("X-RateLimit-Reset-After", String.format("%.3f", resetAfter / 1000.0));
+                exchange.getResponseHeaders().add("X-RateLimit-Bucket", "channel-messages");
+            }
+
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        }
+
+        /**
+         * Answers 429 the way Discord does.
+         * @param exchange the request.
+         * @param retryAfterMillis how long the client has to wait.
+         * @param global true if the global limit was hit.
+         * @throws IOException in case the response cannot be written.
+         */
+        void respond429(final HttpExchange exchange, final long retryAfterMillis, final boolean global) throws IOException {
+            this.rateLimited.incrementAndGet();
+            exchange.getResponseHeaders().add("Retry-After", String.format("%.3f", Math.max(0, retryAfterMillis) / 1000.0));
+            if (global) {
+                exchange.getResponseHeaders().add("X-RateLimit-Global", "true");
+            }
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.dragoncon_reminder.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.bot.LogEvents;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Measures the cost that logging a command_handled event adds to the slash command hot path.
+ * Output goes to a null stream so only the caller-side cost is measured, the same way a busy stdout would be hidden by the async appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class LoggingBenchmark {
+    private Logger asyncLogger;
+    private Logger syncLogger;
+    private Logger disabledLogger;
+    private PrintStream printStream;
+
+    /**
+     * Wires a dedicated logger per strategy so that the strategies never share appenders.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        final AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(nullJsonAppender(context));
+        asyncAppender.start();
+
+        this.asyncLogger = dedicatedLogger(context, "benchmark.async", asyncAppender);
+        this.syncLogger = dedicatedLogger(context, "benchmark.sync", nullJsonAppender(context));
+        this.disabledLogger = dedicatedLogger(context, "benchmark.disabled", nullJsonAppender(context));
+        this.disabledLogger.setLevel(ch.qos.logback.classic.Level.WARN);
+        this.printStream = new PrintStream(OutputStream.nullOutputStream(), true);
+    }
+
+    /**
+     * Stops the appenders started for the benchmark.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+    }
+
+    /**
+     * The structured event as logged by CommandListener, through the async JSON appender.
+     */
+    @Benchmark
+    public void structuredAsync() {
+        logCommandHandled(this.asyncLogger, System.nanoTime());
+    }
+
+    /**
+     * The same structured event encoded to JSON on the calling thread.
+     */
+    @Benchmark
+    public void structuredSync() {
+        logCommandHandled(this.syncLogger, System.nanoTime());
+    }
+
+    /**
+     * The same structured event with INFO disabled, i.e. the floor cost of the logging call site.
+     */
+    @Benchmark
+    public void structuredDisabled() {
+        logCommandHandled(this.disabledLogger, System.nanoTime());
+    }
+
+    /**
+     * The previous approach: a synchronous, autoflushing println on the calling thread.
+     */
+    @Benchmark
+    public void printlnSync() {
+        this.printStream.println("Command handled: next-deadline in " + LogEvents.millisSince(System.nanoTime()) + " ms");
+    }
+
+    /**
+     * Logs a command_handled event the same way CommandListener does.
+     * @param logger the logger to log the event to.
+     * @param startNanos the System.nanoTime() reading taken when the command started.
+     */
+    private static void logCommandHandled(final Logger logger, final long startNanos) {
+        logger.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.COMMAND_HANDLED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("command", "next-deadline")
+            .log("Slash command handled");
+    }
+
+    /**
+     * Creates a started appender that encodes events to JSON and discards the bytes.
+     * @param context the logger context to attach the appender to.
+     * @return the started appender.
+     */
+    private static Appender<ILoggingEvent> nullJsonAppender(final LoggerContext context) {
+        final JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        final OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    /**
+     * Returns a logger that only writes to the provided appender.
+     * @param context the logger context to take the logger from.
+     * @param name the name of the logger.
+     * @param appender the only appender the logger should write to.
+     * @return the configured logger.
+     */
+    private static Logger dedicatedLogger(final LoggerContext context, final String name, final Appender<ILoggingEvent> appender) {
+        final Logger logger = context.getLogger(name);
+        logger.setAdditive(false);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dragoncon_reminder.benchmarks;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.DragonConRateParser;
+import com.dragoncon_reminder.util.Reminder;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Measures what the pipeline's flight recorder events cost on the parse and reminder path,
+ * with no recording running and with a continuous recording of the default settings, as started by JFR_RECORDING_DIR.
+ *
+ * Usage: gradle jmh --args="PipelineEventsBenchmark -f 1 -wi 3 -i 5"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipelineEventsBenchmark {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-06T15:00:00Z"), Constants.ZONE);
+
+    @Param({ "off", "recording" })
+    public String mode;
+
+    private Document page;
+    private Recording recording;
+
+    /**
+     * Builds the membership page and starts the recording if one is measured.
+     * @throws Exception in case the recording cannot be started.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final StringBuffer html = new StringBuffer("<html><body><h3>").append(Constants.SECTION_HEADING).append("</h3><p>");
+        html.append("<strong>$125</strong>&nbsp;through 12/12/2025<br>");
+        html.append("<strong>$150</strong>&nbsp;through 3/13/2026<br>");
+        html.append("<strong>$175</strong>&nbsp;through 6/12/2026<br>");
+        html.append("<strong>TBA</strong>&nbsp;through 8/14/2026<br>");
+        html.append("<strong>$225</strong>&nbsp;at the door</p></body></html>");
+        this.page = Jsoup.parse(html.toString());
+
+        if ("recording".equals(this.mode)) {
+            this.recording = new Recording(Configuration.getConfiguration("default"));
+            this.recording.setToDisk(true);
+            this.recording.start();
+        }
+    }
+
+    /**
+     * Stops the recording, if one was started.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (this.recording != null) {
+            this.recording.close();
+        }
+    }
+
+    /**
+     * Parses the rate block and builds the reminder, emitting one event per stage and per line.
+     * @return the reminder, so the work is not optimized away.
+     * @throws Exception in case the page cannot be parsed.
+     */
+    @Benchmark
+    public String parseAndBuild() throws Exception {
+        final List<DragonConRate> rates = new DragonConRateParser(this.page).fetchRatesAndDeadlines();
+        return new Reminder(CLOCK).build(rates);
+    }
+}
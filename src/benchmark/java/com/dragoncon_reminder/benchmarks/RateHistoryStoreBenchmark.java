@@ -0,0 +1,177 @@
+package com.dragoncon_reminder.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateExport;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateHistoryStore;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+/**
+ * Appends years of hourly rate tables to a RateHistoryStore and measures file size, scan, export, load and compaction costs.
+ * The rate tables follow the real page's shape: five dated tiers per convention year, each dropping off the page once it passes.
+ *
+ * Usage: gradle historyBenchmark --args="[--years 3] [--file build/rate-history-benchmark.bin]"
+ */
+public final class RateHistoryStoreBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private RateHistoryStoreBenchmark() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Runs the benchmark and prints one line per measurement.
+     * @param args optional flags overriding the defaults.
+     * @throws IOException in case the history file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("--years", "3");
+        options.put("--file", "build/rate-history-benchmark.bin");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!options.containsKey(args[i])) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+
+        final int years = Integer.parseInt(options.get("--years"));
+        final Path file = Path.of(options.get("--file"));
+        Files.deleteIfExists(file);
+
+        final ZonedDateTime start = ZonedDateTime.of(2025, 9, 1, 0, 0, 0, 0, Constants.ZONE);
+        final int hours = (int) Duration.between(start, start.plusYears(years)).toHours();
+
+        try (RateHistoryStore store = new RateHistoryStore(file, false)) {
+            long textBytes = 0;
+            long startNanos = System.nanoTime();
+            for (int hour = 0; hour < hours; hour++) {
+                final Instant observedAt = start.toInstant().plusSeconds(hour * 3600L);
+                final List<DragonConRate> rates = ratesOn(LocalDate.ofInstant(observedAt, Constants.ZONE));
+                store.append(new RateSnapshot(observedAt, rates));
+                textBytes += textSize(observedAt, rates);
+            }
+            final long appendNanos = System.nanoTime() - startNanos;
+
+            report("snapshots", store.getSnapshotCount(), "");
+            report("append", appendNanos / 1_000.0 / hours, "us/snapshot");
+            report("file size", store.sizeInBytes() / 1024.0, "KiB");
+            report("bytes per snapshot", (double) store.sizeInBytes() / hours, "B");
+            report("tab-separated text size", textBytes / 1024.0, "KiB");
+
+            // Column-only scan: the cheapest price ever seen, without decoding any strings.
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            startNanos = System.nanoTime();
+            final RateHistoryStore.Cursor cursor = store.cursor();
+            long cheapest = Long.MAX_VALUE;
+            while (cursor.next()) {
+                for (int i = 0; i < cursor.getRateCount(); i++) {
+                    if (cursor.getPriceInCents(i) >= 0) {
+                        cheapest = Math.min(cheapest, cursor.getPriceInCents(i));
+                    }
+                }
+            }
+            report("column scan", (System.nanoTime() - startNanos) / 1_000_000.0, "ms");
+            report("column scan allocated", (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / 1024.0, "KiB");
+            report("cheapest price", cheapest / 100.0, "$");
+
+            // Streaming exports: allocation per snapshot stays flat and nothing is retained, whatever the number of years.
+            for (final RateExport.Format format : RateExport.Format.values()) {
+                final Path exportFile = file.resolveSibling(file.getFileName() + "." + format.getExtension());
+                allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+                startNanos = System.nanoTime();
+                try (OutputStream out = Files.newOutputStream(exportFile)) {
+                    RateExport.write(store.cursor(), format, false, out);
+                }
+                final String name = format.getExtension() + " export";
+                report(name, (System.nanoTime() - startNanos) / 1_000_000.0, "ms");
+                report(name + " size", Files.size(exportFile) / 1024.0, "KiB");
+                report(name + " allocated", (double) (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / hours, "B/snapshot");
+            }
+            final long heapUsed = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            report("heap used after exports", heapUsed / 1024.0, "KiB");
+
+            allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            startNanos = System.nanoTime();
+            final int replayed = store.loadInto(new RateHistory());
+            report("startup load", (System.nanoTime() - startNanos) / 1_000_000.0, "ms");
+            report("startup load allocated", (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / 1024.0, "KiB");
+            report("startup load replayed", replayed, "snapshots");
+
+            startNanos = System.nanoTime();
+            final int removed = store.compact();
+            report("compaction", (System.nanoTime() - startNanos) / 1_000_000.0, "ms");
+            report("compaction removed", removed, "snapshots");
+            report("compacted file size", store.sizeInBytes() / 1024.0, "KiB");
+        }
+    }
+
+    /**
+     * Returns the rate table that would be on the page on a given day.
+     * Each convention year has five tiers ending on the second Friday of December, March, June and August, plus at the door.
+     * @param today the day the page is observed.
+     * @return the tiers whose deadlines have not passed yet.
+     */
+    private static List<DragonConRate> ratesOn(final LocalDate today) {
+        final int conventionYear = today.getMonthValue() >= 9 ? today.getYear() + 1 : today.getYear();
+        final int base = 125 + (conventionYear - 2026) * 10;
+        final LocalDate[] deadlines = {
+            LocalDate.of(conventionYear - 1, 12, 12),
+            LocalDate.of(conventionYear, 3, 13),
+            LocalDate.of(conventionYear, 6, 12),
+            LocalDate.of(conventionYear, 8, 14)
+        };
+
+        final List<DragonConRate> rates = new ArrayList<>();
+        for (int i = 0; i < deadlines.length; i++) {
+            if (!deadlines[i].isBefore(today)) {
+                final String price = "$" + (base + i * 25);
+                final String deadline = deadlines[i].getMonthValue() + "/" + deadlines[i].getDayOfMonth() + "/" + deadlines[i].getYear();
+                rates.add(new DragonConRate(price + " through " + deadline, price, false, deadlines[i]));
+            }
+        }
+        final String atTheDoor = "$" + (base + 100);
+        rates.add(new DragonConRate(atTheDoor + " at the door", atTheDoor, false, null));
+        return rates;
+    }
+
+    /**
+     * Returns the size of a snapshot written as tab-separated lines, for comparison with the columnar format.
+     * @param observedAt the instant the snapshot was observed.
+     * @param rates the rate table.
+     * @return the size in bytes.
+     */
+    private static long textSize(final Instant observedAt, final List<DragonConRate> rates) {
+        long size = 0;
+        for (final DragonConRate rate : rates) {
+            final String deadline = rate.getDeadline() == null ? "-" : rate.getDeadline().toString();
+            size += (observedAt + "\t" + rate.getPrice() + "\t" + deadline + "\t" + rate.getIsTBA() + "\t" + rate.getRawLine() + "\n").length();
+        }
+        return size;
+    }
+
+    /**
+     * Prints a measurement.
+     * @param name the name of the measurement.
+     * @param value the measured value.
+     * @param unit the unit of the value.
+     */
+    private static void report(final String name, final double value, final String unit) {
+        System.out.printf("%-26s %14.2f %s%n", name, value, unit);
+    }
+}
@@ -0,0 +1,136 @@
+package com.dragoncon_reminder.benchmarks;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+/**
+ * Measures rate lookups from many reader threads while one writer keeps publishing new rate tables.
+ * The lockFree group reads through RateHistory's versioned snapshot holder; the locked group guards the same index with a monitor,
+ * the way a shared mutable table would have to be protected.
+ *
+ * Usage: gradle jmh --args="RateSnapshotContentionBenchmark -f 1 -wi 3 -i 5"
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateSnapshotContentionBenchmark {
+    private static final LocalDate LOOKUP_DATE = LocalDate.of(2026, 2, 1);
+    private static final List<DragonConRate> RATES = List.of(
+        new DragonConRate("$125 through 12/12/2025", "$125", false, LocalDate.of(2025, 12, 12)),
+        new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+        new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12)),
+        new DragonConRate("$200 through 8/14/2026", "$200", false, LocalDate.of(2026, 8, 14)),
+        new DragonConRate("$225 at the door", "$225", false, null)
+    );
+
+    private final AtomicLong clock = new AtomicLong(Instant.parse("2025-09-01T12:00:00Z").getEpochSecond());
+    private RateHistory history;
+    private LockedRateIndex lockedIndex;
+
+    /**
+     * Starts each trial with one recorded table.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.history = new RateHistory();
+        this.history.record(nextSnapshot());
+        this.lockedIndex = new LockedRateIndex();
+        this.lockedIndex.record(RATES);
+    }
+
+    /**
+     * Readers looking up a rate through the lock-free snapshot.
+     * @return the rate, so the lookup is not optimized away.
+     */
+    @Benchmark
+    @Group("lockFree")
+    @GroupThreads(7)
+    public DragonConRate lockFreeReader() {
+        return this.history.rateOn(LOOKUP_DATE);
+    }
+
+    /**
+     * The single writer publishing new tables through the snapshot holder.
+     */
+    @Benchmark
+    @Group("lockFree")
+    @GroupThreads(1)
+    public void lockFreeWriter() {
+        this.history.record(nextSnapshot());
+    }
+
+    /**
+     * Readers looking up a rate under a monitor.
+     * @return the rate, so the lookup is not optimized away.
+     */
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(7)
+    public DragonConRate lockedReader() {
+        return this.lockedIndex.rateOn(LOOKUP_DATE);
+    }
+
+    /**
+     * The single writer replacing the table under the monitor.
+     */
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public void lockedWriter() {
+        this.lockedIndex.record(RATES);
+    }
+
+    /**
+     * Returns a snapshot observed one second after the previous one, so that it is never ignored as out of order.
+     * @return the next snapshot.
+     */
+    private RateSnapshot nextSnapshot() {
+        return new RateSnapshot(Instant.ofEpochSecond(this.clock.incrementAndGet()), RATES);
+    }
+
+    /**
+     * The same deadline index, guarded by a monitor for both reads and writes.
+     */
+    private static final class LockedRateIndex {
+        private final NavigableMap<LocalDate, DragonConRate> timeline = new TreeMap<>();
+        private DragonConRate openEndedRate;
+
+        synchronized void record(final List<DragonConRate> rates) {
+            this.timeline.clear();
+            this.openEndedRate = null;
+            for (final DragonConRate rate : rates) {
+                if (rate.getDeadline() != null) {
+                    this.timeline.put(rate.getDeadline(), rate);
+                } else if (this.openEndedRate == null) {
+                    this.openEndedRate = rate;
+                }
+            }
+        }
+
+        synchronized DragonConRate rateOn(final LocalDate date) {
+            final Map.Entry<LocalDate, DragonConRate> tier = this.timeline.ceilingEntry(date);
+            return tier != null ? tier.getValue() : this.openEndedRate;
+        }
+    }
+}
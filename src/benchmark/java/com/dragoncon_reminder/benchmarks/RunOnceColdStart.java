@@ -0,0 +1,149 @@
+package com.dragoncon_reminder.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.dragoncon_reminder.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Measures how long the --run-once entry point takes from JVM launch to exit, and its peak resident memory,
+ * the way a Kubernetes CronJob would run it. Each run is a fresh JVM; the data directory is kept between runs like a persistent volume.
+ * A local stub serves the saved membership page and stands in for the Discord webhook, so nothing leaves the machine.
+ * Peak RSS is sampled from /proc, so it is only reported on Linux.
+ *
+ * Usage: gradle runOnceColdStart --args="[--runs 5] [--page file]"
+ */
+public final class RunOnceColdStart {
+    private final int runs;
+    private final byte[] page;
+    private final AtomicInteger webhookPosts = new AtomicInteger();
+
+    /**
+     * Constructor for the RunOnceColdStart object.
+     * @param runs the number of runs to measure.
+     * @param page the membership page served by the stub.
+     */
+    public RunOnceColdStart(final int runs, final byte[] page) {
+        this.runs = runs;
+        this.page = page;
+    }
+
+    /**
+     * Runs the bot once per run and prints a line per run and a summary.
+     * @param args optional flags overriding the defaults.
+     * @throws Exception in case the stub server or the bot cannot be started.
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("--runs", "5");
+        options.put("--page", "core/src/test/resources/corpus/membership-info/v1/2026-03-16.html");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!options.containsKey(args[i])) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+
+        new RunOnceColdStart(Integer.parseInt(options.get("--runs")), Files.readAllBytes(Path.of(options.get("--page")))).run();
+    }
+
+    /**
+     * Starts the stub, runs the bot the configured number of times and prints the results.
+     * @throws Exception in case the stub server or the bot cannot be started.
+     */
+    public void run() throws Exception {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/about/membership-info/", exchange -> respond(exchange, "text/html; charset=utf-8", this.page));
+        server.createContext("/api/webhooks/1/token", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                this.webhookPosts.incrementAndGet();
+            }
+            respond(exchange, "application/json", "{\"id\":\"1\",\"guild_id\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+        final String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        final Path dataDir = Files.createTempDirectory("run-once");
+
+        System.out.printf("%-6s %12s %14s %6s%n", "run", "wall ms", "peak RSS MiB", "exit");
+        long totalMillis = 0;
+        long maxRssKb = 0;
+        int failures = 0;
+        for (int i = 1; i <= this.runs; i++) {
+            final ProcessBuilder builder = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "com.dragoncon_reminder.bot.Bot", Constants.RUN_ONCE_ARG);
+            builder.environment().put(Constants.MEMBERSHIP_URL_KEY, baseUrl + "/about/membership-info/");
+            builder.environment().put(Constants.DISCORD_WEBHOOK_URL_KEY, baseUrl + "/api/webhooks/1/token");
+            builder.environment().put(Constants.RATE_HISTORY_FILE_KEY, dataDir.resolve("rate-history.bin").toString());
+            builder.environment().put(Constants.RATE_SNAPSHOT_FILE_KEY, dataDir.resolve("rate-snapshot.bin").toString());
+            builder.environment().put(Constants.SENT_REMINDER_FILE_KEY, dataDir.resolve("sent-reminder.txt").toString());
+            builder.environment().put("LOG_LEVEL", "WARN");
+            builder.redirectOutput(ProcessBuilder.Redirect.DISCARD).redirectError(ProcessBuilder.Redirect.INHERIT);
+
+            final long startNanos = System.nanoTime();
+            final Process process = builder.start();
+            long rssKb = 0;
+            while (!process.waitFor(5, TimeUnit.MILLISECONDS)) {
+                rssKb = Math.max(rssKb, peakRssKb(process.pid()));
+            }
+            final long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+            totalMillis += wallMillis;
+            maxRssKb = Math.max(maxRssKb, rssKb);
+            failures += process.exitValue() == 0 ? 0 : 1;
+            System.out.printf("%-6d %12d %14d %6d%n", i, wallMillis, rssKb / 1024, process.exitValue());
+        }
+        server.stop(0);
+
+        System.out.printf("avg wall: %d ms, peak RSS: %d MiB, failed runs: %d, webhook posts: %d%n",
+            totalMillis / this.runs, maxRssKb / 1024, failures, this.webhookPosts.get());
+    }
+
+    /**
+     * Returns the peak resident set size of a process so far.
+     * @param pid the process ID.
+     * @return the peak RSS in KiB, or 0 if it cannot be read.
+     */
+    private static long peakRssKb(final long pid) {
+        try {
+            for (final String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // The process has just exited.
+        } catch (IOException | NumberFormatException e) {
+            // Not on Linux, or the format is unexpected.
+        }
+        return 0;
+    }
+
+    /**
+     * Answers a stub request with a fixed body.
+     * @param exchange the request.
+     * @param contentType the content type of the body.
+     * @param body the response body.
+     * @throws IOException in case the response cannot be written.
+     */
+    private static void respond(final HttpExchange exchange, final String contentType, final byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -1,107 +1,508 @@
 package com.dragoncon_reminder.bot;
 
-import java.time.LocalDate;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.jsoup.Jsoup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpServer;
+
+import com.dragoncon_reminder.util.AdaptiveRefreshPolicy;
+import com.dragoncon_reminder.util.CommandThrottle;
 import com.dragoncon_reminder.util.Constants;
 import com.dragoncon_reminder.util.DragonConRate;
 import com.dragoncon_reminder.util.DragonConRateParser;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.OutboxFile;
+import com.dragoncon_reminder.util.OutboxRun;
+import com.dragoncon_reminder.util.RateExport;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateHistoryStore;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.RateSnapshotFile;
 import com.dragoncon_reminder.util.Reminder;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
 
 /**
  * This is the main Java class that will execute the bot.
  */
 public class Bot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Bot.class);
+
     public static void main(String[] args) throws Exception {
-        // Retrieve relevant environment variables to be able to connect to Discord.
-        final DiscordConnector discordConnector = new DiscordConnector();
+        // Every date calculation goes through this clock so the bot can be replayed against any point in time.
+        final Clock clock = Clock.system(Constants.ZONE);
+
+        // The JDK's HTTP server writes headers and body separately; without TCP_NODELAY, delayed ACKs hold each response ~40 ms.
+        System.setProperty("sun.net.httpserver.nodelay", System.getProperty("sun.net.httpserver.nodelay", "true"));
+
+        // Exercise parsing, reminders and logging against a saved page, then exit. Used to compare JVM and native startup.
+        if (args.length == 2 && Constants.SMOKE_TEST_ARG.equals(args[0])) {
+            runSmokeTest(new File(args[1]), clock);
+            return;
+        }
+
+        // Stream the rate history file out as CSV or JSON, then exit. Logging goes to standard error, so the export can go to standard output.
+        if (args.length >= 2 && Constants.EXPORT_ARG.equals(args[0])) {
+            runExport(args);
+            return;
+        }
+
+        // Keep a rolling flight recording of every pipeline stage when a recording directory is configured.
+        final FlightRecording flightRecording = startFlightRecording(clock);
+
+        // Guilds without settings keep ISO dates, prices as listed and the DragonCon time zone.
+        final GuildSettingsRegistry guildSettings = GuildSettingsRegistry.parse(System.getenv(Constants.GUILD_SETTINGS_KEY),
+            new GuildSettings(Locale.ROOT, clock.getZone()));
+
+        // Evaluate reminders against the live website without connecting to Discord, then exit. Used to validate changes safely.
+        if (args.length == 2 && Constants.SHADOW_ARG.equals(args[0])) {
+            runShadow(Path.of(args[1]), clock, guildSettings);
+            return;
+        }
+
+        // Answer slash commands over HTTP without the gateway or reminders. Used to run stateless instances behind a load balancer.
+        if (args.length == 1 && Constants.SERVE_INTERACTIONS_ARG.equals(args[0])) {
+            runInteractionsServer(clock, guildSettings, flightRecording);
+            return;
+        }
 
-        // Create the task that will check rates and send reminders
-        Runnable task = () -> {
+        // Every successful scrape is recorded here so date and history commands can be answered from memory.
+        final RateHistory rateHistory = new RateHistory();
+        final RateHistoryStore rateHistoryStore = openRateHistory(rateHistory);
+
+        // Load the last saved rate table before connecting, so commands are answered as soon as JDA is ready.
+        warmStart(rateHistory, clock);
+
+        // Register after loading so that replayed snapshots are not appended a second time.
+        rateHistory.onRecord(snapshot -> {
             try {
-                System.out.println("Running scheduled check at: " + ZonedDateTime.now(Constants.ZONE));
-
-                // Retrieve DragonCon membership rates and build the text reminders.
-                final DragonConRateParser dragonConRateParser = new DragonConRateParser();
-                final List<DragonConRate> dragonConRates = dragonConRateParser.fetchRatesAndDeadlines();
-                final Reminder reminder = new Reminder();
-                final String reminderAsString = reminder.build(dragonConRates);
-
-                // Send the reminder to the channel in case a threshold is met (list would be populated if so).
-                if (!reminderAsString.isEmpty()) {
-                    // Send the message to the channel.
-                    discordConnector.sendMessage(reminderAsString);
-                    System.out.println("Reminder sent: " + reminderAsString);
-                } else {
-                    System.out.println("No reminders to send (no deadlines match threshold).");
-                }
-            } catch (Exception e) {
-                System.err.println("Error during scheduled task execution:");
-                e.printStackTrace();
+                rateHistoryStore.append(snapshot);
+            } catch (IOException e) {
+                LOGGER.error("Error appending to the rate history store", e);
             }
-        };
+        });
+
+        // Every request to the DragonCon website goes through one refresher, so the hourly cap covers commands and schedules alike.
+        final UpstreamRequestBudget budget = new UpstreamRequestBudget(clock, Integer.parseInt(System.getenv().getOrDefault(
+            Constants.MAX_UPSTREAM_REQUESTS_PER_HOUR_KEY, String.valueOf(Constants.DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR))));
+        final RateRefresher rateRefresher = new RateRefresher(clock, membershipUrl(), rateHistory, budget);
+
+        // Check the rates and send today's reminder, then exit. Used by scheduled jobs instead of a resident bot.
+        if (args.length == 1 && Constants.RUN_ONCE_ARG.equals(args[0])) {
+            System.exit(runOnce(clock, rateRefresher, guildSettings, rateHistoryStore));
+        }
+
+        // Retrieve relevant environment variables to be able to connect to Discord.
+        final String webhookUrl = System.getenv(Constants.DISCORD_WEBHOOK_URL_KEY);
+        final CommandListener commandListener;
+        final MessageSender discordConnector;
+        DiscordConnector gatewayConnector = null;
+        if (webhookUrl != null && !webhookUrl.isBlank()) {
+            // Reminder-only deployment: post through the webhook, with no gateway session and no slash commands.
+            commandListener = new CommandListener(clock, new CommandListener.Options().refresher(rateRefresher).guildSettings(guildSettings));
+            discordConnector = new WebhookSender(HttpClient.newHttpClient(), webhookUrl.trim());
+            LOGGER.info("Sending reminders through a Discord webhook; slash commands are not available");
+        } else {
+            // Command replies and reminders share one view of Discord's rate limits; replies always go first.
+            final ScheduledExecutorService outboundExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "outbound-dispatch");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final OutboundScheduler outboundScheduler = new OutboundScheduler(clock, new DiscordRateLimits(clock), outboundExecutor,
+                Constants.DISCORD_REQUESTS_PER_SECOND, Constants.INTERACTION_RESERVED_REQUESTS_PER_SECOND);
+
+            commandListener = new CommandListener(clock, new CommandListener.Options()
+                .refresher(rateRefresher)
+                .guildSettings(guildSettings)
+                .outbound(outboundScheduler)
+                .throttle(commandThrottle(clock))
+                .historyStore(rateHistoryStore));
+            gatewayConnector = new DiscordConnector(commandListener, outboundScheduler);
+            discordConnector = gatewayConnector;
+        }
+
+        LOGGER.info("Bot starting...");
 
-        // Calculate the initial delay until the first run date
-        final long initialDelayDays = calculateInitialDelay();
+        // Create scheduled executor service. Pending refreshes are dropped on shutdown rather than waited for.
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        watchDumpRequests(scheduler, flightRecording);
 
-        System.out.println("Bot starting...");
-        System.out.println("First check scheduled for: " + Constants.FIRST_RUN_DATE);
-        System.out.println("Initial delay: " + initialDelayDays + " days");
-        System.out.println("Will check every " + Constants.INTERVAL_DAYS + " days after first run");
+        // Refresh the rate history right away, replacing whatever was loaded from disk, then keep it fresh on an adaptive schedule.
+        new RefreshScheduler(scheduler, rateRefresher, new AdaptiveRefreshPolicy(clock)).start(Duration.ZERO);
 
-        // Create scheduled executor service
-        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        // Check for a due reminder every day at the reminder hour, after the first refresh when starting late in the day.
+        final Duration firstReminderCheck = new ReminderScheduler(clock, scheduler, rateHistory, guildSettings, discordConnector,
+            sentReminderFile()).start();
+        LOGGER.info("First reminder check in {} minutes, then daily at {}:00", firstReminderCheck.toMinutes(), Constants.REMINDER_HOUR);
 
-        // Schedule the task to run at fixed rate
-        scheduler.scheduleAtFixedRate(
-            task,
-            initialDelayDays,        // Initial delay in days
-            Constants.INTERVAL_DAYS, // Period between runs (90 days)
-            TimeUnit.DAYS            // Time unit
-        );
+        // Keep a countdown pinned in each configured channel, edited in place rather than posted anew.
+        final PinnedStatusBoard pinnedStatusBoard = startPinnedStatusBoard(clock, rateHistory, guildSettings, gatewayConnector, scheduler);
+
+        // Serve the deadlines as a calendar feed, re-rendered only when the rate table changes.
+        final HttpServer calendarServer = startCalendarServer(rateHistory);
+        final Closeable savedState = () -> {
+            if (calendarServer != null) {
+                calendarServer.stop(0);
+            }
+            if (pinnedStatusBoard != null) {
+                pinnedStatusBoard.close();
+            }
+            rateHistoryStore.close();
+        };
+
+        // Compact the history file off the startup path.
+        scheduler.execute(() -> {
+            try {
+                rateHistoryStore.compact();
+            } catch (IOException e) {
+                LOGGER.error("Error compacting the rate history store", e);
+            }
+        });
 
         // Keep the application running
-        // Add shutdown hook to gracefully shutdown the scheduler
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            System.out.println("Shutting down bot...");
-            scheduler.shutdown();
+        // On SIGTERM (e.g. a rolling deploy) finish running work, send everything queued and close the history file before exiting.
+        final BotLifecycle lifecycle = new BotLifecycle(scheduler, commandListener, discordConnector, savedState);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> lifecycle.shutdown(Duration.ofSeconds(Constants.SHUTDOWN_TIMEOUT_SECONDS))));
+
+        LOGGER.info("Bot is now running. Press Ctrl+C to stop.");
+    }
+
+    /**
+     * Opens the on-disk rate history and replays it into memory.
+     * @param rateHistory the in-memory history to load into.
+     * @return the opened store.
+     * @throws IOException in case the history file cannot be opened.
+     */
+    private static RateHistoryStore openRateHistory(final RateHistory rateHistory) throws IOException {
+        final long startNanos = System.nanoTime();
+        final String file = System.getenv().getOrDefault(Constants.RATE_HISTORY_FILE_KEY, Constants.DEFAULT_RATE_HISTORY_FILE);
+        final RateHistoryStore rateHistoryStore = new RateHistoryStore(Path.of(file));
+        final int loaded = rateHistoryStore.loadInto(rateHistory);
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.HISTORY_LOADED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("file", file)
+            .addKeyValue("snapshots", rateHistoryStore.getSnapshotCount())
+            .addKeyValue("replayed", loaded)
+            .addKeyValue("bytes", rateHistoryStore.sizeInBytes())
+            .log("Loaded the rate history");
+        return rateHistoryStore;
+    }
+
+    /**
+     * Records the last saved rate table into the history and saves every snapshot recorded from then on.
+     * The snapshot is recorded after the history file, since the history ignores snapshots older than its latest.
+     * @param rateHistory the in-memory history to record into.
+     * @param clock the clock used to determine the age of the saved rates.
+     */
+    private static void warmStart(final RateHistory rateHistory, final Clock clock) {
+        final long startNanos = System.nanoTime();
+        final Path file = Path.of(System.getenv().getOrDefault(Constants.RATE_SNAPSHOT_FILE_KEY, Constants.DEFAULT_RATE_SNAPSHOT_FILE));
+        final RateSnapshot snapshot = RateSnapshotFile.read(file);
+        if (snapshot != null) {
+            rateHistory.record(snapshot);
+        }
+
+        rateHistory.onRecord(recorded -> {
             try {
-                if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                scheduler.shutdownNow();
+                RateSnapshotFile.write(file, recorded);
+            } catch (IOException e) {
+                LOGGER.error("Error saving the rate snapshot", e);
             }
+        });
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.WARM_START)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("file", file)
+            .addKeyValue("loaded", snapshot != null)
+            .addKeyValue("ageMinutes", snapshot != null ? Duration.between(snapshot.getObservedAt(), clock.instant()).toMinutes() : -1)
+            .log(snapshot != null ? "Loaded the saved rate table" : "No saved rate table; commands wait for the first scrape");
+    }
+
+    /**
+     * Parses a saved membership page and evaluates the reminders for today without connecting to Discord.
+     * @param membershipPage the saved DragonCon membership page.
+     * @param clock the clock used to determine today's date.
+     * @throws Exception in case the page cannot be read or parsed.
+     */
+    private static void runSmokeTest(final File membershipPage, final Clock clock) throws Exception {
+        final long startNanos = System.nanoTime();
+        final List<DragonConRate> dragonConRates = new DragonConRateParser(Jsoup.parse(membershipPage, "UTF-8")).fetchRatesAndDeadlines();
+        final String reminderAsString = new Reminder(clock).build(dragonConRates);
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.REMINDER_EVALUATED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("rateCount", dragonConRates.size())
+            .addKeyValue("reminderDue", !reminderAsString.isEmpty())
+            .log("Smoke test completed");
+    }
+
+    /**
+     * Runs the reminder pipeline once against the live website and writes what would have been sent to an outbox file.
+     * Nothing is sent to Discord and no state on disk other than the outbox file is touched.
+     * @param outbox the outbox file to write.
+     * @param clock the clock used to determine today's date.
+     * @param guildSettings the settings the reminder is rendered with; without a Discord connection the default settings are used.
+     * @throws Exception in case the rates cannot be fetched or the outbox cannot be written.
+     */
+    private static void runShadow(final Path outbox, final Clock clock, final GuildSettingsRegistry guildSettings) throws Exception {
+        final RateRefresher rateRefresher = new RateRefresher(clock, membershipUrl(), new RateHistory(),
+            new UpstreamRequestBudget(clock, 1));
+        final String channelId = System.getenv().getOrDefault(Constants.DISCORD_CHANNEL_ID_KEY, Constants.SHADOW_CHANNEL_ID);
+
+        final OutboxRun run = new ShadowRunner(clock, rateRefresher, guildSettings.getDefault(), channelId).run();
+        OutboxFile.write(outbox, run);
+        LOGGER.info("Wrote {} message(s) that would have been sent to {}", run.getMessages().size(), outbox);
+    }
+
+    /**
+     * Checks the rates and sends today's reminder through the webhook if one is configured, or the gateway otherwise.
+     * A gateway connection only sends: the process exits within seconds, so it neither answers nor registers slash commands.
+     * The rate history and the last reminder sent are kept on disk between runs.
+     * @param clock the clock used to determine today's date.
+     * @param rateRefresher the refresher used to fetch the rates, along with the rate history loaded from disk.
+     * @param guildSettings the locale and time zone the reminder is rendered in.
+     * @param rateHistoryStore the rate history file, closed before returning.
+     * @return the process exit code: 0 if the run succeeded, whether or not a reminder was due, or 1 otherwise.
+     */
+    private static int runOnce(final Clock clock, final RateRefresher rateRefresher, final GuildSettingsRegistry guildSettings,
+            final RateHistoryStore rateHistoryStore) {
+        int exitCode = RunOnce.EXIT_FAILED;
+        try {
+            final String webhookUrl = System.getenv(Constants.DISCORD_WEBHOOK_URL_KEY);
+            final MessageSender messageSender = webhookUrl != null && !webhookUrl.isBlank()
+                ? new WebhookSender(HttpClient.newHttpClient(), webhookUrl.trim())
+                : DiscordConnector.sendOnly();
+            exitCode = new RunOnce(clock, rateRefresher, guildSettings, messageSender, sentReminderFile())
+                .run(Duration.ofSeconds(Constants.SHUTDOWN_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to connect to Discord", e);
+        }
+
+        try {
+            rateHistoryStore.close();
+        } catch (IOException e) {
+            LOGGER.error("Error closing the rate history store", e);
+            exitCode = RunOnce.EXIT_FAILED;
+        }
+        return exitCode;
+    }
+
+    /**
+     * Creates the per-user and per-guild command limits from the environment.
+     * @param clock the clock used to refill the limits.
+     * @return the command throttle.
+     */
+    private static CommandThrottle commandThrottle(final Clock clock) {
+        return new CommandThrottle(clock,
+            Integer.parseInt(System.getenv().getOrDefault(Constants.USER_COMMANDS_PER_MINUTE_KEY,
+                String.valueOf(Constants.DEFAULT_USER_COMMANDS_PER_MINUTE))),
+            Integer.parseInt(System.getenv().getOrDefault(Constants.GUILD_COMMANDS_PER_MINUTE_KEY,
+                String.valueOf(Constants.DEFAULT_GUILD_COMMANDS_PER_MINUTE))));
+    }
+
+    /**
+     * Streams the rate history file to a file or standard output: --export-rates <csv|json> [--changes-only] [output-file].
+     * The file is only read, so this can run next to a bot that is appending to it.
+     * @param args the command line arguments.
+     * @throws IOException in case the history file cannot be read or the output cannot be written.
+     */
+    private static void runExport(final String[] args) throws IOException {
+        final RateExport.Format format = RateExport.Format.parse(args[1]);
+        int next = 2;
+        final boolean changesOnly = args.length > next && Constants.CHANGES_ONLY_ARG.equals(args[next]);
+        if (changesOnly) {
+            next++;
+        }
+        final Path historyFile = Path.of(System.getenv().getOrDefault(Constants.RATE_HISTORY_FILE_KEY, Constants.DEFAULT_RATE_HISTORY_FILE));
+        final RateHistoryStore.Cursor cursor = RateHistoryStore.read(historyFile);
+
+        if (args.length > next) {
+            try (OutputStream out = Files.newOutputStream(Path.of(args[next]))) {
+                RateExport.write(cursor, format, changesOnly, out);
+            }
+        } else {
+            RateExport.write(cursor, format, changesOnly, System.out);
+        }
+    }
+
+    /**
+     * Returns the URL of the membership page to scrape.
+     * @return the URL from the environment if set, or the DragonCon website otherwise.
+     */
+    private static String membershipUrl() {
+        final String url = System.getenv(Constants.MEMBERSHIP_URL_KEY);
+        return url == null || url.isBlank() ? Constants.MEMBERSHIP_URL : url.trim();
+    }
+
+    /**
+     * Answers slash commands sent to the HTTP interactions endpoint until the process is stopped.
+     * Nothing is read from or written to disk: each instance fetches the rates itself and keeps them fresh on the adaptive schedule,
+     * reports itself healthy once it has rates to answer from, and serves the deadline calendar feed from the same port.
+     * @param clock the clock used to determine today's date.
+     * @param guildSettings the locale and time zone replies to each guild are rendered in.
+     * @param flightRecording the running flight recording, or null if none was started.
+     * @throws IOException in case the port cannot be bound.
+     */
+    private static void runInteractionsServer(final Clock clock, final GuildSettingsRegistry guildSettings,
+            final FlightRecording flightRecording) throws IOException {
+        final String publicKey = System.getenv(Constants.DISCORD_PUBLIC_KEY_KEY);
+        if (publicKey == null || publicKey.isBlank()) {
+            throw new IllegalArgumentException("The following environment variable was missing: " + Constants.DISCORD_PUBLIC_KEY_KEY);
+        }
+        final int port = Integer.parseInt(System.getenv().getOrDefault(Constants.INTERACTIONS_PORT_KEY,
+            String.valueOf(Constants.DEFAULT_INTERACTIONS_PORT)));
+
+        final UpstreamRequestBudget budget = new UpstreamRequestBudget(clock, Integer.parseInt(System.getenv().getOrDefault(
+            Constants.MAX_UPSTREAM_REQUESTS_PER_HOUR_KEY, String.valueOf(Constants.DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR))));
+        final RateRefresher rateRefresher = new RateRefresher(clock, membershipUrl(), new RateHistory(), budget);
+        final CommandListener commandListener = new CommandListener(clock, new CommandListener.Options()
+            .refresher(rateRefresher)
+            .guildSettings(guildSettings)
+            .throttle(commandThrottle(clock)));
+
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        watchDumpRequests(scheduler, flightRecording);
+        new RefreshScheduler(scheduler, rateRefresher, new AdaptiveRefreshPolicy(clock)).start(Duration.ZERO);
+
+        final InteractionsServer server = new InteractionsServer(clock, commandListener, publicKey, port);
+        server.addHandler(Constants.CALENDAR_PATH, new CalendarFeed(rateRefresher.getRateHistory()));
+        server.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            commandListener.stopAcceptingCommands();
+            server.stop(Duration.ofSeconds(Constants.SHUTDOWN_TIMEOUT_SECONDS));
+            scheduler.shutdownNow();
         }));
+    }
+
+    /**
+     * Starts keeping a pinned status message in every channel listed in the environment, if any.
+     * Webhooks cannot pin messages, so the status board is only available with a gateway connection.
+     * @param clock the clock used to determine today's date.
+     * @param rateHistory the rate history the status is rendered from.
+     * @param guildSettings the locale and time zone each channel's status is rendered in.
+     * @param gatewayConnector the gateway connection, or null when reminders are sent through a webhook.
+     * @param scheduler the executor checks are scheduled on.
+     * @return the started board, or null if no channels are configured or there is no gateway connection.
+     */
+    private static PinnedStatusBoard startPinnedStatusBoard(final Clock clock, final RateHistory rateHistory,
+            final GuildSettingsRegistry guildSettings, final DiscordConnector gatewayConnector, final ScheduledExecutorService scheduler) {
+        final String channelIdList = System.getenv(Constants.PINNED_STATUS_CHANNEL_IDS_KEY);
+        if (channelIdList == null || channelIdList.isBlank()) {
+            return null;
+        }
+        if (gatewayConnector == null) {
+            LOGGER.warn("{} is ignored, since webhooks cannot pin messages", Constants.PINNED_STATUS_CHANNEL_IDS_KEY);
+            return null;
+        }
+
+        final List<String> channelIds = new ArrayList<>();
+        for (final String channelId : channelIdList.split(",")) {
+            if (!channelId.isBlank()) {
+                channelIds.add(channelId.trim());
+            }
+        }
+        final Path stateFile = Path.of(System.getenv().getOrDefault(Constants.PINNED_STATUS_FILE_KEY, Constants.DEFAULT_PINNED_STATUS_FILE));
+        final PinnedStatusBoard board = new PinnedStatusBoard(clock, rateHistory, guildSettings, gatewayConnector, scheduler, channelIds,
+            stateFile);
+        board.start();
+        LOGGER.info("Keeping a pinned status message in {} channel(s)", channelIds.size());
+        return board;
+    }
 
-        System.out.println("Bot is now running. Press Ctrl+C to stop.");
+    /**
+     * Starts serving the calendar feed on its own port if one is configured.
+     * @param rateHistory the rate history the feed is rendered from.
+     * @return the started server, or null if no port is configured.
+     * @throws IOException in case the port cannot be bound.
+     */
+    private static HttpServer startCalendarServer(final RateHistory rateHistory) throws IOException {
+        final String port = System.getenv(Constants.CALENDAR_PORT_KEY);
+        if (port == null || port.isBlank()) {
+            return null;
+        }
+
+        final HttpServer server = HttpServer.create(new InetSocketAddress(Integer.parseInt(port.trim())), 0);
+        server.setExecutor(Executors.newFixedThreadPool(Constants.CALENDAR_THREADS, runnable -> {
+            final Thread thread = new Thread(runnable, "calendar-feed");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext(Constants.CALENDAR_PATH, new CalendarFeed(rateHistory));
+        server.start();
+        LOGGER.info("Serving the deadline calendar at {} on port {}", Constants.CALENDAR_PATH, server.getAddress().getPort());
+        return server;
     }
 
     /**
-     * Calculate the number of days until the first scheduled run.
-     * If the first run date has already passed, calculate when the next run should be
-     * based on the 90-day interval.
-     *
-     * @return the number of days until the next scheduled run
+     * Starts the continuous flight recording if a recording directory is configured.
+     * A recording that cannot be started is logged and skipped, since the bot works the same without it.
+     * @param clock the clock used to name dump files.
+     * @return the running recording, or null if none was started.
      */
-    private static long calculateInitialDelay() {
-        final LocalDate today = LocalDate.now(Constants.ZONE);
+    private static FlightRecording startFlightRecording(final Clock clock) {
+        final String directory = System.getenv(Constants.JFR_RECORDING_DIR_KEY);
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
 
-        // If we haven't reached the first run date yet, calculate days until then
-        if (today.isBefore(Constants.FIRST_RUN_DATE)) {
-            return ChronoUnit.DAYS.between(today, Constants.FIRST_RUN_DATE);
+        final long maxSizeMb = Long.parseLong(System.getenv().getOrDefault(Constants.JFR_MAX_SIZE_MB_KEY,
+            String.valueOf(Constants.DEFAULT_JFR_MAX_SIZE_MB)));
+        try {
+            return new FlightRecording(clock, Path.of(directory.trim()), Duration.ofHours(Constants.JFR_MAX_AGE_HOURS),
+                maxSizeMb * 1024 * 1024);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Unable to start the flight recording", e);
+            return null;
         }
+    }
 
-        // If we've passed the first run date, calculate the next run based on the interval
-        final long daysSinceFirstRun = ChronoUnit.DAYS.between(Constants.FIRST_RUN_DATE, today);
-        final long missedIntervals = daysSinceFirstRun / Constants.INTERVAL_DAYS;
-        final LocalDate nextRunDate = Constants.FIRST_RUN_DATE.plusDays((missedIntervals + 1) * Constants.INTERVAL_DAYS);
+    /**
+     * Polls for dump requests on the scheduler, so the recording can be dumped without a shell or jcmd in the container.
+     * @param scheduler the scheduler to poll on.
+     * @param flightRecording the running flight recording, or null if none was started.
+     */
+    private static void watchDumpRequests(final ScheduledExecutorService scheduler, final FlightRecording flightRecording) {
+        if (flightRecording == null) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(flightRecording::dumpIfRequested,
+            Constants.JFR_DUMP_POLL_SECONDS, Constants.JFR_DUMP_POLL_SECONDS, TimeUnit.SECONDS);
+    }
 
-        return ChronoUnit.DAYS.between(today, nextRunDate);
+    /**
+     * Returns the file remembering the last reminder sent, so neither a retried run nor a restart posts it twice.
+     * @return the path of the file.
+     */
+    private static Path sentReminderFile() {
+        return Path.of(System.getenv().getOrDefault(Constants.SENT_REMINDER_FILE_KEY, Constants.DEFAULT_SENT_REMINDER_FILE));
     }
 }
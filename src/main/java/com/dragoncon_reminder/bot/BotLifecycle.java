@@ -0,0 +1,120 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shuts the bot down in an order that loses no reminders and no state, within a single deadline:
+ * <ol>
+ * <li>stop accepting commands and scheduled work,</li>
+ * <li>let a running reminder check, refresh or rate history export finish,</li>
+ * <li>send every queued message and command reply, then disconnect from Discord,</li>
+ * <li>close the rate history file once nothing can write to it anymore.</li>
+ * </ol>
+ * Whatever is still running when the deadline passes is cancelled, so the process always exits in time.
+ */
+public final class BotLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BotLifecycle.class);
+
+    private final ExecutorService scheduler;
+    private final CommandListener commandListener;
+    private final MessageSender messageSender;
+    private final Closeable rateHistoryStore;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /**
+     * Constructor for the BotLifecycle object.
+     * @param scheduler the executor running reminder checks and refreshes.
+     * @param commandListener the listener answering slash commands.
+     * @param messageSender the connection reminders are sent through.
+     * @param rateHistoryStore the rate history file, closed last.
+     */
+    public BotLifecycle(final ExecutorService scheduler, final CommandListener commandListener, final MessageSender messageSender,
+            final Closeable rateHistoryStore) {
+        this.scheduler = scheduler;
+        this.commandListener = commandListener;
+        this.messageSender = messageSender;
+        this.rateHistoryStore = rateHistoryStore;
+    }
+
+    /**
+     * Shuts the bot down. Only the first call does anything, so it is safe to call from a shutdown hook and elsewhere.
+     * @param timeout the time allowed for the whole shutdown.
+     * @return true if everything was sent and saved within the timeout.
+     */
+    public boolean shutdown(final Duration timeout) {
+        if (!this.stopped.compareAndSet(false, true)) {
+            return true;
+        }
+
+        final long startNanos = System.nanoTime();
+        final long deadlineNanos = startNanos + timeout.toNanos();
+        LOGGER.info("Shutting down bot...");
+
+        boolean clean = true;
+        try {
+            // Stop new work first, so that everything drained below stays drained.
+            this.commandListener.stopAcceptingCommands();
+            this.scheduler.shutdown();
+
+            if (!this.scheduler.awaitTermination(remaining(deadlineNanos).toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Scheduled work did not finish in time and is being cancelled");
+                this.scheduler.shutdownNow();
+                clean = false;
+            }
+            if (!this.commandListener.awaitBackgroundRefresh(remaining(deadlineNanos))) {
+                LOGGER.warn("Background refresh did not finish in time");
+                clean = false;
+            }
+            if (!this.commandListener.awaitExports(remaining(deadlineNanos))) {
+                LOGGER.warn("Rate history export did not finish in time and is being cancelled");
+                clean = false;
+            }
+
+            // Anything still queued goes out before the connection closes.
+            this.messageSender.flushMessages();
+            if (!this.messageSender.shutdown(remaining(deadlineNanos))) {
+                LOGGER.warn("Queued Discord requests were not sent in time and have been cancelled");
+                clean = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.scheduler.shutdownNow();
+            clean = false;
+        } catch (RuntimeException e) {
+            LOGGER.error("Error while shutting down", e);
+            clean = false;
+        }
+
+        // Close the history file last, whatever happened above, so that everything recorded so far is on disk.
+        try {
+            this.rateHistoryStore.close();
+        } catch (IOException e) {
+            LOGGER.error("Error closing the rate history store", e);
+            clean = false;
+        }
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.SHUTDOWN)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("clean", clean)
+            .log(clean ? "Bot shut down cleanly" : "Bot shut down with work cancelled");
+        return clean;
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     * @param deadlineNanos the deadline as a System.nanoTime() reading.
+     * @return the time left, or zero once the deadline has passed.
+     */
+    private static Duration remaining(final long deadlineNanos) {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+}
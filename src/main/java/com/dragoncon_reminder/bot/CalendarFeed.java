@@ -0,0 +1,268 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DeadlineCalendar;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+/**
+ * Serves the iCalendar feed of every deadline, so members can follow deadlines in their own calendars.
+ * The feed is rendered and gzipped once whenever the rate table changes, and every request is answered from those bytes:
+ * clients that send back the ETag or Last-Modified they were given get an empty 304, and nothing is ever fetched from the
+ * DragonCon website on a client's behalf.
+ */
+public final class CalendarFeed implements HttpHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CalendarFeed.class);
+
+    private static final String CONTENT_TYPE = "text/calendar; charset=utf-8";
+    // The IMF-fixdate format of HTTP dates, e.g. Sun, 01 Mar 2026 15:00:00 GMT. RFC_1123_DATE_TIME would drop the leading zero.
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH)
+        .withZone(ZoneOffset.UTC);
+
+    private volatile Rendering rendering;
+
+    /**
+     * Constructor for the CalendarFeed object. The feed is rendered from the latest rate table, if any, and again on every change.
+     * @param rateHistory the rate history the feed follows.
+     */
+    public CalendarFeed(final RateHistory rateHistory) {
+        rateHistory.subscribe(this::update);
+        final RateSnapshot latest = rateHistory.getLatestSnapshot();
+        if (latest != null) {
+            update(latest);
+        }
+    }
+
+    /**
+     * Renders the feed from a rate table, unless the table is the one already rendered.
+     * @param snapshot the latest rate table.
+     */
+    public synchronized void update(final RateSnapshot snapshot) {
+        final Rendering current = this.rendering;
+        if (current != null && current.rates.equals(snapshot.getRates())) {
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        this.rendering = new Rendering(snapshot);
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.CALENDAR_RENDERED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("bytes", this.rendering.body.length)
+            .addKeyValue("gzipBytes", this.rendering.gzipped.length)
+            .log("Rendered the deadline calendar");
+    }
+
+    /**
+     * Returns the entity tag of the current feed.
+     * @return the weak entity tag, or null before any rates are known.
+     */
+    public String getETag() {
+        final Rendering current = this.rendering;
+        return current == null ? null : current.etag;
+    }
+
+    /**
+     * Answers a request for the feed.
+     * @param exchange the request.
+     * @throws IOException in case the response cannot be written.
+     */
+    @Override
+    public void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final String method = exchange.getRequestMethod();
+            final boolean head = "HEAD".equals(method);
+            if (!head && !"GET".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            final Rendering current = this.rendering;
+            if (current == null) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(Constants.CALENDAR_MAX_AGE_SECONDS / 60));
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("ETag", current.etag);
+            exchange.getResponseHeaders().set("Last-Modified", current.lastModified);
+            exchange.getResponseHeaders().set("Cache-Control", "public, max-age=" + Constants.CALENDAR_MAX_AGE_SECONDS);
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+            if (notModified(current, exchange.getRequestHeaders().getFirst("If-None-Match"),
+                    exchange.getRequestHeaders().getFirst("If-Modified-Since"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            final boolean gzip = acceptsGzip(exchange.getRequestHeaders().get("Accept-Encoding"));
+            final byte[] body = gzip ? current.gzipped : current.body;
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            if (head) {
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(body.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the client already has the current feed.
+     * If-None-Match takes precedence over If-Modified-Since, as RFC 9110 requires.
+     * @param current the current feed.
+     * @param ifNoneMatch the If-None-Match header, or null.
+     * @param ifModifiedSince the If-Modified-Since header, or null.
+     * @return true if a 304 should be sent.
+     */
+    private static boolean notModified(final Rendering current, final String ifNoneMatch, final String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            for (final String tag : ifNoneMatch.split(",")) {
+                final String trimmed = tag.trim();
+                // Weak comparison, as RFC 9110 requires for If-None-Match.
+                if ("*".equals(trimmed) || opaqueTag(current.etag).equals(opaqueTag(trimmed))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (ifModifiedSince != null) {
+            try {
+                final Instant since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return !current.observedAt.isAfter(since);
+            } catch (DateTimeParseException e) {
+                // Invalid dates are ignored, as RFC 9110 requires.
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an entity tag without its weakness indicator.
+     * @param etag the entity tag, e.g. W/"abc".
+     * @return the quoted opaque tag, e.g. "abc".
+     */
+    private static String opaqueTag(final String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Returns true if the client accepts a gzipped response.
+     * @param acceptEncoding the values of the Accept-Encoding header, or null.
+     * @return true unless gzip is absent or given a quality of zero.
+     */
+    private static boolean acceptsGzip(final List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String header : acceptEncoding) {
+            for (final String coding : header.split(",")) {
+                final String[] parts = coding.trim().split(";");
+                if (!"gzip".equalsIgnoreCase(parts[0].trim())) {
+                    continue;
+                }
+                for (int i = 1; i < parts.length; i++) {
+                    final String parameter = parts[i].trim();
+                    if (parameter.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One rendering of the feed: the plain and gzipped bodies and the validators sent with them.
+     */
+    private static final class Rendering {
+        private final List<DragonConRate> rates;
+        private final Instant observedAt;
+        private final byte[] body;
+        private final byte[] gzipped;
+        private final String etag;
+        private final String lastModified;
+
+        /**
+         * Constructor for the Rendering object.
+         * @param snapshot the rate table to render.
+         */
+        private Rendering(final RateSnapshot snapshot) {
+            this.rates = snapshot.getRates();
+            // HTTP dates have whole seconds, so If-Modified-Since is compared at that precision.
+            this.observedAt = snapshot.getObservedAt().truncatedTo(ChronoUnit.SECONDS);
+            this.body = DeadlineCalendar.render(this.rates, this.observedAt).getBytes(StandardCharsets.UTF_8);
+            this.gzipped = gzip(this.body);
+            this.etag = etag(this.rates);
+            this.lastModified = HTTP_DATE.format(this.observedAt);
+        }
+
+        /**
+         * Compresses a body.
+         * @param body the body.
+         * @return the gzipped body.
+         */
+        private static byte[] gzip(final byte[] body) {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(body);
+            } catch (IOException e) {
+                // Writing to memory cannot fail.
+                throw new IllegalStateException(e);
+            }
+            return compressed.toByteArray();
+        }
+
+        /**
+         * Returns an entity tag derived from the rate table alone, so every instance serving the same rates sends the same tag
+         * even though each observed them at a different time. The tag is weak, since the bytes differ in DTSTAMP and encoding.
+         * @param rates the rate table.
+         * @return the weak entity tag.
+         */
+        private static String etag(final List<DragonConRate> rates) {
+            try {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (final DragonConRate rate : rates) {
+                    digest.update((rate.getRawLine() + '\t' + rate.getPrice() + '\t' + rate.getDeadline() + '\t' + rate.getIsTBA() + '\n')
+                        .getBytes(StandardCharsets.UTF_8));
+                }
+                return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                // Every Java runtime supports SHA-256.
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,21 +1,113 @@
 package com.dragoncon_reminder.bot;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.CommandThrottle;
 import com.dragoncon_reminder.util.Constants;
 import com.dragoncon_reminder.util.DragonConRate;
-import com.dragoncon_reminder.util.DragonConRateParser;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.LocalizedFormats;
+import com.dragoncon_reminder.util.PipelineEvents;
+import com.dragoncon_reminder.util.RateExport;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateHistoryStore;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+import com.dragoncon_reminder.util.ZoneCalendar;
 
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.FileUpload;
 
 /**
  * Handles slash commands for the DragonCon Reminder Bot.
  */
 public class CommandListener extends ListenerAdapter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandListener.class);
+
+    private static final DateTimeFormatter US_DATE_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy");
+    private static final String NO_RATE_DATA = "Rate information has not been loaded yet. Please try again in a moment.";
+    private static final String SHUTTING_DOWN = "The bot is restarting. Please try again in a moment.";
+    private static final String THROTTLED = "You're using commands too quickly. Please try again in %d seconds.";
+    private static final String EXPORT_UNAVAILABLE = "Exporting the rate history is not available on this instance.";
+    private static final String EXPORT_TOO_LARGE = "The export is %.1f MiB, more than Discord accepts as an attachment. "
+        + "Try again with changes-only, or export from the command line with " + Constants.EXPORT_ARG + ".";
+
+    private final Clock clock;
+    private final ZoneCalendar calendar;
+    private final RateRefresher refresher;
+    private final RateHistory rateHistory;
+    private final GuildSettingsRegistry guildSettings;
+    private final OutboundScheduler outbound;
+    private final CommandThrottle throttle;
+    private final RateHistoryStore historyStore;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean accepting = new AtomicBoolean(true);
+    private volatile CompletableFuture<Void> backgroundRefresh = CompletableFuture.completedFuture(null);
+
+    // Exports write the whole history to a file, so they run here rather than holding up every other command on JDA's event thread.
+    private final ExecutorService exportExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "rate-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Rendered replies keyed by command, rate history version, day and guild settings; cleared whenever a new version is published.
+    private final Map<String, String> renderedResponses = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the CommandListener object.
+     * @param clock the clock used to determine today's date.
+     * @param options the refresher, guild settings and optional collaborators; anything left unset falls back to its default.
+     */
+    public CommandListener(final Clock clock, final Options options) {
+        this.clock = clock;
+        this.calendar = new ZoneCalendar(clock);
+        this.refresher = options.refresher != null ? options.refresher : new RateRefresher(clock, Constants.MEMBERSHIP_URL,
+            new RateHistory(), new UpstreamRequestBudget(clock, Constants.DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR));
+        this.rateHistory = this.refresher.getRateHistory();
+        this.guildSettings = options.guildSettings != null ? options.guildSettings
+            : new GuildSettingsRegistry(new GuildSettings(Locale.ROOT, clock.getZone()));
+        this.outbound = options.outbound;
+        this.throttle = options.throttle;
+        this.historyStore = options.historyStore;
+        this.rateHistory.subscribe(snapshot -> this.renderedResponses.clear());
+    }
 
     /**
      * Handling the supported commands.
@@ -23,6 +115,24 @@ public class CommandListener extends ListenerAdapter {
      */
     @Override
     public void onSlashCommandInteraction(SlashCommandInteractionEvent event) {
+        final long startNanos = System.nanoTime();
+
+        // While shutting down, answer right away instead of starting work that may be cut off.
+        if (!this.accepting.get()) {
+            send(event.reply(SHUTTING_DOWN).setEphemeral(true));
+            return;
+        }
+
+        // Throttled users get a short reply only they can see instead of the answer, so flooding commands costs one cheap reply each.
+        if (this.throttle != null) {
+            final Guild guild = event.getGuild();
+            final String throttled = throttledReply(event.getName(), event.getUser().getIdLong(), guild == null ? -1 : guild.getIdLong());
+            if (throttled != null) {
+                send(event.reply(throttled).setEphemeral(true));
+                return;
+            }
+        }
+
         switch (event.getName()) {
             case "list-all-deadlines":
                 handleListAllDeadlines(event);
@@ -30,65 +140,356 @@ public class CommandListener extends ListenerAdapter {
             case "next-deadline":
                 handleNextDeadline(event);
                 break;
+            case "rate-on":
+                handleRateOn(event);
+                break;
+            case "price-history":
+                handlePriceHistory(event);
+                break;
+            case "export-rates":
+                handleExportRates(event);
+                break;
             default:
-                event.reply("Unknown command.").setEphemeral(true).queue();
+                send(event.reply("Unknown command.").setEphemeral(true));
         }
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.COMMAND_HANDLED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("command", event.getName())
+            .log("Slash command handled");
+    }
+
+    /**
+     * Suggests dates for the /rate-on command: today followed by every known upcoming deadline.
+     * Suggestions come from the in-memory rate history only, so they are always returned well within Discord's 3-second window.
+     * @param event the autocomplete event to answer.
+     */
+    @Override
+    public void onCommandAutoCompleteInteraction(CommandAutoCompleteInteractionEvent event) {
+        if (!Constants.RATE_ON_COMMAND.equals(event.getName()) || !Constants.DATE_OPTION.equals(event.getFocusedOption().getName())) {
+            return;
+        }
+
+        send(event.replyChoices(suggestDates(event.getFocusedOption().getValue(), settingsFor(event))));
+    }
+
+    /**
+     * Suggests dates for the /rate-on command that start with what the user has typed so far.
+     * @param value the date typed so far.
+     * @param settings the settings of the guild the command came from.
+     * @return at most Discord's limit of suggestions, each labeled in the guild's locale with an ISO date as value.
+     */
+    public List<Command.Choice> suggestDates(final String value, final GuildSettings settings) {
+        final String typed = value.trim();
+        final LocalizedFormats formats = settings.getFormats();
+        final LocalDate today = this.calendar.today(settings.getZone());
+        final List<LocalDate> candidates = new ArrayList<>();
+        candidates.add(today);
+        for (final LocalDate deadline : this.rateHistory.deadlinesFrom(today, Constants.MAX_AUTOCOMPLETE_CHOICES)) {
+            if (!deadline.equals(today)) {
+                candidates.add(deadline);
+            }
+        }
+
+        final List<Command.Choice> choices = new ArrayList<>();
+        for (final LocalDate candidate : candidates) {
+            if (choices.size() >= Constants.MAX_AUTOCOMPLETE_CHOICES) {
+                break;
+            }
+            // The value sent back is always ISO, so it parses the same whatever the guild's locale; the label is localized.
+            final String date = formats.formatDate(candidate);
+            if (!candidate.toString().startsWith(typed) && !date.startsWith(typed)) {
+                continue;
+            }
+
+            final DragonConRate rate = this.rateHistory.rateOn(candidate);
+            final String label = candidate.equals(today) ? date + " (today)" : date + " (last day for " + formats.formatPrice(rate) + ")";
+            choices.add(new Command.Choice(label, candidate.toString()));
+        }
+        return choices;
+    }
+
+    /**
+     * Answers a command from the in-memory rate history alone, without any JDA objects, so callers that must reply
+     * within Discord's 3-second window without a gateway connection, such as the HTTP interactions endpoint, can use it.
+     * Stale rates are still refreshed in the background, but the website is never scraped while answering.
+     * @param command the name of the command.
+     * @param dateValue the value of the date option, or null if it was not given.
+     * @param guildId the ID of the guild the command came from, or -1 for commands outside a guild.
+     * @param userId the ID of the user who ran the command.
+     * @return the reply.
+     */
+    public CommandReply answer(final String command, final String dateValue, final long guildId, final long userId) {
+        if (!this.accepting.get()) {
+            return new CommandReply(SHUTTING_DOWN, true);
+        }
+        final String throttled = throttledReply(command, userId, guildId);
+        if (throttled != null) {
+            return new CommandReply(throttled, true);
+        }
+
+        final GuildSettings settings = settingsForGuild(guildId);
+        switch (command) {
+            case Constants.LIST_ALL_DEADLINES_COMMAND:
+            case Constants.NEXT_DEADLINE_COMMAND:
+                if (this.rateHistory.isEmpty()) {
+                    return new CommandReply(NO_RATE_DATA, true);
+                }
+                try {
+                    final long version = this.rateHistory.getVersion();
+                    final List<DragonConRate> rates = currentRates();
+                    return new CommandReply(Constants.NEXT_DEADLINE_COMMAND.equals(command)
+                        ? nextDeadlineResponse(rates, settings) : allDeadlinesResponse(version, rates, settings), false);
+                } catch (Exception e) {
+                    LOGGER.error("Error answering /{} from the rate history", command, e);
+                    return new CommandReply("Error reading DragonCon rates: " + e.getMessage(), true);
+                }
+            case Constants.RATE_ON_COMMAND:
+                return rateOnReply(dateValue == null ? "" : dateValue, settings);
+            case Constants.PRICE_HISTORY_COMMAND:
+                return priceHistoryReply(settings);
+            case Constants.EXPORT_RATES_COMMAND:
+                // A reply in the HTTP response cannot carry an attachment.
+                return new CommandReply(EXPORT_UNAVAILABLE, true);
+            default:
+                return new CommandReply("Unknown command.", true);
+        }
+    }
+
+    /**
+     * Returns the rates commands should be answered from.
+     * Known rates are returned immediately, and refreshed in the background if they are older than the maximum age.
+     * The website is only scraped on the calling thread when no rates are known yet.
+     * @return the latest known DragonCon membership rates.
+     * @throws Exception in case no rates are known and the website cannot be scraped.
+     */
+    private List<DragonConRate> currentRates() throws Exception {
+        final RateSnapshot latest = this.rateHistory.getLatestSnapshot();
+        if (latest == null) {
+            return this.refresher.refresh().getRates();
+        }
+
+        if (isStale(latest) && this.accepting.get() && this.refreshing.compareAndSet(false, true)) {
+            this.backgroundRefresh = CompletableFuture.runAsync(() -> {
+                try {
+                    this.refresher.refresh();
+                } catch (Exception e) {
+                    LOGGER.warn("Background refresh of DragonCon rates failed", e);
+                } finally {
+                    this.refreshing.set(false);
+                }
+            });
+        }
+        return latest.getRates();
+    }
+
+    /**
+     * Takes a command from the user's and the guild's limits.
+     * @param command the name of the command, for logging.
+     * @param userId the ID of the user who ran the command.
+     * @param guildId the ID of the guild the command came from, or -1 for commands outside a guild.
+     * @return null if the command may run, otherwise the reply telling the user when to try again.
+     */
+    private String throttledReply(final String command, final long userId, final long guildId) {
+        if (this.throttle == null) {
+            return null;
+        }
+        final Duration wait = this.throttle.tryAcquire(userId, guildId);
+        if (wait.isZero()) {
+            return null;
+        }
+
+        LOGGER.atDebug()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.COMMAND_THROTTLED)
+            .addKeyValue("command", command)
+            .addKeyValue("userId", userId)
+            .addKeyValue("guildId", guildId)
+            .addKeyValue("retryAfterMs", wait.toMillis())
+            .log("Slash command throttled");
+        // Rounded up, so a user who waits exactly as long as told is never throttled again.
+        return String.format(THROTTLED, Math.max(1, (wait.toMillis() + 999) / 1000));
+    }
+
+    /**
+     * Sends a reply or follow-up, through the outbound scheduler if there is one so it counts against the shared budget.
+     * @param action the request to send.
+     */
+    private void send(final RestAction<?> action) {
+        if (this.outbound == null) {
+            action.queue();
+            return;
+        }
+        this.outbound.sendInteraction(action).whenComplete((response, error) -> {
+            if (error != null) {
+                LOGGER.warn("Error sending a command reply to Discord", error);
+            }
+        });
+    }
+
+    /**
+     * Sends a reply or follow-up like send, and returns its response.
+     * @param action the request to send.
+     * @return the response, once Discord has answered.
+     */
+    private CompletableFuture<?> submit(final RestAction<?> action) {
+        return this.outbound == null ? action.submit() : this.outbound.sendInteraction(action);
+    }
+
+    /**
+     * Stops handling new commands and starting background refreshes. Commands received from now on are told to try again.
+     */
+    public void stopAcceptingCommands() {
+        this.accepting.set(false);
+    }
+
+    /**
+     * Waits for a background refresh that is still running, so that the rate history is not written to after it is closed.
+     * @param timeout how long to wait.
+     * @return true if no background refresh is running anymore.
+     * @throws InterruptedException in case the thread is interrupted while waiting.
+     */
+    public boolean awaitBackgroundRefresh(final Duration timeout) throws InterruptedException {
+        try {
+            this.backgroundRefresh.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            // Failures are already logged by the refresh itself.
+            return true;
+        }
+    }
+
+    /**
+     * Stops taking exports and waits for a running one to finish uploading, so that its reply is sent before Discord disconnects
+     * and its temporary file is deleted. An export still running when the timeout passes is interrupted.
+     * @param timeout how long to wait.
+     * @return true if no export is running anymore.
+     * @throws InterruptedException in case the thread is interrupted while waiting.
+     */
+    public boolean awaitExports(final Duration timeout) throws InterruptedException {
+        this.exportExecutor.shutdown();
+        if (this.exportExecutor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        this.exportExecutor.shutdownNow();
+        return false;
+    }
+
+    /**
+     * Returns true if a snapshot is older than the maximum age rates are served at without a refresh.
+     * @param snapshot the snapshot to check.
+     * @return true if the snapshot should be refreshed.
+     */
+    private boolean isStale(final RateSnapshot snapshot) {
+        return Duration.between(snapshot.getObservedAt(), this.clock.instant()).toMinutes() >= Constants.RATE_MAX_AGE_MINUTES;
+    }
+
+    /**
+     * Returns the settings of a guild.
+     * @param guildId the ID of the guild, or -1 for interactions outside a guild.
+     * @return the guild's settings.
+     */
+    public GuildSettings settingsForGuild(final long guildId) {
+        return guildId < 0 ? this.guildSettings.getDefault() : this.guildSettings.forGuild(guildId);
+    }
+
+    /**
+     * Returns the rate history commands are answered from.
+     * @return the rate history.
+     */
+    public RateHistory getRateHistory() {
+        return this.rateHistory;
+    }
+
+    /**
+     * Returns the settings of the guild an interaction came from.
+     * @param interaction the interaction.
+     * @return the guild's settings, or the default settings for interactions outside a guild.
+     */
+    private GuildSettings settingsFor(final Interaction interaction) {
+        final Guild guild = interaction.getGuild();
+        return settingsForGuild(guild == null ? -1 : guild.getIdLong());
     }
 
     /**
      * Handles the /list-all-deadlines command.
-     * Fetches all DragonCon rates and displays them with their deadlines.
+     * Displays all known DragonCon rates with their deadlines.
      * @param event the interaction event to handle.
      */
     private void handleListAllDeadlines(SlashCommandInteractionEvent event) {
-        // Defer reply since fetching from website may take time
-        event.deferReply().queue();
+        // Defer reply since fetching from website may take time when no rates are known yet
+        send(event.deferReply());
 
         try {
-            // Fetch rates from the website
-            final DragonConRateParser parser = new DragonConRateParser();
-            final List<DragonConRate> rates = parser.fetchRatesAndDeadlines();
+            // Answer from the latest known rates, fetching them only if there are none
+            final long version = this.rateHistory.getVersion();
+            final String response = allDeadlinesResponse(version, currentRates(), settingsFor(event));
 
-            if (rates.isEmpty()) {
-                event.getHook().sendMessage("No pricing information found on the DragonCon website.").queue();
-                return;
+            // Long rate tables are split on line boundaries so Discord never rejects the reply.
+            for (final String chunk : MessageChunker.split(response)) {
+                send(event.getHook().sendMessage(chunk));
             }
 
-            // Build the response message
-            final StringBuffer response = new StringBuffer("**DragonCon 5-Day Membership Rates:**\n\n");
+        } catch (Exception e) {
+            send(event.getHook().sendMessage("Error fetching rates from DragonCon website: " + e.getMessage()));
+            LOGGER.error("Error fetching rates from DragonCon website", e);
+        }
+    }
 
-            // Format all of the rates pulled from the website
-            for (final DragonConRate rate : rates) {
-                response.append("• **").append(rate.getPrice()).append("**");
+    /**
+     * Returns the reply to the /list-all-deadlines command.
+     * @param version the rate history version the rates were read at.
+     * @param rates the latest known rates.
+     * @param settings the settings of the guild the command came from.
+     * @return the reply, rendered once per version, day and guild settings.
+     */
+    private String allDeadlinesResponse(final long version, final List<DragonConRate> rates, final GuildSettings settings) {
+        if (rates.isEmpty()) {
+            return "No pricing information found on the DragonCon website.";
+        }
+        final LocalDate today = this.calendar.today(settings.getZone());
+        return cachedResponse(Constants.LIST_ALL_DEADLINES_COMMAND, version, today, settings,
+            () -> renderAllDeadlines(rates, today, settings.getFormats()));
+    }
 
-                if (rate.getDeadline() != null) {
-                    final LocalDate today = LocalDate.now(Constants.ZONE);
-                    final long daysUntil = ChronoUnit.DAYS.between(today, rate.getDeadline());
+    /**
+     * Renders every rate with its deadline and the days remaining.
+     * @param rates the rates to render.
+     * @param today today's date.
+     * @param formats the formats dates and prices are rendered with.
+     * @return the rendered reply.
+     */
+    private static String renderAllDeadlines(final List<DragonConRate> rates, final LocalDate today, final LocalizedFormats formats) {
+        final StringBuffer response = new StringBuffer("**DragonCon 5-Day Membership Rates:**\n\n");
+
+        // Format all of the rates pulled from the website
+        for (final DragonConRate rate : rates) {
+            response.append("• **").append(formats.formatPrice(rate)).append("**");
+
+            if (rate.getDeadline() != null) {
+                final long daysUntil = ChronoUnit.DAYS.between(today, rate.getDeadline());
 
-                    response.append(" - Valid through **").append(rate.getDeadline()).append("**");
+                response.append(" - Valid through **").append(formats.formatDate(rate.getDeadline())).append("**");
 
-                    if (daysUntil > 0) {
-                        response.append(" (").append(daysUntil).append(" day");
-                        if (daysUntil != 1) response.append("s");
-                        response.append(" remaining)");
-                    } else if (daysUntil == 0) {
-                        response.append(" (**Last day!**)");
-                    } else {
-                        response.append(" (Expired)");
-                    }
+                if (daysUntil > 0) {
+                    response.append(" (").append(daysUntil).append(" day");
+                    if (daysUntil != 1) response.append("s");
+                    response.append(" remaining)");
+                } else if (daysUntil == 0) {
+                    response.append(" (**Last day!**)");
                 } else {
-                    response.append(" - No deadline specified");
+                    response.append(" (Expired)");
                 }
-
-                response.append("\n");
+            } else {
+                response.append(" - No deadline specified");
             }
 
-            event.getHook().sendMessage(response.toString()).queue();
-
-        } catch (Exception e) {
-            event.getHook().sendMessage("Error fetching rates from DragonCon website: " + e.getMessage()).queue();
-            e.printStackTrace();
+            response.append("\n");
         }
+
+        return response.toString();
     }
 
     /**
@@ -97,51 +498,415 @@ public class CommandListener extends ListenerAdapter {
      * @param event the interaction event to handle.
      */
     private void handleNextDeadline(SlashCommandInteractionEvent event) {
-        // Defer reply since fetching from website may take time
-        event.deferReply().queue();
+        // Defer reply since fetching from website may take time when no rates are known yet
+        send(event.deferReply());
 
         try {
-            // Fetch rates from the website
-            final DragonConRateParser parser = new DragonConRateParser();
-            final List<DragonConRate> rates = parser.fetchRatesAndDeadlines();
+            // Answer from the latest known rates, fetching them only if there are none
+            send(event.getHook().sendMessage(nextDeadlineResponse(currentRates(), settingsFor(event))));
+
+        } catch (Exception e) {
+            send(event.getHook().sendMessage("Error fetching rates from DragonCon website: " + e.getMessage()));
+            LOGGER.error("Error fetching rates from DragonCon website", e);
+        }
+    }
+
+    /**
+     * Returns the reply to the /next-deadline command.
+     * @param rates the latest known rates.
+     * @param settings the settings of the guild the command came from.
+     * @return the reply.
+     */
+    private String nextDeadlineResponse(final List<DragonConRate> rates, final GuildSettings settings) {
+        return render(Constants.NEXT_DEADLINE_COMMAND, () -> renderNextDeadline(rates, settings));
+    }
+
+    /**
+     * Renders the closest upcoming deadline and how soon it is.
+     * @param rates the latest known rates.
+     * @param settings the settings of the guild the command came from.
+     * @return the rendered reply.
+     */
+    private String renderNextDeadline(final List<DragonConRate> rates, final GuildSettings settings) {
+        final LocalizedFormats formats = settings.getFormats();
+        final LocalDate today = this.calendar.today(settings.getZone());
+
+        // Filter rates with future deadlines and find the closest one
+        final DragonConRate nextDeadline = rates.stream()
+            .filter(rate -> rate.getDeadline() != null)
+            .filter(rate -> !rate.getDeadline().isBefore(today))
+            .min(Comparator.comparing(DragonConRate::getDeadline))
+            .orElse(null);
+
+        if (nextDeadline == null) {
+            return "No upcoming deadlines found. All current rates may have expired.";
+        }
+
+        // Build the response message
+        final long daysUntil = ChronoUnit.DAYS.between(today, nextDeadline.getDeadline());
+        final StringBuffer response = new StringBuffer("**Next Deadline:**\n\n");
+
+        response.append("• Current rate: **").append(formats.formatPrice(nextDeadline)).append("**\n");
+        response.append("• Deadline: **").append(formats.formatDate(nextDeadline.getDeadline())).append("**\n");
+        response.append("• Time remaining: **").append(daysUntil).append(" day");
+        if (daysUntil != 1) response.append("s");
+        response.append("**\n\n");
+
+        if (daysUntil <= Constants.DAYS_IN_WEEK) {
+            response.append("⚠️ **Deadline is approaching soon!**");
+        } else if (daysUntil <= Constants.DAYS_IN_MONTH) {
+            response.append("⏰ Deadline is coming up this month.");
+        } else {
+            response.append("✅ You still have plenty of time!");
+        }
+
+        return response.toString();
+    }
+
+    /**
+     * Handles the /rate-on command.
+     * Displays the membership rate that applies on a given date, answered from the in-memory rate history.
+     * @param event the interaction event to handle.
+     */
+    private void handleRateOn(SlashCommandInteractionEvent event) {
+        final OptionMapping dateOption = event.getOption(Constants.DATE_OPTION);
+        final CommandReply reply = rateOnReply(dateOption == null ? "" : dateOption.getAsString(), settingsFor(event));
+        send(reply.isEphemeral() ? event.reply(reply.getContent()).setEphemeral(true) : event.reply(reply.getContent()));
+    }
+
+    /**
+     * Returns the reply to the /rate-on command.
+     * @param value the date typed by the user.
+     * @param settings the settings of the guild the command came from.
+     * @return the reply; mistakes and missing rate data are only shown to the user who asked.
+     */
+    private CommandReply rateOnReply(final String value, final GuildSettings settings) {
+        final LocalDate date = parseDate(value);
+        if (date == null) {
+            return new CommandReply("Please provide a date as YYYY-MM-DD or M/D/YYYY.", true);
+        }
+        if (this.rateHistory.isEmpty()) {
+            return new CommandReply(NO_RATE_DATA, true);
+        }
+
+        final LocalizedFormats formats = settings.getFormats();
+        final DragonConRate rate = this.rateHistory.rateOn(date);
+        if (rate == null) {
+            return new CommandReply("No known rate covers " + formats.formatDate(date) + ".", false);
+        }
+
+        // Build the response message
+        return new CommandReply(render(Constants.RATE_ON_COMMAND, () -> {
+            final StringBuffer response = new StringBuffer("**Membership rate on ").append(formats.formatDate(date)).append(":**\n\n");
+            response.append("• Rate: **").append(formats.formatPrice(rate)).append("**\n");
+            if (rate.getDeadline() != null) {
+                response.append("• Valid through: **").append(formats.formatDate(rate.getDeadline())).append("**");
+            } else {
+                response.append("• No deadline specified");
+            }
+            return response.toString();
+        }), false);
+    }
+
+    /**
+     * Handles the /price-history command.
+     * Displays every known rate tier in deadline order, answered from the in-memory rate history.
+     * @param event the interaction event to handle.
+     */
+    private void handlePriceHistory(SlashCommandInteractionEvent event) {
+        final CommandReply reply = priceHistoryReply(settingsFor(event));
+        if (reply.isEphemeral()) {
+            send(event.reply(reply.getContent()).setEphemeral(true));
+            return;
+        }
+
+        // The first chunk is the interaction reply, any remaining chunks are follow-ups.
+        final List<String> chunks = MessageChunker.split(reply.getContent());
+        send(event.reply(chunks.get(0)));
+        for (final String chunk : chunks.subList(1, chunks.size())) {
+            send(event.getHook().sendMessage(chunk));
+        }
+    }
 
-            final LocalDate today = LocalDate.now(Constants.ZONE);
+    /**
+     * Handles the /export-rates command.
+     * The rate history file is streamed to a temporary file as CSV or JSON and attached to the reply, so the export never
+     * has to fit in memory however long the history is. The export runs on its own thread, since JDA handles one event at a time.
+     * @param event the interaction event to handle.
+     */
+    private void handleExportRates(SlashCommandInteractionEvent event) {
+        if (this.historyStore == null) {
+            send(event.reply(EXPORT_UNAVAILABLE).setEphemeral(true));
+            return;
+        }
+        final OptionMapping formatOption = event.getOption(Constants.FORMAT_OPTION);
+        final OptionMapping changesOnlyOption = event.getOption(Constants.CHANGES_ONLY_OPTION);
+        final RateExport.Format format = formatOption == null ? RateExport.Format.CSV : RateExport.Format.parse(formatOption.getAsString());
+        final boolean changesOnly = changesOnlyOption != null && changesOnlyOption.getAsBoolean();
 
-            // Filter rates with future deadlines and find the closest one
-            final DragonConRate nextDeadline = rates.stream()
-                .filter(rate -> rate.getDeadline() != null)
-                .filter(rate -> !rate.getDeadline().isBefore(today))
-                .min(Comparator.comparing(DragonConRate::getDeadline))
-                .orElse(null);
+        // Defer reply since a long history may take a moment to write
+        send(event.deferReply());
+        final InteractionHook hook = event.getHook();
+        try {
+            this.exportExecutor.execute(() -> exportRates(hook, format, changesOnly));
+        } catch (RejectedExecutionException e) {
+            // The bot started shutting down after the command was accepted.
+            send(hook.sendMessage(SHUTTING_DOWN));
+        }
+    }
 
-            if (nextDeadline == null) {
-                event.getHook().sendMessage("No upcoming deadlines found. All current rates may have expired.").queue();
+    /**
+     * Writes the rate history to a temporary file and uploads it as the reply to /export-rates.
+     * @param hook the hook of the deferred reply.
+     * @param format the file format.
+     * @param changesOnly true to only include the snapshots in which the rates changed.
+     */
+    private void exportRates(final InteractionHook hook, final RateExport.Format format, final boolean changesOnly) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("dragoncon-rates-", "." + format.getExtension());
+            final long snapshots;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                snapshots = RateExport.write(this.historyStore.cursor(), format, changesOnly, out);
+            }
+
+            final long size = Files.size(file);
+            if (size > Constants.DISCORD_ATTACHMENT_LIMIT_BYTES) {
+                send(hook.sendMessage(String.format(EXPORT_TOO_LARGE, size / (1024.0 * 1024.0))));
                 return;
             }
 
-            // Build the response message
-            final long daysUntil = ChronoUnit.DAYS.between(today, nextDeadline.getDeadline());
-            final StringBuffer response = new StringBuffer("**Next Deadline:**\n\n");
+            final FileUpload upload = FileUpload.fromData(Files.newInputStream(file), "dragoncon-rates." + format.getExtension());
+            final CompletableFuture<?> sent;
+            try {
+                sent = submit(hook.sendMessage("DragonCon rate history: " + snapshots + " snapshots.").addFiles(upload));
+            } catch (RuntimeException e) {
+                closeQuietly(upload);
+                throw e;
+            }
+
+            // Wait for the upload on this thread, so that shutdown can drain it and the file is only deleted once the upload
+            // is done with it, since an open file cannot be deleted on every platform.
+            try {
+                sent.get();
+            } catch (ExecutionException e) {
+                LOGGER.warn("Error uploading the rate history export to Discord", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while uploading the rate history export to Discord");
+            } finally {
+                closeQuietly(upload);
+            }
+        } catch (IOException | RuntimeException e) {
+            send(hook.sendMessage("Error exporting the rate history: " + e.getMessage()));
+            LOGGER.error("Error exporting the rate history", e);
+        } finally {
+            if (file != null) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Closes an upload, logging rather than throwing if it cannot be closed.
+     * @param upload the upload.
+     */
+    private static void closeQuietly(final FileUpload upload) {
+        try {
+            upload.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close the rate history export", e);
+        }
+    }
+
+    /**
+     * Deletes a temporary export file, logging rather than throwing if it cannot be deleted.
+     * @param file the file.
+     */
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete the temporary export file {}", file, e);
+        }
+    }
 
-            response.append("• Current rate: **").append(nextDeadline.getPrice()).append("**\n");
-            response.append("• Deadline: **").append(nextDeadline.getDeadline()).append("**\n");
-            response.append("• Time remaining: **").append(daysUntil).append(" day");
-            if (daysUntil != 1) response.append("s");
-            response.append("**\n\n");
+    /**
+     * Returns the reply to the /price-history command.
+     * @param settings the settings of the guild the command came from.
+     * @return the reply, rendered once per version, day and guild settings.
+     */
+    private CommandReply priceHistoryReply(final GuildSettings settings) {
+        if (this.rateHistory.isEmpty()) {
+            return new CommandReply(NO_RATE_DATA, true);
+        }
+        final LocalDate today = this.calendar.today(settings.getZone());
+        return new CommandReply(cachedResponse(Constants.PRICE_HISTORY_COMMAND, this.rateHistory.getVersion(), today, settings,
+            () -> renderPriceHistory(this.rateHistory.priceHistory(), today, settings.getFormats())), false);
+    }
 
-            if (daysUntil <= Constants.DAYS_IN_WEEK) {
-                response.append("⚠️ **Deadline is approaching soon!**");
-            } else if (daysUntil <= Constants.DAYS_IN_MONTH) {
-                response.append("⏰ Deadline is coming up this month.");
+    /**
+     * Renders every known rate tier in deadline order, marking the ones that have passed.
+     * @param history the known rate tiers in deadline order.
+     * @param today today's date.
+     * @param formats the formats dates and prices are rendered with.
+     * @return the rendered reply.
+     */
+    private static String renderPriceHistory(final List<DragonConRate> history, final LocalDate today, final LocalizedFormats formats) {
+        final StringBuffer response = new StringBuffer("**DragonCon 5-Day Membership Price History:**\n\n");
+        for (final DragonConRate rate : history) {
+            response.append("• **").append(formats.formatPrice(rate)).append("**");
+            if (rate.getDeadline() != null) {
+                response.append(" through ").append(formats.formatDate(rate.getDeadline()));
+                if (rate.getDeadline().isBefore(today)) {
+                    response.append(" (past)");
+                }
             } else {
-                response.append("✅ You still have plenty of time!");
+                response.append(" - No deadline specified");
             }
+            response.append("\n");
+        }
+        return response.toString();
+    }
 
-            event.getHook().sendMessage(response.toString()).queue();
+    /**
+     * Returns a rendered reply, rendering it only the first time it is asked for with a given history version, day and guild settings.
+     * Guilds sharing a locale and time zone share their replies.
+     * @param command the command the reply is for.
+     * @param version the rate history version the reply is rendered from.
+     * @param today today's date in the guild's time zone.
+     * @param settings the settings the reply is rendered with.
+     * @param render renders the reply.
+     * @return the rendered reply.
+     */
+    private String cachedResponse(final String command, final long version, final LocalDate today, final GuildSettings settings,
+            final Supplier<String> render) {
+        return this.renderedResponses.computeIfAbsent(command + "|" + version + "|" + today + "|" + settings.getCacheKey(),
+            key -> render(command, render));
+    }
 
-        } catch (Exception e) {
-            event.getHook().sendMessage("Error fetching rates from DragonCon website: " + e.getMessage()).queue();
-            e.printStackTrace();
+    /**
+     * Renders a reply, recording how long rendering took and how long the reply is in a flight recorder event.
+     * @param command the command the reply is for.
+     * @param render renders the reply.
+     * @return the rendered reply.
+     */
+    private static String render(final String command, final Supplier<String> render) {
+        final PipelineEvents.ResponseRender event = new PipelineEvents.ResponseRender();
+        event.begin();
+        final String response = render.get();
+        event.command = command;
+        event.characters = response.length();
+        event.commit();
+        return response;
+    }
+
+    /**
+     * Parses a user-provided date in either ISO (YYYY-MM-DD) or US (M/D/YYYY) format.
+     * @param value the date typed by the user.
+     * @return the parsed date, or null if the value is not a valid date.
+     */
+    private static LocalDate parseDate(final String value) {
+        final String trimmed = value.trim();
+        try {
+            return trimmed.contains("/") ? LocalDate.parse(trimmed, US_DATE_FORMAT) : LocalDate.parse(trimmed);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The reply to a command, rendered without any JDA objects.
+     */
+    public static final class CommandReply {
+        private final String content;
+        private final boolean ephemeral;
+
+        /**
+         * Constructor for the CommandReply object.
+         * @param content the reply's content, which may be longer than one Discord message.
+         * @param ephemeral true if the reply is only shown to the user who asked.
+         */
+        public CommandReply(final String content, final boolean ephemeral) {
+            this.content = content;
+            this.ephemeral = ephemeral;
+        }
+
+        /**
+         * Returns the reply's content.
+         * @return the content, which may be longer than one Discord message.
+         */
+        public final String getContent() {
+            return this.content;
+        }
+
+        /**
+         * Returns true if the reply is only shown to the user who asked.
+         * @return true for ephemeral replies.
+         */
+        public final boolean isEphemeral() {
+            return this.ephemeral;
+        }
+    }
+
+    /**
+     * What a CommandListener answers from and sends through. Every setting is optional and returns the options, so they can be chained.
+     */
+    public static final class Options {
+        private RateRefresher refresher;
+        private GuildSettingsRegistry guildSettings;
+        private OutboundScheduler outbound;
+        private CommandThrottle throttle;
+        private RateHistoryStore historyStore;
+
+        /**
+         * Sets the refresher shared with the scheduled refreshes. Defaults to one scraping the DragonCon website into a new rate history.
+         * @param refresher the refresher used whenever rates have to be fetched, along with its rate history.
+         * @return these options.
+         */
+        public Options refresher(final RateRefresher refresher) {
+            this.refresher = refresher;
+            return this;
+        }
+
+        /**
+         * Sets the locale and time zone of each guild. Defaults to ISO dates in the clock's time zone for every guild.
+         * @param guildSettings the locale and time zone replies to each guild are rendered in.
+         * @return these options.
+         */
+        public Options guildSettings(final GuildSettingsRegistry guildSettings) {
+            this.guildSettings = guildSettings;
+            return this;
+        }
+
+        /**
+         * Sends every reply through the outbound scheduler shared with broadcast reminders.
+         * @param outbound the scheduler replies are sent through, or null (the default) to queue them with JDA directly.
+         * @return these options.
+         */
+        public Options outbound(final OutboundScheduler outbound) {
+            this.outbound = outbound;
+            return this;
+        }
+
+        /**
+         * Limits how many commands each user and each guild may run.
+         * @param throttle the per-user and per-guild command limits, or null (the default) to answer every command.
+         * @return these options.
+         */
+        public Options throttle(final CommandThrottle throttle) {
+            this.throttle = throttle;
+            return this;
+        }
+
+        /**
+         * Exports the rate history file with /export-rates.
+         * @param historyStore the rate history file exports are streamed from, or null (the default) if exports are not available.
+         * @return these options.
+         */
+        public Options historyStore(final RateHistoryStore historyStore) {
+            this.historyStore = historyStore;
+            return this;
         }
     }
 }
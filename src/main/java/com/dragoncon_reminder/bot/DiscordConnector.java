@@ -1,19 +1,41 @@
 package com.dragoncon_reminder.bot;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.PipelineEvents;
 
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RestAction;
+import okhttp3.OkHttpClient;
 
 /**
  * This class handles the connection to Discord and sending messages.
  */
-public class DiscordConnector {
+public class DiscordConnector implements MessageSender, PinnedMessages {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiscordConnector.class);
+
     private final String discordToken;
     private final String discordChannelId;
     private final JDA jda;
+    private final OutboundMessageQueue outboundMessageQueue = new OutboundMessageQueue();
+    private final OutboundScheduler outboundScheduler;
 
     /**
      * Default constructor leveraging environment variables to get the Discord token and channel ID.
@@ -21,19 +43,59 @@ public class DiscordConnector {
      * @throws InterruptedException if there is an error connecting to the Discord server.
      */
     public DiscordConnector() throws InterruptedException {
+        this(Clock.system(Constants.ZONE));
+    }
+
+    /**
+     * Custom constructor leveraging environment variables to get the Discord token and channel ID.
+     * Sets up JDA with slash command support, answering commands relative to the provided clock.
+     * @param clock the clock used to determine today's date when answering commands.
+     * @throws InterruptedException if there is an error connecting to the Discord server.
+     */
+    public DiscordConnector(final Clock clock) throws InterruptedException {
+        this(new CommandListener(clock, new CommandListener.Options()));
+    }
+
+    /**
+     * Custom constructor leveraging environment variables to get the Discord token and channel ID.
+     * Sets up JDA with slash command support, answering commands with the provided listener.
+     * @param commandListener the listener that answers slash commands.
+     * @throws InterruptedException if there is an error connecting to the Discord server.
+     */
+    public DiscordConnector(final CommandListener commandListener) throws InterruptedException {
+        this(commandListener, null);
+    }
+
+    /**
+     * Custom constructor leveraging environment variables to get the Discord token and channel ID.
+     * Sets up JDA with slash command support, sending reminders through the outbound scheduler and teaching it Discord's limits.
+     * @param commandListener the listener that answers slash commands, or null to only send messages and leave the commands as they are.
+     * @param outboundScheduler the scheduler reminders are sent through, or null to queue them with JDA directly.
+     * @throws InterruptedException if there is an error connecting to the Discord server.
+     */
+    public DiscordConnector(final CommandListener commandListener, final OutboundScheduler outboundScheduler) throws InterruptedException {
         this.discordToken = getEnvValue(Constants.DISCORD_TOKEN_KEY);
         this.discordChannelId = getEnvValue(Constants.DISCORD_CHANNEL_ID_KEY);
+        this.outboundScheduler = outboundScheduler;
 
         // Build JDA with necessary intents and command listener
-        this.jda = configureJDA();
+        this.jda = configureJDA(commandListener);
 
-        // Register slash commands
-        this.jda.updateCommands().addCommands(
-            Commands.slash(Constants.LIST_ALL_DEADLINES_COMMAND, "Display all DragonCon membership rate deadlines"),
-            Commands.slash(Constants.NEXT_DEADLINE_COMMAND, "Display the next upcoming deadline")
-        ).queue();
+        // Register slash commands, unless this connection only sends
+        if (commandListener != null) {
+            registerCommands();
+        }
+    }
 
-        System.out.println("Slash commands registered: /list-all-deadlines and /next-deadline");
+    /**
+     * Returns a connection leveraging environment variables that only sends messages, for runs that exit once the reminder is delivered.
+     * No listener is attached and the slash commands are left as they are, so a run never overwrites the commands registered by the
+     * resident bot, or by the interactions endpoint's deployment.
+     * @return the send-only connection.
+     * @throws InterruptedException if there is an error connecting to the Discord server.
+     */
+    public static DiscordConnector sendOnly() throws InterruptedException {
+        return new DiscordConnector((CommandListener) null, null);
     }
 
     /**
@@ -46,17 +108,13 @@ public class DiscordConnector {
     public DiscordConnector(final String discordToken, final String discordChannelId) throws InterruptedException {
         this.discordToken = discordToken;
         this.discordChannelId = discordChannelId;
+        this.outboundScheduler = null;
 
         // Build JDA with necessary intents and command listener
-        this.jda = configureJDA();
+        this.jda = configureJDA(new CommandListener(Clock.system(Constants.ZONE), new CommandListener.Options()));
 
         // Register slash commands
-        this.jda.updateCommands().addCommands(
-            Commands.slash(Constants.LIST_ALL_DEADLINES_COMMAND, "Display all DragonCon membership rate deadlines"),
-            Commands.slash(Constants.NEXT_DEADLINE_COMMAND, "Display the next upcoming deadline")
-        ).queue();
-
-        System.out.println("Slash commands registered: /list-all-deadlines and /next-deadline");
+        registerCommands();
     }
 
     /**
@@ -69,16 +127,176 @@ public class DiscordConnector {
     public DiscordConnector(final String discordToken, final String discordChannelId, final JDA jda) throws InterruptedException {
         this.discordToken = discordToken;
         this.discordChannelId = discordChannelId;
+        this.outboundScheduler = null;
         this.jda = jda;
     }
 
     /**
      * Sends a message to the Discord channel.
+     * Messages longer than the Discord limit are split on line boundaries and sent in order.
      * @param message the message to be sent to the Discord channel.
      */
     public void sendMessage(final String message) {
+        final long startNanos = System.nanoTime();
+        final PipelineEvents.MessageSend event = new PipelineEvents.MessageSend();
+        event.begin();
+        final TextChannel channel = jda.getTextChannelById(discordChannelId);
+
         // Send the message to the channel.
-        jda.getTextChannelById(discordChannelId).sendMessage(message).queue();
+        int chunks = 0;
+        for (final String chunk : MessageChunker.split(message)) {
+            channel.sendMessage(chunk).queue();
+            chunks++;
+            event.bytes += chunk.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        event.channel = discordChannelId;
+        event.restCalls = chunks;
+        event.commit();
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.MESSAGE_SENT)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("channelId", discordChannelId)
+            .addKeyValue("restCalls", chunks)
+            .log("Message queued for Discord");
+    }
+
+    /**
+     * Returns the ID of the guild the Discord channel belongs to, so reminders can be rendered with that guild's settings.
+     * @return the guild ID, or -1 if the channel is not visible to the bot.
+     */
+    @Override
+    public long getChannelGuildId() {
+        final TextChannel channel = jda.getTextChannelById(discordChannelId);
+        return channel == null ? -1 : channel.getGuild().getIdLong();
+    }
+
+    /**
+     * Returns the ID of the guild a channel belongs to.
+     * @param channelId the ID of the channel.
+     * @return the guild ID, or -1 if the channel is not visible to the bot.
+     */
+    @Override
+    public long getGuildId(final String channelId) {
+        final TextChannel channel = jda.getTextChannelById(channelId);
+        return channel == null ? -1 : channel.getGuild().getIdLong();
+    }
+
+    /**
+     * Posts a message to a channel and pins it, both through the outbound scheduler if there is one.
+     * @param channelId the ID of the channel.
+     * @param content the message content.
+     * @return the ID of the posted message, once it has been posted and the pin attempted.
+     */
+    @Override
+    public CompletableFuture<Long> post(final String channelId, final String content) {
+        final TextChannel channel = jda.getTextChannelById(channelId);
+        if (channel == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unable to find Discord channel: " + channelId));
+        }
+
+        return submit(OutboundScheduler.channelMessagesRoute(channelId), channel.sendMessage(content)).thenCompose((Message message) ->
+            submit(DiscordRateLimits.routeOf("PUT", "/channels/" + channelId + "/messages/pins/" + message.getId()), message.pin())
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        // Without the Pin Messages permission the status still works, it is just not pinned.
+                        LOGGER.warn("Unable to pin the status message in Discord channel {}", channelId, error);
+                    }
+                    return message.getIdLong();
+                }));
+    }
+
+    /**
+     * Replaces the content of a message, through the outbound scheduler if there is one.
+     * @param channelId the ID of the channel the message is in.
+     * @param messageId the ID of the message.
+     * @param content the new message content.
+     * @return true once the message has been edited, or false if it has been deleted.
+     */
+    @Override
+    public CompletableFuture<Boolean> edit(final String channelId, final long messageId, final String content) {
+        final TextChannel channel = jda.getTextChannelById(channelId);
+        if (channel == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unable to find Discord channel: " + channelId));
+        }
+
+        return submit(DiscordRateLimits.routeOf("PATCH", "/channels/" + channelId + "/messages/" + messageId),
+            channel.editMessageById(messageId, content)).handle((message, error) -> {
+                if (error == null) {
+                    return true;
+                }
+                final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof ErrorResponseException
+                        && ((ErrorResponseException) cause).getErrorResponse() == ErrorResponse.UNKNOWN_MESSAGE) {
+                    return false;
+                }
+                throw new CompletionException(cause);
+            });
+    }
+
+    /**
+     * Sends a request through the outbound scheduler if there is one, or straight to JDA otherwise.
+     * @param route the route of the request, as returned by DiscordRateLimits.routeOf.
+     * @param action the request to send.
+     * @param <T> the type of the response.
+     * @return the response, once Discord has answered.
+     */
+    private <T> CompletableFuture<T> submit(final String route, final RestAction<T> action) {
+        return this.outboundScheduler == null ? action.submit() : this.outboundScheduler.sendBroadcast(route, action::submit);
+    }
+
+    /**
+     * Queues a message for the Discord channel without sending it.
+     * Queued messages are coalesced and sent together on the next call to {@link #flushMessages()}.
+     * @param message the message to be queued for the Discord channel.
+     */
+    @Override
+    public void enqueueMessage(final String message) {
+        this.outboundMessageQueue.enqueue(discordChannelId, message);
+    }
+
+    /**
+     * Sends every queued message using the fewest REST calls possible.
+     * @return the number of REST calls that were queued.
+     */
+    @Override
+    public int flushMessages() {
+        return this.outboundMessageQueue.flush(jda, this.outboundScheduler);
+    }
+
+    /**
+     * Disconnects from Discord. Requests that were already queued, such as reminders and command replies, are still sent first.
+     * A clean disconnect alone does not confirm delivery, since JDA only logs requests Discord rejected, so flushed messages are
+     * only reported as sent once Discord has accepted every one of them.
+     * @param timeout how long to wait for queued requests before they are cancelled.
+     * @return true if the latest flush and every message still in flight were delivered and every queued request was sent within the timeout.
+     * @throws InterruptedException in case the thread is interrupted while waiting.
+     */
+    @Override
+    public boolean shutdown(final Duration timeout) throws InterruptedException {
+        // Broadcasts still waiting for their bucket have not reached JDA yet, so hand them over before it stops taking requests.
+        final long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        if (this.outboundScheduler != null && !this.outboundScheduler.awaitDrained(timeout)) {
+            LOGGER.warn("{} reminder message(s) were still waiting for Discord's rate limits", this.outboundScheduler.pendingBroadcasts());
+        }
+        final boolean delivered = this.outboundMessageQueue.awaitSent(remaining(deadlineNanos));
+
+        this.jda.shutdown();
+        if (this.jda.awaitShutdown(remaining(deadlineNanos))) {
+            return delivered;
+        }
+        this.jda.shutdownNow();
+        return false;
+    }
+
+    /**
+     * Returns the time left until a deadline.
+     * @param deadlineNanos the deadline, as returned by System.nanoTime.
+     * @return the time left, or zero if the deadline has passed.
+     */
+    private static Duration remaining(final long deadlineNanos) {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
     }
     
     /**
@@ -100,14 +318,40 @@ public class DiscordConnector {
 
     /**
      * Returns a properly configured JDA to connect to Discord and listen for commands.
+     * @param commandListener the listener that answers slash commands, or null to only send messages.
      * @return a properly configured JDA.
      * @throws InterruptedException in case there is an issue connecting to Discord.
      */
-    private final JDA configureJDA() throws InterruptedException {
-        return JDABuilder.createDefault(this.discordToken)
-            .enableIntents(GatewayIntent.GUILD_MESSAGES, GatewayIntent.MESSAGE_CONTENT)
-            .addEventListeners(new CommandListener())
-            .build()
-            .awaitReady();
+    private final JDA configureJDA(final CommandListener commandListener) throws InterruptedException {
+        final JDABuilder builder = JDABuilder.createDefault(this.discordToken);
+        if (commandListener != null) {
+            builder.enableIntents(GatewayIntent.GUILD_MESSAGES, GatewayIntent.MESSAGE_CONTENT)
+                .addEventListeners(commandListener);
+        }
+        if (this.outboundScheduler != null) {
+            // Every REST response passes through the rate limit tracker, so the scheduler learns each bucket before it runs dry.
+            builder.setHttpClientBuilder(new OkHttpClient.Builder().addInterceptor(this.outboundScheduler.getRateLimits()));
+        }
+        return builder.build().awaitReady();
+    }
+
+    /**
+     * Registers every slash command supported by the bot.
+     */
+    private final void registerCommands() {
+        this.jda.updateCommands().addCommands(
+            Commands.slash(Constants.LIST_ALL_DEADLINES_COMMAND, "Display all DragonCon membership rate deadlines"),
+            Commands.slash(Constants.NEXT_DEADLINE_COMMAND, "Display the next upcoming deadline"),
+            Commands.slash(Constants.RATE_ON_COMMAND, "Display what a membership costs on a given date")
+                .addOption(OptionType.STRING, Constants.DATE_OPTION, "The date to check, e.g. 2026-06-01", true, true),
+            Commands.slash(Constants.PRICE_HISTORY_COMMAND, "Display how the membership price has changed over time"),
+            Commands.slash(Constants.EXPORT_RATES_COMMAND, "Download every rate table the bot has seen, for analysis")
+                .addOptions(new OptionData(OptionType.STRING, Constants.FORMAT_OPTION, "The file format, CSV by default")
+                    .addChoice("CSV", "csv")
+                    .addChoice("JSON", "json"))
+                .addOption(OptionType.BOOLEAN, Constants.CHANGES_ONLY_OPTION, "Only include the times the rates changed")
+        ).queue();
+
+        LOGGER.info("Slash commands registered: /list-all-deadlines, /next-deadline, /rate-on, /price-history and /export-rates");
     }
 }
@@ -0,0 +1,262 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.VisibleForTesting;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Learns Discord's rate limits from the headers of every REST response, so requests can be held back before Discord answers 429.
+ * Installed as an OkHttp interceptor on JDA's HTTP client. Limits are tracked per route: the method and path, keeping the channel,
+ * guild and webhook IDs Discord buckets requests by, but not other IDs such as a message's, so editing many messages in one channel
+ * shares one bucket. The global limit is tracked too whenever Discord reports hitting it. Buckets left idle past their reset are forgotten.
+ * Interaction callbacks and webhook follow-ups are not tracked: Discord exempts them from the global limit and their paths are single-use.
+ */
+public final class DiscordRateLimits implements Interceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiscordRateLimits.class);
+
+    // How long a route is held back while the first request to it is in flight and its limit is still unknown.
+    private static final long PROBE_MILLIS = 1000;
+    // Buckets unused for this long after their reset are dropped; the next request to the route probes it again.
+    private static final long BUCKET_IDLE_MILLIS = 10 * 60 * 1000;
+    private static final long SWEEP_MILLIS = 60 * 1000;
+
+    // Path segments following these are major parameters, which Discord keeps separate buckets for.
+    private static final Set<String> MAJOR_PARAMETERS = Set.of("channels", "guilds", "webhooks");
+    private static final Pattern SNOWFLAKE = Pattern.compile("\\d+");
+
+    private final Clock clock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong rateLimitedResponses = new AtomicLong();
+    private final AtomicLong nextSweepMillis;
+    private volatile long globalResetAtMillis;
+
+    /**
+     * Constructor for the DiscordRateLimits object.
+     * @param clock the clock used to time bucket resets.
+     */
+    public DiscordRateLimits(final Clock clock) {
+        this.clock = clock;
+        this.nextSweepMillis = new AtomicLong(clock.millis() + SWEEP_MILLIS);
+    }
+
+    /**
+     * Passes a request on to Discord and records the rate limit headers of its response.
+     * @param chain the OkHttp chain.
+     * @return the response, unchanged.
+     * @throws IOException in case the request fails.
+     */
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final Response response = chain.proceed(request);
+        observe(routeOf(request.method(), request.url().encodedPath()), response.code(), response::header);
+        return response;
+    }
+
+    /**
+     * Returns the route a request belongs to: its method and path, without the API version prefix and with every ID other than
+     * a major parameter replaced by a placeholder.
+     * @param method the HTTP method.
+     * @param path the request path, e.g. /api/v10/channels/123/messages/456.
+     * @return the route, e.g. "PATCH /channels/123/messages/:id".
+     */
+    public static String routeOf(final String method, final String path) {
+        final String[] segments = path.replaceFirst("^/api/v\\d+", "").split("/", -1);
+        final StringBuffer route = new StringBuffer(method).append(' ').append(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            final boolean major = MAJOR_PARAMETERS.contains(segments[i - 1]);
+            route.append('/').append(!major && SNOWFLAKE.matcher(segments[i]).matches() ? ":id" : segments[i]);
+        }
+        return route.toString();
+    }
+
+    /**
+     * Records the rate limit headers of one response.
+     * @param route the route of the request.
+     * @param status the HTTP status of the response.
+     * @param headers looks up a response header by name, returning null if it is absent.
+     */
+    @VisibleForTesting
+    public void observe(final String route, final int status, final UnaryOperator<String> headers) {
+        final long now = this.clock.millis();
+        if (status == 429) {
+            this.rateLimitedResponses.incrementAndGet();
+            final long retryAfterMillis = secondsToMillis(headers.apply("Retry-After"), PROBE_MILLIS);
+            final boolean global = "true".equalsIgnoreCase(headers.apply("X-RateLimit-Global"))
+                || "global".equalsIgnoreCase(headers.apply("X-RateLimit-Scope"));
+            if (global) {
+                this.globalResetAtMillis = now + retryAfterMillis;
+            }
+
+            LOGGER.atWarn()
+                .addKeyValue(LogEvents.EVENT_KEY, LogEvents.RATE_LIMITED)
+                .addKeyValue("route", route)
+                .addKeyValue("global", global)
+                .addKeyValue("retryAfterMs", retryAfterMillis)
+                .log("Discord rate limit hit");
+        }
+
+        if (!isTracked(route)) {
+            return;
+        }
+        final String remaining = headers.apply("X-RateLimit-Remaining");
+        final String resetAfter = headers.apply("X-RateLimit-Reset-After");
+        if (remaining == null || resetAfter == null) {
+            return;
+        }
+
+        sweepIfDue(now);
+        final Bucket bucket = this.buckets.computeIfAbsent(route, key -> new Bucket());
+        synchronized (bucket) {
+            bucket.lastUsedMillis = now;
+            final int remainingCount = parseInt(remaining, 0);
+            final int limit = parseInt(headers.apply("X-RateLimit-Limit"), Math.max(bucket.limit, remainingCount + 1));
+            final long resetAt = now + secondsToMillis(resetAfter, 0);
+            // Responses to requests sent earlier can report more remaining than has been reserved since; keep the lower count.
+            bucket.remaining = now < bucket.resetAtMillis && bucket.limit > 0 ? Math.min(bucket.remaining, remainingCount) : remainingCount;
+            bucket.limit = limit;
+            bucket.resetAtMillis = resetAt;
+        }
+    }
+
+    /**
+     * Reserves a request on a route if its limits allow one now.
+     * @param route the route of the request.
+     * @return zero if the request may be sent now, otherwise how long to wait before asking again.
+     */
+    public Duration reserve(final String route) {
+        final long now = this.clock.millis();
+        final long globalWait = this.globalResetAtMillis - now;
+        if (globalWait > 0) {
+            return Duration.ofMillis(globalWait);
+        }
+        if (!isTracked(route)) {
+            return Duration.ZERO;
+        }
+
+        sweepIfDue(now);
+        final Bucket bucket = this.buckets.computeIfAbsent(route, key -> new Bucket());
+        synchronized (bucket) {
+            bucket.lastUsedMillis = now;
+            if (bucket.limit == 0) {
+                // Unknown route: let one request through to learn its limit, and hold the rest back until it answers.
+                if (now < bucket.resetAtMillis) {
+                    return Duration.ofMillis(bucket.resetAtMillis - now);
+                }
+                bucket.resetAtMillis = now + PROBE_MILLIS;
+                return Duration.ZERO;
+            }
+            if (now >= bucket.resetAtMillis) {
+                bucket.remaining = bucket.limit;
+                bucket.resetAtMillis = Long.MAX_VALUE; // Until the next response reports the new window.
+            }
+            if (bucket.remaining > 0) {
+                bucket.remaining--;
+                return Duration.ZERO;
+            }
+            return Duration.ofMillis(bucket.resetAtMillis == Long.MAX_VALUE ? PROBE_MILLIS : bucket.resetAtMillis - now);
+        }
+    }
+
+    /**
+     * Returns how many responses were 429s, which should stay at zero.
+     * @return the number of rate limited responses.
+     */
+    public long getRateLimitedCount() {
+        return this.rateLimitedResponses.get();
+    }
+
+    /**
+     * Returns the number of routes whose limits are currently kept.
+     * @return the number of buckets.
+     */
+    public int trackedRoutes() {
+        return this.buckets.size();
+    }
+
+    /**
+     * Drops the buckets left idle past their reset if the sweep interval has passed. Only the caller that moves the sweep time forward
+     * sweeps. A bucket used while it is being dropped loses what it learned, which at worst costs its route one more probe.
+     * @param now the current time, in epoch milliseconds.
+     */
+    private void sweepIfDue(final long now) {
+        final long due = this.nextSweepMillis.get();
+        if (now < due || !this.nextSweepMillis.compareAndSet(due, now + SWEEP_MILLIS)) {
+            return;
+        }
+        this.buckets.values().removeIf(bucket -> {
+            synchronized (bucket) {
+                final boolean reset = bucket.resetAtMillis == Long.MAX_VALUE || now >= bucket.resetAtMillis;
+                return reset && now - bucket.lastUsedMillis >= BUCKET_IDLE_MILLIS;
+            }
+        });
+    }
+
+    /**
+     * Returns true if a route has limits worth tracking.
+     * @param route the route.
+     * @return false for interaction callbacks and webhook follow-ups.
+     */
+    private static boolean isTracked(final String route) {
+        return !route.contains(" /interactions/") && !route.contains(" /webhooks/");
+    }
+
+    /**
+     * Parses a header holding a number of seconds, possibly fractional.
+     * @param value the header value, or null.
+     * @param fallbackMillis the value to use if the header is absent or malformed.
+     * @return the number of milliseconds, rounded up.
+     */
+    private static long secondsToMillis(final String value, final long fallbackMillis) {
+        if (value == null) {
+            return fallbackMillis;
+        }
+        try {
+            return (long) Math.ceil(Double.parseDouble(value) * 1000);
+        } catch (NumberFormatException e) {
+            return fallbackMillis;
+        }
+    }
+
+    /**
+     * Parses a header holding a whole number.
+     * @param value the header value, or null.
+     * @param fallback the value to use if the header is absent or malformed.
+     * @return the number.
+     */
+    private static int parseInt(final String value, final int fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * The limit of one route as last reported by Discord, minus the requests reserved since.
+     */
+    private static final class Bucket {
+        int limit;
+        int remaining;
+        long resetAtMillis;
+        long lastUsedMillis;
+    }
+}
@@ -0,0 +1,108 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.Constants;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * A continuous Java Flight Recorder recording of the JDK's default events and the bot's pipeline events.
+ * Events are kept in a rolling on-disk buffer bounded by age and size, and written to a file on demand, so a slow path
+ * can be diagnosed after the fact without restarting the bot. The runtime image ships without jcmd, so a dump is requested
+ * by creating a file in the recording directory, e.g. with kubectl exec; with a full JDK, jcmd JFR.dump works as well.
+ */
+public final class FlightRecording implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecording.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Clock clock;
+    private final Path directory;
+    private final Recording recording;
+
+    /**
+     * Starts the recording.
+     * @param clock the clock used to name dump files.
+     * @param directory the directory dump files are written to and dump requests are looked for in.
+     * @param maxAge how long events are kept in the buffer.
+     * @param maxSizeBytes how large the buffer may grow before the oldest events are dropped.
+     * @throws IOException in case the directory cannot be created or the default settings cannot be read.
+     */
+    public FlightRecording(final Clock clock, final Path directory, final Duration maxAge, final long maxSizeBytes) throws IOException {
+        this.clock = clock;
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        try {
+            this.recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            throw new IOException("Unable to read the default flight recorder settings", e);
+        }
+        this.recording.setName(Constants.JFR_RECORDING_NAME);
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(maxAge);
+        this.recording.setMaxSize(maxSizeBytes);
+        // Keep what led up to a shutdown or a crash of a run-once job. The file is created now and filled in on exit.
+        this.recording.setDestination(directory.resolve(Constants.JFR_RECORDING_NAME + "-exit.jfr"));
+        this.recording.setDumpOnExit(true);
+        this.recording.start();
+
+        LOGGER.info("Flight recording started: up to {} MB or {} of events, dumped to {} on request",
+            maxSizeBytes / (1024 * 1024), maxAge, directory);
+    }
+
+    /**
+     * Writes the events currently in the buffer to a new file in the recording directory.
+     * @return the written file.
+     * @throws IOException in case the file cannot be written.
+     */
+    public Path dump() throws IOException {
+        final long startNanos = System.nanoTime();
+        final Path file = this.directory.resolve(Constants.JFR_RECORDING_NAME + "-"
+            + FILE_TIMESTAMP.format(this.clock.instant().atZone(this.clock.getZone())) + ".jfr");
+        this.recording.dump(file);
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.RECORDING_DUMPED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("file", file)
+            .addKeyValue("bytes", Files.size(file))
+            .log("Flight recording dumped");
+        return file;
+    }
+
+    /**
+     * Dumps the recording if a dump has been requested by creating the request file, and removes the request.
+     * @return the written file, or null if no dump was requested or it could not be written.
+     */
+    public Path dumpIfRequested() {
+        try {
+            if (!Files.deleteIfExists(this.directory.resolve(Constants.JFR_DUMP_REQUEST_FILE))) {
+                return null;
+            }
+            return dump();
+        } catch (IOException e) {
+            LOGGER.error("Error dumping the flight recording", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stops the recording and discards its buffer without dumping it.
+     */
+    @Override
+    public void close() {
+        this.recording.setDumpOnExit(false);
+        this.recording.close();
+    }
+}
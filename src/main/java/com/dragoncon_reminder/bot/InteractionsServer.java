@@ -0,0 +1,339 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.VisibleForTesting;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+
+/**
+ * Receives slash commands from Discord over HTTP instead of the gateway, for deployments configured with an Interactions Endpoint URL.
+ * Every request must carry a valid Ed25519 signature from the application's public key, or it is rejected with 401 as Discord requires.
+ * Commands are answered by CommandListener from the in-memory rate history, so every reply goes out in the HTTP response,
+ * well within Discord's 3-second window, and any number of instances can run behind a load balancer.
+ */
+public final class InteractionsServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InteractionsServer.class);
+
+    // The DER prefix that turns a raw 32-byte Ed25519 key into an X.509 SubjectPublicKeyInfo.
+    private static final byte[] ED25519_X509_PREFIX = HexFormat.of().parseHex("302a300506032b6570032100");
+    // Signed requests older or newer than this are rejected, so captured requests cannot be replayed later.
+    private static final long MAX_CLOCK_SKEW_SECONDS = 300;
+
+    private static final int PING = 1;
+    private static final int APPLICATION_COMMAND = 2;
+    private static final int APPLICATION_COMMAND_AUTOCOMPLETE = 4;
+    private static final int PONG = 1;
+    private static final int CHANNEL_MESSAGE_WITH_SOURCE = 4;
+    private static final int AUTOCOMPLETE_RESULT = 8;
+    private static final int EPHEMERAL_FLAG = 1 << 6;
+
+    private final Clock clock;
+    private final CommandListener commandListener;
+    private final PublicKey publicKey;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for the InteractionsServer object. The server does not accept requests until it is started.
+     * @param clock the clock signature timestamps are checked against.
+     * @param commandListener the listener that answers commands.
+     * @param publicKeyHex the application's public key, as shown in the Discord developer portal.
+     * @param port the port to listen on, or 0 for any free port.
+     * @throws IOException in case the port cannot be bound.
+     * @throws IllegalArgumentException in case the public key is not a 32-byte hex string.
+     */
+    public InteractionsServer(final Clock clock, final CommandListener commandListener, final String publicKeyHex, final int port)
+            throws IOException {
+        this.clock = clock;
+        this.commandListener = commandListener;
+        this.publicKey = parsePublicKey(publicKeyHex);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newFixedThreadPool(Constants.INTERACTIONS_THREADS);
+        this.server.setExecutor(this.executor);
+        this.server.createContext(Constants.INTERACTIONS_PATH, this::handleInteraction);
+        this.server.createContext(Constants.HEALTH_PATH, this::handleHealth);
+    }
+
+    /**
+     * Serves another handler on the same port, e.g. the calendar feed. Must be called before the server is started.
+     * @param path the path to serve the handler at.
+     * @param handler the handler.
+     */
+    public void addHandler(final String path, final HttpHandler handler) {
+        this.server.createContext(path, handler);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        this.server.start();
+        LOGGER.info("Listening for Discord interactions on port {}", getPort());
+    }
+
+    /**
+     * Stops accepting requests, giving requests in progress until the timeout to finish.
+     * @param timeout how long to wait for requests in progress.
+     */
+    public void stop(final Duration timeout) {
+        this.server.stop((int) Math.max(0, timeout.toSeconds()));
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return the port.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Answers the load balancer's health check: ready once rates are known, so instances only receive commands they can answer.
+     * @param exchange the request.
+     * @throws IOException in case the response cannot be written.
+     */
+    private void handleHealth(final HttpExchange exchange) throws IOException {
+        final boolean ready = !this.commandListener.getRateHistory().isEmpty();
+        respond(exchange, ready ? 200 : 503, ready ? "ok" : "waiting for rates", "text/plain");
+    }
+
+    /**
+     * Verifies and answers one interaction.
+     * @param exchange the request.
+     * @throws IOException in case the response cannot be written.
+     */
+    private void handleInteraction(final HttpExchange exchange) throws IOException {
+        final long startNanos = System.nanoTime();
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "", "text/plain");
+            return;
+        }
+
+        // The body is read before its signature can be checked, so anyone could otherwise make a worker buffer any amount of data.
+        final long contentLength = contentLength(exchange);
+        if (contentLength < 0) {
+            respond(exchange, 411, "", "text/plain");
+            return;
+        }
+        if (contentLength > Constants.INTERACTIONS_MAX_BODY_BYTES) {
+            respond(exchange, 413, "", "text/plain");
+            return;
+        }
+        final byte[] body = exchange.getRequestBody().readNBytes((int) contentLength);
+        final String signature = exchange.getRequestHeaders().getFirst("X-Signature-Ed25519");
+        final String timestamp = exchange.getRequestHeaders().getFirst("X-Signature-Timestamp");
+        if (!verify(timestamp, body, signature)) {
+            respond(exchange, 401, "invalid request signature", "text/plain");
+            return;
+        }
+
+        final String response;
+        try {
+            response = answer(DataObject.fromJson(body));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Malformed Discord interaction", e);
+            respond(exchange, 400, "", "text/plain");
+            return;
+        }
+        if (response == null) {
+            respond(exchange, 400, "", "text/plain");
+            return;
+        }
+        respond(exchange, 200, response, "application/json");
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.COMMAND_HANDLED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("transport", "http")
+            .log("Discord interaction answered over HTTP");
+    }
+
+    /**
+     * Returns the declared length of a request body.
+     * @param exchange the request.
+     * @return the length, or -1 if it is missing or not a number.
+     */
+    private static long contentLength(final HttpExchange exchange) {
+        final String header = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the JSON response to a verified interaction.
+     * @param interaction the interaction sent by Discord.
+     * @return the response body, or null for interaction types the bot does not handle.
+     */
+    @VisibleForTesting
+    public String answer(final DataObject interaction) {
+        final int type = interaction.getInt("type");
+        if (type == PING) {
+            return DataObject.empty().put("type", PONG).toString();
+        }
+        if (type != APPLICATION_COMMAND && type != APPLICATION_COMMAND_AUTOCOMPLETE) {
+            return null;
+        }
+
+        final DataObject data = interaction.getObject("data");
+        final String command = data.getString("name");
+        final String guild = interaction.getString("guild_id", null);
+        final long guildId = guild == null ? -1 : Long.parseLong(guild);
+        final DataObject dateOption = findOption(data, Constants.DATE_OPTION);
+        final String dateValue = dateOption == null ? null : dateOption.getString("value", "");
+
+        if (type == APPLICATION_COMMAND_AUTOCOMPLETE) {
+            final List<Command.Choice> suggestions = Constants.RATE_ON_COMMAND.equals(command)
+                ? this.commandListener.suggestDates(dateValue == null ? "" : dateValue, this.commandListener.settingsForGuild(guildId))
+                : List.of();
+            final DataArray choices = DataArray.empty();
+            for (final Command.Choice suggestion : suggestions) {
+                choices.add(DataObject.empty().put("name", suggestion.getName()).put("value", suggestion.getAsString()));
+            }
+            return DataObject.empty().put("type", AUTOCOMPLETE_RESULT).put("data", DataObject.empty().put("choices", choices)).toString();
+        }
+
+        // One HTTP response carries one message, so replies longer than Discord's limit are cut at the first chunk.
+        final CommandListener.CommandReply reply = this.commandListener.answer(command, dateValue, guildId, userId(interaction));
+        final DataObject message = DataObject.empty()
+            .put("content", MessageChunker.split(reply.getContent()).get(0))
+            .put("allowed_mentions", DataObject.empty().put("parse", DataArray.empty()));
+        if (reply.isEphemeral()) {
+            message.put("flags", EPHEMERAL_FLAG);
+        }
+        return DataObject.empty().put("type", CHANNEL_MESSAGE_WITH_SOURCE).put("data", message).toString();
+    }
+
+    /**
+     * Returns the ID of the user who sent an interaction.
+     * @param interaction the interaction sent by Discord.
+     * @return the user ID, found under "member" for interactions in a guild and under "user" otherwise, or -1 if there is none.
+     */
+    private static long userId(final DataObject interaction) {
+        final DataObject user = interaction.hasKey("member")
+            ? interaction.getObject("member").optObject("user").orElse(null)
+            : interaction.optObject("user").orElse(null);
+        return user == null ? -1 : Long.parseLong(user.getString("id", "-1"));
+    }
+
+    /**
+     * Returns true if a request was signed by the application's key and recently enough.
+     * @param timestamp the X-Signature-Timestamp header, in Unix seconds.
+     * @param body the raw request body.
+     * @param signatureHex the X-Signature-Ed25519 header.
+     * @return true if the signature is valid.
+     */
+    @VisibleForTesting
+    public boolean verify(final String timestamp, final byte[] body, final String signatureHex) {
+        if (timestamp == null || signatureHex == null) {
+            return false;
+        }
+        try {
+            if (Math.abs(this.clock.instant().getEpochSecond() - Long.parseLong(timestamp)) > MAX_CLOCK_SKEW_SECONDS) {
+                return false;
+            }
+            final Signature verifier = Signature.getInstance("Ed25519");
+            verifier.initVerify(this.publicKey);
+            verifier.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            verifier.update(body);
+            return verifier.verify(HexFormat.of().parseHex(signatureHex));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            // Malformed signatures and timestamps are treated like wrong ones.
+            return false;
+        }
+    }
+
+    /**
+     * Parses the application's public key.
+     * @param publicKeyHex the key as 64 hex digits.
+     * @return the public key.
+     * @throws IllegalArgumentException in case the key is malformed.
+     */
+    private static PublicKey parsePublicKey(final String publicKeyHex) {
+        try {
+            final byte[] raw = HexFormat.of().parseHex(publicKeyHex.trim());
+            if (raw.length != 32) {
+                throw new IllegalArgumentException("The Discord public key must be 32 bytes, got " + raw.length);
+            }
+            final byte[] encoded = new byte[ED25519_X509_PREFIX.length + raw.length];
+            System.arraycopy(ED25519_X509_PREFIX, 0, encoded, 0, ED25519_X509_PREFIX.length);
+            System.arraycopy(raw, 0, encoded, ED25519_X509_PREFIX.length, raw.length);
+            return KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid Discord public key", e);
+        }
+    }
+
+    /**
+     * Returns a top-level option of a command.
+     * @param data the command data of the interaction.
+     * @param name the name of the option.
+     * @return the option, or null if it was not given.
+     */
+    private static DataObject findOption(final DataObject data, final String name) {
+        final DataArray options = data.optArray("options").orElse(null);
+        if (options == null) {
+            return null;
+        }
+        for (int i = 0; i < options.length(); i++) {
+            if (name.equals(options.getObject(i).getString("name", null))) {
+                return options.getObject(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes a response and closes the exchange.
+     * @param exchange the request.
+     * @param status the HTTP status.
+     * @param body the response body.
+     * @param contentType the content type of the body.
+     * @throws IOException in case the response cannot be written.
+     */
+    private static void respond(final HttpExchange exchange, final int status, final String body, final String contentType) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
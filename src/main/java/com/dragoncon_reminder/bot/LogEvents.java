@@ -0,0 +1,39 @@
+package com.dragoncon_reminder.bot;
+
+/**
+ * This is a static class that contains the names of the structured events logged by the bot.
+ * Every event is logged with an "event" key set to one of these values so that log processors can filter on it.
+ */
+public final class LogEvents {
+    public static final String EVENT_KEY = "event";
+    public static final String DURATION_KEY = "durationMs";
+
+    public static final String SCRAPE_DONE = "scrape_done";
+    public static final String REMINDER_EVALUATED = "reminder_evaluated";
+    public static final String MESSAGE_SENT = "message_sent";
+    public static final String COMMAND_HANDLED = "command_handled";
+    public static final String COMMAND_THROTTLED = "command_throttled";
+    public static final String HISTORY_LOADED = "history_loaded";
+    public static final String WARM_START = "warm_start";
+    public static final String REFRESH_SCHEDULED = "refresh_scheduled";
+    public static final String SHADOW_RUN = "shadow_run";
+    public static final String SHUTDOWN = "shutdown";
+    public static final String RATE_LIMITED = "rate_limited";
+    public static final String RUN_ONCE = "run_once";
+    public static final String RECORDING_DUMPED = "recording_dumped";
+    public static final String PINNED_STATUS_CHECKED = "pinned_status_checked";
+    public static final String CALENDAR_RENDERED = "calendar_rendered";
+
+    private LogEvents() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Returns the number of milliseconds elapsed since a System.nanoTime() reading.
+     * @param startNanos the System.nanoTime() reading taken when the timed work started.
+     * @return the elapsed time in milliseconds, with sub-millisecond precision.
+     */
+    public static double millisSince(final long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.dragoncon_reminder.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dragoncon_reminder.util.Constants;
+
+/**
+ * This is a static class that splits outbound message content into pieces that Discord will accept.
+ */
+public final class MessageChunker {
+    private MessageChunker() {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Splits a message into chunks no longer than the Discord message limit.
+     * Chunks are split on line boundaries whenever possible so that a single reminder is never cut in half.
+     * @param message the message content to split.
+     * @return the chunks in the order they should be sent.
+     */
+    public static List<String> split(final String message) {
+        return split(message, Constants.DISCORD_MESSAGE_LIMIT);
+    }
+
+    /**
+     * Splits a message into chunks no longer than the provided limit.
+     * @param message the message content to split.
+     * @param limit the maximum number of characters allowed in a single chunk.
+     * @return the chunks in the order they should be sent.
+     */
+    public static List<String> split(final String message, final int limit) {
+        final List<String> chunks = new ArrayList<>();
+
+        // Most messages fit as-is, so avoid any copying in the common case.
+        if (message.length() <= limit) {
+            chunks.add(message);
+            return chunks;
+        }
+
+        final StringBuffer current = new StringBuffer(limit);
+        for (final String line : message.split("\n", -1)) {
+            // Lines that can never fit in one message are hard-split at the limit.
+            if (line.length() > limit) {
+                if (current.length() > 0) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+                int start = 0;
+                while (start < line.length()) {
+                    int end = Math.min(line.length(), start + limit);
+                    // Never cut a surrogate pair (e.g. an emoji) in half; the high surrogate moves to the next chunk.
+                    if (end < line.length() && end - start > 1 && Character.isHighSurrogate(line.charAt(end - 1))) {
+                        end--;
+                    }
+                    chunks.add(line.substring(start, end));
+                    start = end;
+                }
+                continue;
+            }
+
+            // Account for the newline that joins this line to the previous one.
+            final int separatorLength = current.length() > 0 ? 1 : 0;
+            if (current.length() + separatorLength + line.length() > limit) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            } else if (separatorLength > 0) {
+                current.append("\n");
+            }
+            current.append(line);
+        }
+
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+
+        return chunks;
+    }
+}
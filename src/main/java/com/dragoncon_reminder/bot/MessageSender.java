@@ -0,0 +1,35 @@
+package com.dragoncon_reminder.bot;
+
+import java.time.Duration;
+
+/**
+ * Delivers reminder messages to the configured Discord channel.
+ * Messages are queued first and sent together on flush, so that everything due in the same tick uses as few requests as possible.
+ */
+public interface MessageSender {
+    /**
+     * Queues a message for the channel without sending it.
+     * @param message the message to be queued.
+     */
+    void enqueueMessage(String message);
+
+    /**
+     * Sends every queued message.
+     * @return the number of REST calls that were made or queued.
+     */
+    int flushMessages();
+
+    /**
+     * Returns the ID of the guild the channel belongs to, so reminders can be rendered with that guild's settings.
+     * @return the guild ID, or -1 if it is not known.
+     */
+    long getChannelGuildId();
+
+    /**
+     * Stops sending, after sending whatever was already handed over.
+     * @param timeout how long to wait for requests still in flight.
+     * @return true if every request was sent within the timeout.
+     * @throws InterruptedException in case the thread is interrupted while waiting.
+     */
+    boolean shutdown(Duration timeout) throws InterruptedException;
+}
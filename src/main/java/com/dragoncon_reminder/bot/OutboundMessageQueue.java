@@ -0,0 +1,181 @@
+package com.dragoncon_reminder.bot;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.PipelineEvents;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+
+/**
+ * Collects outbound messages per channel so that everything due in the same tick is sent with as few REST calls as possible.
+ */
+public final class OutboundMessageQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboundMessageQueue.class);
+
+    private final Map<String, List<String>> pendingMessages = new LinkedHashMap<>();
+    // Chunks handed to JDA that Discord has not answered yet, and whether each chunk of the latest flush was delivered.
+    // Both complete with true once Discord accepted a chunk and false otherwise, never exceptionally.
+    private final Set<CompletableFuture<Boolean>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile List<CompletableFuture<Boolean>> lastFlush = List.of();
+
+    /**
+     * Queues a message to be sent to a channel on the next flush.
+     * @param channelId the ID of the Discord channel to send the message to.
+     * @param message the message content to send.
+     */
+    public synchronized void enqueue(final String channelId, final String message) {
+        if (message == null || message.isEmpty()) {
+            return;
+        }
+        this.pendingMessages.computeIfAbsent(channelId, key -> new ArrayList<>()).add(message);
+    }
+
+    /**
+     * Returns the number of channels that currently have messages waiting to be sent.
+     * @return the number of channels with pending messages.
+     */
+    public synchronized int pendingChannelCount() {
+        return this.pendingMessages.size();
+    }
+
+    /**
+     * Removes every pending message and renders it exactly as flush would send it: coalesced per channel and split into Discord-sized chunks.
+     * @return the chunks of each channel in send order, keyed by channel ID.
+     */
+    public Map<String, List<String>> drain() {
+        // Drain under the lock, but render outside of it so producers are never blocked.
+        final Map<String, List<String>> drained;
+        synchronized (this) {
+            drained = new LinkedHashMap<>(this.pendingMessages);
+            this.pendingMessages.clear();
+        }
+
+        final Map<String, List<String>> chunks = new LinkedHashMap<>();
+        for (final Map.Entry<String, List<String>> entry : drained.entrySet()) {
+            chunks.put(entry.getKey(), MessageChunker.split(String.join("\n", entry.getValue())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Coalesces the pending messages of each channel, splits them into Discord-sized chunks and queues them with JDA in order.
+     * @param jda the JDA used to connect to the Discord server.
+     * @return the number of REST calls that were queued.
+     */
+    public int flush(final JDA jda) {
+        return flush(jda, null);
+    }
+
+    /**
+     * Coalesces the pending messages of each channel, splits them into Discord-sized chunks and sends them in order.
+     * @param jda the JDA used to connect to the Discord server.
+     * @param outbound the scheduler that paces the messages against Discord's limits, or null to queue them with JDA directly.
+     * @return the number of REST calls that were queued.
+     */
+    public int flush(final JDA jda, final OutboundScheduler outbound) {
+        int restCalls = 0;
+        final List<CompletableFuture<Boolean>> sent = new ArrayList<>();
+        for (final Map.Entry<String, List<String>> entry : drain().entrySet()) {
+            final long startNanos = System.nanoTime();
+            final PipelineEvents.MessageSend event = new PipelineEvents.MessageSend();
+            event.begin();
+            event.channel = entry.getKey();
+            try {
+                final TextChannel channel = jda.getTextChannelById(entry.getKey());
+                if (channel == null) {
+                    LOGGER.warn("Unable to find Discord channel: {}", entry.getKey());
+                    sent.add(CompletableFuture.completedFuture(false));
+                    event.failed = true;
+                    continue;
+                }
+
+                // JDA keeps requests to the same channel in order, so queueing sequentially preserves chunk order.
+                int channelCalls = 0;
+                for (final String chunk : entry.getValue()) {
+                    sent.add(track(entry.getKey(), outbound == null
+                        ? channel.sendMessage(chunk).submit() : outbound.sendBroadcast(entry.getKey(), channel.sendMessage(chunk))));
+                    channelCalls++;
+                    event.bytes += chunk.getBytes(StandardCharsets.UTF_8).length;
+                }
+                restCalls += channelCalls;
+                event.restCalls = channelCalls;
+
+                LOGGER.atInfo()
+                    .addKeyValue(LogEvents.EVENT_KEY, LogEvents.MESSAGE_SENT)
+                    .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+                    .addKeyValue("channelId", entry.getKey())
+                    .addKeyValue("restCalls", channelCalls)
+                    .log("Coalesced messages queued for Discord");
+            } finally {
+                // Channels that cannot be found are committed too, so a recording shows every channel a flush tried.
+                event.commit();
+            }
+        }
+
+        this.lastFlush = sent;
+        return restCalls;
+    }
+
+    /**
+     * Waits until Discord has answered every chunk handed to JDA so far.
+     * Only the chunks of the latest flush and the chunks still waiting for an answer are reported on, so a chunk that failed
+     * in an earlier flush, and was logged then, does not make every later wait fail.
+     * @param timeout how long to wait.
+     * @return true if those chunks were all delivered, or false if one failed, its channel was missing or it is still in flight.
+     * @throws InterruptedException in case the thread is interrupted while waiting.
+     */
+    public boolean awaitSent(final Duration timeout) throws InterruptedException {
+        final List<CompletableFuture<Boolean>> awaited = new ArrayList<>(this.lastFlush);
+        awaited.addAll(this.inFlight);
+        try {
+            CompletableFuture.allOf(awaited.toArray(new CompletableFuture<?>[0])).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // Never thrown, since tracked chunks complete with false instead of failing.
+            return false;
+        } catch (TimeoutException e) {
+            LOGGER.warn("{} message(s) were still waiting for Discord's answer", this.inFlight.size());
+            return false;
+        }
+        for (final CompletableFuture<Boolean> delivered : awaited) {
+            if (!delivered.join()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keeps track of a chunk until Discord has answered, logging it if it was not delivered.
+     * @param channelId the ID of the channel the chunk was sent to.
+     * @param sent the response to the chunk.
+     * @return whether the chunk was delivered, once Discord has answered.
+     */
+    private CompletableFuture<Boolean> track(final String channelId, final CompletableFuture<Message> sent) {
+        final CompletableFuture<Boolean> delivered = sent.handle((message, error) -> {
+            if (error != null) {
+                LOGGER.error("Error sending a message to Discord channel {}", channelId, error);
+                return false;
+            }
+            return true;
+        });
+        this.inFlight.add(delivered);
+        delivered.whenComplete((answer, error) -> this.inFlight.remove(delivered));
+        return delivered;
+    }
+}
@@ -0,0 +1,293 @@
+package com.dragoncon_reminder.bot;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.dragoncon_reminder.util.VisibleForTesting;
+
+import net.dv8tion.jda.api.requests.RestAction;
+
+/**
+ * The single place outbound Discord requests go through, so interaction replies and broadcast reminders share one view of the limits.
+ * Interaction replies are sent at once, since Discord only waits 3 seconds for them and exempts them from the global limit.
+ * Broadcasts wait in a queue and are sent in order per route, only while the route's bucket, as learned by DiscordRateLimits,
+ * has requests remaining, and at most the global budget minus a reserve left for the requests JDA makes on its own.
+ */
+public final class OutboundScheduler {
+    private static final long WINDOW_MILLIS = 1000;
+
+    private final Clock clock;
+    private final DiscordRateLimits rateLimits;
+    private final ScheduledExecutorService executor;
+    private final int maxRequestsPerSecond;
+    private final int reservedForInteractions;
+    // Guarded by this.
+    private final ArrayDeque<Long> recentBroadcasts = new ArrayDeque<>();
+    private final ArrayDeque<Broadcast<?>> broadcasts = new ArrayDeque<>();
+    // Broadcasts taken off the queue, in order, waiting for the one thread that is sending to hand them to the HTTP client.
+    private final ArrayDeque<Broadcast<?>> handedOff = new ArrayDeque<>();
+    private boolean sending;
+    private long scheduledDispatchAtMillis = Long.MAX_VALUE;
+
+    /**
+     * Constructor for the OutboundScheduler object.
+     * @param clock the clock used to track the global budget.
+     * @param rateLimits the limits learned from Discord's responses.
+     * @param executor the executor delayed broadcasts are dispatched on.
+     * @param maxRequestsPerSecond the global number of requests allowed in any rolling second, kept below Discord's 50.
+     * @param reservedForInteractions how much of the global budget broadcasts must leave free for requests made while handling commands.
+     */
+    public OutboundScheduler(final Clock clock, final DiscordRateLimits rateLimits, final ScheduledExecutorService executor,
+            final int maxRequestsPerSecond, final int reservedForInteractions) {
+        if (reservedForInteractions >= maxRequestsPerSecond) {
+            throw new IllegalArgumentException("Interactions cannot reserve the whole budget of " + maxRequestsPerSecond + " requests per second");
+        }
+        this.clock = clock;
+        this.rateLimits = rateLimits;
+        this.executor = executor;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.reservedForInteractions = reservedForInteractions;
+    }
+
+    /**
+     * Sends an interaction reply or follow-up at once.
+     * @param action the request to send.
+     * @param <T> the type of the response.
+     * @return the response, once Discord has answered.
+     */
+    public <T> CompletableFuture<T> sendInteraction(final RestAction<T> action) {
+        return sendInteraction(action::submit);
+    }
+
+    /**
+     * Sends an interaction request at once, ahead of any queued broadcast.
+     * @param send sends the request.
+     * @param <T> the type of the response.
+     * @return the response, once Discord has answered.
+     */
+    public <T> CompletableFuture<T> sendInteraction(final Supplier<CompletableFuture<T>> send) {
+        return send.get();
+    }
+
+    /**
+     * Queues a message for a channel, sent once the limits allow it. Messages to the same channel are sent in order.
+     * @param channelId the ID of the channel the message is sent to.
+     * @param action the request to send.
+     * @param <T> the type of the response.
+     * @return the response, once the message has been sent and Discord has answered.
+     */
+    public <T> CompletableFuture<T> sendBroadcast(final String channelId, final RestAction<T> action) {
+        return sendBroadcast(channelMessagesRoute(channelId), action::submit);
+    }
+
+    /**
+     * Queues a request, sent once the limits allow it. Requests on the same route are sent in order.
+     * @param route the route of the request, as returned by DiscordRateLimits.routeOf.
+     * @param send sends the request.
+     * @param <T> the type of the response.
+     * @return the response, once the request has been sent and Discord has answered.
+     */
+    public <T> CompletableFuture<T> sendBroadcast(final String route, final Supplier<CompletableFuture<T>> send) {
+        final Broadcast<T> broadcast = new Broadcast<>(route, send);
+        synchronized (this) {
+            this.broadcasts.addLast(broadcast);
+        }
+        dispatch();
+        return broadcast.result;
+    }
+
+    /**
+     * Returns the route of the messages sent to a channel.
+     * @param channelId the ID of the channel.
+     * @return the route.
+     */
+    public static String channelMessagesRoute(final String channelId) {
+        return DiscordRateLimits.routeOf("POST", "/channels/" + channelId + "/messages");
+    }
+
+    /**
+     * Returns the limits learned from Discord's responses, so they can be installed on the HTTP client requests go through.
+     * @return the rate limits.
+     */
+    public DiscordRateLimits getRateLimits() {
+        return this.rateLimits;
+    }
+
+    /**
+     * Waits until every queued broadcast has been handed to the HTTP client.
+     * @param timeout how long to wait.
+     * @return true if nothing is left queued.
+     * @throws InterruptedException in case the thread is interrupted while waiting.
+     */
+    public synchronized boolean awaitDrained(final Duration timeout) throws InterruptedException {
+        final long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        while (!this.broadcasts.isEmpty() || !this.handedOff.isEmpty() || this.sending) {
+            final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return false;
+            }
+            wait(remainingMillis);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of broadcasts waiting to be sent.
+     * @return the number of queued broadcasts.
+     */
+    public synchronized int pendingBroadcasts() {
+        return this.broadcasts.size();
+    }
+
+    /**
+     * Sends every queued broadcast the limits allow, and schedules another dispatch for when the next one will be allowed.
+     * Broadcasts are handed over in queue order to whichever thread is already sending, so callers never wait on another thread's send
+     * and a concurrent dispatch can never send a later broadcast first.
+     * @return how long until the next dispatch, or zero if nothing is left queued.
+     */
+    @VisibleForTesting
+    public Duration dispatch() {
+        Duration wait = Duration.ZERO;
+        final boolean sendHere;
+        synchronized (this) {
+            final long now = this.clock.millis();
+            while (!this.recentBroadcasts.isEmpty() && this.recentBroadcasts.peekFirst() <= now - WINDOW_MILLIS) {
+                this.recentBroadcasts.removeFirst();
+            }
+
+            // Routes that are blocked stay blocked for the rest of this pass, so later messages never overtake earlier ones.
+            final Set<String> blockedRoutes = new HashSet<>();
+            final Iterator<Broadcast<?>> queued = this.broadcasts.iterator();
+            while (queued.hasNext()) {
+                final Broadcast<?> broadcast = queued.next();
+                if (blockedRoutes.contains(broadcast.route)) {
+                    continue;
+                }
+
+                if (this.recentBroadcasts.size() >= this.maxRequestsPerSecond - this.reservedForInteractions) {
+                    wait = earliest(wait, Duration.ofMillis(this.recentBroadcasts.peekFirst() + WINDOW_MILLIS - now));
+                    break;
+                }
+                final Duration routeWait = this.rateLimits.reserve(broadcast.route);
+                if (!routeWait.isZero()) {
+                    blockedRoutes.add(broadcast.route);
+                    wait = earliest(wait, routeWait);
+                    continue;
+                }
+
+                queued.remove();
+                this.recentBroadcasts.addLast(now);
+                this.handedOff.addLast(broadcast);
+            }
+
+            if (!this.broadcasts.isEmpty()) {
+                // Only schedule again if this dispatch is due sooner than the one already scheduled.
+                final long delayMillis = Math.max(1, wait.toMillis());
+                if (now + delayMillis < this.scheduledDispatchAtMillis) {
+                    this.scheduledDispatchAtMillis = now + delayMillis;
+                    this.executor.schedule(this::runScheduled, delayMillis, TimeUnit.MILLISECONDS);
+                }
+                wait = Duration.ofMillis(delayMillis);
+            }
+
+            // Only one thread sends at a time; any other leaves its broadcasts to it.
+            sendHere = !this.sending && !this.handedOff.isEmpty();
+            if (sendHere) {
+                this.sending = true;
+            } else if (!this.sending && this.broadcasts.isEmpty()) {
+                notifyAll();
+            }
+        }
+
+        if (sendHere) {
+            sendHandedOff();
+        }
+        return wait;
+    }
+
+    /**
+     * Hands the broadcasts taken off the queue to the HTTP client in order, including any handed over while sending.
+     * Sends outside the lock, so producers are not blocked; sending only queues them with the HTTP client.
+     */
+    private void sendHandedOff() {
+        while (true) {
+            final Broadcast<?> broadcast;
+            synchronized (this) {
+                broadcast = this.handedOff.pollFirst();
+                if (broadcast == null) {
+                    this.sending = false;
+                    if (this.broadcasts.isEmpty()) {
+                        notifyAll();
+                    }
+                    return;
+                }
+            }
+            broadcast.send();
+        }
+    }
+
+    /**
+     * Runs the dispatch scheduled for when the next broadcast will be allowed.
+     */
+    private void runScheduled() {
+        synchronized (this) {
+            this.scheduledDispatchAtMillis = Long.MAX_VALUE;
+        }
+        dispatch();
+    }
+
+    /**
+     * Returns the earlier of two waits, where zero means no wait has been found yet.
+     * @param current the wait found so far, or zero.
+     * @param candidate another wait.
+     * @return the earlier wait.
+     */
+    private static Duration earliest(final Duration current, final Duration candidate) {
+        return current.isZero() || candidate.compareTo(current) < 0 ? candidate : current;
+    }
+
+    /**
+     * A queued request and the future its response completes.
+     * @param <T> the type of the response.
+     */
+    private static final class Broadcast<T> {
+        final String route;
+        final Supplier<CompletableFuture<T>> send;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        /**
+         * Constructor for the Broadcast object.
+         * @param route the route of the request.
+         * @param send sends the request.
+         */
+        Broadcast(final String route, final Supplier<CompletableFuture<T>> send) {
+            this.route = route;
+            this.send = send;
+        }
+
+        /**
+         * Sends the request and passes its outcome on to the result.
+         */
+        void send() {
+            try {
+                this.send.get().whenComplete((response, error) -> {
+                    if (error != null) {
+                        this.result.completeExceptionally(error);
+                    } else {
+                        this.result.complete(response);
+                    }
+                });
+            } catch (RuntimeException e) {
+                this.result.completeExceptionally(e);
+            }
+        }
+    }
+}
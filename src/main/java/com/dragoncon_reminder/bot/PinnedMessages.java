@@ -0,0 +1,33 @@
+package com.dragoncon_reminder.bot;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Posts, pins and edits the status message kept in each channel.
+ * Requests are paced against Discord's rate limits by the implementation, so callers may start many at once.
+ */
+public interface PinnedMessages {
+    /**
+     * Returns the ID of the guild a channel belongs to, so the status can be rendered with that guild's settings.
+     * @param channelId the ID of the channel.
+     * @return the guild ID, or -1 if the channel is not visible.
+     */
+    long getGuildId(String channelId);
+
+    /**
+     * Posts a message to a channel and pins it. A message that cannot be pinned is still kept.
+     * @param channelId the ID of the channel.
+     * @param content the message content.
+     * @return the ID of the posted message, once it has been posted.
+     */
+    CompletableFuture<Long> post(String channelId, String content);
+
+    /**
+     * Replaces the content of a message.
+     * @param channelId the ID of the channel the message is in.
+     * @param messageId the ID of the message.
+     * @param content the new message content.
+     * @return true once the message has been edited, or false if it no longer exists.
+     */
+    CompletableFuture<Boolean> edit(String channelId, long messageId, String content);
+}
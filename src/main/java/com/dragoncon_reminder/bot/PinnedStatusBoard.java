@@ -0,0 +1,222 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.CountdownStatus;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.PinnedStatusFile;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.VisibleForTesting;
+
+/**
+ * Keeps one pinned countdown message in each configured channel up to date by editing it in place.
+ * Every few minutes, and shortly after the rates change, the status of each channel is rendered and its hash compared with
+ * the hash of what the message already shows; only channels whose content changed are edited. Since the content only depends on
+ * the rates and the day, that is one edit per channel when the day rolls over in the guild's time zone, plus one when the rates change.
+ * Rate changes arriving close together are coalesced into one check, and the status is rendered once per distinct guild settings,
+ * however many channels share them.
+ */
+public final class PinnedStatusBoard implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PinnedStatusBoard.class);
+
+    private final Clock clock;
+    private final RateHistory rateHistory;
+    private final GuildSettingsRegistry guildSettings;
+    private final PinnedMessages pinnedMessages;
+    private final ScheduledExecutorService executor;
+    private final List<String> channelIds;
+    private final Path stateFile;
+    private final Map<String, PinnedStatusFile.Entry> entries;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean checkPending = new AtomicBoolean();
+    private final AtomicBoolean stateChanged = new AtomicBoolean();
+
+    /**
+     * Constructor for the PinnedStatusBoard object. The messages posted before a restart are read from the state file.
+     * @param clock the clock used to determine today's date.
+     * @param rateHistory the rate history the status is rendered from.
+     * @param guildSettings the locale and time zone each channel's status is rendered in, looked up by the channel's guild.
+     * @param pinnedMessages the connection messages are posted, pinned and edited through.
+     * @param executor the executor checks are scheduled on.
+     * @param channelIds the IDs of the channels that keep a status message.
+     * @param stateFile the file the message of each channel and a hash of its content are kept in.
+     */
+    public PinnedStatusBoard(final Clock clock, final RateHistory rateHistory, final GuildSettingsRegistry guildSettings,
+            final PinnedMessages pinnedMessages, final ScheduledExecutorService executor, final List<String> channelIds, final Path stateFile) {
+        this.clock = clock;
+        this.rateHistory = rateHistory;
+        this.guildSettings = guildSettings;
+        this.pinnedMessages = pinnedMessages;
+        this.executor = executor;
+        this.channelIds = List.copyOf(channelIds);
+        this.stateFile = stateFile;
+        this.entries = new ConcurrentHashMap<>(PinnedStatusFile.read(stateFile));
+    }
+
+    /**
+     * Checks every channel now and every few minutes from then on, and shortly after every change to the rates.
+     */
+    public void start() {
+        this.rateHistory.subscribe(snapshot -> requestCheck());
+        this.executor.scheduleWithFixedDelay(this::check, 0, Constants.PINNED_STATUS_CHECK_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Schedules a check shortly from now, unless one is already scheduled, so that a burst of changes leads to a single check.
+     */
+    public void requestCheck() {
+        if (!this.checkPending.compareAndSet(false, true)) {
+            return;
+        }
+        this.executor.schedule(() -> {
+            this.checkPending.set(false);
+            check();
+        }, Constants.PINNED_STATUS_COALESCE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Renders the status of every channel and posts or edits the messages whose content changed.
+     * Channels with a request still in flight are skipped and picked up by the next check.
+     * @return the number of messages posted or edited.
+     */
+    @VisibleForTesting
+    public int check() {
+        final long startNanos = System.nanoTime();
+        saveIfChanged();
+
+        final RateSnapshot latest = this.rateHistory.getLatestSnapshot();
+        if (latest == null) {
+            // Nothing to count down to until the first rates are known.
+            return 0;
+        }
+
+        // Channels in guilds with the same settings share one rendering and one hash.
+        final Map<String, String> contents = new HashMap<>();
+        final Map<String, String> hashes = new HashMap<>();
+        int updated = 0;
+        int unchanged = 0;
+        for (final String channelId : this.channelIds) {
+            if (this.inFlight.contains(channelId)) {
+                continue;
+            }
+            final long guildId = this.pinnedMessages.getGuildId(channelId);
+            if (guildId < 0) {
+                continue;
+            }
+
+            final GuildSettings settings = this.guildSettings.forGuild(guildId);
+            final String content = contents.computeIfAbsent(settings.getCacheKey(),
+                key -> new CountdownStatus(this.clock, settings).build(latest.getRates()));
+            final String hash = hashes.computeIfAbsent(settings.getCacheKey(), key -> PinnedStatusFile.hash(content));
+
+            final PinnedStatusFile.Entry entry = this.entries.get(channelId);
+            if (entry != null && entry.getContentHash().equals(hash)) {
+                unchanged++;
+                continue;
+            }
+
+            this.inFlight.add(channelId);
+            if (entry == null) {
+                post(channelId, content, hash);
+            } else {
+                edit(channelId, entry.getMessageId(), content, hash);
+            }
+            updated++;
+        }
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.PINNED_STATUS_CHECKED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("channels", this.channelIds.size())
+            .addKeyValue("updated", updated)
+            .addKeyValue("unchanged", unchanged)
+            .addKeyValue("renderings", contents.size())
+            .log("Pinned status messages checked");
+        return updated;
+    }
+
+    /**
+     * Posts and pins a channel's first status message, saving its ID right away so that a restart never posts a second one.
+     * @param channelId the ID of the channel.
+     * @param content the status content.
+     * @param hash the hash of the content.
+     */
+    private void post(final String channelId, final String content, final String hash) {
+        this.pinnedMessages.post(channelId, content).whenComplete((messageId, error) -> {
+            if (error != null) {
+                LOGGER.warn("Unable to post the status message in Discord channel {}", channelId, error);
+            } else {
+                this.entries.put(channelId, new PinnedStatusFile.Entry(messageId, hash));
+                this.stateChanged.set(true);
+                saveIfChanged();
+            }
+            this.inFlight.remove(channelId);
+        });
+    }
+
+    /**
+     * Edits a channel's status message. A message that has been deleted is forgotten, so the next check posts a new one.
+     * Edited hashes are saved with the next check rather than after every edit, since losing one only costs a repeated edit.
+     * @param channelId the ID of the channel.
+     * @param messageId the ID of the status message.
+     * @param content the status content.
+     * @param hash the hash of the content.
+     */
+    private void edit(final String channelId, final long messageId, final String content, final String hash) {
+        this.pinnedMessages.edit(channelId, messageId, content).whenComplete((edited, error) -> {
+            if (error != null) {
+                LOGGER.warn("Unable to edit the status message in Discord channel {}", channelId, error);
+            } else if (edited) {
+                this.entries.put(channelId, new PinnedStatusFile.Entry(messageId, hash));
+                this.stateChanged.set(true);
+            } else {
+                LOGGER.info("The status message in Discord channel {} was deleted; a new one will be posted", channelId);
+                this.entries.remove(channelId);
+                this.stateChanged.set(true);
+                requestCheck();
+            }
+            this.inFlight.remove(channelId);
+        });
+    }
+
+    /**
+     * Writes the state file if any message was posted, edited or forgotten since it was last written.
+     */
+    private synchronized void saveIfChanged() {
+        if (!this.stateChanged.getAndSet(false)) {
+            return;
+        }
+        try {
+            PinnedStatusFile.write(this.stateFile, new TreeMap<>(this.entries));
+        } catch (IOException e) {
+            this.stateChanged.set(true);
+            LOGGER.error("Error saving the pinned status file", e);
+        }
+    }
+
+    /**
+     * Saves the state file, so edits made since the last check are not repeated after a restart.
+     */
+    @Override
+    public void close() {
+        saveIfChanged();
+    }
+}
@@ -0,0 +1,82 @@
+package com.dragoncon_reminder.bot;
+
+import java.time.Clock;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.DragonConRateParser;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+
+/**
+ * The single path through which the bot fetches rates from the DragonCon website.
+ * Every fetch is charged to a shared hourly budget and recorded into the rate history.
+ */
+public final class RateRefresher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateRefresher.class);
+
+    private final Clock clock;
+    private final String membershipUrl;
+    private final RateHistory rateHistory;
+    private final UpstreamRequestBudget budget;
+
+    /**
+     * Constructor for the RateRefresher object.
+     * @param clock the clock used to timestamp fetched rates.
+     * @param membershipUrl the URL of the DragonCon membership page.
+     * @param rateHistory the rate history every fetched table is recorded into.
+     * @param budget the budget every request to the website is charged to.
+     */
+    public RateRefresher(final Clock clock, final String membershipUrl, final RateHistory rateHistory, final UpstreamRequestBudget budget) {
+        this.clock = clock;
+        this.membershipUrl = membershipUrl;
+        this.rateHistory = rateHistory;
+        this.budget = budget;
+    }
+
+    /**
+     * Fetches the current rates, records them and logs how long the scrape took.
+     * @return the fetched rate table.
+     * @throws IllegalStateException in case the hourly request cap has been reached.
+     * @throws Exception in case there is an error while trying to connect to or parse the website.
+     */
+    public RateSnapshot refresh() throws Exception {
+        if (!this.budget.tryAcquire()) {
+            throw new IllegalStateException("The limit of " + this.budget.getMaxRequestsPerHour()
+                + " requests per hour to the DragonCon website has been reached");
+        }
+
+        final long startNanos = System.nanoTime();
+        final List<DragonConRate> rates = new DragonConRateParser(this.membershipUrl).fetchRatesAndDeadlines();
+        final RateSnapshot snapshot = new RateSnapshot(this.clock.instant(), rates);
+        this.rateHistory.record(snapshot);
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.SCRAPE_DONE)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("rateCount", rates.size())
+            .log("Fetched DragonCon membership rates");
+
+        return snapshot;
+    }
+
+    /**
+     * Returns the rate history fetched tables are recorded into.
+     * @return the rate history.
+     */
+    public final RateHistory getRateHistory() {
+        return this.rateHistory;
+    }
+
+    /**
+     * Returns the budget requests to the website are charged to.
+     * @return the upstream request budget.
+     */
+    public final UpstreamRequestBudget getBudget() {
+        return this.budget;
+    }
+}
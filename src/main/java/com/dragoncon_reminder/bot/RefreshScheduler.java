@@ -0,0 +1,95 @@
+package com.dragoncon_reminder.bot;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.AdaptiveRefreshPolicy;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.VisibleForTesting;
+
+/**
+ * Keeps the rate history fresh by fetching the rate table on an adaptive schedule.
+ * Each poll schedules the next one, with a delay chosen by the AdaptiveRefreshPolicy and never sooner than the upstream budget allows.
+ */
+public final class RefreshScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshScheduler.class);
+
+    private final ScheduledExecutorService executor;
+    private final RateRefresher refresher;
+    private final AdaptiveRefreshPolicy policy;
+
+    // Only touched from polls, which the executor runs one at a time.
+    private int unchangedPolls;
+    private int failedPolls;
+
+    /**
+     * Constructor for the RefreshScheduler object.
+     * @param executor the executor polls are scheduled on.
+     * @param refresher the refresher used to fetch the rate table.
+     * @param policy the policy deciding the delay between polls.
+     */
+    public RefreshScheduler(final ScheduledExecutorService executor, final RateRefresher refresher, final AdaptiveRefreshPolicy policy) {
+        this.executor = executor;
+        this.refresher = refresher;
+        this.policy = policy;
+    }
+
+    /**
+     * Schedules the first poll.
+     * @param initialDelay the delay before the first poll.
+     */
+    public void start(final Duration initialDelay) {
+        this.executor.schedule(this::run, initialDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a scheduled poll.
+     */
+    private void run() {
+        poll();
+    }
+
+    /**
+     * Fetches the rate table once, then schedules the next poll.
+     * @return the delay before the next poll.
+     */
+    @VisibleForTesting
+    public Duration poll() {
+        final RateSnapshot previous = this.refresher.getRateHistory().getLatestSnapshot();
+        try {
+            final RateSnapshot fetched = this.refresher.refresh();
+            final boolean unchanged = previous != null && previous.getRates().equals(fetched.getRates());
+            this.unchangedPolls = unchanged ? this.unchangedPolls + 1 : 0;
+            this.failedPolls = 0;
+        } catch (Exception e) {
+            this.failedPolls++;
+            LOGGER.warn("Scheduled refresh of DragonCon rates failed ({} in a row)", this.failedPolls, e);
+        }
+
+        final RateSnapshot latest = this.refresher.getRateHistory().getLatestSnapshot();
+        final List<DragonConRate> rates = latest != null ? latest.getRates() : List.of();
+        Duration delay = this.policy.nextDelay(rates, this.unchangedPolls, this.failedPolls);
+        final Duration budgetWait = this.refresher.getBudget().timeUntilAvailable();
+        if (budgetWait.compareTo(delay) > 0) {
+            delay = budgetWait;
+        }
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.REFRESH_SCHEDULED)
+            .addKeyValue("delayMinutes", delay.toMinutes())
+            .addKeyValue("unchangedPolls", this.unchangedPolls)
+            .addKeyValue("failedPolls", this.failedPolls)
+            .log("Next refresh of DragonCon rates scheduled");
+
+        if (!this.executor.isShutdown()) {
+            this.executor.schedule(this::run, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return delay;
+    }
+}
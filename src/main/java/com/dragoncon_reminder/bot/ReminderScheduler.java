@@ -0,0 +1,142 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.Reminder;
+import com.dragoncon_reminder.util.SentReminderFile;
+import com.dragoncon_reminder.util.VisibleForTesting;
+
+/**
+ * Evaluates the reminder once a day, at the reminder hour in the bot's time zone, and sends it if one is due.
+ * Reminders only match exact days before a deadline, so each one is sent on its day; the rates come from the rate history,
+ * which the RefreshScheduler keeps fresh. The last reminder sent is recorded, so a restart on the same day never posts it twice.
+ */
+public final class ReminderScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+    private final RateHistory rateHistory;
+    private final GuildSettingsRegistry guildSettings;
+    private final MessageSender messageSender;
+    private final Path sentReminderFile;
+
+    /**
+     * Constructor for the ReminderScheduler object.
+     * @param clock the clock used to determine today's date and when the next check is due.
+     * @param executor the executor checks are scheduled on.
+     * @param rateHistory the rate history reminders are built from.
+     * @param guildSettings the locale and time zone the reminder is rendered in.
+     * @param messageSender the connection the reminder is sent through.
+     * @param sentReminderFile the file remembering the last reminder sent.
+     */
+    public ReminderScheduler(final Clock clock, final ScheduledExecutorService executor, final RateHistory rateHistory,
+            final GuildSettingsRegistry guildSettings, final MessageSender messageSender, final Path sentReminderFile) {
+        this.clock = clock;
+        this.executor = executor;
+        this.rateHistory = rateHistory;
+        this.guildSettings = guildSettings;
+        this.messageSender = messageSender;
+        this.sentReminderFile = sentReminderFile;
+    }
+
+    /**
+     * Schedules the first check: right away if today's reminder hour has already passed, so a restart catches up on a reminder
+     * it has not sent yet, or at the reminder hour otherwise.
+     * @return the delay before the first check.
+     */
+    public Duration start() {
+        final ZonedDateTime now = ZonedDateTime.now(this.clock.withZone(Constants.ZONE));
+        final Duration delay = now.getHour() >= Constants.REMINDER_HOUR ? Duration.ZERO : delayUntilNextCheck(this.clock);
+        this.executor.schedule(this::run, delay.toMillis(), TimeUnit.MILLISECONDS);
+        return delay;
+    }
+
+    /**
+     * Runs a scheduled check.
+     */
+    private void run() {
+        check();
+    }
+
+    /**
+     * Sends today's reminder if one is due and has not been sent yet, then schedules the next check.
+     * @return the delay before the next check.
+     */
+    @VisibleForTesting
+    public Duration check() {
+        try {
+            final RateSnapshot latest = this.rateHistory.getLatestSnapshot();
+            if (latest == null) {
+                LOGGER.warn("No DragonCon rates are known yet, skipping today's reminder check");
+            } else {
+                sendIfDue(latest);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error during scheduled reminder check", e);
+        }
+
+        final Duration delay = delayUntilNextCheck(this.clock);
+        if (!this.executor.isShutdown()) {
+            this.executor.schedule(this::run, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return delay;
+    }
+
+    /**
+     * Builds today's reminder from a rate table and sends it, unless none is due or it was already sent today.
+     * @param latest the rate table.
+     * @throws IOException in case the reminder cannot be recorded as sent.
+     */
+    private void sendIfDue(final RateSnapshot latest) throws IOException {
+        final long evaluateStartNanos = System.nanoTime();
+        final GuildSettings settings = this.guildSettings.forGuild(this.messageSender.getChannelGuildId());
+        final LocalDate today = LocalDate.now(this.clock.withZone(settings.getZone()));
+        final String reminder = new Reminder(this.clock, settings).build(latest.getRates());
+        final boolean due = !reminder.isEmpty() && !SentReminderFile.alreadySent(this.sentReminderFile, today, reminder);
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.REMINDER_EVALUATED)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(evaluateStartNanos))
+            .addKeyValue("reminderDue", due)
+            .log(reminder.isEmpty() ? "No reminders to send (no deadlines match threshold)."
+                : due ? "Reminder due" : "Reminder already sent today");
+
+        if (due) {
+            // Queue the message for the channel and send everything due this tick together.
+            this.messageSender.enqueueMessage(reminder);
+            this.messageSender.flushMessages();
+            SentReminderFile.write(this.sentReminderFile, today, reminder);
+        }
+    }
+
+    /**
+     * Returns the time until the next reminder hour in the bot's time zone, strictly after now.
+     * Computed on local dates, so the check stays at the same hour across daylight saving changes.
+     * @param clock the clock used to determine the current time.
+     * @return the delay before the next check.
+     */
+    @VisibleForTesting
+    public static Duration delayUntilNextCheck(final Clock clock) {
+        final ZonedDateTime now = ZonedDateTime.now(clock.withZone(Constants.ZONE));
+        ZonedDateTime next = now.toLocalDate().atTime(Constants.REMINDER_HOUR, 0).atZone(Constants.ZONE);
+        if (!next.isAfter(now)) {
+            next = now.toLocalDate().plusDays(1).atTime(Constants.REMINDER_HOUR, 0).atZone(Constants.ZONE);
+        }
+        return Duration.between(now, next);
+    }
+}
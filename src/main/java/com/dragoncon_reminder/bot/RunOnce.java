@@ -0,0 +1,120 @@
+package com.dragoncon_reminder.bot;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.Reminder;
+import com.dragoncon_reminder.util.SentReminderFile;
+
+/**
+ * Checks the rates and sends today's reminder once, for deployments that start the bot on a schedule (e.g. a Kubernetes CronJob)
+ * instead of keeping it running. Reminders only match exact days before a deadline, so a daily run sends each one on its day.
+ * A reminder is recorded as sent only once delivery has been confirmed, and is skipped if a retried run finds it already sent.
+ */
+public final class RunOnce {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunOnce.class);
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+
+    private final Clock clock;
+    private final RateRefresher refresher;
+    private final GuildSettingsRegistry guildSettings;
+    private final MessageSender messageSender;
+    private final Path sentReminderFile;
+
+    /**
+     * Constructor for the RunOnce object.
+     * @param clock the clock used to determine today's date.
+     * @param refresher the refresher used to fetch the rates, along with the rate history loaded from the previous runs.
+     * @param guildSettings the locale and time zone the reminder is rendered in.
+     * @param messageSender the connection the reminder is sent through.
+     * @param sentReminderFile the file remembering the last reminder sent.
+     */
+    public RunOnce(final Clock clock, final RateRefresher refresher, final GuildSettingsRegistry guildSettings,
+            final MessageSender messageSender, final Path sentReminderFile) {
+        this.clock = clock;
+        this.refresher = refresher;
+        this.guildSettings = guildSettings;
+        this.messageSender = messageSender;
+        this.sentReminderFile = sentReminderFile;
+    }
+
+    /**
+     * Fetches the rates, evaluates today's reminder, sends it if one is due and disconnects once it has been delivered.
+     * @param timeout how long to wait for the reminder to be delivered.
+     * @return EXIT_OK if the run succeeded, whether or not a reminder was due, or EXIT_FAILED otherwise.
+     */
+    public int run(final Duration timeout) {
+        final long startNanos = System.nanoTime();
+        String outcome;
+        int exitCode = EXIT_FAILED;
+        try {
+            final List<DragonConRate> rates = fetchRates();
+            final GuildSettings settings = this.guildSettings.forGuild(this.messageSender.getChannelGuildId());
+            final LocalDate today = LocalDate.now(this.clock.withZone(settings.getZone()));
+            final String reminder = new Reminder(this.clock, settings).build(rates);
+
+            final boolean due = !reminder.isEmpty() && !SentReminderFile.alreadySent(this.sentReminderFile, today, reminder);
+            if (due) {
+                this.messageSender.enqueueMessage(reminder);
+                this.messageSender.flushMessages();
+            }
+
+            // Disconnecting waits until Discord has accepted every chunk of the reminder, and reports any that failed.
+            final boolean delivered = this.messageSender.shutdown(timeout);
+            if (!due) {
+                outcome = reminder.isEmpty() ? "not_due" : "already_sent";
+                exitCode = EXIT_OK;
+            } else if (delivered) {
+                SentReminderFile.write(this.sentReminderFile, today, reminder);
+                outcome = "sent";
+                exitCode = EXIT_OK;
+            } else {
+                outcome = "send_failed";
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        } catch (Exception e) {
+            LOGGER.error("Run-once reminder check failed", e);
+            outcome = "error";
+        }
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.RUN_ONCE)
+            .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+            .addKeyValue("outcome", outcome)
+            .addKeyValue("exitCode", exitCode)
+            .log("Run-once reminder check finished");
+        return exitCode;
+    }
+
+    /**
+     * Fetches the current rates, falling back to the rates saved by a previous run if the website cannot be reached.
+     * @return the rates to build the reminder from.
+     * @throws Exception in case the website cannot be reached and no previous run saved any rates.
+     */
+    private List<DragonConRate> fetchRates() throws Exception {
+        try {
+            return this.refresher.refresh().getRates();
+        } catch (Exception e) {
+            final RateSnapshot latest = this.refresher.getRateHistory().getLatestSnapshot();
+            if (latest == null) {
+                throw e;
+            }
+            LOGGER.warn("Unable to refresh rates, building reminders from rates observed at {}", latest.getObservedAt(), e);
+            return latest.getRates();
+        }
+    }
+}
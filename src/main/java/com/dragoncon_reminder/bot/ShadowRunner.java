@@ -0,0 +1,90 @@
+package com.dragoncon_reminder.bot;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.OutboxRun;
+import com.dragoncon_reminder.util.Reminder;
+
+/**
+ * Runs the reminder pipeline against live data without sending anything to Discord.
+ * The rates are fetched, the reminder evaluated and its messages rendered exactly as a scheduled run would,
+ * but the messages are returned as an OutboxRun, together with how long each stage took.
+ */
+public final class ShadowRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShadowRunner.class);
+
+    public static final String FETCH_STAGE = "fetch";
+    public static final String EVALUATE_STAGE = "evaluate";
+    public static final String RENDER_STAGE = "render";
+
+    private final Clock clock;
+    private final RateRefresher refresher;
+    private final GuildSettings settings;
+    private final String channelId;
+
+    /**
+     * Constructor for the ShadowRunner object.
+     * @param clock the clock used to determine today's date.
+     * @param refresher the refresher used to fetch the rate table.
+     * @param settings the locale and time zone the reminder is rendered in.
+     * @param channelId the ID of the channel the reminder would have been sent to.
+     */
+    public ShadowRunner(final Clock clock, final RateRefresher refresher, final GuildSettings settings, final String channelId) {
+        this.clock = clock;
+        this.refresher = refresher;
+        this.settings = settings;
+        this.channelId = channelId;
+    }
+
+    /**
+     * Runs the pipeline once.
+     * @return the messages that would have been sent and the time taken by each stage.
+     * @throws Exception in case the rates cannot be fetched.
+     */
+    public OutboxRun run() throws Exception {
+        final Instant startedAt = this.clock.instant();
+        final Map<String, Double> stageMillis = new LinkedHashMap<>();
+
+        long stageStart = System.nanoTime();
+        final List<DragonConRate> rates = this.refresher.refresh().getRates();
+        stageMillis.put(FETCH_STAGE, LogEvents.millisSince(stageStart));
+
+        stageStart = System.nanoTime();
+        final String reminder = new Reminder(this.clock, this.settings).build(rates);
+        stageMillis.put(EVALUATE_STAGE, LogEvents.millisSince(stageStart));
+
+        // Render through the same queue a scheduled run sends from, so chunking and coalescing match.
+        stageStart = System.nanoTime();
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(this.channelId, reminder);
+        final List<OutboxRun.Message> messages = new ArrayList<>();
+        for (final Map.Entry<String, List<String>> channel : queue.drain().entrySet()) {
+            for (final String chunk : channel.getValue()) {
+                messages.add(new OutboxRun.Message(channel.getKey(), chunk));
+            }
+        }
+        stageMillis.put(RENDER_STAGE, LogEvents.millisSince(stageStart));
+
+        LOGGER.atInfo()
+            .addKeyValue(LogEvents.EVENT_KEY, LogEvents.SHADOW_RUN)
+            .addKeyValue("fetchMs", stageMillis.get(FETCH_STAGE))
+            .addKeyValue("evaluateMs", stageMillis.get(EVALUATE_STAGE))
+            .addKeyValue("renderMs", stageMillis.get(RENDER_STAGE))
+            .addKeyValue("rateCount", rates.size())
+            .addKeyValue("messages", messages.size())
+            .log("Shadow run completed; nothing was sent to Discord");
+
+        return new OutboxRun(startedAt, LocalDate.now(this.clock.withZone(this.settings.getZone())), stageMillis, messages);
+    }
+}
@@ -0,0 +1,232 @@
+package com.dragoncon_reminder.bot;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dragoncon_reminder.util.PipelineEvents;
+import com.dragoncon_reminder.util.VisibleForTesting;
+
+/**
+ * Sends reminders through a Discord webhook URL over plain HTTPS, for deployments that only post reminders.
+ * Unlike DiscordConnector it needs no bot token, gateway session, intents or caches: nothing is held open between reminders.
+ * Messages are sent one after another on the calling thread, waiting out the webhook's rate limit whenever Discord reports it exhausted.
+ */
+public final class WebhookSender implements MessageSender {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebhookSender.class);
+
+    // The webhook's messages all go to one channel, so they are queued under one key.
+    private static final String CHANNEL_KEY = "webhook";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final Pattern GUILD_ID = Pattern.compile("\"guild_id\"\\s*:\\s*\"(\\d+)\"");
+
+    private final HttpClient httpClient;
+    private final String webhookUrl;
+    private final OutboundMessageQueue outboundMessageQueue = new OutboundMessageQueue();
+    private volatile long guildId;
+    private final AtomicInteger failedFlushes = new AtomicInteger();
+
+    /**
+     * Constructor for the WebhookSender object.
+     * @param httpClient the HTTP client requests are sent with.
+     * @param webhookUrl the webhook URL, e.g. https://discord.com/api/webhooks/{id}/{token}.
+     */
+    public WebhookSender(final HttpClient httpClient, final String webhookUrl) {
+        this.httpClient = httpClient;
+        this.webhookUrl = webhookUrl;
+    }
+
+    /**
+     * Queues a message for the webhook's channel without sending it.
+     * @param message the message to be queued.
+     */
+    @Override
+    public void enqueueMessage(final String message) {
+        this.outboundMessageQueue.enqueue(CHANNEL_KEY, message);
+    }
+
+    /**
+     * Sends every queued message, coalesced and split into Discord-sized chunks, and waits until each one has been posted.
+     * A chunk that cannot be posted is logged and the rest of the chunks are dropped, so that they are never posted out of order.
+     * @return the number of REST calls that were made.
+     */
+    @Override
+    public int flushMessages() {
+        int restCalls = 0;
+        for (final List<String> chunks : this.outboundMessageQueue.drain().values()) {
+            final long startNanos = System.nanoTime();
+            final PipelineEvents.MessageSend event = new PipelineEvents.MessageSend();
+            event.begin();
+            int channelCalls = 0;
+            try {
+                for (final String chunk : chunks) {
+                    channelCalls += post(chunk);
+                    event.bytes += chunk.getBytes(StandardCharsets.UTF_8).length;
+                }
+            } catch (IOException e) {
+                this.failedFlushes.incrementAndGet();
+                event.failed = true;
+                LOGGER.error("Error posting a reminder through the Discord webhook", e);
+            } catch (InterruptedException e) {
+                this.failedFlushes.incrementAndGet();
+                event.failed = true;
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted while posting a reminder through the Discord webhook", e);
+            }
+            restCalls += channelCalls;
+
+            event.channel = CHANNEL_KEY;
+            event.restCalls = channelCalls;
+            event.commit();
+
+            LOGGER.atInfo()
+                .addKeyValue(LogEvents.EVENT_KEY, LogEvents.MESSAGE_SENT)
+                .addKeyValue(LogEvents.DURATION_KEY, LogEvents.millisSince(startNanos))
+                .addKeyValue("channelId", CHANNEL_KEY)
+                .addKeyValue("restCalls", channelCalls)
+                .log("Coalesced messages posted through the Discord webhook");
+        }
+        return restCalls;
+    }
+
+    /**
+     * Returns the ID of the guild the webhook posts to, looked up from the webhook itself on first use.
+     * @return the guild ID, or -1 if the webhook cannot be read.
+     */
+    @Override
+    public long getChannelGuildId() {
+        if (this.guildId != 0) {
+            return this.guildId;
+        }
+        try {
+            final HttpResponse<String> response = this.httpClient.send(
+                HttpRequest.newBuilder(URI.create(this.webhookUrl)).timeout(REQUEST_TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            final Matcher matcher = GUILD_ID.matcher(response.body());
+            if (response.statusCode() == 200 && matcher.find()) {
+                this.guildId = Long.parseLong(matcher.group(1));
+                return this.guildId;
+            }
+            LOGGER.warn("Discord webhook lookup returned HTTP {}", response.statusCode());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to look up the guild of the Discord webhook", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return -1;
+    }
+
+    /**
+     * Nothing is left to send on shutdown, since flushing waits until every message has been posted.
+     * @param timeout unused.
+     * @return true unless a flush failed to post its messages.
+     */
+    @Override
+    public boolean shutdown(final Duration timeout) {
+        return this.failedFlushes.get() == 0;
+    }
+
+    /**
+     * Posts one message, retrying after the wait Discord asks for when rate limited.
+     * @param content the message content.
+     * @return the number of requests made.
+     * @throws IOException in case the message cannot be posted.
+     * @throws InterruptedException in case the thread is interrupted while waiting.
+     */
+    private int post(final String content) throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(this.webhookUrl + (this.webhookUrl.contains("?") ? "&" : "?") + "wait=true"))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(toJson(content)))
+            .build();
+
+        for (int attempt = 1; ; attempt++) {
+            final HttpResponse<String> response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                // Wait out an exhausted bucket now, so that the next chunk is not answered with a 429.
+                if ("0".equals(header(response, "X-RateLimit-Remaining"))) {
+                    Thread.sleep(secondsToMillis(header(response, "X-RateLimit-Reset-After")));
+                }
+                return attempt;
+            }
+            if (response.statusCode() != 429 || attempt == MAX_ATTEMPTS) {
+                throw new IOException("Discord webhook returned HTTP " + response.statusCode() + ": " + response.body());
+            }
+
+            final long retryAfterMillis = secondsToMillis(header(response, "Retry-After"));
+            LOGGER.atWarn()
+                .addKeyValue(LogEvents.EVENT_KEY, LogEvents.RATE_LIMITED)
+                .addKeyValue("route", "POST /webhooks")
+                .addKeyValue("retryAfterMs", retryAfterMillis)
+                .log("Discord rate limit hit");
+            Thread.sleep(retryAfterMillis);
+        }
+    }
+
+    /**
+     * Returns the JSON body of a message that mentions nobody, so reminders never ping.
+     * @param content the message content.
+     * @return the JSON body.
+     */
+    @VisibleForTesting
+    public static String toJson(final String content) {
+        final StringBuffer json = new StringBuffer("{\"content\":\"");
+        for (int i = 0; i < content.length(); i++) {
+            final char c = content.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append("\",\"allowed_mentions\":{\"parse\":[]}}").toString();
+    }
+
+    /**
+     * Returns a response header.
+     * @param response the response.
+     * @param name the name of the header.
+     * @return the header value, or null if it is absent.
+     */
+    private static String header(final HttpResponse<?> response, final String name) {
+        final Optional<String> value = response.headers().firstValue(name);
+        return value.orElse(null);
+    }
+
+    /**
+     * Parses a header holding a number of seconds, possibly fractional.
+     * @param value the header value, or null.
+     * @return the number of milliseconds, rounded up, or one second if the header is absent or malformed.
+     */
+    private static long secondsToMillis(final String value) {
+        if (value == null) {
+            return 1000;
+        }
+        try {
+            return (long) Math.ceil(Double.parseDouble(value) * 1000);
+        } catch (NumberFormatException e) {
+            return 1000;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.dragoncon_reminder.simulation;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.dragoncon_reminder.util.OutboxFile;
+import com.dragoncon_reminder.util.OutboxRun;
+
+/**
+ * Compares two shadow runs: which messages would be sent differently, and how the time taken by each stage changed.
+ * Messages are compared per channel and position, so a change to one reminder does not show up as a change to every later one.
+ */
+public final class OutboxDiff {
+    private final OutboxRun before;
+    private final OutboxRun after;
+    private final List<String> messageChanges;
+
+    /**
+     * Constructor for the OutboxDiff object.
+     * @param before the baseline run.
+     * @param after the run to compare against the baseline.
+     */
+    public OutboxDiff(final OutboxRun before, final OutboxRun after) {
+        this.before = before;
+        this.after = after;
+        this.messageChanges = compareMessages(byChannel(before), byChannel(after));
+    }
+
+    /**
+     * Returns true if the runs would not have sent exactly the same messages.
+     * @return true if any message was added, removed or changed.
+     */
+    public final boolean hasMessageChanges() {
+        return !this.messageChanges.isEmpty();
+    }
+
+    /**
+     * Returns the message changes, one entry per added, removed or changed message.
+     * Each entry starts with "+", "-" or "~", followed by the channel and the position of the message in it.
+     * @return the message changes.
+     */
+    public final List<String> getMessageChanges() {
+        return this.messageChanges;
+    }
+
+    /**
+     * Renders the message changes and the stage timings side by side.
+     * @return the report.
+     */
+    public final String report() {
+        final StringBuffer report = new StringBuffer();
+        report.append("Before: ").append(this.before.getStartedAt()).append(" (day ").append(this.before.getDay()).append("), ")
+            .append(this.before.getMessages().size()).append(" message(s)\n");
+        report.append("After:  ").append(this.after.getStartedAt()).append(" (day ").append(this.after.getDay()).append("), ")
+            .append(this.after.getMessages().size()).append(" message(s)\n\n");
+
+        if (this.messageChanges.isEmpty()) {
+            report.append("Messages: identical\n");
+        } else {
+            report.append("Messages: ").append(this.messageChanges.size()).append(" change(s)\n");
+            for (final String change : this.messageChanges) {
+                report.append(change).append("\n");
+            }
+        }
+
+        report.append("\nStage timings (ms):\n");
+        final Set<String> stages = new LinkedHashSet<>(this.before.getStageMillis().keySet());
+        stages.addAll(this.after.getStageMillis().keySet());
+        for (final String stage : stages) {
+            final Double beforeMillis = this.before.getStageMillis().get(stage);
+            final Double afterMillis = this.after.getStageMillis().get(stage);
+            report.append(String.format(Locale.ROOT, "  %-10s %12s -> %12s", stage, millis(beforeMillis), millis(afterMillis)));
+            if (beforeMillis != null && afterMillis != null && beforeMillis > 0) {
+                report.append(String.format(Locale.ROOT, "  (%+.1f%%)", (afterMillis - beforeMillis) * 100.0 / beforeMillis));
+            }
+            report.append("\n");
+        }
+        return report.toString();
+    }
+
+    /**
+     * Compares two outbox files from the command line. Exits with status 1 if the messages differ, so it can gate a rollout.
+     * Usage: OutboxDiff &lt;before-outbox&gt; &lt;after-outbox&gt;
+     * @param args the baseline outbox file and the outbox file to compare against it.
+     * @throws Exception in case either file cannot be read.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: OutboxDiff <before-outbox> <after-outbox>");
+            System.exit(2);
+        }
+
+        final OutboxDiff diff = new OutboxDiff(OutboxFile.read(Path.of(args[0])), OutboxFile.read(Path.of(args[1])));
+        System.out.print(diff.report());
+        if (diff.hasMessageChanges()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Groups the messages of a run by channel, keeping their send order.
+     * @param run the run.
+     * @return the message contents of each channel.
+     */
+    private static Map<String, List<String>> byChannel(final OutboxRun run) {
+        final Map<String, List<String>> channels = new LinkedHashMap<>();
+        for (final OutboxRun.Message message : run.getMessages()) {
+            channels.computeIfAbsent(message.getChannelId(), key -> new ArrayList<>()).add(message.getContent());
+        }
+        return channels;
+    }
+
+    /**
+     * Compares the messages of every channel position by position.
+     * @param before the baseline messages by channel.
+     * @param after the compared messages by channel.
+     * @return one entry per added, removed or changed message.
+     */
+    private static List<String> compareMessages(final Map<String, List<String>> before, final Map<String, List<String>> after) {
+        final Set<String> channels = new LinkedHashSet<>(before.keySet());
+        channels.addAll(after.keySet());
+
+        final List<String> changes = new ArrayList<>();
+        for (final String channel : channels) {
+            final List<String> beforeMessages = before.getOrDefault(channel, List.of());
+            final List<String> afterMessages = after.getOrDefault(channel, List.of());
+            for (int i = 0; i < Math.max(beforeMessages.size(), afterMessages.size()); i++) {
+                final String location = " channel " + channel + " message " + (i + 1);
+                if (i >= afterMessages.size()) {
+                    changes.add("-" + location + "\n" + indent("- ", beforeMessages.get(i)));
+                } else if (i >= beforeMessages.size()) {
+                    changes.add("+" + location + "\n" + indent("+ ", afterMessages.get(i)));
+                } else if (!beforeMessages.get(i).equals(afterMessages.get(i))) {
+                    changes.add("~" + location + "\n" + indent("- ", beforeMessages.get(i)) + "\n" + indent("+ ", afterMessages.get(i)));
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Prefixes every line of a message.
+     * @param prefix the prefix.
+     * @param content the message content.
+     * @return the prefixed lines.
+     */
+    private static String indent(final String prefix, final String content) {
+        return prefix + content.replace("\n", "\n" + prefix);
+    }
+
+    /**
+     * Formats a stage duration.
+     * @param millis the duration in milliseconds, or null if the stage did not run.
+     * @return the formatted duration.
+     */
+    private static String millis(final Double millis) {
+        return millis == null ? "n/a" : String.format(Locale.ROOT, "%.3f", millis);
+    }
+}
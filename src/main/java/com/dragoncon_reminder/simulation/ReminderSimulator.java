@@ -0,0 +1,207 @@
+package com.dragoncon_reminder.simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.jsoup.Jsoup;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.DragonConRateParser;
+import com.dragoncon_reminder.util.Reminder;
+
+/**
+ * Replays a recorded history of membership page snapshots over simulated days, without waiting or mocking.
+ * Each simulated day is evaluated against the most recent snapshot captured on or before that day.
+ */
+public final class ReminderSimulator {
+    private final NavigableMap<LocalDate, List<DragonConRate>> history;
+
+    /**
+     * Constructor for the ReminderSimulator object.
+     * @param history the parsed rate tables keyed by the date each snapshot was captured.
+     */
+    public ReminderSimulator(final NavigableMap<LocalDate, List<DragonConRate>> history) {
+        this.history = history;
+    }
+
+    /**
+     * Evaluates the reminder engine once per day between two dates, inclusive.
+     * Days before the first snapshot are skipped since the bot would have had no rates to evaluate.
+     * @param startDate the first simulated day.
+     * @param endDate the last simulated day.
+     * @return one evaluation per simulated day that had a snapshot available.
+     */
+    public final List<Evaluation> run(final LocalDate startDate, final LocalDate endDate) {
+        final List<Evaluation> evaluations = new ArrayList<>();
+
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            final Map.Entry<LocalDate, List<DragonConRate>> snapshot = this.history.floorEntry(day);
+            if (snapshot == null) {
+                continue;
+            }
+
+            // Pin the reminder engine to the start of the simulated day.
+            final Clock clock = Clock.fixed(day.atStartOfDay(Constants.ZONE).toInstant(), Constants.ZONE);
+            final long startNanos = System.nanoTime();
+            final String reminder = new Reminder(clock).build(snapshot.getValue());
+            final long elapsedNanos = System.nanoTime() - startNanos;
+
+            evaluations.add(new Evaluation(day, snapshot.getKey(), reminder, elapsedNanos));
+        }
+
+        return evaluations;
+    }
+
+    /**
+     * Loads every snapshot in a directory. Snapshot file names must start with their capture date (e.g. 2026-03-01.html).
+     * @param snapshotDirectory the directory containing the recorded membership pages.
+     * @return the parsed rate tables keyed by capture date.
+     * @throws Exception in case a snapshot cannot be read or parsed.
+     */
+    public static NavigableMap<LocalDate, List<DragonConRate>> loadHistory(final File snapshotDirectory) throws Exception {
+        final File[] files = snapshotDirectory.listFiles((dir, name) -> name.endsWith(".html"));
+        if (files == null) {
+            throw new IOException("Unable to read snapshot directory: " + snapshotDirectory);
+        }
+        Arrays.sort(files);
+
+        final NavigableMap<LocalDate, List<DragonConRate>> history = new TreeMap<>();
+        for (final File file : files) {
+            final LocalDate capturedOn;
+            try {
+                capturedOn = LocalDate.parse(file.getName().substring(0, 10));
+            } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Snapshot file name must start with a yyyy-MM-dd date: " + file.getName(), e);
+            }
+
+            // Each snapshot is parsed exactly once up front so the simulated days only measure the reminder engine.
+            final DragonConRateParser parser = new DragonConRateParser(Jsoup.parse(file, "UTF-8"));
+            history.put(capturedOn, parser.fetchRatesAndDeadlines());
+        }
+
+        return history;
+    }
+
+    /**
+     * Runs the simulation from the command line and prints one CSV row per simulated day followed by a summary.
+     * Usage: ReminderSimulator &lt;snapshot-directory&gt; &lt;start-date&gt; &lt;end-date&gt;
+     * @param args the snapshot directory, the first simulated day and the last simulated day.
+     * @throws Exception in case the snapshots cannot be loaded.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: ReminderSimulator <snapshot-directory> <start-date> <end-date>");
+            System.exit(2);
+        }
+
+        final ReminderSimulator simulator = new ReminderSimulator(loadHistory(new File(args[0])));
+        final LocalDate startDate = LocalDate.parse(args[1]);
+        final LocalDate endDate = LocalDate.parse(args[2]);
+
+        final long startNanos = System.nanoTime();
+        final List<Evaluation> evaluations = simulator.run(startDate, endDate);
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        final PrintStream out = System.out;
+        out.println("day,snapshot,evaluation_nanos,reminder");
+        int remindersSent = 0;
+        for (final Evaluation evaluation : evaluations) {
+            out.println(evaluation.toCsvRow());
+            if (evaluation.wouldSend()) {
+                remindersSent++;
+            }
+        }
+
+        final double seconds = elapsedNanos / 1_000_000_000.0;
+        System.err.printf("Simulated %d day(s) in %.3f ms (%.0f days/s), %d reminder(s) would have been sent.%n",
+            evaluations.size(),
+            elapsedNanos / 1_000_000.0,
+            seconds > 0 ? evaluations.size() / seconds : 0.0,
+            remindersSent
+        );
+    }
+
+    /**
+     * The outcome of evaluating the reminder engine on a single simulated day.
+     */
+    public static final class Evaluation {
+        final LocalDate day;
+        final LocalDate snapshotDate;
+        final String reminder;
+        final long elapsedNanos;
+
+        /**
+         * Constructor for the Evaluation object.
+         * @param day the simulated day.
+         * @param snapshotDate the capture date of the snapshot that was evaluated.
+         * @param reminder the reminder that would have been sent, or an empty String if none.
+         * @param elapsedNanos how long the evaluation took in nanoseconds.
+         */
+        public Evaluation(final LocalDate day, final LocalDate snapshotDate, final String reminder, final long elapsedNanos) {
+            this.day = day;
+            this.snapshotDate = snapshotDate;
+            this.reminder = reminder;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the simulated day.
+         * @return the simulated day.
+         */
+        public final LocalDate getDay() {
+            return this.day;
+        }
+
+        /**
+         * Returns the capture date of the snapshot that was evaluated.
+         * @return the capture date of the snapshot that was evaluated.
+         */
+        public final LocalDate getSnapshotDate() {
+            return this.snapshotDate;
+        }
+
+        /**
+         * Returns the reminder that would have been sent, or an empty String if none.
+         * @return the reminder that would have been sent.
+         */
+        public final String getReminder() {
+            return this.reminder;
+        }
+
+        /**
+         * Returns how long the evaluation took in nanoseconds.
+         * @return how long the evaluation took in nanoseconds.
+         */
+        public final long getElapsedNanos() {
+            return this.elapsedNanos;
+        }
+
+        /**
+         * Returns true if a reminder would have been sent on this day.
+         * @return true if a reminder would have been sent on this day.
+         */
+        public final boolean wouldSend() {
+            return !this.reminder.isEmpty();
+        }
+
+        /**
+         * Formats the evaluation as a CSV row.
+         * @return the evaluation as a CSV row.
+         */
+        final String toCsvRow() {
+            return this.day + "," + this.snapshotDate + "," + this.elapsedNanos + ",\""
+                + this.reminder.replace("\"", "\"\"").replace("\n", " | ") + "\"";
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.dragoncon_reminder.stress;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import com.dragoncon_reminder.bot.CommandListener;
+import com.dragoncon_reminder.bot.RateRefresher;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+
+/**
+ * The scheduler records a re-priced rate table while a command handler answers /list-all-deadlines, which renders the reply once
+ * and caches it. The handler may answer from either table, but once both are done the next reply must show the new price:
+ * a reply rendered from the old table must never be cached where later commands find it.
+ */
+@JCStressTest
+@Outcome(id = { "0, 1", "1, 1" }, expect = ACCEPTABLE, desc = "The reply raced the refresh, and the next reply shows the new price.")
+@Outcome(expect = FORBIDDEN, desc = "A reply rendered from the old table outlived the refresh.")
+@State
+public class CommandReplyCacheStress {
+    private final RateHistory history = new RateHistory();
+    private final CommandListener commandListener;
+
+    /**
+     * Constructor for the CommandReplyCacheStress object, with the old rate table already recorded and its reply cached.
+     */
+    public CommandReplyCacheStress() {
+        this.history.record(StressFixtures.OLD_SNAPSHOT);
+        this.commandListener = new CommandListener(StressFixtures.CLOCK, new CommandListener.Options()
+            .refresher(new RateRefresher(StressFixtures.CLOCK, StressFixtures.UNREACHABLE_URL, this.history,
+                new UpstreamRequestBudget(StressFixtures.CLOCK, Constants.DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR))));
+        this.commandListener.answer(Constants.LIST_ALL_DEADLINES_COMMAND, null, -1, -1);
+    }
+
+    /**
+     * The scheduled refresh recording the re-priced table.
+     */
+    @Actor
+    public void scheduler() {
+        this.history.record(StressFixtures.NEW_SNAPSHOT);
+    }
+
+    /**
+     * A command handler answering while the refresh runs.
+     * @param result 1 in r1 if the reply showed the new price.
+     */
+    @Actor
+    public void command(final II_Result result) {
+        result.r1 = showsNewPrice() ? 1 : 0;
+    }
+
+    /**
+     * The next command, after both are done.
+     * @param result 1 in r2 if the reply showed the new price.
+     */
+    @Arbiter
+    public void nextCommand(final II_Result result) {
+        result.r2 = showsNewPrice() ? 1 : 0;
+    }
+
+    /**
+     * Answers /list-all-deadlines.
+     * @return true if the reply shows the new price.
+     */
+    private boolean showsNewPrice() {
+        return this.commandListener.answer(Constants.LIST_ALL_DEADLINES_COMMAND, null, -1, -1).getContent()
+            .contains(StressFixtures.NEW_RATE.getPrice());
+    }
+}
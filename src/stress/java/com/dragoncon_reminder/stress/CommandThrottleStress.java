@@ -0,0 +1,45 @@
+package com.dragoncon_reminder.stress;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import com.dragoncon_reminder.util.CommandThrottle;
+
+/**
+ * Two users of the same guild run a command at once on different JDA event threads, with one command left in the guild's bucket.
+ * Exactly one of them may run it, however the compare-and-set loops on the two users' buckets and the guild's bucket interleave.
+ */
+@JCStressTest
+@Outcome(id = { "true, false", "false, true" }, expect = ACCEPTABLE, desc = "Exactly one command was allowed.")
+@Outcome(id = "true, true", expect = FORBIDDEN, desc = "The guild's bucket was overdrawn.")
+@Outcome(expect = FORBIDDEN, desc = "Both commands were refused although one was left.")
+@State
+public class CommandThrottleStress {
+    private static final long GUILD_ID = 42;
+
+    private final CommandThrottle throttle = new CommandThrottle(StressFixtures.CLOCK, 5, 1);
+
+    /**
+     * The first user running a command.
+     * @param result true in r1 if the command was allowed.
+     */
+    @Actor
+    public void firstUser(final ZZ_Result result) {
+        result.r1 = this.throttle.tryAcquire(1, GUILD_ID).isZero();
+    }
+
+    /**
+     * The second user running a command.
+     * @param result true in r2 if the command was allowed.
+     */
+    @Actor
+    public void secondUser(final ZZ_Result result) {
+        result.r2 = this.throttle.tryAcquire(2, GUILD_ID).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package com.dragoncon_reminder.stress;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import com.dragoncon_reminder.bot.OutboundMessageQueue;
+
+/**
+ * Two threads queue a message for the same channel, the way DiscordConnector.enqueueMessage is called, while a third flushes.
+ * The flush may take either message or both, and a second flush takes the rest, but every message must be sent exactly once.
+ */
+@JCStressTest
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Each message was sent exactly once.")
+@Outcome(expect = FORBIDDEN, desc = "A message was lost or sent twice.")
+@State
+public class OutboundMessageQueueStress {
+    private static final String CHANNEL_ID = "123456789012345678";
+
+    private final OutboundMessageQueue queue = new OutboundMessageQueue();
+    private volatile Map<String, List<String>> flushed;
+
+    /**
+     * The scheduled reminder queueing its message.
+     */
+    @Actor
+    public void reminder() {
+        this.queue.enqueue(CHANNEL_ID, "a");
+    }
+
+    /**
+     * Another producer queueing a message for the same channel.
+     */
+    @Actor
+    public void announcement() {
+        this.queue.enqueue(CHANNEL_ID, "b");
+    }
+
+    /**
+     * A flush running at the same time, as flush does before sending.
+     */
+    @Actor
+    public void flush() {
+        this.flushed = this.queue.drain();
+    }
+
+    /**
+     * Flushes whatever is left and counts how often each message was sent.
+     * @param result how often the first and the second message were sent.
+     */
+    @Arbiter
+    public void arbiter(final II_Result result) {
+        final StringBuffer sent = new StringBuffer();
+        for (final Map<String, List<String>> chunks : List.of(this.flushed, this.queue.drain())) {
+            for (final String chunk : chunks.getOrDefault(CHANNEL_ID, List.of())) {
+                sent.append(chunk).append('\n');
+            }
+        }
+        result.r1 = count(sent, "a");
+        result.r2 = count(sent, "b");
+    }
+
+    /**
+     * Counts the lines of the sent chunks that are a given message.
+     * @param sent the sent chunks, one message per line.
+     * @param message the message.
+     * @return the number of times the message was sent.
+     */
+    private static int count(final StringBuffer sent, final String message) {
+        int count = 0;
+        for (final String line : sent.toString().split("\n")) {
+            if (line.equals(message)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,92 @@
+package com.dragoncon_reminder.stress;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.L_Result;
+
+import com.dragoncon_reminder.bot.DiscordRateLimits;
+import com.dragoncon_reminder.bot.OutboundScheduler;
+import com.dragoncon_reminder.util.Constants;
+
+/**
+ * The scheduler thread sends a reminder split into two chunks to one channel while the outbound dispatch thread runs a
+ * scheduled dispatch. Whichever thread hands a chunk to the HTTP client, the chunks must reach it once each and in order,
+ * or the reminder reads out of order in the channel.
+ */
+@JCStressTest
+@Outcome(id = "ab", expect = ACCEPTABLE, desc = "Both chunks were sent once, in order.")
+@Outcome(id = "ba", expect = FORBIDDEN, desc = "The second chunk overtook the first.")
+@Outcome(expect = FORBIDDEN, desc = "A chunk was lost or sent twice.")
+@State
+public class OutboundSchedulerOrderStress {
+    private static final String CHANNEL_ID = "123456789012345678";
+    private static final String ROUTE = OutboundScheduler.channelMessagesRoute(CHANNEL_ID);
+    // Delayed dispatches are never needed, since the channel's limit has room for both chunks.
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "stress-outbound-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<String, String> LEARNED_LIMITS = Map.of(
+        "X-RateLimit-Limit", "5", "X-RateLimit-Remaining", "5", "X-RateLimit-Reset-After", "5");
+
+    private final StringBuffer sent = new StringBuffer();
+    private final OutboundScheduler scheduler;
+
+    /**
+     * Constructor for the OutboundSchedulerOrderStress object, with the channel's limits already learned from Discord.
+     */
+    public OutboundSchedulerOrderStress() {
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(StressFixtures.CLOCK);
+        rateLimits.observe(ROUTE, 200, LEARNED_LIMITS::get);
+        this.scheduler = new OutboundScheduler(StressFixtures.CLOCK, rateLimits, EXECUTOR,
+            Constants.DISCORD_REQUESTS_PER_SECOND, Constants.INTERACTION_RESERVED_REQUESTS_PER_SECOND);
+    }
+
+    /**
+     * The scheduler thread sending both chunks of a reminder.
+     */
+    @Actor
+    public void reminder() {
+        this.scheduler.sendBroadcast(ROUTE, () -> send("a"));
+        this.scheduler.sendBroadcast(ROUTE, () -> send("b"));
+    }
+
+    /**
+     * The outbound dispatch thread running a scheduled dispatch.
+     */
+    @Actor
+    public void dispatcher() {
+        this.scheduler.dispatch();
+    }
+
+    /**
+     * Reads the order the chunks reached the HTTP client in.
+     * @param result the chunks in the order they were sent.
+     */
+    @Arbiter
+    public void arbiter(final L_Result result) {
+        result.r1 = this.sent.toString();
+    }
+
+    /**
+     * Stands in for queueing a message with the HTTP client.
+     * @param chunk the chunk being sent.
+     * @return a response that has already arrived.
+     */
+    private CompletableFuture<Void> send(final String chunk) {
+        this.sent.append(chunk);
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.dragoncon_reminder.stress;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+import com.dragoncon_reminder.util.RateHistory;
+
+/**
+ * The scheduler records a new rate table while a command handler reads the history three times, the way a reply does:
+ * the version, then the latest snapshot, then the rate on a date. Each read may see the old or the new table, but a later
+ * read must never see an older table than an earlier one, and no read may see a half-built index.
+ */
+@JCStressTest
+@Outcome(id = "1, 0, 0", expect = ACCEPTABLE, desc = "Every read happened before the new table was recorded.")
+@Outcome(id = "2, 1, 1", expect = ACCEPTABLE, desc = "Every read happened after the new table was recorded.")
+@Outcome(id = { "1, 0, 1", "1, 1, 1" }, expect = ACCEPTABLE_INTERESTING, desc = "The new table was recorded between two reads.")
+@Outcome(expect = FORBIDDEN, desc = "A later read saw an older table than an earlier one.")
+@State
+public class RateHistoryHandoffStress {
+    private final RateHistory history = new RateHistory();
+
+    /**
+     * Constructor for the RateHistoryHandoffStress object, with the old rate table already recorded.
+     */
+    public RateHistoryHandoffStress() {
+        this.history.record(StressFixtures.OLD_SNAPSHOT);
+    }
+
+    /**
+     * The scheduled refresh recording the new rate table.
+     */
+    @Actor
+    public void scheduler() {
+        this.history.record(StressFixtures.NEW_SNAPSHOT);
+    }
+
+    /**
+     * The command handler reading the history.
+     * @param result the version read, then 1 for each later read that saw the new table.
+     */
+    @Actor
+    public void command(final III_Result result) {
+        result.r1 = (int) this.history.getVersion();
+        result.r2 = this.history.getLatestSnapshot() == StressFixtures.NEW_SNAPSHOT ? 1 : 0;
+        result.r3 = StressFixtures.NEW_RATE.equals(this.history.rateOn(StressFixtures.TODAY)) ? 1 : 0;
+    }
+}
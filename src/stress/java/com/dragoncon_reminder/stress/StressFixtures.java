@@ -0,0 +1,34 @@
+package com.dragoncon_reminder.stress;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+/**
+ * This is a static class holding the rate tables the stress tests hand between threads: an old table, and a new one observed
+ * an hour later that re-prices the same tier.
+ */
+final class StressFixtures {
+    static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+    static final Instant OLD_OBSERVED_AT = TODAY.atTime(10, 0).atZone(Constants.ZONE).toInstant();
+    static final Instant NEW_OBSERVED_AT = OLD_OBSERVED_AT.plusSeconds(3600);
+    // Fixed just after the new table was observed, so neither table is stale and nothing is fetched in the background.
+    static final Clock CLOCK = Clock.fixed(NEW_OBSERVED_AT.plusSeconds(60), Constants.ZONE);
+
+    static final DragonConRate OLD_RATE = new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13));
+    static final DragonConRate NEW_RATE = new DragonConRate("$160 through 3/13/2026", "$160", false, LocalDate.of(2026, 3, 13));
+    static final RateSnapshot OLD_SNAPSHOT = new RateSnapshot(OLD_OBSERVED_AT, List.of(OLD_RATE));
+    static final RateSnapshot NEW_SNAPSHOT = new RateSnapshot(NEW_OBSERVED_AT, List.of(NEW_RATE));
+
+    // Never contacted, since the history always holds rates.
+    static final String UNREACHABLE_URL = "http://127.0.0.1:9/about/membership-info/";
+
+    private StressFixtures() {
+        // Intentionally left blank.
+    }
+}
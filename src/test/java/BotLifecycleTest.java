@@ -0,0 +1,134 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import com.dragoncon_reminder.bot.BotLifecycle;
+import com.dragoncon_reminder.bot.CommandListener;
+import com.dragoncon_reminder.bot.DiscordConnector;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for BotLifecycle.
+ * Uses mocks to check the order of the shutdown steps and what happens when one of them runs out of time.
+ */
+@ExtendWith(MockitoExtension.class)
+public class BotLifecycleTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(25);
+
+    @Mock
+    private ExecutorService mockScheduler;
+
+    @Mock
+    private CommandListener mockCommandListener;
+
+    @Mock
+    private DiscordConnector mockDiscordConnector;
+
+    @Mock
+    private Closeable mockRateHistoryStore;
+
+    /**
+     * Helper method to create the lifecycle around the mocks.
+     * @return the lifecycle.
+     */
+    private final BotLifecycle lifecycle() {
+        return new BotLifecycle(mockScheduler, mockCommandListener, mockDiscordConnector, mockRateHistoryStore);
+    }
+
+    /**
+     * Test that new work is stopped before anything is drained, and the history file is closed only after Discord is done.
+     */
+    @Test
+    void testShutdown_DrainsInOrder() throws Exception {
+        when(mockScheduler.awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(mockCommandListener.awaitBackgroundRefresh(any(Duration.class))).thenReturn(true);
+        when(mockCommandListener.awaitExports(any(Duration.class))).thenReturn(true);
+        when(mockDiscordConnector.shutdown(any(Duration.class))).thenReturn(true);
+
+        Assertions.assertTrue(lifecycle().shutdown(TIMEOUT));
+
+        final InOrder order = inOrder(mockCommandListener, mockScheduler, mockDiscordConnector, mockRateHistoryStore);
+        order.verify(mockCommandListener).stopAcceptingCommands();
+        order.verify(mockScheduler).shutdown();
+        order.verify(mockScheduler).awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS));
+        order.verify(mockCommandListener).awaitBackgroundRefresh(any(Duration.class));
+        order.verify(mockCommandListener).awaitExports(any(Duration.class));
+        order.verify(mockDiscordConnector).flushMessages();
+        order.verify(mockDiscordConnector).shutdown(any(Duration.class));
+        order.verify(mockRateHistoryStore).close();
+        verify(mockScheduler, never()).shutdownNow();
+    }
+
+    /**
+     * Test that work still running at the deadline is cancelled, and the rest of the shutdown still happens.
+     */
+    @Test
+    void testShutdown_CancelsWorkPastDeadline() throws Exception {
+        when(mockScheduler.awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(false);
+        when(mockCommandListener.awaitBackgroundRefresh(any(Duration.class))).thenReturn(true);
+        when(mockCommandListener.awaitExports(any(Duration.class))).thenReturn(true);
+        when(mockDiscordConnector.shutdown(any(Duration.class))).thenReturn(true);
+
+        Assertions.assertFalse(lifecycle().shutdown(TIMEOUT));
+
+        verify(mockScheduler).shutdownNow();
+        verify(mockDiscordConnector).flushMessages();
+        verify(mockRateHistoryStore).close();
+    }
+
+    /**
+     * Test that an export still running at the deadline makes the shutdown unclean, and the messages are still sent.
+     */
+    @Test
+    void testShutdown_ExportPastDeadline() throws Exception {
+        when(mockScheduler.awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(mockCommandListener.awaitBackgroundRefresh(any(Duration.class))).thenReturn(true);
+        when(mockCommandListener.awaitExports(any(Duration.class))).thenReturn(false);
+        when(mockDiscordConnector.shutdown(any(Duration.class))).thenReturn(true);
+
+        Assertions.assertFalse(lifecycle().shutdown(TIMEOUT));
+
+        verify(mockDiscordConnector).flushMessages();
+        verify(mockRateHistoryStore).close();
+    }
+
+    /**
+     * Test that the history file is still closed when disconnecting from Discord fails.
+     */
+    @Test
+    void testShutdown_ClosesStoreAfterFailure() throws Exception {
+        when(mockScheduler.awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(mockCommandListener.awaitBackgroundRefresh(any(Duration.class))).thenReturn(true);
+        when(mockCommandListener.awaitExports(any(Duration.class))).thenReturn(true);
+        when(mockDiscordConnector.shutdown(any(Duration.class))).thenThrow(new IllegalStateException("gateway gone"));
+
+        Assertions.assertFalse(lifecycle().shutdown(TIMEOUT));
+
+        verify(mockRateHistoryStore).close();
+    }
+
+    /**
+     * Test that only the first shutdown does anything.
+     */
+    @Test
+    void testShutdown_OnlyOnce() throws Exception {
+        when(mockScheduler.awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(mockCommandListener.awaitBackgroundRefresh(any(Duration.class))).thenReturn(true);
+        when(mockCommandListener.awaitExports(any(Duration.class))).thenReturn(true);
+        when(mockDiscordConnector.shutdown(any(Duration.class))).thenReturn(true);
+
+        final BotLifecycle lifecycle = lifecycle();
+        lifecycle.shutdown(TIMEOUT);
+        lifecycle.shutdown(TIMEOUT);
+
+        verify(mockScheduler, times(1)).shutdown();
+        verify(mockRateHistoryStore, times(1)).close();
+    }
+}
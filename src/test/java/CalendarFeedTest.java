@@ -0,0 +1,173 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import com.sun.net.httpserver.HttpServer;
+import com.dragoncon_reminder.bot.CalendarFeed;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+/**
+ * Test suite for CalendarFeed.
+ */
+public class CalendarFeedTest {
+    private static final Instant OBSERVED_AT = Instant.parse("2026-03-01T15:00:00.250Z");
+    private static final List<DragonConRate> RATES = List.of(
+        new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13))
+    );
+    private static final List<DragonConRate> LATER_RATES = List.of(
+        new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12))
+    );
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final RateHistory history = new RateHistory();
+    private CalendarFeed feed;
+    private HttpServer server;
+
+    /**
+     * Serves a feed of the rate history on a free port.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.feed = new CalendarFeed(this.history);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext(Constants.CALENDAR_PATH, this.feed);
+        this.server.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Helper method to request the feed.
+     * @param method the request method.
+     * @param headers header names and values, alternating.
+     * @return the response.
+     */
+    private final HttpResponse<byte[]> request(final String method, final String... headers) throws Exception {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://127.0.0.1:" + this.server.getAddress().getPort() + Constants.CALENDAR_PATH))
+            .method(method, HttpRequest.BodyPublishers.noBody());
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            request.header(headers[i], headers[i + 1]);
+        }
+        return this.httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Test that the feed is unavailable until rates are known.
+     */
+    @Test
+    void testHandle_NoRatesYet() throws Exception {
+        final HttpResponse<byte[]> response = request("GET");
+
+        Assertions.assertEquals(503, response.statusCode());
+        Assertions.assertTrue(response.headers().firstValue("Retry-After").isPresent());
+    }
+
+    /**
+     * Test that the feed is served as a calendar with caching headers.
+     */
+    @Test
+    void testHandle_ServesCalendar() throws Exception {
+        this.history.record(new RateSnapshot(OBSERVED_AT, RATES));
+
+        final HttpResponse<byte[]> response = request("GET");
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("text/calendar; charset=utf-8", response.headers().firstValue("Content-Type").orElse(""));
+        Assertions.assertEquals(this.feed.getETag(), response.headers().firstValue("ETag").orElse(""));
+        Assertions.assertEquals("Sun, 01 Mar 2026 15:00:00 GMT", response.headers().firstValue("Last-Modified").orElse(""));
+        Assertions.assertEquals("public, max-age=3600", response.headers().firstValue("Cache-Control").orElse(""));
+        Assertions.assertTrue(new String(response.body(), StandardCharsets.UTF_8).contains("DTSTART;VALUE=DATE:20260313"));
+    }
+
+    /**
+     * Test that clients accepting gzip get the compressed feed.
+     */
+    @Test
+    void testHandle_Gzip() throws Exception {
+        this.history.record(new RateSnapshot(OBSERVED_AT, RATES));
+
+        final HttpResponse<byte[]> plain = request("GET");
+        final HttpResponse<byte[]> gzipped = request("GET", "Accept-Encoding", "br, gzip;q=0.8");
+
+        Assertions.assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(""));
+        Assertions.assertTrue(gzipped.body().length < plain.body().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            Assertions.assertArrayEquals(plain.body(), in.readAllBytes());
+        }
+        Assertions.assertFalse(request("GET", "Accept-Encoding", "gzip;q=0").headers().firstValue("Content-Encoding").isPresent());
+    }
+
+    /**
+     * Test that clients revalidating with the ETag or Last-Modified they were given get an empty 304.
+     */
+    @Test
+    void testHandle_NotModified() throws Exception {
+        this.history.record(new RateSnapshot(OBSERVED_AT, RATES));
+        final String etag = this.feed.getETag();
+
+        Assertions.assertEquals(304, request("GET", "If-None-Match", etag).statusCode());
+        Assertions.assertEquals(304, request("GET", "If-None-Match", "\"other\", " + etag.substring(2)).statusCode());
+        Assertions.assertEquals(304, request("GET", "If-Modified-Since", "Sun, 01 Mar 2026 15:00:00 GMT").statusCode());
+        Assertions.assertEquals(200, request("GET", "If-Modified-Since", "Sun, 01 Mar 2026 14:59:59 GMT").statusCode());
+        // If-None-Match wins over If-Modified-Since.
+        Assertions.assertEquals(200, request("GET", "If-None-Match", "\"other\"",
+            "If-Modified-Since", "Sun, 01 Mar 2026 15:00:00 GMT").statusCode());
+    }
+
+    /**
+     * Test that the feed is only re-rendered when the rate table changes.
+     */
+    @Test
+    void testUpdate_OnlyOnChange() throws Exception {
+        this.history.record(new RateSnapshot(OBSERVED_AT, RATES));
+        final String etag = this.feed.getETag();
+
+        this.history.record(new RateSnapshot(OBSERVED_AT.plusSeconds(3600), RATES));
+        final HttpResponse<byte[]> unchanged = request("GET");
+        Assertions.assertEquals(etag, this.feed.getETag());
+        Assertions.assertEquals("Sun, 01 Mar 2026 15:00:00 GMT", unchanged.headers().firstValue("Last-Modified").orElse(""));
+
+        this.history.record(new RateSnapshot(OBSERVED_AT.plusSeconds(7200), LATER_RATES));
+        Assertions.assertNotEquals(etag, this.feed.getETag());
+        Assertions.assertEquals(200, request("GET", "If-None-Match", etag).statusCode());
+    }
+
+    /**
+     * Test that HEAD gets the headers without a body, and other methods are rejected.
+     */
+    @Test
+    void testHandle_Methods() throws Exception {
+        this.history.record(new RateSnapshot(OBSERVED_AT, RATES));
+
+        final HttpResponse<byte[]> head = request("HEAD");
+        Assertions.assertEquals(200, head.statusCode());
+        Assertions.assertEquals(0, head.body().length);
+        Assertions.assertEquals(this.feed.getETag(), head.headers().firstValue("ETag").orElse(""));
+
+        final HttpResponse<byte[]> post = request("POST");
+        Assertions.assertEquals(405, post.statusCode());
+        Assertions.assertEquals("GET, HEAD", post.headers().firstValue("Allow").orElse(""));
+    }
+}
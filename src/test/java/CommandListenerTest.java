@@ -0,0 +1,311 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+import net.dv8tion.jda.api.utils.FileUpload;
+import com.dragoncon_reminder.bot.CommandListener;
+import com.dragoncon_reminder.bot.RateRefresher;
+import com.dragoncon_reminder.util.CommandThrottle;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateHistoryStore;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for CommandListener.
+ * The membership page points at a closed port, so any scrape fails and shows up as an error reply.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CommandListenerTest {
+    private static final String UNREACHABLE_URL = "http://127.0.0.1:9/about/membership-info/";
+    private static final Instant NOW = LocalDate.of(2026, 3, 1).atStartOfDay(Constants.ZONE).toInstant();
+
+    @Mock
+    private SlashCommandInteractionEvent mockEvent;
+
+    @Mock
+    private ReplyCallbackAction mockDeferAction;
+
+    @Mock
+    private InteractionHook mockHook;
+
+    @Mock
+    private WebhookMessageCreateAction<?> mockSendAction;
+
+    @Mock
+    private Guild mockGuild;
+
+    @TempDir
+    Path tempDir;
+
+    private final Clock clock = Clock.fixed(NOW, Constants.ZONE);
+
+    /**
+     * Helper method to create a history holding a rate table observed a number of minutes ago.
+     * @param minutesAgo how long ago the rate table was observed.
+     * @return the history.
+     */
+    private final RateHistory historyObserved(final long minutesAgo) {
+        final RateHistory history = new RateHistory();
+        history.record(new RateSnapshot(NOW.minusSeconds(minutesAgo * 60), List.of(
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        )));
+        return history;
+    }
+
+    /**
+     * Helper method to create listener options answering from a history, with a refresher that can never reach the website.
+     * @param history the rate history commands are answered from.
+     * @return the options.
+     */
+    private final CommandListener.Options options(final RateHistory history) {
+        return new CommandListener.Options().refresher(new RateRefresher(this.clock, UNREACHABLE_URL, history,
+            new UpstreamRequestBudget(this.clock, Constants.DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR)));
+    }
+
+    /**
+     * Helper method to run a command and return the messages sent through the interaction hook.
+     * @param listener the listener to run the command against.
+     * @param command the name of the command.
+     * @return the messages sent in reply.
+     */
+    private final List<String> run(final CommandListener listener, final String command) {
+        when(mockEvent.getName()).thenReturn(command);
+        when(mockEvent.deferReply()).thenReturn(mockDeferAction);
+        when(mockEvent.getHook()).thenReturn(mockHook);
+        doReturn(mockSendAction).when(mockHook).sendMessage(anyString());
+
+        listener.onSlashCommandInteraction(mockEvent);
+
+        final ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(mockHook, atLeastOnce()).sendMessage(messages.capture());
+        return messages.getAllValues();
+    }
+
+    /**
+     * Test that /next-deadline is answered from rates loaded at startup without scraping the website.
+     */
+    @Test
+    void testNextDeadline_AnsweredFromWarmStart() {
+        final CommandListener listener = new CommandListener(this.clock, options(historyObserved(5)));
+
+        final List<String> messages = run(listener, Constants.NEXT_DEADLINE_COMMAND);
+
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertTrue(messages.get(0).contains("**$150**"), messages.get(0));
+        Assertions.assertTrue(messages.get(0).contains("12 days"), messages.get(0));
+    }
+
+    /**
+     * Test that /list-all-deadlines is answered from stale rates while the refresh happens in the background.
+     */
+    @Test
+    void testListAllDeadlines_AnsweredWhileRefreshing() {
+        final CommandListener listener = new CommandListener(this.clock, options(historyObserved(Constants.RATE_MAX_AGE_MINUTES * 24)));
+
+        final List<String> messages = run(listener, Constants.LIST_ALL_DEADLINES_COMMAND);
+
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertTrue(messages.get(0).contains("**$225** - No deadline specified"), messages.get(0));
+    }
+
+    /**
+     * Test that commands fall back to scraping the website when no rates are known.
+     */
+    @Test
+    void testNextDeadline_ScrapesWithoutWarmStart() {
+        final CommandListener listener = new CommandListener(this.clock, options(new RateHistory()));
+
+        final List<String> messages = run(listener, Constants.NEXT_DEADLINE_COMMAND);
+
+        Assertions.assertTrue(messages.get(0).startsWith("Error fetching rates"), messages.get(0));
+    }
+
+    /**
+     * Test that a cached /list-all-deadlines reply is replaced once new rates are recorded.
+     */
+    @Test
+    void testListAllDeadlines_CacheFollowsNewVersions() {
+        final RateHistory history = historyObserved(5);
+        final CommandListener listener = new CommandListener(this.clock, options(history));
+        Assertions.assertTrue(run(listener, Constants.LIST_ALL_DEADLINES_COMMAND).get(0).contains("**$150**"));
+
+        history.record(new RateSnapshot(NOW, List.of(new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12)))));
+        clearInvocations(mockHook);
+
+        final List<String> messages = run(listener, Constants.LIST_ALL_DEADLINES_COMMAND);
+        Assertions.assertTrue(messages.get(0).contains("**$175**"), messages.get(0));
+        Assertions.assertFalse(messages.get(0).contains("**$150**"), messages.get(0));
+    }
+
+    /**
+     * Test that a guild with its own settings gets localized dates and prices, and counts days in its own time zone.
+     */
+    @Test
+    void testListAllDeadlines_UsesGuildSettings() {
+        final GuildSettings defaults = new GuildSettings(Locale.ROOT, Constants.ZONE);
+        final GuildSettingsRegistry settings = new GuildSettingsRegistry(defaults,
+            Map.of(42L, new GuildSettings(Locale.US, ZoneId.of("America/Los_Angeles"))));
+        final CommandListener listener = new CommandListener(this.clock, options(historyObserved(5)).guildSettings(settings));
+
+        when(mockEvent.getGuild()).thenReturn(mockGuild);
+        when(mockGuild.getIdLong()).thenReturn(42L);
+        final List<String> messages = run(listener, Constants.LIST_ALL_DEADLINES_COMMAND);
+
+        // It is still February 28th in Los Angeles when it is midnight in Atlanta.
+        Assertions.assertTrue(messages.get(0).contains("**$150** - Valid through **Mar 13, 2026** (13 days remaining)"), messages.get(0));
+    }
+
+    /**
+     * Test that commands received while shutting down are answered right away without any work.
+     */
+    @Test
+    void testOnSlashCommand_RejectedWhileShuttingDown() {
+        final CommandListener listener = new CommandListener(this.clock, options(historyObserved(5)));
+        listener.stopAcceptingCommands();
+        when(mockEvent.reply(anyString())).thenReturn(mockDeferAction);
+        when(mockDeferAction.setEphemeral(true)).thenReturn(mockDeferAction);
+
+        listener.onSlashCommandInteraction(mockEvent);
+
+        verify(mockEvent).reply("The bot is restarting. Please try again in a moment.");
+        verify(mockEvent, never()).deferReply();
+        verify(mockEvent, never()).getName();
+    }
+
+    /**
+     * Test that answering without JDA never scrapes the website, even when no rates are known.
+     */
+    @Test
+    void testAnswer_NeverScrapes() {
+        final CommandListener listener = new CommandListener(this.clock, options(new RateHistory()));
+
+        final CommandListener.CommandReply reply = listener.answer(Constants.NEXT_DEADLINE_COMMAND, null, -1, 1);
+
+        Assertions.assertTrue(reply.isEphemeral());
+        Assertions.assertEquals("Rate information has not been loaded yet. Please try again in a moment.", reply.getContent());
+    }
+
+    /**
+     * Test that /rate-on is answered without JDA in the guild's settings.
+     */
+    @Test
+    void testAnswer_RateOn() {
+        final CommandListener listener = new CommandListener(this.clock, options(historyObserved(5)));
+
+        final CommandListener.CommandReply reply = listener.answer(Constants.RATE_ON_COMMAND, "3/1/2026", -1, 1);
+
+        Assertions.assertFalse(reply.isEphemeral());
+        Assertions.assertTrue(reply.getContent().contains("• Rate: **$150**"), reply.getContent());
+        Assertions.assertTrue(listener.answer(Constants.RATE_ON_COMMAND, "soon", -1, 1).isEphemeral());
+    }
+
+    /**
+     * Test that a user who runs commands too quickly is told when to try again, only to them, while other users are still answered.
+     */
+    @Test
+    void testAnswer_Throttled() {
+        final RateHistory history = historyObserved(5);
+        final CommandListener listener = new CommandListener(this.clock, options(history).throttle(new CommandThrottle(this.clock, 2, 60)));
+
+        Assertions.assertFalse(listener.answer(Constants.NEXT_DEADLINE_COMMAND, null, 10, 1).isEphemeral());
+        Assertions.assertFalse(listener.answer(Constants.NEXT_DEADLINE_COMMAND, null, 10, 1).isEphemeral());
+        final CommandListener.CommandReply reply = listener.answer(Constants.NEXT_DEADLINE_COMMAND, null, 10, 1);
+
+        Assertions.assertTrue(reply.isEphemeral());
+        Assertions.assertEquals("You're using commands too quickly. Please try again in 30 seconds.", reply.getContent());
+        Assertions.assertFalse(listener.answer(Constants.NEXT_DEADLINE_COMMAND, null, 10, 2).isEphemeral());
+    }
+
+    /**
+     * Helper method to count the temporary export files left behind.
+     * @return the number of temporary CSV exports.
+     * @throws IOException in case the temporary directory cannot be listed.
+     */
+    private final long tempExports() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().matches("dragoncon-rates-.*\\.csv")).count();
+        }
+    }
+
+    /**
+     * Test that /export-rates attaches the rate history file as CSV off the event thread, read from the file rather than from memory,
+     * and only deletes the file once the upload is done with it.
+     * @throws IOException in case the history file cannot be written.
+     * @throws InterruptedException in case the export is interrupted while it is awaited.
+     */
+    @Test
+    void testExportRates_AttachesCsv() throws IOException, InterruptedException {
+        try (RateHistoryStore store = new RateHistoryStore(this.tempDir.resolve("history.bin"))) {
+            store.append(historyObserved(60).getLatestSnapshot());
+            store.append(historyObserved(5).getLatestSnapshot());
+            final CommandListener listener = new CommandListener(this.clock, options(new RateHistory()).historyStore(store));
+            final CompletableFuture<Message> uploaded = new CompletableFuture<>();
+            final long exportsBefore = tempExports();
+            when(mockEvent.getName()).thenReturn(Constants.EXPORT_RATES_COMMAND);
+            when(mockEvent.deferReply()).thenReturn(mockDeferAction);
+            when(mockEvent.getHook()).thenReturn(mockHook);
+            doReturn(mockSendAction).when(mockHook).sendMessage(anyString());
+            doReturn(mockSendAction).when(mockSendAction).addFiles(any(FileUpload.class));
+            doReturn(uploaded).when(mockSendAction).submit();
+
+            listener.onSlashCommandInteraction(mockEvent);
+
+            verify(mockSendAction, timeout(5000)).submit();
+            verify(mockHook).sendMessage("DragonCon rate history: 2 snapshots.");
+            final ArgumentCaptor<FileUpload> upload = ArgumentCaptor.forClass(FileUpload.class);
+            verify(mockSendAction).addFiles(upload.capture());
+            Assertions.assertEquals("dragoncon-rates.csv", upload.getValue().getName());
+            Assertions.assertEquals(exportsBefore + 1, tempExports(), "The file is kept while the upload reads it");
+
+            uploaded.complete(null);
+            Assertions.assertTrue(listener.awaitExports(Duration.ofSeconds(5)));
+            Assertions.assertEquals(exportsBefore, tempExports());
+        }
+    }
+
+    /**
+     * Test that /export-rates is declined when the bot has no rate history file to export.
+     */
+    @Test
+    void testExportRates_Unavailable() {
+        final CommandListener listener = new CommandListener(this.clock, options(historyObserved(5)));
+        when(mockEvent.getName()).thenReturn(Constants.EXPORT_RATES_COMMAND);
+        when(mockEvent.reply(anyString())).thenReturn(mockDeferAction);
+        when(mockDeferAction.setEphemeral(true)).thenReturn(mockDeferAction);
+
+        listener.onSlashCommandInteraction(mockEvent);
+
+        verify(mockEvent).reply("Exporting the rate history is not available on this instance.");
+        verify(mockEvent, never()).deferReply();
+    }
+}
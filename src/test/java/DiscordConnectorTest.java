@@ -3,6 +3,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
@@ -207,4 +208,31 @@ public class DiscordConnectorTest {
         verify(mockTextChannel, times(1)).sendMessage(exactMessage);
         verify(mockTextChannel, never()).sendMessage("wrong message");
     }
+
+    /**
+     * Test that shutting down lets queued requests finish before disconnecting.
+     */
+    @Test
+    void testShutdown_WaitsForQueuedRequests() throws InterruptedException {
+        when(mockJda.awaitShutdown(any(Duration.class))).thenReturn(true);
+
+        final DiscordConnector sender = new DiscordConnector(defaultTestToken, defaultTestChannelId, mockJda);
+
+        Assertions.assertTrue(sender.shutdown(Duration.ofSeconds(10)));
+        verify(mockJda, times(1)).shutdown();
+        verify(mockJda, never()).shutdownNow();
+    }
+
+    /**
+     * Test that requests still queued at the timeout are cancelled.
+     */
+    @Test
+    void testShutdown_CancelsAfterTimeout() throws InterruptedException {
+        when(mockJda.awaitShutdown(any(Duration.class))).thenReturn(false);
+
+        final DiscordConnector sender = new DiscordConnector(defaultTestToken, defaultTestChannelId, mockJda);
+
+        Assertions.assertFalse(sender.shutdown(Duration.ofSeconds(10)));
+        verify(mockJda, times(1)).shutdownNow();
+    }
 }
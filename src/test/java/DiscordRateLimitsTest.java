@@ -0,0 +1,183 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import com.dragoncon_reminder.bot.DiscordRateLimits;
+
+public class DiscordRateLimitsTest {
+    private static final String ROUTE = "POST /channels/123/messages";
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-03-01T12:00:00Z");
+
+        void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+
+    /**
+     * Helper method to report a successful response with the given bucket headers.
+     * @param rateLimits the rate limits to report to.
+     * @param remaining the remaining requests in the bucket.
+     * @param resetAfter the seconds until the bucket resets.
+     */
+    private final void observeOk(final DiscordRateLimits rateLimits, final int remaining, final String resetAfter) {
+        final Map<String, String> headers = Map.of(
+            "X-RateLimit-Limit", "5",
+            "X-RateLimit-Remaining", String.valueOf(remaining),
+            "X-RateLimit-Reset-After", resetAfter
+        );
+        rateLimits.observe(ROUTE, 200, headers::get);
+    }
+
+    /**
+     * Test that the API version is stripped from routes.
+     */
+    @Test
+    void testRouteOf_StripsApiVersion() {
+        Assertions.assertEquals(ROUTE, DiscordRateLimits.routeOf("POST", "/api/v10/channels/123/messages"));
+        Assertions.assertEquals("GET /gateway", DiscordRateLimits.routeOf("GET", "/gateway"));
+    }
+
+    /**
+     * Test that only channel, guild and webhook IDs are kept in routes, so edits of different messages share a bucket.
+     */
+    @Test
+    void testRouteOf_KeepsOnlyMajorParameters() {
+        Assertions.assertEquals("PATCH /channels/123/messages/:id", DiscordRateLimits.routeOf("PATCH", "/api/v10/channels/123/messages/456"));
+        Assertions.assertEquals(DiscordRateLimits.routeOf("PATCH", "/api/v10/channels/123/messages/789"),
+            DiscordRateLimits.routeOf("PATCH", "/api/v10/channels/123/messages/456"));
+        Assertions.assertEquals("PUT /guilds/1/members/:id/roles/:id", DiscordRateLimits.routeOf("PUT", "/guilds/1/members/2/roles/3"));
+    }
+
+    /**
+     * Test that a bucket learned from editing one message lets edits of other messages in the channel through without a probe.
+     */
+    @Test
+    void testReserve_EditsShareChannelBucket() {
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(new MutableClock());
+        final String firstEdit = DiscordRateLimits.routeOf("PATCH", "/api/v10/channels/123/messages/456");
+        final Map<String, String> headers = Map.of("X-RateLimit-Limit", "5", "X-RateLimit-Remaining", "4", "X-RateLimit-Reset-After", "5");
+        rateLimits.reserve(firstEdit);
+        rateLimits.observe(firstEdit, 200, headers::get);
+
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(DiscordRateLimits.routeOf("PATCH", "/api/v10/channels/123/messages/789")));
+        Assertions.assertEquals(1, rateLimits.trackedRoutes());
+    }
+
+    /**
+     * Test that buckets left idle past their reset are forgotten, while buckets still in use are kept.
+     */
+    @Test
+    void testReserve_EvictsIdleBuckets() {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        rateLimits.reserve(ROUTE);
+        observeOk(rateLimits, 4, "5");
+        Assertions.assertEquals(1, rateLimits.trackedRoutes());
+
+        clock.advance(Duration.ofMinutes(11));
+        rateLimits.reserve("POST /channels/456/messages");
+
+        Assertions.assertEquals(1, rateLimits.trackedRoutes(), "Only the bucket just used should be kept");
+    }
+
+    /**
+     * Test that only one request goes to a route whose limit is still unknown.
+     */
+    @Test
+    void testReserve_ProbesUnknownRoute() {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(ROUTE));
+        Assertions.assertTrue(rateLimits.reserve(ROUTE).toMillis() > 0, "The second request should wait for the probe to answer");
+
+        observeOk(rateLimits, 4, "5");
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(ROUTE), "The learned bucket should let requests through");
+    }
+
+    /**
+     * Test that a learned bucket holds requests back once empty until it resets.
+     */
+    @Test
+    void testReserve_HoldsBackUntilReset() {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        rateLimits.reserve(ROUTE);
+        observeOk(rateLimits, 2, "5");
+
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(ROUTE));
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(ROUTE));
+        Assertions.assertEquals(Duration.ofSeconds(5), rateLimits.reserve(ROUTE));
+
+        clock.advance(Duration.ofSeconds(5));
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(ROUTE), "The bucket should refill once it resets");
+    }
+
+    /**
+     * Test that a late response reporting more remaining requests than have been reserved since does not refill the bucket.
+     */
+    @Test
+    void testObserve_KeepsLowerRemainingWithinWindow() {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        rateLimits.reserve(ROUTE);
+        observeOk(rateLimits, 1, "5");
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(ROUTE));
+
+        observeOk(rateLimits, 3, "4.5");
+        Assertions.assertTrue(rateLimits.reserve(ROUTE).toMillis() > 0, "The stale count should not free more requests");
+    }
+
+    /**
+     * Test that a global 429 holds back every tracked route and is counted.
+     */
+    @Test
+    void testObserve_GlobalRateLimit() {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        final Map<String, String> headers = Map.of("Retry-After", "0.25", "X-RateLimit-Global", "true");
+        rateLimits.observe(ROUTE, 429, headers::get);
+
+        Assertions.assertEquals(1, rateLimits.getRateLimitedCount());
+        Assertions.assertEquals(Duration.ofMillis(250), rateLimits.reserve("POST /channels/456/messages"));
+
+        clock.advance(Duration.ofMillis(250));
+        Assertions.assertEquals(Duration.ZERO, rateLimits.reserve("POST /channels/456/messages"));
+    }
+
+    /**
+     * Test that interaction callbacks are never held back by a route bucket.
+     */
+    @Test
+    void testReserve_InteractionsUntracked() {
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(new MutableClock());
+        final String route = DiscordRateLimits.routeOf("POST", "/api/v10/interactions/1/token/callback");
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(Duration.ZERO, rateLimits.reserve(route));
+        }
+    }
+}
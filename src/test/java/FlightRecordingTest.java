@@ -0,0 +1,166 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.Assertions;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.dv8tion.jda.api.JDA;
+import org.jsoup.Jsoup;
+import com.dragoncon_reminder.bot.FlightRecording;
+import com.dragoncon_reminder.bot.OutboundMessageQueue;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.DragonConRateParser;
+import com.dragoncon_reminder.util.Reminder;
+
+import static org.mockito.Mockito.mock;
+
+public class FlightRecordingTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-06T15:00:00Z"), Constants.ZONE);
+    private static final String PAGE = "<html><body><h3>" + Constants.SECTION_HEADING + "</h3><p>"
+        + "<strong>$150</strong>&nbsp;through 3/13/2026<br><strong>TBA</strong>&nbsp;through 6/12/2026<br><strong>$225</strong>&nbsp;at the door"
+        + "</p></body></html>";
+
+    @TempDir
+    Path tempDir;
+
+    private FlightRecording recording;
+    private HttpServer server;
+
+    /**
+     * Starts a recording and a stub of the membership page before each test.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.recording = new FlightRecording(CLOCK, this.tempDir, Duration.ofMinutes(5), 16 * 1024 * 1024);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", exchange -> {
+            final byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Stops the recording and the stub after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        this.recording.close();
+        this.server.stop(0);
+    }
+
+    /**
+     * Helper method to read the events with a given name from a dump.
+     * @param file the dump.
+     * @param name the name of the events to read.
+     * @return the events in the order they were written.
+     */
+    private final List<RecordedEvent> eventsNamed(final Path file, final String name) throws IOException {
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Test that a requested dump holds an event for every stage from the page fetch to the reminder.
+     */
+    @Test
+    void testDumpIfRequested_RecordsEveryStage() throws Exception {
+        final List<DragonConRate> rates = new DragonConRateParser("http://127.0.0.1:" + this.server.getAddress().getPort() + "/")
+            .fetchRatesAndDeadlines();
+        new Reminder(CLOCK).build(rates);
+        Files.createFile(this.tempDir.resolve(Constants.JFR_DUMP_REQUEST_FILE));
+
+        final Path dump = this.recording.dumpIfRequested();
+
+        Assertions.assertNotNull(dump);
+        Assertions.assertEquals(this.tempDir.resolve("dragoncon-reminder-20260306-100000.jfr"), dump, "Dumps are named in the clock's zone");
+        Assertions.assertFalse(Files.exists(this.tempDir.resolve(Constants.JFR_DUMP_REQUEST_FILE)), "The request should be consumed");
+
+        final List<RecordedEvent> fetches = eventsNamed(dump, "com.dragoncon_reminder.PageFetch");
+        Assertions.assertEquals(1, fetches.size());
+        Assertions.assertEquals(PAGE.getBytes(StandardCharsets.UTF_8).length, fetches.get(0).getLong("bytes"));
+        Assertions.assertTrue(fetches.get(0).getBoolean("succeeded"));
+
+        Assertions.assertEquals(1, eventsNamed(dump, "com.dragoncon_reminder.TextBlockExtract").size());
+        final List<RecordedEvent> lines = eventsNamed(dump, "com.dragoncon_reminder.LineParse");
+        Assertions.assertEquals(3, lines.size(), "Every line should be recorded");
+        Assertions.assertTrue(lines.get(1).getBoolean("tba"));
+        Assertions.assertFalse(lines.get(2).getBoolean("hasDeadline"));
+        Assertions.assertEquals(3, eventsNamed(dump, "com.dragoncon_reminder.RateParse").get(0).getInt("rateCount"));
+
+        final RecordedEvent build = eventsNamed(dump, "com.dragoncon_reminder.ReminderBuild").get(0);
+        Assertions.assertEquals(3, build.getInt("rateCount"));
+        Assertions.assertEquals(1, build.getInt("reminderCount"), "Only the deadline 7 days away is due");
+    }
+
+    /**
+     * Test that a failed fetch is still recorded, since slow failures are what a recording is for.
+     */
+    @Test
+    void testDump_RecordsFailedFetch() throws IOException {
+        this.server.stop(0);
+        Assertions.assertThrows(IOException.class,
+            () -> new DragonConRateParser("http://127.0.0.1:" + this.server.getAddress().getPort() + "/"));
+
+        final List<RecordedEvent> fetches = eventsNamed(this.recording.dump(), "com.dragoncon_reminder.PageFetch");
+        Assertions.assertEquals(1, fetches.size());
+        Assertions.assertFalse(fetches.get(0).getBoolean("succeeded"));
+    }
+
+    /**
+     * Test that a page without the rate block still records the extract, marked as failed.
+     */
+    @Test
+    void testDump_RecordsFailedExtract() throws IOException {
+        final DragonConRateParser parser = new DragonConRateParser(Jsoup.parse("<html><body><h3>Something else</h3></body></html>"));
+        Assertions.assertThrows(IllegalStateException.class, parser::fetchRatesAndDeadlines);
+
+        final List<RecordedEvent> extracts = eventsNamed(this.recording.dump(), "com.dragoncon_reminder.TextBlockExtract");
+        Assertions.assertEquals(1, extracts.size());
+        Assertions.assertTrue(extracts.get(0).getBoolean("failed"));
+        Assertions.assertEquals(1, extracts.get(0).getInt("headingsScanned"));
+    }
+
+    /**
+     * Test that a flush to a channel that cannot be found still records the send, marked as failed.
+     */
+    @Test
+    void testDump_RecordsSendToMissingChannel() throws IOException {
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue("123456789", "Reminder");
+        queue.flush(mock(JDA.class));
+
+        final List<RecordedEvent> sends = eventsNamed(this.recording.dump(), "com.dragoncon_reminder.MessageSend");
+        Assertions.assertEquals(1, sends.size());
+        Assertions.assertEquals("123456789", sends.get(0).getString("channel"));
+        Assertions.assertTrue(sends.get(0).getBoolean("failed"));
+    }
+
+    /**
+     * Test that nothing is written until a dump is requested.
+     */
+    @Test
+    void testDumpIfRequested_NothingWithoutRequest() throws IOException {
+        Assertions.assertNull(this.recording.dumpIfRequested());
+        Assertions.assertFalse(Files.exists(this.tempDir.resolve("dragoncon-reminder-20260306-100000.jfr")));
+    }
+}
@@ -0,0 +1,207 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import com.dragoncon_reminder.bot.CommandListener;
+import com.dragoncon_reminder.bot.InteractionsServer;
+import com.dragoncon_reminder.bot.RateRefresher;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+
+public class InteractionsServerTest {
+    private static final String UNREACHABLE_URL = "http://127.0.0.1:9/about/membership-info/";
+    private static final Instant NOW = LocalDate.of(2026, 3, 1).atStartOfDay(Constants.ZONE).toInstant();
+
+    private final Clock clock = Clock.fixed(NOW, Constants.ZONE);
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final RateHistory history = new RateHistory();
+    private KeyPair keyPair;
+    private InteractionsServer server;
+
+    /**
+     * Starts a server on a free port, trusting a freshly generated key pair.
+     */
+    @BeforeEach
+    void setUp() throws GeneralSecurityException, IOException {
+        this.keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        final byte[] encoded = this.keyPair.getPublic().getEncoded();
+        final String publicKeyHex = HexFormat.of().formatHex(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length));
+        this.server = new InteractionsServer(this.clock, new CommandListener(this.clock, new CommandListener.Options()
+            .refresher(new RateRefresher(this.clock, UNREACHABLE_URL, this.history,
+                new UpstreamRequestBudget(this.clock, Constants.DEFAULT_MAX_UPSTREAM_REQUESTS_PER_HOUR)))), publicKeyHex, 0);
+        this.server.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterEach
+    void tearDown() {
+        this.server.stop(Duration.ZERO);
+    }
+
+    /**
+     * Helper method to record the rate table the commands are answered from.
+     */
+    private final void recordRates() {
+        this.history.record(new RateSnapshot(NOW, List.of(
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        )));
+    }
+
+    /**
+     * Helper method to post an interaction to the server, signed with the given key pair and timestamp.
+     * @param body the interaction as JSON.
+     * @param signer the key pair signing the request.
+     * @param timestamp the signature timestamp in Unix seconds.
+     * @return the response.
+     */
+    private final HttpResponse<String> post(final String body, final KeyPair signer, final long timestamp) throws Exception {
+        final Signature signature = Signature.getInstance("Ed25519");
+        signature.initSign(signer.getPrivate());
+        signature.update((timestamp + body).getBytes(StandardCharsets.UTF_8));
+
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + this.server.getPort() + Constants.INTERACTIONS_PATH))
+            .header("X-Signature-Ed25519", HexFormat.of().formatHex(signature.sign()))
+            .header("X-Signature-Timestamp", String.valueOf(timestamp))
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Helper method to post an interaction signed with the trusted key.
+     * @param body the interaction as JSON.
+     * @return the response.
+     */
+    private final HttpResponse<String> post(final String body) throws Exception {
+        return post(body, this.keyPair, NOW.getEpochSecond());
+    }
+
+    /**
+     * Test that Discord's endpoint check is answered with a pong.
+     */
+    @Test
+    void testPing_AnsweredWithPong() throws Exception {
+        final HttpResponse<String> response = post("{\"type\":1}");
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(1, DataObject.fromJson(response.body()).getInt("type"));
+    }
+
+    /**
+     * Test that requests signed with another key are rejected.
+     */
+    @Test
+    void testPost_RejectsWrongSignature() throws Exception {
+        final KeyPair other = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+
+        Assertions.assertEquals(401, post("{\"type\":1}", other, NOW.getEpochSecond()).statusCode());
+    }
+
+    /**
+     * Test that a correctly signed request is rejected once it is too old to be anything but a replay.
+     */
+    @Test
+    void testPost_RejectsReplayedRequest() throws Exception {
+        Assertions.assertEquals(401, post("{\"type\":1}", this.keyPair, NOW.getEpochSecond() - 3600).statusCode());
+    }
+
+    /**
+     * Test that a body larger than any interaction is refused before it is read.
+     */
+    @Test
+    void testPost_RejectsOversizedBody() throws Exception {
+        final String body = "{\"type\":1,\"padding\":\"" + "a".repeat(Constants.INTERACTIONS_MAX_BODY_BYTES) + "\"}";
+
+        Assertions.assertEquals(413, post(body).statusCode());
+    }
+
+    /**
+     * Test that a body of undeclared length, sent in chunks, is refused.
+     */
+    @Test
+    void testPost_RejectsMissingContentLength() throws Exception {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + this.server.getPort() + Constants.INTERACTIONS_PATH))
+            .POST(HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofString("{\"type\":1}")))
+            .build();
+
+        Assertions.assertEquals(411, this.httpClient.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    /**
+     * Test that /next-deadline is answered in the HTTP response from the in-memory rates.
+     */
+    @Test
+    void testCommand_NextDeadline() throws Exception {
+        recordRates();
+
+        final HttpResponse<String> response = post("{\"type\":2,\"data\":{\"name\":\"next-deadline\"}}");
+
+        final DataObject json = DataObject.fromJson(response.body());
+        Assertions.assertEquals(4, json.getInt("type"));
+        Assertions.assertTrue(json.getObject("data").getString("content").contains("**$150**"), response.body());
+        Assertions.assertFalse(json.getObject("data").hasKey("flags"));
+    }
+
+    /**
+     * Test that commands received before any rates are known are answered at once, only to the user who asked.
+     */
+    @Test
+    void testCommand_WithoutRatesIsEphemeral() throws Exception {
+        final HttpResponse<String> response = post("{\"type\":2,\"data\":{\"name\":\"list-all-deadlines\"}}");
+
+        final DataObject data = DataObject.fromJson(response.body()).getObject("data");
+        Assertions.assertEquals(64, data.getInt("flags"));
+        Assertions.assertTrue(data.getString("content").startsWith("Rate information has not been loaded yet"));
+    }
+
+    /**
+     * Test that /rate-on suggestions are answered over HTTP.
+     */
+    @Test
+    void testAutocomplete_RateOn() throws Exception {
+        recordRates();
+
+        final HttpResponse<String> response = post(
+            "{\"type\":4,\"data\":{\"name\":\"rate-on\",\"options\":[{\"name\":\"date\",\"type\":3,\"value\":\"2026-03-1\",\"focused\":true}]}}");
+
+        final DataObject json = DataObject.fromJson(response.body());
+        Assertions.assertEquals(8, json.getInt("type"));
+        Assertions.assertEquals("2026-03-13", json.getObject("data").getArray("choices").getObject(0).getString("value"));
+    }
+
+    /**
+     * Test that the health check only reports ready once rates are known.
+     */
+    @Test
+    void testHealth_ReadyOnceRatesAreKnown() throws Exception {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + this.server.getPort() + Constants.HEALTH_PATH)).build();
+        Assertions.assertEquals(503, this.httpClient.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        recordRates();
+        Assertions.assertEquals(200, this.httpClient.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+}
@@ -0,0 +1,81 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.List;
+import com.dragoncon_reminder.bot.MessageChunker;
+import com.dragoncon_reminder.util.Constants;
+
+public class MessageChunkerTest {
+
+    /**
+     * Test that a message within the limit is returned untouched.
+     */
+    @Test
+    void testSplit_ShortMessage() {
+        final String message = "The DragonCon membership price (current: $100) will increase in 7 day(s) (2025-12-25).";
+
+        final List<String> chunks = MessageChunker.split(message);
+
+        Assertions.assertEquals(1, chunks.size(), "Short message should not be split");
+        Assertions.assertEquals(message, chunks.get(0), "Short message should be unchanged");
+    }
+
+    /**
+     * Test that an empty message is still returned as a single chunk.
+     */
+    @Test
+    void testSplit_EmptyMessage() {
+        final List<String> chunks = MessageChunker.split("");
+
+        Assertions.assertEquals(1, chunks.size());
+        Assertions.assertEquals("", chunks.get(0));
+    }
+
+    /**
+     * Test that long messages are split on line boundaries without losing any lines.
+     */
+    @Test
+    void testSplit_SplitsOnLineBoundaries() {
+        final StringBuffer message = new StringBuffer();
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) message.append("\n");
+            message.append("• **$").append(100 + i).append("** - Valid through **2026-01-01** (30 days remaining)");
+        }
+
+        final List<String> chunks = MessageChunker.split(message.toString());
+
+        Assertions.assertTrue(chunks.size() > 1, "Message over the limit should be split");
+        for (final String chunk : chunks) {
+            Assertions.assertTrue(chunk.length() <= Constants.DISCORD_MESSAGE_LIMIT, "Every chunk should fit in one Discord message");
+            Assertions.assertTrue(chunk.startsWith("• **$"), "Every chunk should start on a line boundary");
+        }
+        Assertions.assertEquals(message.toString(), String.join("\n", chunks), "Joining the chunks should rebuild the message");
+    }
+
+    /**
+     * Test that a single line longer than the limit is hard-split.
+     */
+    @Test
+    void testSplit_LineLongerThanLimit() {
+        final String message = "a".repeat(25);
+
+        final List<String> chunks = MessageChunker.split(message, 10);
+
+        Assertions.assertEquals(List.of("a".repeat(10), "a".repeat(10), "a".repeat(5)), chunks);
+    }
+
+    /**
+     * Test that hard-splitting never cuts a surrogate pair in half.
+     */
+    @Test
+    void testSplit_DoesNotCutSurrogatePair() {
+        final String message = "\uD83D\uDC09".repeat(10);
+
+        final List<String> chunks = MessageChunker.split(message, 5);
+
+        for (final String chunk : chunks) {
+            Assertions.assertTrue(chunk.length() <= 5, "Every chunk should fit the limit");
+            Assertions.assertFalse(Character.isHighSurrogate(chunk.charAt(chunk.length() - 1)), "No chunk should end on a high surrogate");
+        }
+        Assertions.assertEquals(message, String.join("", chunks), "Joining the chunks should rebuild the line");
+    }
+}
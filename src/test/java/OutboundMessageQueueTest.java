@@ -0,0 +1,237 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import com.dragoncon_reminder.bot.OutboundMessageQueue;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for OutboundMessageQueue.
+ * Counts REST calls against a mocked JDA.
+ */
+@ExtendWith(MockitoExtension.class)
+public class OutboundMessageQueueTest {
+
+    @Mock
+    private JDA mockJda;
+
+    @Mock
+    private TextChannel mockFirstChannel;
+
+    @Mock
+    private TextChannel mockSecondChannel;
+
+    @Mock
+    private MessageCreateAction mockMessageAction;
+
+    private final String firstChannelId = "111";
+    private final String secondChannelId = "222";
+
+    /**
+     * Test that reminders due in the same tick for one channel are coalesced into a single REST call.
+     */
+    @Test
+    void testFlush_CoalescesPerChannel() {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(CompletableFuture.completedFuture(null));
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "First reminder");
+        queue.enqueue(firstChannelId, "Second reminder");
+        queue.enqueue(firstChannelId, "Third reminder");
+
+        final int restCalls = queue.flush(mockJda);
+
+        Assertions.assertEquals(1, restCalls, "Three short reminders should fit in one REST call");
+        verify(mockJda, times(1)).getTextChannelById(firstChannelId);
+        verify(mockFirstChannel, times(1)).sendMessage("First reminder\nSecond reminder\nThird reminder");
+        verify(mockMessageAction, times(1)).submit();
+    }
+
+    /**
+     * Test that each channel gets its own coalesced message.
+     */
+    @Test
+    void testFlush_OneCallPerChannel() {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockJda.getTextChannelById(secondChannelId)).thenReturn(mockSecondChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(CompletableFuture.completedFuture(null));
+        when(mockSecondChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "First channel A");
+        queue.enqueue(secondChannelId, "Second channel A");
+        queue.enqueue(firstChannelId, "First channel B");
+
+        final int restCalls = queue.flush(mockJda);
+
+        Assertions.assertEquals(2, restCalls, "Each channel should receive exactly one REST call");
+        verify(mockFirstChannel, times(1)).sendMessage("First channel A\nFirst channel B");
+        verify(mockSecondChannel, times(1)).sendMessage("Second channel A");
+        verify(mockMessageAction, times(2)).submit();
+    }
+
+    /**
+     * Test that content over the Discord limit is split into the minimum number of ordered chunks.
+     */
+    @Test
+    void testFlush_SplitsOversizedContentInOrder() {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(CompletableFuture.completedFuture(null));
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        final String firstLine = "a".repeat(1500);
+        final String secondLine = "b".repeat(1500);
+        final String thirdLine = "c".repeat(400);
+        queue.enqueue(firstChannelId, firstLine);
+        queue.enqueue(firstChannelId, secondLine);
+        queue.enqueue(firstChannelId, thirdLine);
+
+        final int restCalls = queue.flush(mockJda);
+
+        Assertions.assertEquals(2, restCalls, "3400 characters should need two REST calls");
+        final var inOrder = inOrder(mockFirstChannel);
+        inOrder.verify(mockFirstChannel).sendMessage(firstLine);
+        inOrder.verify(mockFirstChannel).sendMessage(secondLine + "\n" + thirdLine);
+    }
+
+    /**
+     * Test that flushing drains the queue so nothing is sent twice.
+     */
+    @Test
+    void testFlush_DrainsQueue() {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(CompletableFuture.completedFuture(null));
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "Reminder");
+
+        Assertions.assertEquals(1, queue.flush(mockJda));
+        Assertions.assertEquals(0, queue.pendingChannelCount(), "Queue should be empty after a flush");
+        Assertions.assertEquals(0, queue.flush(mockJda), "Second flush should not make any REST calls");
+    }
+
+    /**
+     * Test that empty messages are never queued.
+     */
+    @Test
+    void testEnqueue_IgnoresEmptyMessages() {
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "");
+
+        Assertions.assertEquals(0, queue.flush(mockJda));
+        verifyNoInteractions(mockJda);
+    }
+
+    /**
+     * Test that draining renders the pending messages as flush would send them, without touching Discord.
+     */
+    @Test
+    void testDrain_RendersWithoutSending() {
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "First reminder");
+        queue.enqueue(secondChannelId, "Other reminder");
+        queue.enqueue(firstChannelId, "Second reminder");
+
+        final Map<String, List<String>> chunks = queue.drain();
+
+        Assertions.assertEquals(List.of(firstChannelId, secondChannelId), List.copyOf(chunks.keySet()));
+        Assertions.assertEquals(List.of("First reminder\nSecond reminder"), chunks.get(firstChannelId));
+        Assertions.assertEquals(0, queue.pendingChannelCount());
+        verifyNoInteractions(mockJda);
+    }
+
+    /**
+     * Test that waiting for the flushed messages reports them delivered once Discord has accepted every chunk.
+     */
+    @Test
+    void testAwaitSent_Delivered() throws InterruptedException {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(CompletableFuture.completedFuture(null));
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "Reminder");
+        queue.flush(mockJda);
+
+        Assertions.assertTrue(queue.awaitSent(Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Test that a chunk Discord rejected is reported as not delivered.
+     */
+    @Test
+    void testAwaitSent_SendFailed() throws InterruptedException {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Missing Access")));
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "Reminder");
+        queue.flush(mockJda);
+
+        Assertions.assertFalse(queue.awaitSent(Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Test that messages for a channel the bot cannot see are reported as not delivered.
+     */
+    @Test
+    void testAwaitSent_MissingChannel() throws InterruptedException {
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "Reminder");
+
+        Assertions.assertEquals(0, queue.flush(mockJda), "No REST call should be made for a missing channel");
+        Assertions.assertFalse(queue.awaitSent(Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Test that a chunk Discord has not answered yet is reported as not delivered once the wait times out.
+     */
+    @Test
+    void testAwaitSent_StillInFlight() throws InterruptedException {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(new CompletableFuture<>());
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "Reminder");
+        queue.flush(mockJda);
+
+        Assertions.assertFalse(queue.awaitSent(Duration.ofMillis(10)));
+    }
+
+    /**
+     * Test that a chunk that failed in an earlier flush does not make waiting on a later, delivered flush fail.
+     */
+    @Test
+    void testAwaitSent_OnlyReportsLatestFlush() throws InterruptedException {
+        when(mockJda.getTextChannelById(firstChannelId)).thenReturn(mockFirstChannel);
+        when(mockFirstChannel.sendMessage(anyString())).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit())
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Missing Access")))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        final OutboundMessageQueue queue = new OutboundMessageQueue();
+        queue.enqueue(firstChannelId, "First reminder");
+        queue.flush(mockJda);
+        Assertions.assertFalse(queue.awaitSent(Duration.ofSeconds(1)));
+
+        queue.enqueue(firstChannelId, "Second reminder");
+        queue.flush(mockJda);
+        Assertions.assertTrue(queue.awaitSent(Duration.ofSeconds(1)));
+    }
+}
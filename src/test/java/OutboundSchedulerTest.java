@@ -0,0 +1,219 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.Mockito.*;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import com.dragoncon_reminder.bot.DiscordRateLimits;
+import com.dragoncon_reminder.bot.OutboundScheduler;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboundSchedulerTest {
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-03-01T12:00:00Z");
+
+        void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+
+    /**
+     * Helper method to teach the rate limits a channel bucket.
+     * @param rateLimits the rate limits.
+     * @param channelId the ID of the channel.
+     * @param remaining the remaining requests in the bucket.
+     */
+    private final void learnBucket(final DiscordRateLimits rateLimits, final String channelId, final int remaining) {
+        final Map<String, String> headers = Map.of(
+            "X-RateLimit-Limit", "5",
+            "X-RateLimit-Remaining", String.valueOf(remaining),
+            "X-RateLimit-Reset-After", "5"
+        );
+        rateLimits.observe(OutboundScheduler.channelMessagesRoute(channelId), 200, headers::get);
+    }
+
+    /**
+     * Helper method to queue a broadcast that records its label when sent.
+     * @param scheduler the scheduler.
+     * @param channelId the ID of the channel.
+     * @param label the label recorded when the broadcast is sent.
+     * @param sent the labels of the broadcasts sent so far.
+     * @return the response of the broadcast.
+     */
+    private final CompletableFuture<String> broadcast(final OutboundScheduler scheduler, final String channelId,
+            final String label, final List<String> sent) {
+        return scheduler.sendBroadcast(OutboundScheduler.channelMessagesRoute(channelId), () -> {
+            sent.add(label);
+            return CompletableFuture.completedFuture(label);
+        });
+    }
+
+    /**
+     * Test that interaction replies are sent at once, even while broadcasts are held back.
+     */
+    @Test
+    void testSendInteraction_NotQueuedBehindBroadcasts() {
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(new MutableClock());
+        final OutboundScheduler scheduler = new OutboundScheduler(new MutableClock(), rateLimits, this.executor, 40, 10);
+        final List<String> sent = new ArrayList<>();
+        learnBucket(rateLimits, "1", 0);
+        broadcast(scheduler, "1", "reminder", sent);
+
+        final CompletableFuture<String> reply = scheduler.sendInteraction(() -> CompletableFuture.completedFuture("pong"));
+
+        Assertions.assertEquals("pong", reply.join());
+        Assertions.assertEquals(List.of(), sent);
+        Assertions.assertEquals(1, scheduler.pendingBroadcasts());
+    }
+
+    /**
+     * Test that a channel's messages wait for its bucket to reset, in order, without holding back other channels.
+     */
+    @Test
+    void testDispatch_HoldsBackEmptyBucketInOrder() {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        final OutboundScheduler scheduler = new OutboundScheduler(clock, rateLimits, this.executor, 40, 10);
+        final List<String> sent = new ArrayList<>();
+        learnBucket(rateLimits, "1", 1);
+        learnBucket(rateLimits, "2", 4);
+
+        broadcast(scheduler, "1", "first", sent);
+        final CompletableFuture<String> second = broadcast(scheduler, "1", "second", sent);
+        broadcast(scheduler, "2", "other", sent);
+
+        Assertions.assertEquals(List.of("first", "other"), sent);
+        Assertions.assertFalse(second.isDone());
+        verify(this.executor).schedule(any(Runnable.class), eq(5000L), eq(TimeUnit.MILLISECONDS));
+
+        clock.advance(Duration.ofSeconds(5));
+        Assertions.assertEquals(Duration.ZERO, scheduler.dispatch());
+        Assertions.assertEquals(List.of("first", "other", "second"), sent);
+        Assertions.assertEquals("second", second.join());
+    }
+
+    /**
+     * Test that broadcasts leave the reserved part of the global budget free.
+     */
+    @Test
+    void testDispatch_LeavesReserveForInteractions() {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        final OutboundScheduler scheduler = new OutboundScheduler(clock, rateLimits, this.executor, 5, 2);
+        final List<String> sent = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            learnBucket(rateLimits, String.valueOf(i), 4);
+            broadcast(scheduler, String.valueOf(i), "channel " + i, sent);
+        }
+
+        Assertions.assertEquals(3, sent.size(), "Only 5 - 2 broadcasts fit in one second");
+        Assertions.assertEquals(2, scheduler.pendingBroadcasts());
+
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.dispatch();
+        Assertions.assertEquals(5, sent.size());
+    }
+
+    /**
+     * Test that waiting for the queue to drain times out while broadcasts are held back and returns once they are sent.
+     */
+    @Test
+    void testAwaitDrained() throws InterruptedException {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        final OutboundScheduler scheduler = new OutboundScheduler(clock, rateLimits, this.executor, 40, 10);
+        learnBucket(rateLimits, "1", 0);
+        broadcast(scheduler, "1", "reminder", new ArrayList<>());
+
+        Assertions.assertFalse(scheduler.awaitDrained(Duration.ofMillis(10)));
+
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.dispatch();
+        Assertions.assertTrue(scheduler.awaitDrained(Duration.ofMillis(10)));
+    }
+
+    /**
+     * Test that a broadcast queued while a dispatch on another thread is sending an earlier one is left to that thread instead of
+     * overtaking it, and that queueing it does not wait for the earlier send.
+     */
+    @Test
+    void testDispatch_ConcurrentDispatchKeepsOrder() throws InterruptedException {
+        final MutableClock clock = new MutableClock();
+        final DiscordRateLimits rateLimits = new DiscordRateLimits(clock);
+        final OutboundScheduler scheduler = new OutboundScheduler(clock, rateLimits, this.executor, 40, 10);
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch taken = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        learnBucket(rateLimits, "1", 0);
+        scheduler.sendBroadcast(OutboundScheduler.channelMessagesRoute("1"), () -> {
+            // Taken off the queue, but not yet handed to the HTTP client.
+            taken.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add("first");
+            return CompletableFuture.completedFuture("first");
+        });
+        clock.advance(Duration.ofSeconds(5));
+
+        final Thread dispatcher = new Thread(scheduler::dispatch);
+        dispatcher.start();
+        taken.await();
+        final Thread producer = new Thread(() -> broadcast(scheduler, "1", "second", sent));
+        producer.start();
+        producer.join(5000);
+        Assertions.assertFalse(producer.isAlive(), "Queueing a broadcast must not wait for another thread's send");
+        Assertions.assertEquals(List.of(), sent);
+
+        release.countDown();
+        dispatcher.join();
+
+        Assertions.assertEquals(List.of("first", "second"), sent);
+        Assertions.assertTrue(scheduler.awaitDrained(Duration.ofMillis(10)));
+    }
+
+    /**
+     * Test that interactions cannot reserve the whole budget.
+     */
+    @Test
+    void testConstructor_RejectsReserveOfWholeBudget() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new OutboundScheduler(new MutableClock(), new DiscordRateLimits(new MutableClock()), this.executor, 10, 10));
+    }
+}
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import com.dragoncon_reminder.simulation.OutboxDiff;
+import com.dragoncon_reminder.util.OutboxRun;
+
+public class OutboxDiffTest {
+    /**
+     * Helper method to create a run.
+     * @param fetchMillis how long the fetch stage took.
+     * @param messages the messages of the run.
+     * @return the run.
+     */
+    private final OutboxRun run(final double fetchMillis, final OutboxRun.Message... messages) {
+        return new OutboxRun(Instant.parse("2026-03-01T05:00:00Z"), LocalDate.of(2026, 3, 1), Map.of("fetch", fetchMillis), List.of(messages));
+    }
+
+    /**
+     * Test that identical messages are reported as such, along with the timing change.
+     */
+    @Test
+    void testIdenticalMessages() {
+        final OutboxDiff diff = new OutboxDiff(run(200, new OutboxRun.Message("111", "Reminder")), run(150, new OutboxRun.Message("111", "Reminder")));
+
+        Assertions.assertFalse(diff.hasMessageChanges());
+        Assertions.assertTrue(diff.report().contains("Messages: identical"), diff.report());
+        Assertions.assertTrue(diff.report().contains("(-25.0%)"), diff.report());
+    }
+
+    /**
+     * Test that changed, added and removed messages are each reported once, per channel and position.
+     */
+    @Test
+    void testChangedAddedAndRemovedMessages() {
+        final OutboxRun before = run(1,
+            new OutboxRun.Message("111", "First"),
+            new OutboxRun.Message("111", "Second"),
+            new OutboxRun.Message("222", "Other channel"));
+        final OutboxRun after = run(1,
+            new OutboxRun.Message("111", "First"),
+            new OutboxRun.Message("111", "Second, reworded"),
+            new OutboxRun.Message("111", "Third"));
+
+        final List<String> changes = new OutboxDiff(before, after).getMessageChanges();
+
+        Assertions.assertEquals(3, changes.size(), changes.toString());
+        Assertions.assertEquals("~ channel 111 message 2\n- Second\n+ Second, reworded", changes.get(0));
+        Assertions.assertEquals("+ channel 111 message 3\n+ Third", changes.get(1));
+        Assertions.assertEquals("- channel 222 message 1\n- Other channel", changes.get(2));
+    }
+}
@@ -0,0 +1,250 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import com.dragoncon_reminder.bot.PinnedMessages;
+import com.dragoncon_reminder.bot.PinnedStatusBoard;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.PinnedStatusFile;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for PinnedStatusBoard.
+ * Channels 1000 and up are in guild 1, which uses the default settings; channels 2000 and up are in guild 2, which is in Berlin.
+ */
+@ExtendWith(MockitoExtension.class)
+public class PinnedStatusBoardTest {
+    private static final List<DragonConRate> RATES = List.of(
+        new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+        new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12)),
+        new DragonConRate("$225 at the door", "$225", false, null)
+    );
+
+    /**
+     * A clock whose instant can be moved by the test.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return Constants.ZONE;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return Clock.fixed(this.instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+
+    @Mock
+    private PinnedMessages mockPins;
+
+    @Mock
+    private ScheduledExecutorService mockExecutor;
+
+    @TempDir
+    Path tempDir;
+
+    private final MutableClock clock = new MutableClock(LocalDate.of(2026, 3, 6).atTime(10, 0).atZone(Constants.ZONE).toInstant());
+    private final RateHistory rateHistory = new RateHistory();
+    private final GuildSettingsRegistry guildSettings = new GuildSettingsRegistry(new GuildSettings(Locale.ROOT, Constants.ZONE),
+        Map.of(2L, new GuildSettings(Locale.GERMANY, ZoneId.of("Europe/Berlin"))));
+    private final AtomicLong nextMessageId = new AtomicLong(1);
+
+    /**
+     * Records the rates and answers posts with increasing message IDs.
+     */
+    @BeforeEach
+    void setUp() {
+        this.rateHistory.record(new RateSnapshot(this.clock.instant(), RATES));
+        lenient().when(this.mockPins.getGuildId(anyString())).thenAnswer(invocation ->
+            ((String) invocation.getArgument(0)).startsWith("2") ? 2L : 1L);
+        lenient().when(this.mockPins.post(anyString(), anyString())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(this.nextMessageId.getAndIncrement()));
+        lenient().when(this.mockPins.edit(anyString(), anyLong(), anyString())).thenReturn(CompletableFuture.completedFuture(true));
+    }
+
+    /**
+     * Helper method to create a board, as after a (re)start.
+     * @param channelIds the IDs of the channels that keep a status message.
+     * @return the board.
+     */
+    private final PinnedStatusBoard board(final List<String> channelIds) {
+        return new PinnedStatusBoard(this.clock, this.rateHistory, this.guildSettings, this.mockPins, this.mockExecutor, channelIds,
+            this.tempDir.resolve("pinned-status.txt"));
+    }
+
+    /**
+     * Helper method to create the IDs of many channels, half of them in each guild.
+     * @param count the number of channels.
+     * @return the channel IDs.
+     */
+    private final List<String> channels(final int count) {
+        final List<String> channelIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            channelIds.add(String.valueOf(i % 2 == 0 ? 1000 + i : 2000 + i));
+        }
+        return channelIds;
+    }
+
+    /**
+     * Test that every channel gets one message, and that checking again the same day sends nothing.
+     */
+    @Test
+    void testCheck_PostsOnceThenSkipsUnchanged() {
+        final PinnedStatusBoard board = board(channels(1000));
+
+        Assertions.assertEquals(1000, board.check());
+        Assertions.assertEquals(0, board.check(), "Unchanged content should not be edited");
+        Assertions.assertEquals(0, board.check());
+
+        verify(this.mockPins, times(1000)).post(anyString(), anyString());
+        verify(this.mockPins, never()).edit(anyString(), anyLong(), anyString());
+        Assertions.assertEquals(1000, PinnedStatusFile.read(this.tempDir.resolve("pinned-status.txt")).size());
+    }
+
+    /**
+     * Test that each guild's status is rendered in its own locale and time zone.
+     */
+    @Test
+    void testCheck_RendersPerGuild() {
+        board(List.of("1000", "2001")).check();
+
+        verify(this.mockPins).post(eq("1000"), contains("**2026-03-13** (7 days left)"));
+        verify(this.mockPins).post(eq("2001"), contains("**13.03.2026** (7 days left)"));
+    }
+
+    /**
+     * Test that the messages are edited once when the day rolls over, including after a restart.
+     */
+    @Test
+    void testCheck_EditsOncePerDayAcrossRestart() {
+        board(channels(1000)).check();
+
+        this.clock.instant = this.clock.instant.plusSeconds(24 * 3600);
+        final PinnedStatusBoard restarted = board(channels(1000));
+
+        Assertions.assertEquals(1000, restarted.check());
+        Assertions.assertEquals(0, restarted.check());
+        verify(this.mockPins, times(1000)).post(anyString(), anyString());
+        verify(this.mockPins).edit(eq("1000"), eq(1L), contains("(6 days left)"));
+        verify(this.mockPins, times(1000)).edit(anyString(), anyLong(), anyString());
+    }
+
+    /**
+     * Test that a change to the rates edits every message once, even if it is seen by several checks.
+     */
+    @Test
+    void testCheck_EditsOnceWhenRatesChange() {
+        final PinnedStatusBoard board = board(channels(10));
+        board.check();
+
+        this.rateHistory.record(new RateSnapshot(this.clock.instant().plusSeconds(60), List.of(
+            new DragonConRate("$160 through 3/13/2026", "$160", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("$225 at the door", "$225", false, null))));
+
+        Assertions.assertEquals(10, board.check());
+        Assertions.assertEquals(0, board.check());
+        verify(this.mockPins, times(10)).edit(anyString(), anyLong(), contains("160"));
+    }
+
+    /**
+     * Test that a deleted message is forgotten and replaced by a new one on the next check.
+     */
+    @Test
+    void testCheck_RepostsDeletedMessage() {
+        final PinnedStatusBoard board = board(List.of("1000"));
+        board.check();
+        this.clock.instant = this.clock.instant.plusSeconds(24 * 3600);
+        when(this.mockPins.edit(anyString(), anyLong(), anyString())).thenReturn(CompletableFuture.completedFuture(false));
+
+        Assertions.assertEquals(1, board.check());
+        Assertions.assertEquals(1, board.check(), "The deleted message should be replaced");
+
+        verify(this.mockPins, times(2)).post(eq("1000"), anyString());
+        Assertions.assertEquals(2L, PinnedStatusFile.read(this.tempDir.resolve("pinned-status.txt")).get("1000").getMessageId());
+    }
+
+    /**
+     * Test that a channel whose message is still being posted is not posted to again.
+     */
+    @Test
+    void testCheck_SkipsChannelInFlight() {
+        final CompletableFuture<Long> pending = new CompletableFuture<>();
+        when(this.mockPins.post(anyString(), anyString())).thenReturn(pending);
+        final PinnedStatusBoard board = board(List.of("1000"));
+
+        Assertions.assertEquals(1, board.check());
+        Assertions.assertEquals(0, board.check(), "The post in flight should not be repeated");
+
+        pending.complete(42L);
+        Assertions.assertEquals(0, board.check());
+        verify(this.mockPins, times(1)).post(anyString(), anyString());
+        Assertions.assertEquals(42L, PinnedStatusFile.read(this.tempDir.resolve("pinned-status.txt")).get("1000").getMessageId());
+    }
+
+    /**
+     * Test that nothing is posted before the first rates are known.
+     */
+    @Test
+    void testCheck_WaitsForRates() {
+        final PinnedStatusBoard board = new PinnedStatusBoard(this.clock, new RateHistory(), this.guildSettings, this.mockPins,
+            this.mockExecutor, List.of("1000"), this.tempDir.resolve("pinned-status.txt"));
+
+        Assertions.assertEquals(0, board.check());
+        verifyNoInteractions(this.mockPins);
+    }
+
+    /**
+     * Test that a burst of requests schedules a single check.
+     */
+    @Test
+    void testRequestCheck_Coalesces() {
+        final PinnedStatusBoard board = board(List.of("1000"));
+        board.requestCheck();
+        board.requestCheck();
+        board.requestCheck();
+
+        final ArgumentCaptor<Runnable> check = ArgumentCaptor.forClass(Runnable.class);
+        verify(this.mockExecutor, times(1)).schedule(check.capture(), eq(Constants.PINNED_STATUS_COALESCE_SECONDS), eq(TimeUnit.SECONDS));
+
+        check.getValue().run();
+        verify(this.mockPins).post(eq("1000"), anyString());
+
+        board.requestCheck();
+        verify(this.mockExecutor, times(2)).schedule(any(Runnable.class), eq(Constants.PINNED_STATUS_COALESCE_SECONDS), eq(TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import com.dragoncon_reminder.bot.RateRefresher;
+import com.dragoncon_reminder.bot.RefreshScheduler;
+import com.dragoncon_reminder.util.AdaptiveRefreshPolicy;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.UpstreamRequestBudget;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for RefreshScheduler.
+ * Uses a mocked executor so that scheduled delays can be inspected without waiting for them.
+ */
+@ExtendWith(MockitoExtension.class)
+public class RefreshSchedulerTest {
+    private static final Instant NOW = LocalDate.of(2026, 1, 5).atTime(12, 0).atZone(Constants.ZONE).toInstant();
+
+    @Mock
+    private ScheduledExecutorService mockExecutor;
+
+    @Mock
+    private RateRefresher mockRefresher;
+
+    private final Clock clock = Clock.fixed(NOW, Constants.ZONE);
+    private final RateHistory rateHistory = new RateHistory();
+
+    /**
+     * Helper method to create a rate table with a deadline months away.
+     * @return the rate table.
+     */
+    private final RateSnapshot snapshot() {
+        return new RateSnapshot(NOW, List.of(new DragonConRate("$150", "$150", false, LocalDate.of(2026, 6, 1))));
+    }
+
+    /**
+     * Helper method to create a scheduler around the mocked refresher.
+     * @param maxRequestsPerHour the hourly cap on upstream requests.
+     * @return the scheduler.
+     */
+    private final RefreshScheduler scheduler(final int maxRequestsPerHour) {
+        when(mockRefresher.getRateHistory()).thenReturn(this.rateHistory);
+        when(mockRefresher.getBudget()).thenReturn(new UpstreamRequestBudget(this.clock, maxRequestsPerHour));
+        return new RefreshScheduler(mockExecutor, mockRefresher, new AdaptiveRefreshPolicy(this.clock));
+    }
+
+    /**
+     * Test that a successful poll schedules the next one using the adaptive policy.
+     */
+    @Test
+    void testPoll_SchedulesNextPoll() throws Exception {
+        final RefreshScheduler scheduler = scheduler(6);
+        when(mockRefresher.refresh()).thenAnswer(invocation -> {
+            this.rateHistory.record(snapshot());
+            return snapshot();
+        });
+
+        final Duration delay = scheduler.poll();
+
+        Assertions.assertEquals(Duration.ofHours(24), delay);
+        verify(mockExecutor).schedule(any(Runnable.class), eq(delay.toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Test that repeated failures back off.
+     */
+    @Test
+    void testPoll_BacksOffOnFailure() throws Exception {
+        final RefreshScheduler scheduler = scheduler(6);
+        when(mockRefresher.refresh()).thenThrow(new IOException("Website is down"));
+
+        Assertions.assertEquals(Duration.ofMinutes(15), scheduler.poll());
+        Assertions.assertEquals(Duration.ofMinutes(15), scheduler.poll());
+        Assertions.assertEquals(Duration.ofMinutes(20), scheduler.poll());
+        Assertions.assertEquals(Duration.ofMinutes(40), scheduler.poll());
+    }
+
+    /**
+     * Test that the next poll is never scheduled before the hourly budget allows another request.
+     */
+    @Test
+    void testPoll_WaitsForBudget() throws Exception {
+        final RefreshScheduler scheduler = scheduler(1);
+        when(mockRefresher.refresh()).thenAnswer(invocation -> {
+            mockRefresher.getBudget().tryAcquire();
+            throw new IOException("Website is down");
+        });
+
+        Assertions.assertEquals(Duration.ofHours(1), scheduler.poll(), "The only request this hour has been used");
+    }
+}
@@ -0,0 +1,150 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import com.dragoncon_reminder.bot.MessageSender;
+import com.dragoncon_reminder.bot.ReminderScheduler;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.SentReminderFile;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for ReminderScheduler.
+ * Uses a mocked executor so that scheduled delays can be inspected without waiting for them.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReminderSchedulerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 6);
+    private static final String REMINDER = "The DragonCon membership price (current: $150) will increase in 7 day(s) (2026-03-13).";
+
+    @Mock
+    private ScheduledExecutorService mockExecutor;
+
+    @Mock
+    private MessageSender mockSender;
+
+    @TempDir
+    Path tempDir;
+
+    private final RateHistory rateHistory = new RateHistory();
+
+    /**
+     * Helper method to create a clock pinned to a time of day, one week before the first deadline.
+     * @param hour the hour of the day.
+     * @param minute the minute of the hour.
+     * @return a clock fixed at that time.
+     */
+    private final Clock clockAt(final int hour, final int minute) {
+        return Clock.fixed(TODAY.atTime(hour, minute).atZone(Constants.ZONE).toInstant(), Constants.ZONE);
+    }
+
+    /**
+     * Helper method to record the rate table with a deadline one week away.
+     */
+    private final void recordRates() {
+        final Instant observedAt = TODAY.atStartOfDay(Constants.ZONE).toInstant();
+        this.rateHistory.record(new RateSnapshot(observedAt, List.of(
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        )));
+    }
+
+    /**
+     * Helper method to create a scheduler around the mocked executor and sender.
+     * @param clock the clock the scheduler runs on.
+     * @return the scheduler.
+     */
+    private final ReminderScheduler scheduler(final Clock clock) {
+        lenient().when(mockSender.getChannelGuildId()).thenReturn(-1L);
+        return new ReminderScheduler(clock, mockExecutor, this.rateHistory,
+            new GuildSettingsRegistry(new GuildSettings(Locale.ROOT, Constants.ZONE)), mockSender, this.tempDir.resolve("sent.txt"));
+    }
+
+    /**
+     * Test that the next check is due at the reminder hour today before it, and tomorrow from then on.
+     */
+    @Test
+    void testDelayUntilNextCheck() {
+        Assertions.assertEquals(Duration.ofMinutes(90), ReminderScheduler.delayUntilNextCheck(clockAt(Constants.REMINDER_HOUR - 2, 30)));
+        Assertions.assertEquals(Duration.ofHours(24), ReminderScheduler.delayUntilNextCheck(clockAt(Constants.REMINDER_HOUR, 0)));
+        Assertions.assertEquals(Duration.ofHours(23), ReminderScheduler.delayUntilNextCheck(clockAt(Constants.REMINDER_HOUR + 1, 0)));
+    }
+
+    /**
+     * Test that the check stays at the reminder hour across the switch to daylight saving time, when the day is 23 hours long.
+     */
+    @Test
+    void testDelayUntilNextCheck_DaylightSavingTime() {
+        final Clock clock = Clock.fixed(LocalDate.of(2026, 3, 7).atTime(Constants.REMINDER_HOUR, 0).atZone(Constants.ZONE).toInstant(),
+            Constants.ZONE);
+
+        Assertions.assertEquals(Duration.ofHours(23), ReminderScheduler.delayUntilNextCheck(clock));
+    }
+
+    /**
+     * Test that starting before the reminder hour waits for it, and starting after it checks right away.
+     */
+    @Test
+    void testStart() {
+        Assertions.assertEquals(Duration.ofHours(2), scheduler(clockAt(Constants.REMINDER_HOUR - 2, 0)).start());
+        Assertions.assertEquals(Duration.ZERO, scheduler(clockAt(Constants.REMINDER_HOUR + 3, 0)).start());
+        verify(mockExecutor).schedule(any(Runnable.class), eq(Duration.ofHours(2).toMillis()), eq(TimeUnit.MILLISECONDS));
+        verify(mockExecutor).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Test that a due reminder is sent and recorded, and the next check is scheduled for tomorrow.
+     */
+    @Test
+    void testCheck_SendsDueReminder() {
+        recordRates();
+
+        Assertions.assertEquals(Duration.ofHours(24), scheduler(clockAt(Constants.REMINDER_HOUR, 0)).check());
+
+        verify(mockSender).enqueueMessage(REMINDER);
+        verify(mockSender).flushMessages();
+        verify(mockExecutor).schedule(any(Runnable.class), eq(Duration.ofHours(24).toMillis()), eq(TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(SentReminderFile.alreadySent(this.tempDir.resolve("sent.txt"), TODAY, REMINDER));
+    }
+
+    /**
+     * Test that a restart on the same day does not send the reminder again.
+     */
+    @Test
+    void testCheck_SkipsReminderAlreadySent() throws Exception {
+        recordRates();
+        SentReminderFile.write(this.tempDir.resolve("sent.txt"), TODAY, REMINDER);
+
+        scheduler(clockAt(Constants.REMINDER_HOUR + 1, 0)).check();
+
+        verify(mockSender, never()).enqueueMessage(anyString());
+    }
+
+    /**
+     * Test that nothing is sent before any rates are known, and the check is still scheduled for tomorrow.
+     */
+    @Test
+    void testCheck_WithoutRates() {
+        scheduler(clockAt(Constants.REMINDER_HOUR, 0)).check();
+
+        verify(mockSender, never()).enqueueMessage(anyString());
+        verify(mockExecutor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,76 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import com.dragoncon_reminder.simulation.ReminderSimulator;
+import com.dragoncon_reminder.util.DragonConRate;
+
+public class ReminderSimulatorTest {
+
+    /**
+     * Helper method to build a single-rate table.
+     * @param price the price of the rate.
+     * @param deadline the deadline of the rate.
+     * @return a rate table containing only the provided rate.
+     */
+    private final List<DragonConRate> rateTable(final String price, final LocalDate deadline) {
+        return List.of(new DragonConRate(price + " through " + deadline, price, false, deadline));
+    }
+
+    /**
+     * Test that reminders are produced exactly on the threshold days across a simulated year.
+     */
+    @Test
+    void testRun_RemindersOnThresholdDays() {
+        final LocalDate deadline = LocalDate.of(2026, 3, 13);
+        final NavigableMap<LocalDate, List<DragonConRate>> history = new TreeMap<>();
+        history.put(LocalDate.of(2025, 9, 1), rateTable("$150", deadline));
+
+        final List<ReminderSimulator.Evaluation> evaluations = new ReminderSimulator(history)
+            .run(LocalDate.of(2025, 9, 1), LocalDate.of(2026, 8, 31));
+
+        final List<LocalDate> reminderDays = evaluations.stream()
+            .filter(ReminderSimulator.Evaluation::wouldSend)
+            .map(ReminderSimulator.Evaluation::getDay)
+            .toList();
+
+        Assertions.assertEquals(365, evaluations.size(), "Every simulated day should be evaluated");
+        Assertions.assertEquals(List.of(
+            deadline.minusDays(30),
+            deadline.minusDays(14),
+            deadline.minusDays(7),
+            deadline.minusDays(3),
+            deadline.minusDays(1),
+            deadline
+        ), reminderDays, "Reminders should only fire on the threshold days");
+    }
+
+    /**
+     * Test that each day is evaluated against the most recent snapshot and days before the first snapshot are skipped.
+     */
+    @Test
+    void testRun_UsesMostRecentSnapshot() {
+        final NavigableMap<LocalDate, List<DragonConRate>> history = new TreeMap<>();
+        history.put(LocalDate.of(2026, 1, 10), rateTable("$125", LocalDate.of(2026, 1, 17)));
+        history.put(LocalDate.of(2026, 1, 20), rateTable("$150", LocalDate.of(2026, 1, 27)));
+
+        final List<ReminderSimulator.Evaluation> evaluations = new ReminderSimulator(history)
+            .run(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+
+        Assertions.assertEquals(22, evaluations.size(), "Days before the first snapshot should be skipped");
+        Assertions.assertEquals(LocalDate.of(2026, 1, 10), evaluations.get(0).getSnapshotDate());
+
+        final ReminderSimulator.Evaluation firstReminder = evaluations.get(0);
+        Assertions.assertTrue(firstReminder.wouldSend(), "7 days before the first deadline should send a reminder");
+        Assertions.assertTrue(firstReminder.getReminder().contains("$125"));
+
+        final ReminderSimulator.Evaluation secondReminder = evaluations.stream()
+            .filter(evaluation -> evaluation.getDay().equals(LocalDate.of(2026, 1, 20)))
+            .findFirst()
+            .orElseThrow();
+        Assertions.assertEquals(LocalDate.of(2026, 1, 20), secondReminder.getSnapshotDate());
+        Assertions.assertTrue(secondReminder.getReminder().contains("$150"), "The newer snapshot should be used once captured");
+    }
+}
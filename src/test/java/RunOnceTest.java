@@ -0,0 +1,186 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import com.dragoncon_reminder.bot.DiscordConnector;
+import com.dragoncon_reminder.bot.MessageSender;
+import com.dragoncon_reminder.bot.RateRefresher;
+import com.dragoncon_reminder.bot.RunOnce;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.GuildSettingsRegistry;
+import com.dragoncon_reminder.util.RateHistory;
+import com.dragoncon_reminder.util.RateSnapshot;
+import com.dragoncon_reminder.util.SentReminderFile;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for RunOnce.
+ * Today is one week before the first deadline, so a reminder is due.
+ */
+@ExtendWith(MockitoExtension.class)
+public class RunOnceTest {
+    private static final Instant NOW = LocalDate.of(2026, 3, 6).atTime(10, 0).atZone(Constants.ZONE).toInstant();
+    private static final String REMINDER = "The DragonCon membership price (current: $150) will increase in 7 day(s) (2026-03-13).";
+
+    @Mock
+    private RateRefresher mockRefresher;
+
+    @Mock
+    private MessageSender mockSender;
+
+    @Mock
+    private JDA mockJda;
+
+    @Mock
+    private TextChannel mockTextChannel;
+
+    @Mock
+    private Guild mockGuild;
+
+    @Mock
+    private MessageCreateAction mockMessageAction;
+
+    @TempDir
+    Path tempDir;
+
+    private final Clock clock = Clock.fixed(NOW, Constants.ZONE);
+    private final RateHistory rateHistory = new RateHistory();
+
+    /**
+     * Helper method to create the rate table with a deadline one week away.
+     * @return the rate table.
+     */
+    private final RateSnapshot snapshot() {
+        return new RateSnapshot(NOW, List.of(
+            new DragonConRate("$150 through 3/13/2026", "$150", false, LocalDate.of(2026, 3, 13)),
+            new DragonConRate("$225 at the door", "$225", false, null)
+        ));
+    }
+
+    /**
+     * Helper method to create a run around the mocked refresher and sender.
+     * @return the run.
+     */
+    private final RunOnce runOnce() {
+        // The guild is only looked up once rates are known.
+        lenient().when(mockSender.getChannelGuildId()).thenReturn(-1L);
+        return new RunOnce(this.clock, mockRefresher,
+            new GuildSettingsRegistry(new GuildSettings(Locale.ROOT, Constants.ZONE)), mockSender, this.tempDir.resolve("sent.txt"));
+    }
+
+    /**
+     * Test that a due reminder is sent, and recorded only once delivery is confirmed.
+     */
+    @Test
+    void testRun_SendsDueReminder() throws Exception {
+        final RunOnce runOnce = runOnce();
+        when(mockRefresher.refresh()).thenReturn(snapshot());
+        when(mockSender.shutdown(any(Duration.class))).thenReturn(true);
+
+        Assertions.assertEquals(RunOnce.EXIT_OK, runOnce.run(Duration.ofSeconds(5)));
+
+        verify(mockSender).enqueueMessage(REMINDER);
+        verify(mockSender).flushMessages();
+        Assertions.assertTrue(SentReminderFile.alreadySent(this.tempDir.resolve("sent.txt"), LocalDate.of(2026, 3, 6), REMINDER));
+    }
+
+    /**
+     * Test that a retried run does not send a reminder that was already delivered today.
+     */
+    @Test
+    void testRun_SkipsReminderAlreadySent() throws Exception {
+        final RunOnce runOnce = runOnce();
+        SentReminderFile.write(this.tempDir.resolve("sent.txt"), LocalDate.of(2026, 3, 6), REMINDER);
+        when(mockRefresher.refresh()).thenReturn(snapshot());
+        when(mockSender.shutdown(any(Duration.class))).thenReturn(true);
+
+        Assertions.assertEquals(RunOnce.EXIT_OK, runOnce.run(Duration.ofSeconds(5)));
+
+        verify(mockSender, never()).enqueueMessage(anyString());
+    }
+
+    /**
+     * Test that an undelivered reminder fails the run and is not recorded, so the retry sends it.
+     */
+    @Test
+    void testRun_FailsWhenNotDelivered() throws Exception {
+        final RunOnce runOnce = runOnce();
+        when(mockRefresher.refresh()).thenReturn(snapshot());
+        when(mockSender.shutdown(any(Duration.class))).thenReturn(false);
+
+        Assertions.assertEquals(RunOnce.EXIT_FAILED, runOnce.run(Duration.ofSeconds(5)));
+
+        Assertions.assertFalse(Files.exists(this.tempDir.resolve("sent.txt")));
+    }
+
+    /**
+     * Test that a reminder Discord rejects fails the run and is not recorded, even though the gateway disconnects cleanly.
+     */
+    @Test
+    void testRun_FailsWhenDiscordRejectsReminder() throws Exception {
+        when(mockRefresher.refresh()).thenReturn(snapshot());
+        when(mockJda.getTextChannelById("123456789")).thenReturn(mockTextChannel);
+        when(mockTextChannel.getGuild()).thenReturn(mockGuild);
+        when(mockGuild.getIdLong()).thenReturn(42L);
+        when(mockTextChannel.sendMessage(REMINDER)).thenReturn(mockMessageAction);
+        when(mockMessageAction.submit()).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Missing Permissions")));
+        when(mockJda.awaitShutdown(any(Duration.class))).thenReturn(true);
+        final RunOnce runOnce = new RunOnce(this.clock, mockRefresher,
+            new GuildSettingsRegistry(new GuildSettings(Locale.ROOT, Constants.ZONE)),
+            new DiscordConnector("test-token", "123456789", mockJda), this.tempDir.resolve("sent.txt"));
+
+        Assertions.assertEquals(RunOnce.EXIT_FAILED, runOnce.run(Duration.ofSeconds(5)));
+
+        verify(mockJda).shutdown();
+        Assertions.assertFalse(Files.exists(this.tempDir.resolve("sent.txt")));
+    }
+
+    /**
+     * Test that the rates saved by a previous run are used when the website cannot be reached.
+     */
+    @Test
+    void testRun_FallsBackToSavedRates() throws Exception {
+        final RunOnce runOnce = runOnce();
+        this.rateHistory.record(snapshot());
+        when(mockRefresher.refresh()).thenThrow(new IOException("website down"));
+        when(mockRefresher.getRateHistory()).thenReturn(this.rateHistory);
+        when(mockSender.shutdown(any(Duration.class))).thenReturn(true);
+
+        Assertions.assertEquals(RunOnce.EXIT_OK, runOnce.run(Duration.ofSeconds(5)));
+
+        verify(mockSender).enqueueMessage(REMINDER);
+    }
+
+    /**
+     * Test that the run fails without sending anything when no rates are known at all.
+     */
+    @Test
+    void testRun_FailsWithoutRates() throws Exception {
+        final RunOnce runOnce = runOnce();
+        when(mockRefresher.refresh()).thenThrow(new IOException("website down"));
+        when(mockRefresher.getRateHistory()).thenReturn(this.rateHistory);
+
+        Assertions.assertEquals(RunOnce.EXIT_FAILED, runOnce.run(Duration.ofSeconds(5)));
+
+        verify(mockSender, never()).enqueueMessage(anyString());
+    }
+}
@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import com.dragoncon_reminder.bot.RateRefresher;
+import com.dragoncon_reminder.bot.ShadowRunner;
+import com.dragoncon_reminder.util.Constants;
+import com.dragoncon_reminder.util.DragonConRate;
+import com.dragoncon_reminder.util.GuildSettings;
+import com.dragoncon_reminder.util.OutboxRun;
+import com.dragoncon_reminder.util.RateSnapshot;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for ShadowRunner.
+ * Uses a mocked refresher in place of the live website.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ShadowRunnerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 6);
+    private static final Instant NOW = TODAY.atStartOfDay(Constants.ZONE).toInstant();
+
+    @Mock
+    private RateRefresher mockRefresher;
+
+    private final Clock clock = Clock.fixed(NOW, Constants.ZONE);
+
+    /**
+     * Helper method to create a shadow runner around the mocked refresher.
+     * @return the shadow runner.
+     */
+    private final ShadowRunner runner() {
+        return new ShadowRunner(this.clock, mockRefresher, new GuildSettings(Locale.ROOT, Constants.ZONE), "111");
+    }
+
+    /**
+     * Test that a due reminder ends up in the outbox with a timing for every stage.
+     */
+    @Test
+    void testRun_RecordsMessagesAndStages() throws Exception {
+        when(mockRefresher.refresh()).thenReturn(new RateSnapshot(NOW, List.of(
+            new DragonConRate("$150 through 3/13/2026", "$150", false, TODAY.plusDays(7)),
+            new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12))
+        )));
+
+        final OutboxRun run = runner().run();
+
+        Assertions.assertEquals(NOW, run.getStartedAt());
+        Assertions.assertEquals(TODAY, run.getDay());
+        Assertions.assertEquals(List.of(ShadowRunner.FETCH_STAGE, ShadowRunner.EVALUATE_STAGE, ShadowRunner.RENDER_STAGE),
+            List.copyOf(run.getStageMillis().keySet()));
+        Assertions.assertEquals(1, run.getMessages().size());
+        Assertions.assertEquals("111", run.getMessages().get(0).getChannelId());
+        Assertions.assertTrue(run.getMessages().get(0).getContent().contains("$150"), run.getMessages().get(0).getContent());
+    }
+
+    /**
+     * Test that a day without a due reminder produces an empty outbox.
+     */
+    @Test
+    void testRun_NothingDue() throws Exception {
+        when(mockRefresher.refresh()).thenReturn(new RateSnapshot(NOW, List.of(
+            new DragonConRate("$175 through 6/12/2026", "$175", false, LocalDate.of(2026, 6, 12))
+        )));
+
+        Assertions.assertTrue(runner().run().getMessages().isEmpty());
+    }
+
+    /**
+     * Test that a failed fetch fails the run rather than producing an empty outbox that looks like nothing was due.
+     */
+    @Test
+    void testRun_FetchFailure() throws Exception {
+        when(mockRefresher.refresh()).thenThrow(new IOException("unreachable"));
+
+        Assertions.assertThrows(IOException.class, () -> runner().run());
+    }
+}
@@ -0,0 +1,143 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import com.dragoncon_reminder.bot.WebhookSender;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class WebhookSenderTest {
+    private HttpServer server;
+    private String webhookUrl;
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final Deque<Integer> statuses = new ArrayDeque<>();
+
+    /**
+     * Starts a stub webhook that records every request and answers with the queued statuses, or 200 once they run out.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/api/webhooks/1/token", this::handle);
+        this.server.start();
+        this.webhookUrl = "http://127.0.0.1:" + this.server.getAddress().getPort() + "/api/webhooks/1/token";
+    }
+
+    /**
+     * Stops the stub webhook.
+     */
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Helper method to answer one request to the stub webhook.
+     * @param exchange the request.
+     * @throws IOException in case the response cannot be written.
+     */
+    private final void handle(final HttpExchange exchange) throws IOException {
+        final String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        this.requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getQuery() + " " + body);
+
+        final Integer queued;
+        synchronized (this.statuses) {
+            queued = this.statuses.pollFirst();
+        }
+        final int status = queued != null ? queued : 200;
+        final byte[] response = "{\"id\":\"1\",\"guild_id\":\"42\",\"channel_id\":\"7\"}".getBytes(StandardCharsets.UTF_8);
+        if (status == 429) {
+            exchange.getResponseHeaders().add("Retry-After", "0.01");
+        }
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    /**
+     * Test that queued messages are coalesced into one post that pings nobody.
+     */
+    @Test
+    void testFlushMessages_CoalescesIntoOnePost() {
+        final WebhookSender sender = new WebhookSender(HttpClient.newHttpClient(), this.webhookUrl);
+        sender.enqueueMessage("First \"reminder\"");
+        sender.enqueueMessage("Second reminder");
+
+        Assertions.assertEquals(1, sender.flushMessages());
+        Assertions.assertEquals(List.of("POST wait=true " + WebhookSender.toJson("First \"reminder\"\nSecond reminder")), this.requests);
+        Assertions.assertEquals(0, sender.flushMessages(), "Nothing should be left to send");
+    }
+
+    /**
+     * Test that a rate limited post is retried after the wait Discord asks for.
+     */
+    @Test
+    void testFlushMessages_RetriesAfterRateLimit() {
+        this.statuses.add(429);
+        final WebhookSender sender = new WebhookSender(HttpClient.newHttpClient(), this.webhookUrl);
+        sender.enqueueMessage("Reminder");
+
+        Assertions.assertEquals(2, sender.flushMessages());
+        Assertions.assertEquals(2, this.requests.size());
+    }
+
+    /**
+     * Test that a rejected post is not retried and does not throw.
+     */
+    @Test
+    void testFlushMessages_GivesUpOnError() {
+        this.statuses.add(404);
+        final WebhookSender sender = new WebhookSender(HttpClient.newHttpClient(), this.webhookUrl);
+        sender.enqueueMessage("Reminder");
+
+        Assertions.assertEquals(0, sender.flushMessages());
+        Assertions.assertEquals(1, this.requests.size());
+    }
+
+    /**
+     * Test that messages over the Discord limit are split and posted in order.
+     */
+    @Test
+    void testFlushMessages_SplitsLongMessages() {
+        final WebhookSender sender = new WebhookSender(HttpClient.newHttpClient(), this.webhookUrl);
+        final String line = "x".repeat(1500);
+        sender.enqueueMessage(line + "\n" + line.replace('x', 'y'));
+
+        Assertions.assertEquals(2, sender.flushMessages());
+        Assertions.assertTrue(this.requests.get(0).contains("xxx"));
+        Assertions.assertTrue(this.requests.get(1).contains("yyy"));
+    }
+
+    /**
+     * Test that the guild is looked up from the webhook once.
+     */
+    @Test
+    void testGetChannelGuildId_LooksUpWebhookOnce() {
+        final WebhookSender sender = new WebhookSender(HttpClient.newHttpClient(), this.webhookUrl);
+
+        Assertions.assertEquals(42, sender.getChannelGuildId());
+        Assertions.assertEquals(42, sender.getChannelGuildId());
+        Assertions.assertEquals(1, this.requests.size());
+        Assertions.assertTrue(this.requests.get(0).startsWith("GET "));
+    }
+
+    /**
+     * Test that control characters and quotes are escaped and mentions are disabled.
+     */
+    @Test
+    void testToJson_Escapes() {
+        Assertions.assertEquals("{\"content\":\"a\\\"b\\\\c\\nd\\u0001\",\"allowed_mentions\":{\"parse\":[]}}",
+            WebhookSender.toJson("a\"b\\c\nd\u0001"));
+    }
+}